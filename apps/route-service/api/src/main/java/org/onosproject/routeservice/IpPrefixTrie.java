@@ -0,0 +1,405 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.routeservice;
+
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Path-compressed binary trie of IP prefixes supporting longest prefix match.
+ * <p>
+ * The trie is persistent: updates copy the nodes along the modified path and
+ * publish the new root atomically, so lookups never lock and always observe
+ * a consistent snapshot. Updates are serialized with each other. Address bits
+ * are kept in two primitive longs per node instead of one character per bit.
+ * </p>
+ *
+ * @param <V> type of the values associated with the prefixes
+ */
+public final class IpPrefixTrie<V> {
+
+    private final IpAddress.Version version;
+    private final int maxLength;
+
+    private volatile Node<V> root;
+    private volatile int size;
+
+    /**
+     * Creates a new empty trie for prefixes of the given IP version.
+     *
+     * @param version IP version of the prefixes
+     */
+    public IpPrefixTrie(IpAddress.Version version) {
+        this.version = checkNotNull(version);
+        this.maxLength = version == IpAddress.Version.INET ?
+                IpAddress.INET_BIT_LENGTH : IpAddress.INET6_BIT_LENGTH;
+    }
+
+    /**
+     * Returns the number of prefixes in the trie.
+     *
+     * @return number of prefixes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value associated with exactly the given prefix.
+     *
+     * @param prefix IP prefix
+     * @return value or null if the prefix is not in the trie
+     */
+    public V get(IpPrefix prefix) {
+        Key key = key(prefix);
+        Node<V> node = root;
+        while (node != null && node.length <= key.length && node.matches(key.hi, key.lo)) {
+            if (node.length == key.length) {
+                return node.value;
+            }
+            node = node.child(key.bit(node.length));
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value of the most specific prefix containing the given
+     * address.
+     *
+     * @param address IP address to look up
+     * @return value or null if no prefix contains the address
+     */
+    public V longestPrefixMatch(IpAddress address) {
+        checkArgument(address.version() == version, "Address version mismatch");
+        Key key = key(address.toOctets(), maxLength);
+        V best = null;
+        Node<V> node = root;
+        while (node != null && node.matches(key.hi, key.lo)) {
+            if (node.value != null) {
+                best = node.value;
+            }
+            if (node.length == maxLength) {
+                break;
+            }
+            node = node.child(key.bit(node.length));
+        }
+        return best;
+    }
+
+    /**
+     * Associates the given value with the given prefix.
+     *
+     * @param prefix IP prefix
+     * @param value  value to associate
+     * @return value previously associated with the prefix or null
+     */
+    public synchronized V put(IpPrefix prefix, V value) {
+        checkNotNull(value, "Value cannot be null");
+        Update<V> update = new Update<>();
+        root = insert(root, key(prefix), value, update);
+        return update.old;
+    }
+
+    /**
+     * Associates the given values with their prefixes, publishing all the
+     * changes to the readers at once.
+     *
+     * @param values values keyed by their prefixes
+     */
+    public synchronized void putAll(Map<IpPrefix, V> values) {
+        Update<V> update = new Update<>();
+        Node<V> newRoot = root;
+        for (Map.Entry<IpPrefix, V> entry : values.entrySet()) {
+            newRoot = insert(newRoot, key(entry.getKey()), checkNotNull(entry.getValue()), update);
+        }
+        root = newRoot;
+    }
+
+    /**
+     * Removes the given prefix from the trie.
+     *
+     * @param prefix IP prefix
+     * @return value previously associated with the prefix or null
+     */
+    public synchronized V remove(IpPrefix prefix) {
+        Update<V> update = new Update<>();
+        root = delete(root, key(prefix), update);
+        return update.old;
+    }
+
+    /**
+     * Removes the given prefixes from the trie, publishing all the changes to
+     * the readers at once.
+     *
+     * @param prefixes IP prefixes
+     */
+    public synchronized void removeAll(Collection<IpPrefix> prefixes) {
+        Update<V> update = new Update<>();
+        Node<V> newRoot = root;
+        for (IpPrefix prefix : prefixes) {
+            newRoot = delete(newRoot, key(prefix), update);
+        }
+        root = newRoot;
+    }
+
+    /**
+     * Removes all prefixes from the trie.
+     */
+    public synchronized void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * Returns a snapshot of all values, less specific prefixes first.
+     *
+     * @return list of values
+     */
+    public List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        traverse(node -> values.add(node.value));
+        return values;
+    }
+
+    /**
+     * Invokes the given action for each prefix in a snapshot of the trie,
+     * less specific prefixes first.
+     *
+     * @param action action to invoke with each prefix and its value
+     */
+    public void forEach(BiConsumer<IpPrefix, V> action) {
+        traverse(node -> action.accept(prefix(node), node.value));
+    }
+
+    // Visits the nodes carrying a value in a pre-order walk of a snapshot
+    private void traverse(Consumer<Node<V>> visitor) {
+        Node<V> snapshot = root;
+        if (snapshot == null) {
+            return;
+        }
+        Deque<Node<V>> stack = new ArrayDeque<>();
+        stack.push(snapshot);
+        while (!stack.isEmpty()) {
+            Node<V> node = stack.pop();
+            if (node.value != null) {
+                visitor.accept(node);
+            }
+            if (node.right != null) {
+                stack.push(node.right);
+            }
+            if (node.left != null) {
+                stack.push(node.left);
+            }
+        }
+    }
+
+    private Node<V> insert(Node<V> node, Key key, V value, Update<V> update) {
+        if (node == null) {
+            size++;
+            return new Node<>(key.hi, key.lo, key.length, value, null, null);
+        }
+        int common = commonLength(node, key);
+        if (common == node.length && common == key.length) {
+            update.old = node.value;
+            if (node.value == null) {
+                size++;
+            }
+            return new Node<>(node.hi, node.lo, node.length, value, node.left, node.right);
+        }
+        if (common == node.length) {
+            // Key is below this node
+            if (key.bit(common) == 0) {
+                return node.withChildren(insert(node.left, key, value, update), node.right);
+            }
+            return node.withChildren(node.left, insert(node.right, key, value, update));
+        }
+        size++;
+        if (common == key.length) {
+            // Key is above this node
+            return Key.bit(node.hi, node.lo, common) == 0 ?
+                    new Node<>(key.hi, key.lo, key.length, value, node, null) :
+                    new Node<>(key.hi, key.lo, key.length, value, null, node);
+        }
+        // Key and node diverge; join them under a glue node
+        Node<V> leaf = new Node<>(key.hi, key.lo, key.length, value, null, null);
+        long hi = key.hi & maskHi(common);
+        long lo = key.lo & maskLo(common);
+        return key.bit(common) == 0 ?
+                new Node<>(hi, lo, common, null, leaf, node) :
+                new Node<>(hi, lo, common, null, node, leaf);
+    }
+
+    private Node<V> delete(Node<V> node, Key key, Update<V> update) {
+        if (node == null || node.length > key.length || !node.matches(key.hi, key.lo)) {
+            return node;
+        }
+        if (node.length == key.length) {
+            if (node.value == null) {
+                return node;
+            }
+            update.old = node.value;
+            size--;
+            return compact(node.hi, node.lo, node.length, null, node.left, node.right);
+        }
+        int bit = key.bit(node.length);
+        Node<V> child = node.child(bit);
+        Node<V> newChild = delete(child, key, update);
+        if (newChild == child) {
+            return node;
+        }
+        return bit == 0 ?
+                compact(node.hi, node.lo, node.length, node.value, newChild, node.right) :
+                compact(node.hi, node.lo, node.length, node.value, node.left, newChild);
+    }
+
+    // Creates a node, eliding it if it carries no value and has less than two children
+    private Node<V> compact(long hi, long lo, int length, V value, Node<V> left, Node<V> right) {
+        if (value == null) {
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+        }
+        return new Node<>(hi, lo, length, value, left, right);
+    }
+
+    private IpPrefix prefix(Node<V> node) {
+        byte[] octets = new byte[maxLength / Byte.SIZE];
+        for (int i = 0; i < octets.length; i++) {
+            long word = i < Long.BYTES ? node.hi : node.lo;
+            octets[i] = (byte) (word >>> (Long.SIZE - Byte.SIZE * (i % Long.BYTES + 1)));
+        }
+        return IpPrefix.valueOf(IpAddress.valueOf(version, octets), node.length);
+    }
+
+    private Key key(IpPrefix prefix) {
+        checkArgument(prefix.address().version() == version, "Prefix version mismatch");
+        return key(prefix.address().toOctets(), prefix.prefixLength());
+    }
+
+    private static Key key(byte[] octets, int length) {
+        long hi = 0;
+        long lo = 0;
+        for (int i = 0; i < octets.length; i++) {
+            long octet = octets[i] & 0xffL;
+            int shift = Long.SIZE - Byte.SIZE * (i % Long.BYTES + 1);
+            if (i < Long.BYTES) {
+                hi |= octet << shift;
+            } else {
+                lo |= octet << shift;
+            }
+        }
+        return new Key(hi & maskHi(length), lo & maskLo(length), length);
+    }
+
+    // Number of leading bits shared by the node and the key
+    private static int commonLength(Node<?> node, Key key) {
+        int limit = Math.min(node.length, key.length);
+        long diff = node.hi ^ key.hi;
+        int common = diff != 0 ? Long.numberOfLeadingZeros(diff) :
+                Long.SIZE + Long.numberOfLeadingZeros(node.lo ^ key.lo);
+        return Math.min(common, limit);
+    }
+
+    private static long maskHi(int length) {
+        if (length >= Long.SIZE) {
+            return -1L;
+        }
+        return length == 0 ? 0L : -1L << (Long.SIZE - length);
+    }
+
+    private static long maskLo(int length) {
+        if (length <= Long.SIZE) {
+            return 0L;
+        }
+        return -1L << (2 * Long.SIZE - length);
+    }
+
+    // Address bits of a prefix, most significant bit first.
+    private static final class Key {
+        private final long hi;
+        private final long lo;
+        private final int length;
+
+        private Key(long hi, long lo, int length) {
+            this.hi = hi;
+            this.lo = lo;
+            this.length = length;
+        }
+
+        private int bit(int index) {
+            return bit(hi, lo, index);
+        }
+
+        private static int bit(long hi, long lo, int index) {
+            return index < Long.SIZE ?
+                    (int) (hi >>> (Long.SIZE - 1 - index)) & 1 :
+                    (int) (lo >>> (2 * Long.SIZE - 1 - index)) & 1;
+        }
+    }
+
+    // Immutable trie node; nodes without a value only join two sub-tries.
+    private static final class Node<V> {
+        private final long hi;
+        private final long lo;
+        private final int length;
+        private final V value;
+        private final Node<V> left;
+        private final Node<V> right;
+
+        private Node(long hi, long lo, int length, V value, Node<V> left, Node<V> right) {
+            this.hi = hi;
+            this.lo = lo;
+            this.length = length;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+        }
+
+        private boolean matches(long keyHi, long keyLo) {
+            return ((hi ^ keyHi) & maskHi(length)) == 0 &&
+                    ((lo ^ keyLo) & maskLo(length)) == 0;
+        }
+
+        private Node<V> child(int bit) {
+            return bit == 0 ? left : right;
+        }
+
+        private Node<V> withChildren(Node<V> newLeft, Node<V> newRight) {
+            return new Node<>(hi, lo, length, value, newLeft, newRight);
+        }
+    }
+
+    // Outcome of an update operation.
+    private static final class Update<V> {
+        private V old;
+    }
+}
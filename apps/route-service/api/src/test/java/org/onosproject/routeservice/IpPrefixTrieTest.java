@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.routeservice;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Unit tests for {@link IpPrefixTrie}.
+ */
+public class IpPrefixTrieTest {
+
+    private static final IpPrefix DEFAULT4 = IpPrefix.valueOf("0.0.0.0/0");
+    private static final IpPrefix P8 = IpPrefix.valueOf("10.0.0.0/8");
+    private static final IpPrefix P16 = IpPrefix.valueOf("10.1.0.0/16");
+    private static final IpPrefix P24 = IpPrefix.valueOf("10.1.2.0/24");
+    private static final IpPrefix P24B = IpPrefix.valueOf("10.1.3.0/24");
+    private static final IpPrefix HOST = IpPrefix.valueOf("10.1.2.3/32");
+
+    private IpPrefixTrie<String> trie;
+
+    @Before
+    public void setUp() {
+        trie = new IpPrefixTrie<>(IpAddress.Version.INET);
+    }
+
+    @Test
+    public void testPutGetRemove() {
+        assertNull(trie.put(P16, "a"));
+        assertEquals("a", trie.put(P16, "b"));
+        assertEquals("b", trie.get(P16));
+        assertNull(trie.get(P8));
+        assertNull(trie.get(P24));
+        assertEquals(1, trie.size());
+
+        assertNull(trie.remove(P8));
+        assertEquals("b", trie.remove(P16));
+        assertNull(trie.get(P16));
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    public void testLongestPrefixMatch() {
+        trie.putAll(ImmutableMap.of(P8, "p8", P24, "p24", P24B, "p24b", HOST, "host"));
+        assertEquals(4, trie.size());
+
+        assertEquals("host", trie.longestPrefixMatch(IpAddress.valueOf("10.1.2.3")));
+        assertEquals("p24", trie.longestPrefixMatch(IpAddress.valueOf("10.1.2.4")));
+        assertEquals("p24b", trie.longestPrefixMatch(IpAddress.valueOf("10.1.3.1")));
+        assertEquals("p8", trie.longestPrefixMatch(IpAddress.valueOf("10.1.4.1")));
+        assertNull(trie.longestPrefixMatch(IpAddress.valueOf("11.0.0.1")));
+
+        trie.put(DEFAULT4, "default");
+        assertEquals("default", trie.longestPrefixMatch(IpAddress.valueOf("11.0.0.1")));
+
+        trie.removeAll(ImmutableList.of(P24, HOST));
+        assertEquals("p8", trie.longestPrefixMatch(IpAddress.valueOf("10.1.2.3")));
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    public void testIpv6() {
+        IpPrefixTrie<String> trie6 = new IpPrefixTrie<>(IpAddress.Version.INET6);
+        trie6.put(IpPrefix.valueOf("2001:db8::/32"), "short");
+        trie6.put(IpPrefix.valueOf("2001:db8:0:0:1::/80"), "long");
+
+        assertEquals("long", trie6.longestPrefixMatch(IpAddress.valueOf("2001:db8::1:0:0:1")));
+        assertEquals("short", trie6.longestPrefixMatch(IpAddress.valueOf("2001:db8::2:0:0:1")));
+        assertNull(trie6.longestPrefixMatch(IpAddress.valueOf("2001:db9::1")));
+    }
+
+    @Test
+    public void testForEach() {
+        Map<IpPrefix, String> expected = ImmutableMap.of(DEFAULT4, "d", P16, "a", P24B, "b", HOST, "c");
+        trie.putAll(expected);
+
+        Map<IpPrefix, String> actual = new HashMap<>();
+        trie.forEach(actual::put);
+        assertEquals(expected, actual);
+        assertEquals("d", trie.values().get(0));
+    }
+}
@@ -16,15 +16,11 @@
 
 package org.onosproject.routeservice.impl;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
-import com.googlecode.concurrenttrees.common.KeyValuePair;
-import com.googlecode.concurrenttrees.radix.node.concrete.DefaultByteArrayNodeFactory;
-import com.googlecode.concurrenttrees.radixinverted.ConcurrentInvertedRadixTree;
-import com.googlecode.concurrenttrees.radixinverted.InvertedRadixTree;
 import org.onlab.packet.IpAddress;
 import org.onlab.packet.IpPrefix;
-import org.onlab.util.GuavaCollectors;
-import org.onlab.util.Tools;
+import org.onosproject.routeservice.IpPrefixTrie;
 import org.onosproject.routeservice.ResolvedRoute;
 import org.onosproject.routeservice.RouteEvent;
 import org.onosproject.routeservice.RouteTableId;
@@ -36,8 +32,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
-import static org.onosproject.routeservice.RouteTools.createBinaryString;
-
 /**
  * Stores routes that have been resolved.
  */
@@ -53,8 +47,8 @@ public class DefaultResolvedRouteStore implements ResolvedRouteStore {
     public DefaultResolvedRouteStore() {
         routeTables = new ConcurrentHashMap<>();
 
-        routeTables.put(IPV4, new RouteTable());
-        routeTables.put(IPV6, new RouteTable());
+        routeTables.put(IPV4, new RouteTable(IpAddress.Version.INET));
+        routeTables.put(IPV6, new RouteTable(IpAddress.Version.INET6));
     }
 
     @Override
@@ -110,15 +104,16 @@ public class DefaultResolvedRouteStore implements ResolvedRouteStore {
      * Route table into which routes can be placed.
      */
     private class RouteTable {
-        private final InvertedRadixTree<ResolvedRoute> routeTable;
+        private final IpPrefixTrie<ResolvedRoute> routeTable;
         private final Map<IpPrefix, Set<ResolvedRoute>> alternativeRoutes;
 
         /**
          * Creates a new route table.
+         *
+         * @param version IP version of the routes
          */
-        public RouteTable() {
-            routeTable = new ConcurrentInvertedRadixTree<>(
-                    new DefaultByteArrayNodeFactory());
+        public RouteTable(IpAddress.Version version) {
+            routeTable = new IpPrefixTrie<>(version);
 
             alternativeRoutes = new ConcurrentHashMap<>();
         }
@@ -132,7 +127,7 @@ public class DefaultResolvedRouteStore implements ResolvedRouteStore {
         public RouteEvent update(ResolvedRoute route, Set<ResolvedRoute> alternatives) {
             Set<ResolvedRoute> immutableAlternatives = checkAlternatives(route, alternatives);
 
-                ResolvedRoute oldRoute = routeTable.put(createBinaryString(route.prefix()), route);
+                ResolvedRoute oldRoute = routeTable.put(route.prefix(), route);
                 Set<ResolvedRoute> oldRoutes = alternativeRoutes.put(route.prefix(), immutableAlternatives);
 
                 if (!route.equals(oldRoute)) {
@@ -178,13 +173,10 @@ public class DefaultResolvedRouteStore implements ResolvedRouteStore {
          * @param prefix prefix to remove
          */
         public RouteEvent remove(IpPrefix prefix) {
-            String key = createBinaryString(prefix);
-
-            ResolvedRoute route = routeTable.getValueForExactKey(key);
+            ResolvedRoute route = routeTable.remove(prefix);
             Set<ResolvedRoute> alternatives = alternativeRoutes.remove(prefix);
 
             if (route != null) {
-                routeTable.remove(key);
                 return new RouteEvent(RouteEvent.Type.ROUTE_REMOVED, route, alternatives);
             }
             return null;
@@ -196,9 +188,7 @@ public class DefaultResolvedRouteStore implements ResolvedRouteStore {
          * @return all routes
          */
         public Collection<ResolvedRoute> getRoutes() {
-            return Tools.stream(routeTable.getKeyValuePairsForKeysStartingWith(""))
-                    .map(KeyValuePair::getValue)
-                    .collect(GuavaCollectors.toImmutableList());
+            return ImmutableList.copyOf(routeTable.values());
         }
 
         /**
@@ -208,7 +198,7 @@ public class DefaultResolvedRouteStore implements ResolvedRouteStore {
          * @return best route
          */
         public Optional<ResolvedRoute> getRoute(IpPrefix prefix) {
-            return Optional.ofNullable(routeTable.getValueForExactKey(createBinaryString(prefix)));
+            return Optional.ofNullable(routeTable.get(prefix));
         }
 
         public Collection<ResolvedRoute> getAllRoutes(IpPrefix prefix) {
@@ -222,8 +212,7 @@ public class DefaultResolvedRouteStore implements ResolvedRouteStore {
          * @return most specific prefix containing the given
          */
         public Optional<ResolvedRoute> longestPrefixMatch(IpAddress ip) {
-            return Tools.stream(routeTable.getValuesForKeysPrefixing(createBinaryString(ip.toIpPrefix())))
-                    .reduce((a, b) -> b); // reduces to the last element in the stream
+            return Optional.ofNullable(routeTable.longestPrefixMatch(ip));
         }
     }
 }
@@ -21,6 +21,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -64,6 +66,11 @@ public class DefaultRouteTable implements RouteTable {
     private final ExecutorService executor;
     private final RouteTableListener listener = new RouteTableListener();
 
+    // Node-local index of the stored routes by their next hop; it is rebuilt
+    // from the map and then kept up to date from the map events, both on the
+    // single-threaded executor
+    private volatile Map<IpAddress, Set<RawRoute>> routesByNextHop = new ConcurrentHashMap<>();
+
     private final Consumer<DistributedPrimitive.Status> statusChangeListener;
 
     /**
@@ -83,14 +90,21 @@ public class DefaultRouteTable implements RouteTable {
 
         statusChangeListener = status -> {
             if (status.equals(DistributedPrimitive.Status.ACTIVE)) {
-                executor.execute(this::notifyExistingRoutes);
+                executor.execute(() -> {
+                    rebuildNextHopIndex();
+                    notifyExistingRoutes();
+                });
             }
         };
         routes.addStatusChangeListener(statusChangeListener);
 
-        notifyExistingRoutes();
-
+        // The index is rebuilt on the executor of the map events once the
+        // listener is in place, so that no update is lost or overwritten
         routes.addListener(listener, executor);
+        executor.execute(() -> {
+            rebuildNextHopIndex();
+            notifyExistingRoutes();
+        });
     }
 
     private void notifyExistingRoutes() {
@@ -98,6 +112,31 @@ public class DefaultRouteTable implements RouteTable {
             new InternalRouteEvent(InternalRouteEvent.Type.ROUTE_ADDED, routeSet)));
     }
 
+    private void rebuildNextHopIndex() {
+        Map<IpAddress, Set<RawRoute>> index = new ConcurrentHashMap<>();
+        routes.stream()
+            .map(Map.Entry::getValue)
+            .forEach(r -> index.computeIfAbsent(r.nextHopAddress(), k -> Sets.newConcurrentHashSet()).add(r));
+        routesByNextHop = index;
+    }
+
+    private void indexRoute(RawRoute route) {
+        routesByNextHop.compute(route.nextHopAddress(), (k, indexed) -> {
+            Set<RawRoute> set = indexed != null ? indexed : Sets.newConcurrentHashSet();
+            // Replace any stale copy, as raw routes are equal by prefix and next hop only
+            set.remove(route);
+            set.add(route);
+            return set;
+        });
+    }
+
+    private void unindexRoute(RawRoute route) {
+        routesByNextHop.computeIfPresent(route.nextHopAddress(), (k, indexed) -> {
+            indexed.remove(route);
+            return indexed.isEmpty() ? null : indexed;
+        });
+    }
+
     private ConsistentMultimap<String, RawRoute> buildRouteMap(StorageService storageService) {
         KryoNamespace routeTableSerializer = KryoNamespace.newBuilder()
                 .register(KryoNamespaces.API)
@@ -191,9 +230,11 @@ public class DefaultRouteTable implements RouteTable {
 
     @Override
     public Collection<Route> getRoutesForNextHop(IpAddress nextHop) {
-        return routes.stream()
-            .map(Map.Entry::getValue)
-            .filter(r -> IpAddress.valueOf(r.nextHop()).equals(nextHop))
+        Set<RawRoute> indexed = routesByNextHop.get(nextHop);
+        if (indexed == null) {
+            return Collections.emptySet();
+        }
+        return indexed.stream()
             .map(RawRoute::route)
             .collect(Collectors.toSet());
     }
@@ -202,9 +243,11 @@ public class DefaultRouteTable implements RouteTable {
     public Collection<RouteSet> getRoutesForNextHops(Collection<IpAddress> nextHops) {
         // First create a reduced snapshot of the store iterating one time the map
         Map<String, Collection<? extends RawRoute>> filteredRouteStore = new HashMap<>();
-        routes.stream()
-                .map(Map.Entry::getValue)
-                .filter(r -> nextHops.contains(IpAddress.valueOf(r.nextHop())))
+        Map<IpAddress, Set<RawRoute>> index = routesByNextHop;
+        nextHops.stream()
+                .map(index::get)
+                .filter(Objects::nonNull)
+                .flatMap(Collection::stream)
                 .forEach(r -> filteredRouteStore.computeIfAbsent(r.prefix, k -> {
                     // We need to get all the routes because the resolve logic
                     // will use the alternatives as well
@@ -263,9 +306,11 @@ public class DefaultRouteTable implements RouteTable {
             InternalRouteEvent ire = null;
             switch (event.type()) {
             case INSERT:
+                indexRoute(event.newValue());
                 ire = createRouteEvent(InternalRouteEvent.Type.ROUTE_ADDED, event);
                 break;
             case REMOVE:
+                unindexRoute(event.oldValue());
                 ire = createRouteEvent(InternalRouteEvent.Type.ROUTE_REMOVED, event);
                 break;
             default:
@@ -283,6 +328,7 @@ public class DefaultRouteTable implements RouteTable {
         private String prefix;
         private String nextHop;
         private NodeId sourceNode;
+        private transient IpAddress nextHopAddress;
 
         RawRoute(Route route) {
             this.source = route.source();
@@ -295,8 +341,11 @@ public class DefaultRouteTable implements RouteTable {
             return prefix;
         }
 
-        String nextHop() {
-            return nextHop;
+        IpAddress nextHopAddress() {
+            if (nextHopAddress == null) {
+                nextHopAddress = IpAddress.valueOf(nextHop);
+            }
+            return nextHopAddress;
         }
 
         Route route() {
@@ -17,19 +17,15 @@
 package org.onosproject.routeservice.store;
 
 import com.google.common.collect.Sets;
-import com.googlecode.concurrenttrees.common.KeyValuePair;
-import com.googlecode.concurrenttrees.radix.node.concrete.DefaultByteArrayNodeFactory;
-import com.googlecode.concurrenttrees.radixinverted.ConcurrentInvertedRadixTree;
-import com.googlecode.concurrenttrees.radixinverted.InvertedRadixTree;
 import org.onlab.packet.IpAddress;
 import org.onlab.packet.IpPrefix;
 import org.onosproject.routeservice.InternalRouteEvent;
+import org.onosproject.routeservice.IpPrefixTrie;
 import org.onosproject.routeservice.Route;
 import org.onosproject.routeservice.RouteSet;
 import org.onosproject.routeservice.RouteStore;
 import org.onosproject.routeservice.RouteStoreDelegate;
 import org.onosproject.routeservice.RouteTableId;
-import org.onosproject.routeservice.RouteTools;
 import org.onosproject.store.AbstractStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,9 +33,6 @@ import org.slf4j.LoggerFactory;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -65,8 +58,8 @@ public class LocalRouteStore extends AbstractStore<InternalRouteEvent, RouteStor
     public void activate() {
         routeTables = new ConcurrentHashMap<>();
 
-        routeTables.put(IPV4, new RouteTable(IPV4));
-        routeTables.put(IPV6, new RouteTable(IPV6));
+        routeTables.put(IPV4, new RouteTable(IPV4, IpAddress.Version.INET));
+        routeTables.put(IPV6, new RouteTable(IPV6, IpAddress.Version.INET6));
 
         log.info("Started");
     }
@@ -179,17 +172,19 @@ public class LocalRouteStore extends AbstractStore<InternalRouteEvent, RouteStor
      * Route table into which routes can be placed.
      */
     private class RouteTable {
-        private final InvertedRadixTree<Route> routeTable;
+        private final IpPrefixTrie<Route> routeTable;
         private final Map<IpPrefix, Route> routes = new ConcurrentHashMap<>();
         private final RouteTableId id;
 
         /**
          * Creates a new route table.
+         *
+         * @param id route table ID
+         * @param version IP version of the routes
          */
-        public RouteTable(RouteTableId id) {
+        public RouteTable(RouteTableId id, IpAddress.Version version) {
             this.id = checkNotNull(id);
-            routeTable = new ConcurrentInvertedRadixTree<>(
-                    new DefaultByteArrayNodeFactory());
+            routeTable = new IpPrefixTrie<>(version);
         }
 
         /**
@@ -206,7 +201,7 @@ public class LocalRouteStore extends AbstractStore<InternalRouteEvent, RouteStor
                     return;
                 }
 
-                routeTable.put(RouteTools.createBinaryString(route.prefix()), route);
+                routeTable.put(route.prefix(), route);
 
                 notifyDelegate(new InternalRouteEvent(
                         InternalRouteEvent.Type.ROUTE_ADDED, singletonRouteSet(route)));
@@ -232,7 +227,7 @@ public class LocalRouteStore extends AbstractStore<InternalRouteEvent, RouteStor
         public void remove(Route route) {
             synchronized (this) {
                 Route removed = routes.remove(route.prefix());
-                routeTable.remove(RouteTools.createBinaryString(route.prefix()));
+                routeTable.remove(route.prefix());
 
                 if (removed != null) {
                     notifyDelegate(new InternalRouteEvent(
@@ -314,17 +309,7 @@ public class LocalRouteStore extends AbstractStore<InternalRouteEvent, RouteStor
          * @return all routes
          */
         public Collection<Route> getRoutes() {
-            Iterator<KeyValuePair<Route>> it =
-                    routeTable.getKeyValuePairsForKeysStartingWith("").iterator();
-
-            List<Route> routes = new LinkedList<>();
-
-            while (it.hasNext()) {
-                KeyValuePair<Route> entry = it.next();
-                routes.add(entry.getValue());
-            }
-
-            return routes;
+            return routeTable.values();
         }
 
         /**
@@ -334,17 +319,7 @@ public class LocalRouteStore extends AbstractStore<InternalRouteEvent, RouteStor
          * @return most specific prefix containing the given
          */
         public Route longestPrefixMatch(IpAddress ip) {
-            Iterable<Route> prefixes =
-                    routeTable.getValuesForKeysPrefixing(RouteTools.createBinaryString(ip.toIpPrefix()));
-
-            Iterator<Route> it = prefixes.iterator();
-
-            Route route = null;
-            while (it.hasNext()) {
-                route = it.next();
-            }
-
-            return route;
+            return routeTable.longestPrefixMatch(ip);
         }
 
         private RouteSet singletonRouteSet(Route route) {
@@ -0,0 +1,386 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.routeservice.store;
+
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.SetMultimap;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+import org.onosproject.routeservice.InternalRouteEvent;
+import org.onosproject.routeservice.Route;
+import org.onosproject.routeservice.RouteSet;
+import org.onosproject.routeservice.RouteStoreDelegate;
+import org.onosproject.routeservice.RouteTableId;
+import org.onosproject.store.service.AsyncConsistentMultimap;
+import org.onosproject.store.service.ConsistentMultimap;
+import org.onosproject.store.service.ConsistentMultimapBuilder;
+import org.onosproject.store.service.DistributedPrimitive;
+import org.onosproject.store.service.MultimapEvent;
+import org.onosproject.store.service.MultimapEventListener;
+import org.onosproject.store.service.StorageServiceAdapter;
+import org.onosproject.store.service.Versioned;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Unit tests for the next hop lookups of the default route table.
+ */
+public class DefaultRouteTableTest {
+
+    private static final RouteTableId TABLE_ID = new RouteTableId("ipv4");
+
+    private static final IpPrefix P1 = IpPrefix.valueOf("1.1.1.0/24");
+    private static final IpPrefix P2 = IpPrefix.valueOf("2.2.2.0/24");
+    private static final IpPrefix P3 = IpPrefix.valueOf("3.3.3.0/24");
+
+    private static final IpAddress NH1 = IpAddress.valueOf("192.168.1.1");
+    private static final IpAddress NH2 = IpAddress.valueOf("192.168.2.1");
+
+    private static final Route R1 = new Route(Route.Source.STATIC, P1, NH1);
+    private static final Route R2 = new Route(Route.Source.STATIC, P2, NH1);
+    private static final Route R3 = new Route(Route.Source.STATIC, P3, NH2);
+
+    private TestRouteMultimap<?, ?> routes;
+    private DefaultRouteTable table;
+
+    @Before
+    public void setUp() {
+        RouteStoreDelegate delegate = event -> { };
+        table = new DefaultRouteTable(TABLE_ID, delegate, new TestStorageService(),
+                                      MoreExecutors.newDirectExecutorService());
+    }
+
+    @After
+    public void tearDown() {
+        table.shutdown();
+    }
+
+    /**
+     * Tests lookups by next hop as routes are added.
+     */
+    @Test
+    public void testAdd() {
+        table.update(R1);
+        table.update(ImmutableList.of(R2, R3));
+
+        assertEquals(ImmutableSet.of(R1, R2), routesForNextHop(NH1));
+        assertEquals(ImmutableSet.of(R3), routesForNextHop(NH2));
+        assertEquals(ImmutableSet.of(P1, P2), prefixesForNextHops(NH1));
+        assertEquals(ImmutableSet.of(P1, P2, P3), prefixesForNextHops(NH1, NH2));
+    }
+
+    /**
+     * Tests lookups by next hop as the next hop of a route changes.
+     */
+    @Test
+    public void testUpdate() {
+        table.update(ImmutableList.of(R1, R2, R3));
+
+        Route moved = new Route(Route.Source.STATIC, P1, NH2);
+        table.replace(moved);
+
+        assertEquals(ImmutableSet.of(R2), routesForNextHop(NH1));
+        assertEquals(ImmutableSet.of(moved, R3), routesForNextHop(NH2));
+    }
+
+    /**
+     * Tests lookups by next hop as routes are removed.
+     */
+    @Test
+    public void testRemove() {
+        table.update(ImmutableList.of(R1, R2, R3));
+
+        table.remove(R1);
+        assertEquals(ImmutableSet.of(R2), routesForNextHop(NH1));
+
+        table.remove(ImmutableList.of(R2, R3));
+        assertEquals(ImmutableSet.of(), routesForNextHop(NH1));
+        assertEquals(ImmutableSet.of(), routesForNextHop(NH2));
+        assertEquals(ImmutableSet.of(), prefixesForNextHops(NH1, NH2));
+    }
+
+    /**
+     * Tests that changes missed while the map was disconnected are indexed
+     * once it is active again.
+     */
+    @Test
+    public void testStatusChange() {
+        table.update(R1);
+
+        routes.muted = true;
+        table.update(R2);
+        table.remove(R1);
+        routes.muted = false;
+        assertEquals(ImmutableSet.of(R1), routesForNextHop(NH1));
+
+        routes.setStatus(DistributedPrimitive.Status.ACTIVE);
+        assertEquals(ImmutableSet.of(R2), routesForNextHop(NH1));
+    }
+
+    private Set<Route> routesForNextHop(IpAddress nextHop) {
+        return ImmutableSet.copyOf(table.getRoutesForNextHop(nextHop));
+    }
+
+    private Set<IpPrefix> prefixesForNextHops(IpAddress... nextHops) {
+        return table.getRoutesForNextHops(ImmutableList.copyOf(nextHops)).stream()
+                .map(RouteSet::prefix)
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Storage service building a multimap which notifies its listeners.
+     */
+    private class TestStorageService extends StorageServiceAdapter {
+        @Override
+        public <K, V> ConsistentMultimapBuilder<K, V> consistentMultimapBuilder() {
+            return new ConsistentMultimapBuilder<K, V>() {
+                @Override
+                public AsyncConsistentMultimap<K, V> buildMultimap() {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public ConsistentMultimap<K, V> build() {
+                    TestRouteMultimap<K, V> multimap = new TestRouteMultimap<>();
+                    routes = multimap;
+                    return multimap;
+                }
+            };
+        }
+    }
+
+    /**
+     * Multimap notifying its listeners of changes unless muted, as the
+     * distributed multimap does while it is connected.
+     */
+    private static class TestRouteMultimap<K, V> implements ConsistentMultimap<K, V> {
+        private final SetMultimap<K, V> map = HashMultimap.create();
+        private final List<MultimapEventListener<K, V>> listeners = new CopyOnWriteArrayList<>();
+        private final List<Consumer<Status>> statusListeners = new CopyOnWriteArrayList<>();
+        private volatile boolean muted;
+
+        void setStatus(Status status) {
+            statusListeners.forEach(listener -> listener.accept(status));
+        }
+
+        private void notify(K key, V newValue, V oldValue) {
+            if (!muted) {
+                MultimapEvent<K, V> event = new MultimapEvent<>("routes", key, newValue, oldValue);
+                listeners.forEach(listener -> listener.event(event));
+            }
+        }
+
+        private Versioned<Collection<? extends V>> versioned(K key) {
+            return map.containsKey(key) ? new Versioned<>(ImmutableSet.copyOf(map.get(key)), 0) : null;
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public boolean containsKey(K key) {
+            return map.containsKey(key);
+        }
+
+        @Override
+        public boolean containsValue(V value) {
+            return map.containsValue(value);
+        }
+
+        @Override
+        public boolean containsEntry(K key, V value) {
+            return map.containsEntry(key, value);
+        }
+
+        @Override
+        public boolean put(K key, V value) {
+            if (map.put(key, value)) {
+                notify(key, value, null);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Versioned<Collection<? extends V>> putAndGet(K key, V value) {
+            put(key, value);
+            return versioned(key);
+        }
+
+        @Override
+        public boolean remove(K key, V value) {
+            if (map.remove(key, value)) {
+                notify(key, null, value);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Versioned<Collection<? extends V>> removeAndGet(K key, V value) {
+            remove(key, value);
+            return versioned(key);
+        }
+
+        @Override
+        public boolean removeAll(K key, Collection<? extends V> values) {
+            boolean changed = false;
+            for (V value : values) {
+                changed |= remove(key, value);
+            }
+            return changed;
+        }
+
+        @Override
+        public Versioned<Collection<? extends V>> removeAll(K key) {
+            Versioned<Collection<? extends V>> previous = versioned(key);
+            if (previous != null) {
+                removeAll(key, previous.value());
+            }
+            return previous;
+        }
+
+        @Override
+        public boolean removeAll(Map<K, Collection<? extends V>> mapping) {
+            boolean changed = false;
+            for (Map.Entry<K, Collection<? extends V>> entry : mapping.entrySet()) {
+                changed |= removeAll(entry.getKey(), entry.getValue());
+            }
+            return changed;
+        }
+
+        @Override
+        public boolean putAll(K key, Collection<? extends V> values) {
+            boolean changed = false;
+            for (V value : values) {
+                changed |= put(key, value);
+            }
+            return changed;
+        }
+
+        @Override
+        public boolean putAll(Map<K, Collection<? extends V>> mapping) {
+            boolean changed = false;
+            for (Map.Entry<K, Collection<? extends V>> entry : mapping.entrySet()) {
+                changed |= putAll(entry.getKey(), entry.getValue());
+            }
+            return changed;
+        }
+
+        @Override
+        public Versioned<Collection<? extends V>> replaceValues(K key, Collection<V> values) {
+            Versioned<Collection<? extends V>> previous = removeAll(key);
+            putAll(key, values);
+            return previous;
+        }
+
+        @Override
+        public void clear() {
+            ImmutableList.copyOf(map.keySet()).forEach(this::removeAll);
+        }
+
+        @Override
+        public Versioned<Collection<? extends V>> get(K key) {
+            return versioned(key);
+        }
+
+        @Override
+        public Set<K> keySet() {
+            return ImmutableSet.copyOf(map.keySet());
+        }
+
+        @Override
+        public Multiset<K> keys() {
+            return map.keys();
+        }
+
+        @Override
+        public Multiset<V> values() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Collection<Map.Entry<K, V>> entries() {
+            return ImmutableList.copyOf(map.entries());
+        }
+
+        @Override
+        public Iterator<Map.Entry<K, V>> iterator() {
+            return entries().iterator();
+        }
+
+        @Override
+        public Map<K, Collection<V>> asMap() {
+            return Collections.unmodifiableMap(map.asMap());
+        }
+
+        @Override
+        public void addListener(MultimapEventListener<K, V> listener, Executor executor) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeListener(MultimapEventListener<K, V> listener) {
+            listeners.remove(listener);
+        }
+
+        @Override
+        public void addStatusChangeListener(Consumer<Status> listener) {
+            statusListeners.add(listener);
+        }
+
+        @Override
+        public void removeStatusChangeListener(Consumer<Status> listener) {
+            statusListeners.remove(listener);
+        }
+
+        @Override
+        public String name() {
+            return "routes";
+        }
+
+        @Override
+        public Type primitiveType() {
+            return Type.CONSISTENT_MULTIMAP;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.routescale;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.karaf.shell.api.action.Argument;
+import org.apache.karaf.shell.api.action.Command;
+import org.apache.karaf.shell.api.action.lifecycle.Service;
+import org.onlab.packet.IpAddress;
+import org.onosproject.cli.AbstractShellCommand;
+import org.onosproject.net.host.HostService;
+import org.onosproject.routeservice.RouteStore;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes to find the routes affected by a next hop
+ * change, as done by the route manager on each host event.
+ */
+@Service
+@Command(scope = "onos", name = "scale-route-resolve",
+        description = "Measures the time to resolve routes by their next hops")
+public class ResolveRoutes extends AbstractShellCommand {
+
+    @Argument(index = 0, name = "lookupCount", description = "Number of next hop lookups to run",
+            required = false)
+    int lookupCount = 1000;
+
+    @Override
+    protected void doExecute() {
+        RouteStore routeStore = get(RouteStore.class);
+        List<IpAddress> nextHops = nextHops();
+        if (nextHops.isEmpty() || lookupCount <= 0) {
+            print("No hosts to use as next hops or no lookups requested");
+            return;
+        }
+
+        int routeCount = routeStore.getRouteTables().stream()
+                .mapToInt(t -> routeStore.getRoutes(t).size()).sum();
+
+        Random random = new Random();
+        long maxNanos = 0;
+        long totalNanos = 0;
+        long resolved = 0;
+        for (int i = 0; i < lookupCount; i++) {
+            IpAddress nextHop = nextHops.get(random.nextInt(nextHops.size()));
+            long start = System.nanoTime();
+            resolved += routeStore.getRoutesForNextHop(nextHop).size();
+            long elapsed = System.nanoTime() - start;
+            totalNanos += elapsed;
+            maxNanos = Math.max(maxNanos, elapsed);
+        }
+
+        long start = System.nanoTime();
+        int routeSets = routeStore.getRoutesForNextHops(nextHops).size();
+        long allNanos = System.nanoTime() - start;
+
+        print("routes=%d, nextHops=%d, lookups=%d, resolved=%d", routeCount,
+              nextHops.size(), lookupCount, resolved);
+        print("singleNextHop: avg=%dus, max=%dus",
+              TimeUnit.NANOSECONDS.toMicros(totalNanos / lookupCount),
+              TimeUnit.NANOSECONDS.toMicros(maxNanos));
+        print("allNextHops: routeSets=%d, time=%dms", routeSets,
+              TimeUnit.NANOSECONDS.toMillis(allNanos));
+    }
+
+    // Returns the addresses of all hosts, which the scale test uses as next hops.
+    private List<IpAddress> nextHops() {
+        ImmutableList.Builder<IpAddress> nextHops = ImmutableList.builder();
+        get(HostService.class).getHosts()
+                .forEach(h -> h.ipAddresses().forEach(nextHops::add));
+        return nextHops.build();
+    }
+
+}
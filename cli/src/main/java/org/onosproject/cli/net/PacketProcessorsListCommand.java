@@ -37,7 +37,7 @@ import static org.onosproject.net.packet.PacketProcessor.DIRECTOR_MAX;
         description = "Lists packet processors")
 public class PacketProcessorsListCommand extends AbstractShellCommand {
 
-    private static final String FMT = "priority=%s, class=%s, packets=%d, avgNanos=%d";
+    private static final String FMT = "priority=%s, class=%s, interest=%s, packets=%d, avgNanos=%d";
 
     @Override
     protected void doExecute() {
@@ -57,6 +57,7 @@ public class PacketProcessorsListCommand extends AbstractShellCommand {
             result.add(mapper.createObjectNode()
                     .put("priority", priorityFormat(p.priority()))
                     .put("class", p.processor().getClass().getName())
+                    .put("interest", p.interest().toString())
                     .put("packets", p.invocations())
                     .put("avgNanos", p.averageNanos()));
         }
@@ -66,7 +67,7 @@ public class PacketProcessorsListCommand extends AbstractShellCommand {
 
     private void print(PacketProcessorEntry entry) {
         print(FMT, priorityFormat(entry.priority()),
-              entry.processor().getClass().getName(),
+              entry.processor().getClass().getName(), entry.interest(),
               entry.invocations(), entry.averageNanos());
     }
 
@@ -35,4 +35,41 @@ public interface EventDeliveryService extends EventDispatcher, EventSinkRegistry
      */
     long getDispatchTimeLimit();
 
+    /**
+     * Sets the number of dispatch loops across which the programming events,
+     * e.g. flow rule and intent events, are sharded by their subject. Events
+     * pertaining to the same subject are always delivered in order.
+     *
+     * @param partitions number of dispatch loops; 1 disables sharding
+     */
+    default void setDispatchPartitions(int partitions) {
+    }
+
+    /**
+     * Returns the number of dispatch loops used for the programming events.
+     *
+     * @return number of dispatch loops
+     */
+    default int getDispatchPartitions() {
+        return 1;
+    }
+
+    /**
+     * Sets the number of events each dispatch loop may have pending before
+     * the posters are made to wait for the queue to drain.
+     *
+     * @param capacity maximum number of pending events; 0 means unbounded
+     */
+    default void setDispatchQueueCapacity(int capacity) {
+    }
+
+    /**
+     * Returns the number of events each dispatch loop may have pending.
+     *
+     * @return maximum number of pending events; 0 means unbounded
+     */
+    default int getDispatchQueueCapacity() {
+        return 0;
+    }
+
 }
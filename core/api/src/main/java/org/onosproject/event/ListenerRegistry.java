@@ -15,12 +15,20 @@
  */
 package org.onosproject.event;
 
+import com.codahale.metrics.Timer;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.slf4j.Logger;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.onlab.metrics.MetricsUtil.startTimer;
+import static org.onlab.metrics.MetricsUtil.stopTimer;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -31,11 +39,20 @@ public class ListenerRegistry<E extends Event, L extends EventListener<E>>
         implements ListenerService<E, L>, EventSink<E> {
 
     private static final long LIMIT = 1_800; // ms
+    private static final String LAMBDA_MARKER = "$$Lambda";
 
     private final Logger log = getLogger(getClass());
 
-    private long lastStart;
-    private L lastListener;
+    // Listener being run by each dispatching thread and since when; several
+    // dispatch loops may deliver events to the same registry concurrently.
+    // Entries are kept across events and dropped once their thread is gone.
+    private final Map<Thread, InFlight<L>> inFlight = new ConcurrentHashMap<>();
+
+    // Optional per-listener latency tracking
+    private volatile MetricsService metricsService;
+    private volatile String metricsComponent;
+    private volatile String metricsFeature;
+    private final Map<String, Timer> listenerTimers = new ConcurrentHashMap<>();
 
     /**
      * Set of listeners that have registered.
@@ -58,31 +75,106 @@ public class ListenerRegistry<E extends Event, L extends EventListener<E>>
 
     @Override
     public void process(E event) {
+        InFlight<L> current = inFlight.computeIfAbsent(Thread.currentThread(), t -> new InFlight<>());
         for (L listener : listeners) {
             try {
-                lastListener = listener;
-                lastStart = System.currentTimeMillis();
+                current.listener = listener;
+                current.start = System.currentTimeMillis();
                 if (listener.isRelevant(event)) {
-                    listener.event(event);
+                    Timer.Context context = startTimer(listenerTimer(listener));
+                    try {
+                        listener.event(event);
+                    } finally {
+                        stopTimer(context);
+                    }
                 }
-                lastStart = 0;
             } catch (Exception error) {
                 reportProblem(event, error);
+            } finally {
+                current.start = 0;
             }
         }
+        current.listener = null;
+    }
+
+    /**
+     * Enables tracking of the time each listener spends processing events.
+     * Latency of every listener is recorded in its own timer, named after
+     * the listener class, under the given metrics component and feature.
+     *
+     * @param metricsService metrics service; null disables the tracking
+     * @param component      metrics component name
+     * @param feature        metrics feature name
+     */
+    public void setListenerMetrics(MetricsService metricsService,
+                                   String component, String feature) {
+        removeListenerMetrics();
+        this.metricsComponent = component;
+        this.metricsFeature = feature;
+        this.metricsService = metricsService;
+    }
+
+    // Unregisters the latency timers created so far
+    private void removeListenerMetrics() {
+        MetricsService service = metricsService;
+        if (service != null) {
+            MetricsComponent component = service.registerComponent(metricsComponent);
+            MetricsFeature feature = component.registerFeature(metricsFeature);
+            listenerTimers.keySet().forEach(name -> service.removeMetric(component, feature, name));
+        }
+        listenerTimers.clear();
+    }
+
+    // Returns the latency timer of the given listener or null if tracking is off
+    private Timer listenerTimer(L listener) {
+        MetricsService service = metricsService;
+        if (service == null) {
+            return null;
+        }
+        return listenerTimers.computeIfAbsent(listenerName(listener), name -> {
+            MetricsComponent component = service.registerComponent(metricsComponent);
+            MetricsFeature feature = component.registerFeature(metricsFeature);
+            return service.createTimer(component, feature, name);
+        });
+    }
+
+    // Returns a name of the listener which does not change across restarts;
+    // lambdas are named after the class defining them
+    private static String listenerName(Object listener) {
+        String name = listener.getClass().getName();
+        int lambda = name.indexOf(LAMBDA_MARKER);
+        return lambda > 0 ? name.substring(0, lambda) : name;
     }
 
     @Override
     public void onProcessLimit() {
-        if (lastStart > 0) {
-            long duration = System.currentTimeMillis() - lastStart;
+        inFlight.keySet().removeIf(thread -> !thread.isAlive());
+        inFlight.keySet().forEach(this::onProcessLimit);
+    }
+
+    /**
+     * Handles notification that the given dispatching thread has exceeded
+     * its event processing time limit, ejecting the listener it is running
+     * if that listener has exceeded its own limit.
+     *
+     * @param thread dispatching thread which exceeded its limit
+     */
+    public void onProcessLimit(Thread thread) {
+        InFlight<L> current = inFlight.get(thread);
+        if (current == null) {
+            return;
+        }
+        long start = current.start;
+        L listener = current.listener;
+        if (start > 0 && listener != null) {
+            long duration = System.currentTimeMillis() - start;
             if (duration > LIMIT) {
                 log.error("Listener {} exceeded execution time limit: {} ms; ejected",
-                          lastListener.getClass().getName(),
+                          listener.getClass().getName(),
                           duration);
-                removeListener(lastListener);
+                removeListener(listener);
             }
-            lastStart = 0;
+            current.start = 0;
         }
     }
 
@@ -96,4 +188,9 @@ public class ListenerRegistry<E extends Event, L extends EventListener<E>>
         log.warn("Exception encountered while processing event " + event, error);
     }
 
+    // Listener being run by a dispatching thread
+    private static final class InFlight<L> {
+        private volatile L listener;
+        private volatile long start;
+    }
 }
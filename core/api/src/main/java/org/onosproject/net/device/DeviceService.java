@@ -23,7 +23,9 @@ import org.onosproject.net.MastershipRole;
 import org.onosproject.net.Port;
 import org.onosproject.net.PortNumber;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Service for interacting with the inventory of infrastructure devices.
@@ -144,6 +146,39 @@ public interface DeviceService
         return null;
     }
 
+    /**
+     * Returns the history of the statistics of the specified device and port,
+     * downsampled to the given resolution; the latest sample is always part
+     * of the result.
+     *
+     * @param deviceId   device identifier
+     * @param portNumber port identifier
+     * @param since      time of the oldest sample to return, in milliseconds since the epoch
+     * @param resolution minimum time between two returned samples, in milliseconds
+     * @return time series of the port counters
+     */
+    default PortStatisticsSeries getPortStatisticsSeries(DeviceId deviceId, PortNumber portNumber,
+                                                         long since, long resolution) {
+        return PortStatisticsSeries.EMPTY;
+    }
+
+    /**
+     * Returns the history of the statistics of all the ports of the specified
+     * device, downsampled to the given resolution, in a single query.
+     *
+     * @param deviceId   device identifier
+     * @param since      time of the oldest sample to return, in milliseconds since the epoch
+     * @param resolution minimum time between two returned samples, in milliseconds
+     * @return time series of the port counters, by port
+     */
+    default Map<PortNumber, PortStatisticsSeries> getPortStatisticsSeries(DeviceId deviceId,
+                                                                          long since, long resolution) {
+        Map<PortNumber, PortStatisticsSeries> series = new HashMap<>();
+        getPorts(deviceId).forEach(port -> series.put(
+                port.number(), getPortStatisticsSeries(deviceId, port.number(), since, resolution)));
+        return series;
+    }
+
     /**
      * Returns the port with the specified number and hosted by the given device.
      *
@@ -23,7 +23,9 @@ import org.onosproject.net.provider.ProviderId;
 import org.onosproject.store.Store;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 /**
@@ -188,6 +190,37 @@ public interface DeviceStore extends Store<DeviceEvent, DeviceStoreDelegate> {
         return null;
     }
 
+    /**
+     * Returns the history of the statistics of the specified device and port.
+     *
+     * @param deviceId   device identifier
+     * @param portNumber port identifier
+     * @param since      time of the oldest sample to return, in milliseconds since the epoch
+     * @param resolution minimum time between two returned samples, in milliseconds
+     * @return time series of the port counters
+     */
+    default PortStatisticsSeries getPortStatisticsSeries(DeviceId deviceId, PortNumber portNumber,
+                                                         long since, long resolution) {
+        return PortStatisticsSeries.EMPTY;
+    }
+
+    /**
+     * Returns the history of the statistics of all the ports of the specified
+     * device.
+     *
+     * @param deviceId   device identifier
+     * @param since      time of the oldest sample to return, in milliseconds since the epoch
+     * @param resolution minimum time between two returned samples, in milliseconds
+     * @return time series of the port counters, by port
+     */
+    default Map<PortNumber, PortStatisticsSeries> getPortStatisticsSeries(DeviceId deviceId,
+                                                                          long since, long resolution) {
+        Map<PortNumber, PortStatisticsSeries> series = new HashMap<>();
+        getPorts(deviceId).forEach(port -> series.put(
+                port.number(), getPortStatisticsSeries(deviceId, port.number(), since, resolution)));
+        return series;
+    }
+
     /**
      * Returns the specified device port.
      *
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.device;
+
+import java.util.Arrays;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Time series of the counters of a port, oldest sample first.
+ * <p>
+ * Samples are held in a single array of primitives, each made of
+ * {@link #SAMPLE_SIZE} consecutive values: the time of the sample in
+ * milliseconds since the epoch, followed by the packets received, packets
+ * sent, bytes received, bytes sent, received packets dropped, sent packets
+ * dropped, receive errors and transmit errors counters.
+ * </p>
+ */
+public final class PortStatisticsSeries {
+
+    /**
+     * Number of values making up a sample.
+     */
+    public static final int SAMPLE_SIZE = 9;
+
+    /**
+     * Series without any sample.
+     */
+    public static final PortStatisticsSeries EMPTY = new PortStatisticsSeries(new long[0]);
+
+    private static final int TIME = 0;
+    private static final int PACKETS_RECEIVED = 1;
+    private static final int PACKETS_SENT = 2;
+    private static final int BYTES_RECEIVED = 3;
+    private static final int BYTES_SENT = 4;
+    private static final int PACKETS_RX_DROPPED = 5;
+    private static final int PACKETS_TX_DROPPED = 6;
+    private static final int PACKETS_RX_ERRORS = 7;
+    private static final int PACKETS_TX_ERRORS = 8;
+
+    private final long[] samples;
+
+    /**
+     * Creates a series from the given samples, laid out as described above.
+     *
+     * @param samples samples of the series, oldest first
+     */
+    public PortStatisticsSeries(long[] samples) {
+        checkNotNull(samples);
+        checkArgument(samples.length % SAMPLE_SIZE == 0, "Incomplete sample");
+        this.samples = samples;
+    }
+
+    /**
+     * Writes the given statistics at the given position of an array of samples.
+     *
+     * @param samples array of samples
+     * @param offset  position of the sample in the array
+     * @param time    time of the sample in milliseconds since the epoch
+     * @param stats   port statistics
+     */
+    public static void write(long[] samples, int offset, long time, PortStatistics stats) {
+        samples[offset + TIME] = time;
+        samples[offset + PACKETS_RECEIVED] = stats.packetsReceived();
+        samples[offset + PACKETS_SENT] = stats.packetsSent();
+        samples[offset + BYTES_RECEIVED] = stats.bytesReceived();
+        samples[offset + BYTES_SENT] = stats.bytesSent();
+        samples[offset + PACKETS_RX_DROPPED] = stats.packetsRxDropped();
+        samples[offset + PACKETS_TX_DROPPED] = stats.packetsTxDropped();
+        samples[offset + PACKETS_RX_ERRORS] = stats.packetsRxErrors();
+        samples[offset + PACKETS_TX_ERRORS] = stats.packetsTxErrors();
+    }
+
+    /**
+     * Returns the number of samples in the series.
+     *
+     * @return number of samples
+     */
+    public int size() {
+        return samples.length / SAMPLE_SIZE;
+    }
+
+    /**
+     * Indicates whether the series has no sample.
+     *
+     * @return true if the series is empty
+     */
+    public boolean isEmpty() {
+        return samples.length == 0;
+    }
+
+    private long value(int index, int field) {
+        return samples[index * SAMPLE_SIZE + field];
+    }
+
+    /**
+     * Returns the time of the given sample.
+     *
+     * @param index index of the sample
+     * @return time in milliseconds since the epoch
+     */
+    public long time(int index) {
+        return value(index, TIME);
+    }
+
+    /**
+     * Returns the number of packets received as of the given sample.
+     *
+     * @param index index of the sample
+     * @return number of packets received
+     */
+    public long packetsReceived(int index) {
+        return value(index, PACKETS_RECEIVED);
+    }
+
+    /**
+     * Returns the number of packets sent as of the given sample.
+     *
+     * @param index index of the sample
+     * @return number of packets sent
+     */
+    public long packetsSent(int index) {
+        return value(index, PACKETS_SENT);
+    }
+
+    /**
+     * Returns the number of bytes received as of the given sample.
+     *
+     * @param index index of the sample
+     * @return number of bytes received
+     */
+    public long bytesReceived(int index) {
+        return value(index, BYTES_RECEIVED);
+    }
+
+    /**
+     * Returns the number of bytes sent as of the given sample.
+     *
+     * @param index index of the sample
+     * @return number of bytes sent
+     */
+    public long bytesSent(int index) {
+        return value(index, BYTES_SENT);
+    }
+
+    /**
+     * Returns the number of received packets dropped as of the given sample.
+     *
+     * @param index index of the sample
+     * @return number of received packets dropped
+     */
+    public long packetsRxDropped(int index) {
+        return value(index, PACKETS_RX_DROPPED);
+    }
+
+    /**
+     * Returns the number of sent packets dropped as of the given sample.
+     *
+     * @param index index of the sample
+     * @return number of sent packets dropped
+     */
+    public long packetsTxDropped(int index) {
+        return value(index, PACKETS_TX_DROPPED);
+    }
+
+    /**
+     * Returns the number of receive errors as of the given sample.
+     *
+     * @param index index of the sample
+     * @return number of receive errors
+     */
+    public long packetsRxErrors(int index) {
+        return value(index, PACKETS_RX_ERRORS);
+    }
+
+    /**
+     * Returns the number of transmit errors as of the given sample.
+     *
+     * @param index index of the sample
+     * @return number of transmit errors
+     */
+    public long packetsTxErrors(int index) {
+        return value(index, PACKETS_TX_ERRORS);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(samples);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof PortStatisticsSeries) {
+            return Arrays.equals(samples, ((PortStatisticsSeries) obj).samples);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("size", size())
+                .add("from", isEmpty() ? null : time(0))
+                .add("to", isEmpty() ? null : time(size() - 1))
+                .toString();
+    }
+}
@@ -15,24 +15,39 @@
  */
 package org.onosproject.net.packet;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import org.onosproject.net.ConnectPoint;
+import org.onlab.packet.DeserializationException;
 import org.onlab.packet.Ethernet;
+import org.onlab.packet.EthernetView;
+import org.slf4j.Logger;
 
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.util.Objects;
 import java.util.Optional;
 
 import static com.google.common.base.MoreObjects.toStringHelper;
+import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Default implementation of an immutable inbound packet.
+ * <p>
+ * Packets created from the raw data only are decoded lazily: the headers can
+ * be read through {@link #view()} and the frame is fully deserialized only the
+ * first time {@link #parsed()} is called.
+ * </p>
  */
 public final class DefaultInboundPacket implements InboundPacket {
 
+    private static final Logger log = getLogger(DefaultInboundPacket.class);
+
     private final ConnectPoint receivedFrom;
-    private final Ethernet parsed;
     private final ByteBuffer unparsed;
     private final Optional<Long> cookie;
+    private final EthernetView view;
+    private final Supplier<Ethernet> parsed;
 
     /**
      * Creates an immutable inbound packet.
@@ -57,9 +72,27 @@ public final class DefaultInboundPacket implements InboundPacket {
     public DefaultInboundPacket(ConnectPoint receivedFrom, Ethernet parsed,
             ByteBuffer unparsed, Optional<Long> cookie) {
         this.receivedFrom = receivedFrom;
-        this.parsed = parsed;
+        this.parsed = Suppliers.ofInstance(parsed);
+        this.unparsed = unparsed;
+        this.cookie = cookie;
+        this.view = null;
+    }
+
+    /**
+     * Creates an immutable inbound packet whose Ethernet frame is decoded
+     * lazily from the raw bytes.
+     *
+     * @param receivedFrom connection point where received
+     * @param unparsed     unparsed raw bytes
+     * @param cookie       cookie
+     */
+    public DefaultInboundPacket(ConnectPoint receivedFrom, ByteBuffer unparsed,
+                                Optional<Long> cookie) {
+        this.receivedFrom = receivedFrom;
         this.unparsed = unparsed;
         this.cookie = cookie;
+        this.view = EthernetView.of(unparsed);
+        this.parsed = Suppliers.memoize(this::materialize);
     }
 
     @Override
@@ -69,7 +102,24 @@ public final class DefaultInboundPacket implements InboundPacket {
 
     @Override
     public Ethernet parsed() {
-        return parsed;
+        return parsed.get();
+    }
+
+    private Ethernet materialize() {
+        try {
+            return view.materialize();
+        } catch (BufferUnderflowException | NullPointerException |
+                DeserializationException e) {
+            log.error("Packet deserialization problem", e);
+        } catch (Exception e) {
+            log.error("Unexpected packet deserialization problem", e);
+        }
+        return null;
+    }
+
+    @Override
+    public EthernetView view() {
+        return view != null ? view : InboundPacket.super.view();
     }
 
     @Override
@@ -85,7 +135,7 @@ public final class DefaultInboundPacket implements InboundPacket {
 
     @Override
     public int hashCode() {
-        return Objects.hash(receivedFrom, parsed, unparsed);
+        return Objects.hash(receivedFrom, parsed(), unparsed);
     }
 
     @Override
@@ -96,7 +146,7 @@ public final class DefaultInboundPacket implements InboundPacket {
         if (obj instanceof InboundPacket) {
             final DefaultInboundPacket other = (DefaultInboundPacket) obj;
             return Objects.equals(this.receivedFrom, other.receivedFrom) &&
-                    Objects.equals(this.parsed, other.parsed) &&
+                    Objects.equals(this.parsed(), other.parsed()) &&
                     Objects.equals(this.unparsed, other.unparsed);
         }
         return false;
@@ -106,7 +156,7 @@ public final class DefaultInboundPacket implements InboundPacket {
     public String toString() {
         return toStringHelper(this)
                 .add("receivedFrom", receivedFrom)
-                .add("parsed", parsed)
+                .add("parsed", parsed())
                 .toString();
     }
 }
@@ -17,6 +17,7 @@ package org.onosproject.net.packet;
 
 import org.onosproject.net.ConnectPoint;
 import org.onlab.packet.Ethernet;
+import org.onlab.packet.EthernetView;
 
 import java.nio.ByteBuffer;
 import java.util.Optional;
@@ -41,6 +42,23 @@ public interface InboundPacket {
      */
     Ethernet parsed();
 
+    /**
+     * Returns a view of the packet headers which are decoded on demand
+     * directly from the unparsed packet data, without materializing the
+     * whole frame.
+     *
+     * @return lazily decoded view of the Ethernet frame; null if the packet
+     * data is not available
+     */
+    default EthernetView view() {
+        ByteBuffer unparsed = unparsed();
+        if (unparsed != null) {
+            return EthernetView.of(unparsed);
+        }
+        Ethernet parsed = parsed();
+        return parsed != null ? EthernetView.of(parsed.serialize()) : null;
+    }
+
     /**
      * Unparsed packet data.
      *
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.packet;
+
+import com.google.common.collect.ImmutableSet;
+import org.onlab.packet.EthernetView;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Declarative description of the inbound packets a packet processor is
+ * interested in. The packet service uses it to hand each packet only to the
+ * processors which want to see it.
+ * <p>
+ * An interest matches a packet when its ethernet type is one of the given
+ * types, its IP protocol is the given one and either of its L4 ports is the
+ * given port; criteria which are not specified match any packet.
+ * </p>
+ */
+public final class PacketInterest {
+
+    private static final int ANY = -1;
+
+    /**
+     * Interest in all packets.
+     */
+    public static final PacketInterest ALL = builder().build();
+
+    private final Set<Short> ethTypes;
+    private final int ipProto;
+    private final int l4Port;
+
+    private PacketInterest(Set<Short> ethTypes, int ipProto, int l4Port) {
+        this.ethTypes = ethTypes;
+        this.ipProto = ipProto;
+        this.l4Port = l4Port;
+    }
+
+    /**
+     * Returns the ethernet types of interest.
+     *
+     * @return set of ethernet types; empty if any type is of interest
+     */
+    public Set<Short> ethTypes() {
+        return ethTypes;
+    }
+
+    /**
+     * Returns the IP protocol of interest.
+     *
+     * @return optional IP protocol number
+     */
+    public Optional<Byte> ipProto() {
+        return ipProto == ANY ? Optional.empty() : Optional.of((byte) ipProto);
+    }
+
+    /**
+     * Returns the L4 port of interest, either as source or destination.
+     *
+     * @return optional transport port
+     */
+    public Optional<Integer> l4Port() {
+        return l4Port == ANY ? Optional.empty() : Optional.of(l4Port);
+    }
+
+    /**
+     * Indicates whether this interest matches all packets.
+     *
+     * @return true if no criteria are specified
+     */
+    public boolean isAll() {
+        return ethTypes.isEmpty() && ipProto == ANY && l4Port == ANY;
+    }
+
+    /**
+     * Indicates whether the packet with the given headers is of interest.
+     *
+     * @param view lazily decoded view of the packet
+     * @return true if the packet is of interest
+     */
+    public boolean matches(EthernetView view) {
+        if (isAll()) {
+            return true;
+        }
+        if (view == null) {
+            return false;
+        }
+        if (!ethTypes.isEmpty() && !ethTypes.contains(view.etherType())) {
+            return false;
+        }
+        if (ipProto != ANY && (view.ipProtocol() & 0xff) != ipProto) {
+            return false;
+        }
+        return l4Port == ANY || view.sourcePort() == l4Port || view.destinationPort() == l4Port;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ethTypes, ipProto, l4Port);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof PacketInterest) {
+            PacketInterest that = (PacketInterest) obj;
+            return Objects.equals(ethTypes, that.ethTypes) &&
+                    ipProto == that.ipProto &&
+                    l4Port == that.l4Port;
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        if (isAll()) {
+            return "ALL";
+        }
+        return toStringHelper(this).omitNullValues()
+                .add("ethTypes", ethTypes.isEmpty() ? null : ethTypes)
+                .add("ipProto", ipProto == ANY ? null : ipProto)
+                .add("l4Port", l4Port == ANY ? null : l4Port)
+                .toString();
+    }
+
+    /**
+     * Returns a new builder of packet interests.
+     *
+     * @return packet interest builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder of packet interests.
+     */
+    public static final class Builder {
+
+        private final ImmutableSet.Builder<Short> ethTypes = ImmutableSet.builder();
+        private int ipProto = ANY;
+        private int l4Port = ANY;
+
+        private Builder() {
+        }
+
+        /**
+         * Adds an ethernet type of interest; may be invoked several times.
+         *
+         * @param ethType ethernet type
+         * @return this builder
+         */
+        public Builder matchEthType(short ethType) {
+            ethTypes.add(ethType);
+            return this;
+        }
+
+        /**
+         * Sets the IP protocol of interest.
+         *
+         * @param ipProto IP protocol number
+         * @return this builder
+         */
+        public Builder matchIpProtocol(byte ipProto) {
+            this.ipProto = ipProto & 0xff;
+            return this;
+        }
+
+        /**
+         * Sets the L4 port of interest, matched against both the source
+         * and the destination port.
+         *
+         * @param l4Port transport port
+         * @return this builder
+         */
+        public Builder matchL4Port(int l4Port) {
+            checkArgument(l4Port >= 0 && l4Port <= 0xffff, "Invalid L4 port %s", l4Port);
+            this.l4Port = l4Port;
+            return this;
+        }
+
+        /**
+         * Builds the packet interest.
+         *
+         * @return packet interest
+         */
+        public PacketInterest build() {
+            return new PacketInterest(ethTypes.build(), ipProto, l4Port);
+        }
+    }
+}
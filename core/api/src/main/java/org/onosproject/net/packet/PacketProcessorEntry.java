@@ -35,6 +35,15 @@ public interface PacketProcessorEntry {
      */
     int priority();
 
+    /**
+     * Returns the packets the processor is interested in.
+     *
+     * @return packet interest
+     */
+    default PacketInterest interest() {
+        return PacketInterest.ALL;
+    }
+
     /**
      * Returns the number of invocations.
      *
@@ -43,7 +43,19 @@ public interface PacketService {
      */
     void addProcessor(PacketProcessor processor, int priority);
 
-    // TODO allow processors to register for particular types of packets
+    /**
+     * Adds the specified processor to the list of packet processors,
+     * declaring which packets it is interested in. The processor is then
+     * given only the packets matching its interest, in the order of priority.
+     *
+     * @param processor processor to be added
+     * @param priority  priority in the reverse natural order
+     * @param interest  packets the processor is interested in
+     */
+    default void addProcessor(PacketProcessor processor, int priority,
+                              PacketInterest interest) {
+        addProcessor(processor, priority);
+    }
 
     /**
      * Removes the specified processor from the processing pipeline.
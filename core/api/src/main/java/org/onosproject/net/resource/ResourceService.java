@@ -17,10 +17,12 @@ package org.onosproject.net.resource;
 
 import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import org.onosproject.event.ListenerService;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -81,6 +83,29 @@ public interface ResourceService extends ResourceQueryService, ListenerService<R
         return allocate(consumer, Arrays.asList(resources));
     }
 
+    /**
+     * Allocates the specified resources to their users in bulk.
+     * Each user is allocated either all of its resources or none of them,
+     * independently of the other users, which makes it possible to reserve
+     * the resources of many users at once rather than one transaction each.
+     *
+     * @param requests resources to be allocated, keyed by user
+     * @return allocation information of the users whose allocation succeeded
+     */
+    default Map<ResourceConsumer, List<ResourceAllocation>> allocate(
+            Map<ResourceConsumer, ? extends List<? extends Resource>> requests) {
+        checkNotNull(requests);
+
+        ImmutableMap.Builder<ResourceConsumer, List<ResourceAllocation>> allocations = ImmutableMap.builder();
+        requests.forEach((consumer, resources) -> {
+            List<ResourceAllocation> allocated = allocate(consumer, resources);
+            if (!allocated.isEmpty()) {
+                allocations.put(consumer, allocated);
+            }
+        });
+        return allocations.build();
+    }
+
     /**
      * Releases the specified resource allocation.
      *
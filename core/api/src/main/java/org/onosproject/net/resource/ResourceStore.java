@@ -20,7 +20,9 @@ import org.onosproject.store.Store;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Service for storing resource and consumer information.
@@ -62,6 +64,22 @@ public interface ResourceStore extends Store<ResourceEvent, ResourceStoreDelegat
      */
     boolean allocate(List<? extends Resource> resources, ResourceConsumer consumer);
 
+    /**
+     * Allocates the specified resources to their consumers in bulk.
+     * Each consumer is allocated either all of its resources or none of them,
+     * independently of the other consumers; implementations are expected to
+     * make all the allocations within as few transactions as possible.
+     *
+     * @param requests resources to be allocated, keyed by consumer
+     * @return consumers which have been allocated their resources
+     */
+    default Set<ResourceConsumer> allocate(Map<ResourceConsumer, ? extends List<? extends Resource>> requests) {
+        return requests.entrySet().stream()
+                .filter(request -> allocate(request.getValue(), request.getKey()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
+    }
+
     /**
      * Releases the specified allocated resources in transactional way.
      * The state after completion of this method is all the resources
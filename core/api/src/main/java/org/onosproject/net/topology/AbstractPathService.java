@@ -93,12 +93,28 @@ public abstract class AbstractPathService
         // Otherwise get all paths between the source and destination edge
         // devices.
         Topology topology = topologyService.currentTopology();
-        Set<Path> paths = topologyService.getPaths(topology, srcDevice,
+        Set<Path> paths = getInfrastructurePaths(topology, srcDevice,
                 dstDevice, internalWeigher);
 
         return edgeToEdgePaths(srcEdge, dstEdge, paths, internalWeigher);
     }
 
+    /**
+     * Returns the shortest paths between the specified infrastructure
+     * devices. Subclasses may override this to reuse previously computed
+     * paths.
+     *
+     * @param topology topology snapshot
+     * @param src      source device
+     * @param dst      destination device
+     * @param weigher  link weigher
+     * @return set of shortest paths
+     */
+    protected Set<Path> getInfrastructurePaths(Topology topology, DeviceId src,
+                                               DeviceId dst, LinkWeigher weigher) {
+        return topologyService.getPaths(topology, src, dst, weigher);
+    }
+
     @Override
     public Stream<Path> getKShortestPaths(ElementId src, ElementId dst,
                                           LinkWeigher weigher) {
@@ -180,6 +180,39 @@ public interface EventuallyConsistentMapBuilder<K, V> {
      */
     EventuallyConsistentMapBuilder<K, V> withFasterConvergence();
 
+    /**
+     * Configures the number of buckets the map entries are hashed into for
+     * anti-entropy. Peers first exchange a summary of each bucket and only
+     * then the digests of the entries in the buckets which differ. Larger
+     * counts make for larger summaries but fewer digests to exchange when
+     * the maps differ.
+     * <p>
+     * The default is 256 buckets. A count of 0 makes peers exchange the
+     * digests of all the entries on every anti-entropy round, as do maps
+     * holding no more entries than there are buckets.
+     * </p>
+     *
+     * @param buckets number of anti-entropy buckets
+     * @return this EventuallyConsistentMapBuilder
+     */
+    EventuallyConsistentMapBuilder<K, V> withAntiEntropyBuckets(int buckets);
+
+    /**
+     * Configures the map to keep its values serialized in direct memory,
+     * outside of the Java heap, so that large maps do not weigh on garbage
+     * collection. Keys remain on the heap, and a bounded number of recently
+     * read values are cached in decoded form. Values are decoded on every
+     * other read, making reads more costly than for maps on the heap.
+     * <p>
+     * The default behavior is to keep values on the heap. Off-heap maps
+     * cannot be persistent.
+     * </p>
+     *
+     * @param cacheSize maximum number of values to cache decoded
+     * @return this EventuallyConsistentMapBuilder
+     */
+    EventuallyConsistentMapBuilder<K, V> withOffHeapValues(int cacheSize);
+
     /**
      * Configure the map to persist data to disk.
      * <p>
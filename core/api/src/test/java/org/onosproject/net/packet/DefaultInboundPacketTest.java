@@ -26,7 +26,10 @@ import com.google.common.testing.EqualsTester;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.onlab.junit.ImmutableClassChecker.assertThatClassIsImmutable;
 import static org.onosproject.net.NetTestTools.connectPoint;
 
@@ -87,4 +90,23 @@ public class DefaultInboundPacketTest {
         assertThat(packet1.unparsed(), notNullValue());
         assertThat(packet1.cookie(), equalTo(Optional.of(1L)));
     }
+
+    /**
+     * Tests the lazily decoded packet created from the raw bytes.
+     */
+    @Test
+    public void testLazyConstruction() {
+        DefaultInboundPacket lazy = new DefaultInboundPacket(connectPoint("d1", 1),
+                                                             ByteBuffer.wrap(eth.serialize()),
+                                                             Optional.of(1L));
+        assertThat(lazy.view().isBroadcast(), is(true));
+        assertThat(lazy.view().sourceMac(), equalTo(MacAddress.BROADCAST));
+        assertThat(lazy.parsed(), equalTo(eth));
+        assertThat(lazy.parsed(), sameInstance(lazy.parsed()));
+
+        DefaultInboundPacket truncated = new DefaultInboundPacket(connectPoint("d1", 1),
+                                                                  ByteBuffer.wrap(new byte[4]),
+                                                                  Optional.empty());
+        assertThat(truncated.parsed(), nullValue());
+    }
 }
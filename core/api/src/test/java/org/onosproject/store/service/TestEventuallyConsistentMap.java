@@ -20,6 +20,7 @@ import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
@@ -122,7 +123,17 @@ public final class TestEventuallyConsistentMap<K, V> extends EventuallyConsisten
 
     @Override
     public V compute(K key, BiFunction<K, V, V> recomputeFunction) {
-        return map.compute(key, recomputeFunction);
+        // Like the real map, notify listeners of the computed change; reading
+        // the previous value separately is not atomic, which is fine for tests
+        V previous = map.get(key);
+        V result = map.compute(key, recomputeFunction);
+        if (!Objects.equals(previous, result)) {
+            EventuallyConsistentMapEvent<K, V> event = result != null ?
+                    new EventuallyConsistentMapEvent<>(mapName, PUT, key, result) :
+                    new EventuallyConsistentMapEvent<>(mapName, REMOVE, key, previous);
+            notifyListeners(event);
+        }
+        return result;
     }
 
     @Override
@@ -227,6 +238,16 @@ public final class TestEventuallyConsistentMap<K, V> extends EventuallyConsisten
             return this;
         }
 
+        @Override
+        public EventuallyConsistentMapBuilder<K, V> withAntiEntropyBuckets(int buckets) {
+            return this;
+        }
+
+        @Override
+        public EventuallyConsistentMapBuilder<K, V> withOffHeapValues(int cacheSize) {
+            return this;
+        }
+
         @Override
         public EventuallyConsistentMapBuilder<K, V> withPersistence() {
             return this;
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Paths;
+
+/**
+ * Entry point of the core benchmarks.
+ * <p>
+ * Accepts the regular JMH command line options, but unless told otherwise
+ * writes the results in JSON format to {@value #RESULT_FILE} in the directory
+ * the benchmarks were launched from, so that runs can be compared by tools.
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+    private static final String RESULT_FILE = "onos-jmh-result.json";
+
+    // Set by "bazel run" to the directory the command was invoked from
+    private static final String WORKING_DIRECTORY = "BUILD_WORKING_DIRECTORY";
+
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks selected by the given command line.
+     *
+     * @param args JMH command line arguments
+     * @throws Exception if the benchmarks cannot be run
+     */
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        if (cmdOptions.shouldHelp()) {
+            cmdOptions.showHelp();
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions);
+        if (!cmdOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmdOptions.getResult().hasValue()) {
+            String directory = System.getenv(WORKING_DIRECTORY);
+            options.result(directory != null ?
+                                   Paths.get(directory, RESULT_FILE).toString() : RESULT_FILE);
+        }
+
+        Runner runner = new Runner(options.build());
+        if (cmdOptions.shouldList()) {
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.benchmarks;
+
+import com.google.common.collect.ImmutableSet;
+import org.onlab.packet.ChassisId;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DefaultDevice;
+import org.onosproject.net.DefaultLink;
+import org.onosproject.net.Device;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Link;
+import org.onosproject.net.provider.ProviderId;
+import org.onosproject.net.topology.DefaultGraphDescription;
+import org.onosproject.net.topology.GraphDescription;
+
+import static org.onosproject.net.PortNumber.portNumber;
+
+/**
+ * Synthetic topologies used by the benchmarks.
+ */
+public final class BenchmarkTopology {
+
+    /**
+     * Provider of the synthetic devices and links.
+     */
+    public static final ProviderId PID = new ProviderId("of", "org.onosproject.benchmarks");
+
+    private BenchmarkTopology() {
+    }
+
+    /**
+     * Returns the identifier of the device at the given position of a torus.
+     *
+     * @param size number of devices along each side of the torus
+     * @param row  row of the device
+     * @param col  column of the device
+     * @return device identifier
+     */
+    public static DeviceId deviceId(int size, int row, int col) {
+        return DeviceId.deviceId(String.format("of:%016x", row * size + col + 1));
+    }
+
+    /**
+     * Returns the description of a square torus of the given size, in which
+     * each device is linked in both directions to its four neighbours.
+     *
+     * @param size number of devices along each side
+     * @return graph description
+     */
+    public static GraphDescription torus(int size) {
+        ImmutableSet.Builder<Device> devices = ImmutableSet.builder();
+        ImmutableSet.Builder<Link> links = ImmutableSet.builder();
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                DeviceId id = deviceId(size, row, col);
+                devices.add(new DefaultDevice(PID, id, Device.Type.SWITCH,
+                                              "mfg", "1.0", "1.0", "1", new ChassisId()));
+                DeviceId right = deviceId(size, row, (col + 1) % size);
+                DeviceId down = deviceId(size, (row + 1) % size, col);
+                // Port 1 faces right, 2 left, 3 down and 4 up
+                links.add(link(id, 1, right, 2)).add(link(right, 2, id, 1));
+                links.add(link(id, 3, down, 4)).add(link(down, 4, id, 3));
+            }
+        }
+        return new DefaultGraphDescription(System.nanoTime(), System.currentTimeMillis(),
+                                           devices.build(), links.build());
+    }
+
+    private static Link link(DeviceId src, int srcPort, DeviceId dst, int dstPort) {
+        return DefaultLink.builder()
+                .providerId(PID)
+                .src(new ConnectPoint(src, portNumber(srcPort)))
+                .dst(new ConnectPoint(dst, portNumber(dstPort)))
+                .type(Link.Type.DIRECT)
+                .build();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.benchmarks;
+
+import com.google.common.collect.ImmutableSet;
+import org.onlab.packet.IpAddress;
+import org.onlab.packet.IpPrefix;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.VlanId;
+import org.onlab.util.KryoNamespace;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DefaultHost;
+import org.onosproject.net.DefaultLink;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.HostId;
+import org.onosproject.net.HostLocation;
+import org.onosproject.net.Link;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.provider.ProviderId;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization of typical store payloads with the core Kryo
+ * namespaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KryoNamespaceBenchmark {
+
+    private static final ProviderId PID = new ProviderId("of", "org.onosproject.benchmarks");
+    private static final DeviceId DEVICE_ID = DeviceId.deviceId("of:0000000000000001");
+
+    @Param({"flowEntry", "link", "host"})
+    public String payload;
+
+    private KryoNamespace namespace;
+    private Object object;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        namespace = KryoNamespace.newBuilder()
+                .register(KryoNamespaces.API)
+                .build("benchmark");
+        object = payload(payload);
+        bytes = namespace.serialize(object);
+    }
+
+    private static Object payload(String name) {
+        switch (name) {
+            case "flowEntry":
+                return flowEntry();
+            case "link":
+                return DefaultLink.builder()
+                        .providerId(PID)
+                        .src(new ConnectPoint(DEVICE_ID, PortNumber.portNumber(1)))
+                        .dst(new ConnectPoint(DeviceId.deviceId("of:0000000000000002"),
+                                              PortNumber.portNumber(2)))
+                        .type(Link.Type.DIRECT)
+                        .build();
+            case "host":
+                MacAddress mac = MacAddress.valueOf("00:00:00:00:00:01");
+                return new DefaultHost(PID, HostId.hostId(mac, VlanId.NONE), mac, VlanId.NONE,
+                                       new HostLocation(DEVICE_ID, PortNumber.portNumber(3), 0),
+                                       ImmutableSet.of(IpAddress.valueOf("10.0.0.1")));
+            default:
+                throw new IllegalArgumentException("Unknown payload " + name);
+        }
+    }
+
+    private static FlowEntry flowEntry() {
+        FlowRule rule = DefaultFlowRule.builder()
+                .forDevice(DEVICE_ID)
+                .withSelector(DefaultTrafficSelector.builder()
+                                      .matchInPort(PortNumber.portNumber(1))
+                                      .matchEthType((short) 0x0800)
+                                      .matchIPDst(IpPrefix.valueOf("10.0.1.0/24"))
+                                      .build())
+                .withTreatment(DefaultTrafficTreatment.builder()
+                                       .setOutput(PortNumber.portNumber(2))
+                                       .build())
+                .withPriority(40000)
+                .fromApp(new DefaultApplicationId(1, "org.onosproject.benchmarks"))
+                .makePermanent()
+                .build();
+        return new DefaultFlowEntry(rule, FlowEntry.FlowEntryState.ADDED, 10, 1000, 100000);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return namespace.serialize(object);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return namespace.deserialize(bytes);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.benchmarks;
+
+import org.onlab.packet.Data;
+import org.onlab.packet.DeserializationException;
+import org.onlab.packet.Deserializer;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.Ip4Address;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.UDP;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures deserialization of Ethernet frames and IPv4 packets as done for
+ * each packet-in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketDeserializerBenchmark {
+
+    @Param({"64", "1400"})
+    public int payloadSize;
+
+    private final Deserializer<Ethernet> ethernetDeserializer = Ethernet.deserializer();
+    private final Deserializer<IPv4> ipv4Deserializer = IPv4.deserializer();
+
+    private byte[] frame;
+    private byte[] packet;
+
+    @Setup
+    public void setUp() {
+        UDP udp = new UDP();
+        udp.setSourcePort(5000);
+        udp.setDestinationPort(6000);
+        udp.setPayload(new Data(new byte[payloadSize]));
+
+        IPv4 ipv4 = new IPv4();
+        ipv4.setSourceAddress(Ip4Address.valueOf("10.0.0.1").toInt());
+        ipv4.setDestinationAddress(Ip4Address.valueOf("10.0.0.2").toInt());
+        ipv4.setTtl((byte) 64);
+        ipv4.setProtocol(IPv4.PROTOCOL_UDP);
+        ipv4.setPayload(udp);
+
+        Ethernet eth = new Ethernet();
+        eth.setSourceMACAddress(MacAddress.valueOf("00:00:00:00:00:01"));
+        eth.setDestinationMACAddress(MacAddress.valueOf("00:00:00:00:00:02"));
+        eth.setEtherType(Ethernet.TYPE_IPV4);
+        eth.setPayload(ipv4);
+
+        frame = eth.serialize();
+        packet = ipv4.serialize();
+    }
+
+    @Benchmark
+    public Ethernet deserializeEthernet() throws DeserializationException {
+        return ethernetDeserializer.deserialize(frame, 0, frame.length);
+    }
+
+    @Benchmark
+    public IPv4 deserializeIpv4() throws DeserializationException {
+        return ipv4Deserializer.deserialize(packet, 0, packet.length);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.benchmarks;
+
+import org.onlab.graph.DijkstraGraphSearch;
+import org.onlab.graph.GraphPathSearch;
+import org.onlab.graph.LazyKShortestPathsSearch;
+import org.onlab.graph.Path;
+import org.onosproject.common.DefaultTopology;
+import org.onosproject.net.topology.DefaultTopologyVertex;
+import org.onosproject.net.topology.GraphDescription;
+import org.onosproject.net.topology.TopologyEdge;
+import org.onosproject.net.topology.TopologyGraph;
+import org.onosproject.net.topology.TopologyVertex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.onosproject.net.topology.HopCountLinkWeigher.DEFAULT_HOP_COUNT_WEIGHER;
+
+/**
+ * Measures topology computation and path searches on a torus topology.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathSearchBenchmark {
+
+    private static final int ALL_PATHS = GraphPathSearch.ALL_PATHS;
+
+    @Param({"10", "30"})
+    public int size;
+
+    @Param({"4"})
+    public int k;
+
+    private GraphDescription description;
+    private TopologyGraph graph;
+    private TopologyVertex src;
+    private TopologyVertex dst;
+
+    private final DijkstraGraphSearch<TopologyVertex, TopologyEdge> dijkstra =
+            new DijkstraGraphSearch<>();
+    private final LazyKShortestPathsSearch<TopologyVertex, TopologyEdge> kShortest =
+            new LazyKShortestPathsSearch<>();
+
+    @Setup
+    public void setUp() {
+        description = BenchmarkTopology.torus(size);
+        graph = new DefaultTopology(BenchmarkTopology.PID, description).getGraph();
+        // Opposite corners of the torus are the farthest apart
+        src = new DefaultTopologyVertex(BenchmarkTopology.deviceId(size, 0, 0));
+        dst = new DefaultTopologyVertex(BenchmarkTopology.deviceId(size, size / 2, size / 2));
+    }
+
+    @Benchmark
+    public DefaultTopology buildTopology() {
+        DefaultTopology topology = new DefaultTopology(BenchmarkTopology.PID, description);
+        // Clusters are computed lazily; force them as the topology manager would
+        topology.clusterCount();
+        return topology;
+    }
+
+    @Benchmark
+    public GraphPathSearch.Result<TopologyVertex, TopologyEdge> dijkstraShortestPaths() {
+        return dijkstra.search(graph, src, dst, DEFAULT_HOP_COUNT_WEIGHER, ALL_PATHS);
+    }
+
+    @Benchmark
+    public GraphPathSearch.Result<TopologyVertex, TopologyEdge> dijkstraAllDestinations() {
+        return dijkstra.search(graph, src, null, DEFAULT_HOP_COUNT_WEIGHER, ALL_PATHS);
+    }
+
+    @Benchmark
+    public List<Path<TopologyVertex, TopologyEdge>> lazyKShortestPaths() {
+        return kShortest.lazyPathSearch(graph, src, dst, DEFAULT_HOP_COUNT_WEIGHER)
+                .limit(k)
+                .collect(Collectors.toList());
+    }
+}
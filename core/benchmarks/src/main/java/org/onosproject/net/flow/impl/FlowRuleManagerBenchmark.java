@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.net.flow.impl;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.onlab.packet.Ip4Prefix;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.cluster.ClusterServiceAdapter;
+import org.onosproject.common.event.impl.TestEventDispatcher;
+import org.onosproject.core.CoreServiceAdapter;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.core.IdGenerator;
+import org.onosproject.mastership.MastershipServiceAdapter;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DeviceServiceAdapter;
+import org.onosproject.net.flow.CompletedBatchOperation;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowRuleOperations;
+import org.onosproject.net.flow.FlowRuleOperationsContext;
+import org.onosproject.net.flow.oldbatch.FlowRuleBatchEvent;
+import org.onosproject.net.flow.oldbatch.FlowRuleBatchOperation;
+import org.onosproject.net.flow.oldbatch.FlowRuleBatchRequest;
+import org.onosproject.store.trivial.SimpleFlowRuleStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.onosproject.net.NetTestTools.injectEventDispatcher;
+
+/**
+ * Measures the overhead of the flow rule manager when applying batches of
+ * flow rule operations, with a store that completes every batch at once.
+ * <p>
+ * All executors run inline, so each invocation covers the whole path from
+ * {@link FlowRuleManager#apply(FlowRuleOperations)} to the callback.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowRuleManagerBenchmark {
+
+    @Param({"100", "1000"})
+    public int batchSize;
+
+    @Param({"1", "16"})
+    public int deviceCount;
+
+    @Param({"false", "true"})
+    public boolean striped;
+
+    private FlowRuleManager manager;
+    private FlowRuleOperations operations;
+    private final AtomicLong completed = new AtomicLong();
+
+    @Setup
+    public void setUp() {
+        manager = new FlowRuleManager();
+        manager.store = new NullFlowRuleStore();
+        injectEventDispatcher(manager, new TestEventDispatcher());
+        manager.deviceService = new DeviceServiceAdapter();
+        manager.mastershipService = new MastershipServiceAdapter();
+        manager.coreService = new TestCoreService();
+        manager.cfgService = new ComponentConfigAdapter();
+        manager.clusterService = new ClusterServiceAdapter();
+        manager.operationsService = MoreExecutors.newDirectExecutorService();
+        manager.deviceInstallers = MoreExecutors.newDirectExecutorService();
+        manager.activate(null);
+
+        FlowRuleOperations.Builder builder = FlowRuleOperations.builder();
+        DefaultApplicationId appId = new DefaultApplicationId(1, "org.onosproject.benchmarks");
+        for (int i = 0; i < batchSize; i++) {
+            builder.add(DefaultFlowRule.builder()
+                                .forDevice(DeviceId.deviceId(String.format("of:%016x", i % deviceCount + 1)))
+                                .withSelector(DefaultTrafficSelector.builder()
+                                                      .matchEthType((short) 0x0800)
+                                                      .matchIPDst(Ip4Prefix.valueOf(0x0a000000 + (i << 8), 24))
+                                                      .build())
+                                .withTreatment(DefaultTrafficTreatment.builder()
+                                                       .setOutput(PortNumber.portNumber(1))
+                                                       .build())
+                                .withPriority(100)
+                                .fromApp(appId)
+                                .makePermanent()
+                                .build());
+        }
+        if (striped) {
+            builder.striped(1);
+        }
+        operations = builder.build(new FlowRuleOperationsContext() {
+            @Override
+            public void onSuccess(FlowRuleOperations ops) {
+                completed.incrementAndGet();
+            }
+        });
+    }
+
+    @TearDown
+    public void tearDown() {
+        manager.deactivate();
+    }
+
+    @Benchmark
+    public long applyBatch() {
+        manager.apply(operations);
+        return completed.get();
+    }
+
+    // Flow rule store acknowledging every batch without storing anything.
+    private static class NullFlowRuleStore extends SimpleFlowRuleStore {
+        @Override
+        public void storeBatch(FlowRuleBatchOperation operation) {
+            notifyDelegate(FlowRuleBatchEvent.completed(
+                    new FlowRuleBatchRequest(operation.id(), Collections.emptySet()),
+                    new CompletedBatchOperation(true, Collections.emptySet(), operation.deviceId())));
+        }
+    }
+
+    private static class TestCoreService extends CoreServiceAdapter {
+        private final AtomicLong ids = new AtomicLong();
+
+        @Override
+        public IdGenerator getIdGenerator(String topic) {
+            return ids::incrementAndGet;
+        }
+    }
+}
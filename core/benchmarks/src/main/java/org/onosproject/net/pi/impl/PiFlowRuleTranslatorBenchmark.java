@@ -0,0 +1,88 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.net.pi.impl;
+
+import org.onlab.packet.MacAddress;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.pi.model.PiPipeconf;
+import org.onosproject.net.pi.runtime.PiTableEntry;
+import org.onosproject.net.pi.service.PiTranslationException;
+import org.onosproject.pipelines.basic.PipeconfLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.onosproject.pipelines.basic.BasicConstants.INGRESS_TABLE0_CONTROL_TABLE0;
+
+/**
+ * Measures the translation of flow rules to table entries of the basic
+ * pipeline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PiFlowRuleTranslatorBenchmark {
+
+    private static final DeviceId DEVICE_ID = DeviceId.deviceId("device:bmv2:1");
+
+    private PiPipeconf pipeconf;
+    private FlowRule rule;
+
+    @Setup
+    public void setUp() {
+        pipeconf = PipeconfLoader.BASIC_PIPECONF;
+        rule = DefaultFlowRule.builder()
+                .forDevice(DEVICE_ID)
+                .forTable(INGRESS_TABLE0_CONTROL_TABLE0)
+                .fromApp(new DefaultApplicationId(1, "org.onosproject.benchmarks"))
+                .withSelector(DefaultTrafficSelector.builder()
+                                      .matchInPort(PortNumber.portNumber(1))
+                                      .matchEthSrc(MacAddress.valueOf("00:00:00:00:00:01"))
+                                      .matchEthDst(MacAddress.valueOf("00:00:00:00:00:02"))
+                                      .matchEthType((short) 0x0800)
+                                      .build())
+                .withTreatment(DefaultTrafficTreatment.builder()
+                                       .setOutput(PortNumber.portNumber(2))
+                                       .build())
+                .withPriority(100)
+                .makePermanent()
+                .build();
+    }
+
+    @Benchmark
+    public PiTableEntry translate() throws PiTranslationException {
+        return PiFlowRuleTranslatorImpl.translate(rule, pipeconf, null);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf.ctl.impl;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the framing of large NETCONF replies, such as get-config replies
+ * of optical devices, with end-of-message and chunked framing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NetconfMessageFramerBenchmark {
+
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    /**
+     * Size of the reply in megabytes.
+     */
+    @Param({"1", "32"})
+    public int size;
+
+    private byte[] endOfMessageInput;
+    private byte[] chunkedInput;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder reply = new StringBuilder("<rpc-reply message-id=\"101\" " +
+                "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\"><data>");
+        for (int i = 0; reply.length() < size * 1024 * 1024; i++) {
+            reply.append("<component><name>port-").append(i).append("</name><state>")
+                    .append("<oper-status>ACTIVE</oper-status><frequency>193100000</frequency>")
+                    .append("</state></component>");
+        }
+        reply.append("</data></rpc-reply>");
+        byte[] bytes = reply.toString().getBytes(StandardCharsets.UTF_8);
+
+        ByteArrayOutputStream eom = new ByteArrayOutputStream();
+        eom.write(bytes);
+        eom.write("]]>]]>".getBytes(StandardCharsets.UTF_8));
+        endOfMessageInput = eom.toByteArray();
+
+        ByteArrayOutputStream chunked = new ByteArrayOutputStream();
+        for (int offset = 0; offset < bytes.length; offset += CHUNK_SIZE) {
+            int length = Math.min(CHUNK_SIZE, bytes.length - offset);
+            chunked.write(("\n#" + length + "\n").getBytes(StandardCharsets.UTF_8));
+            chunked.write(bytes, offset, length);
+        }
+        chunked.write("\n##\n".getBytes(StandardCharsets.UTF_8));
+        chunkedInput = chunked.toByteArray();
+    }
+
+    @Benchmark
+    public String endOfMessage() throws IOException {
+        return new NetconfMessageFramer(new ByteArrayInputStream(endOfMessageInput)).next();
+    }
+
+    @Benchmark
+    public String chunked() throws IOException {
+        return new NetconfMessageFramer(new ByteArrayInputStream(chunkedInput)).next();
+    }
+}
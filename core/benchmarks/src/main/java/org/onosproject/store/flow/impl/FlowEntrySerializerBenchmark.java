@@ -0,0 +1,114 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.store.flow.impl;
+
+import org.onlab.packet.IpPrefix;
+import org.onlab.util.KryoNamespace;
+import org.onosproject.core.DefaultApplicationId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization of a bucket of flow entries, as replicated by the
+ * device flow table, with and without the compact flow entry serializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FlowEntrySerializerBenchmark {
+
+    private static final DeviceId DEVICE_ID = DeviceId.deviceId("of:0000000000000001");
+
+    @Param({"kryo", "compact"})
+    public String format;
+
+    @Param({"100", "1000"})
+    public int entryCount;
+
+    private KryoNamespace namespace;
+    private List<FlowEntry> entries;
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        KryoNamespace.Builder builder = KryoNamespace.newBuilder()
+                .register(KryoNamespaces.API);
+        if ("compact".equals(format)) {
+            builder.register(new FlowEntrySerializer(), DefaultFlowEntry.class);
+        }
+        namespace = builder.build("benchmark");
+
+        entries = new ArrayList<>(entryCount);
+        for (int i = 0; i < entryCount; i++) {
+            entries.add(flowEntry(i));
+        }
+        bytes = namespace.serialize(entries);
+    }
+
+    private static FlowEntry flowEntry(int i) {
+        FlowRule rule = DefaultFlowRule.builder()
+                .forDevice(DEVICE_ID)
+                .withSelector(DefaultTrafficSelector.builder()
+                                      .matchInPort(PortNumber.portNumber(1 + i % 8))
+                                      .matchEthType((short) 0x0800)
+                                      .matchIPDst(IpPrefix.valueOf(0x0a000000 + (i << 8), 24))
+                                      .build())
+                .withTreatment(DefaultTrafficTreatment.builder()
+                                       .setOutput(PortNumber.portNumber(1 + i % 16))
+                                       .build())
+                .withPriority(40000)
+                .fromApp(new DefaultApplicationId(1, "org.onosproject.benchmarks"))
+                .makePermanent()
+                .build();
+        return new DefaultFlowEntry(rule, FlowEntry.FlowEntryState.ADDED, 10, 1000, 100000);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return namespace.serialize(entries);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return namespace.deserialize(bytes);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.store.link.impl;
+
+import org.onosproject.benchmarks.BenchmarkTopology;
+import org.onosproject.cluster.ClusterServiceAdapter;
+import org.onosproject.cluster.NodeId;
+import org.onosproject.core.CoreServiceAdapter;
+import org.onosproject.mastership.MastershipServiceAdapter;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Link;
+import org.onosproject.net.config.NetworkConfigRegistryAdapter;
+import org.onosproject.net.device.DeviceClockServiceAdapter;
+import org.onosproject.net.link.DefaultLinkDescription;
+import org.onosproject.net.link.LinkDescription;
+import org.onosproject.net.topology.TopologyEdge;
+import org.onosproject.store.cluster.messaging.ClusterCommunicationServiceAdapter;
+import org.onosproject.store.service.TestStorageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.onosproject.net.PortNumber.portNumber;
+
+/**
+ * Measures link lookups by device and by connect point in the link store
+ * holding a torus topology; a torus of size 100 has 40000 links.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LinkStoreBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private ECLinkStore store;
+    private DeviceId deviceId;
+    private ConnectPoint connectPoint;
+
+    @Setup
+    public void setUp() {
+        ClusterServiceAdapter clusterService = new ClusterServiceAdapter();
+        NodeId localNodeId = clusterService.getLocalNode().id();
+
+        store = new ECLinkStore();
+        store.storageService = new TestStorageService();
+        store.clusterService = clusterService;
+        store.mastershipService = new MastershipServiceAdapter() {
+            @Override
+            public NodeId getMasterFor(DeviceId deviceId) {
+                return localNodeId;
+            }
+        };
+        store.deviceClockService = new DeviceClockServiceAdapter();
+        store.clusterCommunicator = new ClusterCommunicationServiceAdapter();
+        store.netCfgService = new NetworkConfigRegistryAdapter();
+        store.coreService = new CoreServiceAdapter();
+        store.activate();
+
+        for (TopologyEdge edge : BenchmarkTopology.torus(size).edges()) {
+            Link link = edge.link();
+            LinkDescription description = new DefaultLinkDescription(link.src(), link.dst(), link.type());
+            store.createOrUpdateLink(BenchmarkTopology.PID, description);
+        }
+
+        deviceId = BenchmarkTopology.deviceId(size, size / 2, size / 2);
+        connectPoint = new ConnectPoint(deviceId, portNumber(1));
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.deactivate();
+    }
+
+    @Benchmark
+    public Set<Link> deviceEgressLinks() {
+        return store.getDeviceEgressLinks(deviceId);
+    }
+
+    @Benchmark
+    public Set<Link> deviceIngressLinks() {
+        return store.getDeviceIngressLinks(deviceId);
+    }
+
+    @Benchmark
+    public Set<Link> egressLinks() {
+        return store.getEgressLinks(connectPoint);
+    }
+
+    @Benchmark
+    public Set<Link> ingressLinks() {
+        return store.getIngressLinks(connectPoint);
+    }
+}
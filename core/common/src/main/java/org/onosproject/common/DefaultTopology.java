@@ -59,7 +59,11 @@ import org.onosproject.net.topology.TopologyVertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -92,6 +96,11 @@ public class DefaultTopology extends AbstractModel implements Topology {
             new KShortestPathsSearch<>();
     private static final LazyKShortestPathsSearch<TopologyVertex, TopologyEdge> LAZY_KSHORTEST =
             new LazyKShortestPathsSearch<>();
+    private static final LinkWeigher VIABLE_LINKS_WEIGHER = new NoIndirectLinksWeigher();
+
+    // Maximum number of new inter-cluster links which are checked for
+    // merging clusters before the whole graph is searched instead.
+    private static final int MAX_MERGE_CHECKS = 64;
 
 
     private static int defaultMaxPaths = ALL_PATHS;
@@ -105,7 +114,7 @@ public class DefaultTopology extends AbstractModel implements Topology {
 
     private final LinkWeigher hopCountWeigher;
 
-    private final Supplier<SccResult<TopologyVertex, TopologyEdge>> clusterResults;
+    private final Supplier<ClusterResults> clusterResults;
     private final Supplier<ImmutableMap<ClusterId, TopologyCluster>> clusters;
     private final Supplier<ImmutableSet<ConnectPoint>> infrastructurePoints;
     private final Supplier<ImmutableSetMultimap<ClusterId, ConnectPoint>> broadcastSets;
@@ -158,6 +167,24 @@ public class DefaultTopology extends AbstractModel implements Topology {
      */
     public DefaultTopology(ProviderId providerId, GraphDescription description,
                            Function<ConnectPoint, Boolean> broadcastFunction) {
+        this(providerId, description, broadcastFunction, null);
+    }
+
+    /**
+     * Creates a topology descriptor attributed to the specified provider,
+     * deriving it from the previous topology where possible. Clusters,
+     * broadcast sets and infrastructure points which are not affected by
+     * the changes between the two graphs are carried over rather than
+     * computed anew.
+     *
+     * @param providerId        identity of the provider
+     * @param description       data describing the new topology
+     * @param broadcastFunction broadcast point function
+     * @param previous          previous topology; null if none
+     */
+    public DefaultTopology(ProviderId providerId, GraphDescription description,
+                           Function<ConnectPoint, Boolean> broadcastFunction,
+                           DefaultTopology previous) {
         super(providerId);
         this.broadcastFunction = broadcastFunction;
         this.time = description.timestamp();
@@ -166,15 +193,22 @@ public class DefaultTopology extends AbstractModel implements Topology {
         // Build the graph
         this.graph = new DefaultTopologyGraph(description.vertexes(),
                                               description.edges());
+        this.hopCountWeigher = new HopCountLinkWeigher(graph.getVertexes().size());
 
-        this.clusterResults = Suppliers.memoize(this::searchForClusters);
+        // Attempt to update the results of the previous topology first, and
+        // only search the entire graph if they cannot be updated.
+        IncrementalResults update = previous != null ? updateResults(previous) : null;
+        if (update != null) {
+            this.clusterResults = Suppliers.ofInstance(update.clusterResults);
+            this.broadcastSets = Suppliers.memoize(() -> buildBroadcastSets(update.broadcastSets));
+            this.infrastructurePoints = Suppliers.ofInstance(update.infrastructurePoints);
+        } else {
+            this.clusterResults = Suppliers.memoize(this::searchForClusters);
+            this.broadcastSets = Suppliers.memoize(() -> buildBroadcastSets(ImmutableMap.of()));
+            this.infrastructurePoints = Suppliers.memoize(this::findInfrastructurePoints);
+        }
         this.clusters = Suppliers.memoize(this::buildTopologyClusters);
-
         this.clusterIndexes = Suppliers.memoize(this::buildIndexes);
-
-        this.hopCountWeigher = new HopCountLinkWeigher(graph.getVertexes().size());
-        this.broadcastSets = Suppliers.memoize(this::buildBroadcastSets);
-        this.infrastructurePoints = Suppliers.memoize(this::findInfrastructurePoints);
         this.computeCost = Math.max(0, System.nanoTime() - time);
     }
 
@@ -640,15 +674,17 @@ public class DefaultTopology extends AbstractModel implements Topology {
 
     // Searches for SCC clusters in the network topology graph using Tarjan
     // algorithm.
-    private SccResult<TopologyVertex, TopologyEdge> searchForClusters() {
-        return TARJAN.search(graph, new NoIndirectLinksWeigher());
+    private ClusterResults searchForClusters() {
+        SccResult<TopologyVertex, TopologyEdge> result =
+                TARJAN.search(graph, VIABLE_LINKS_WEIGHER);
+        return new ClusterResults(result.clusterVertexes(), result.clusterEdges());
     }
 
     // Builds the topology clusters and returns the id-cluster bindings.
     private ImmutableMap<ClusterId, TopologyCluster> buildTopologyClusters() {
         ImmutableMap.Builder<ClusterId, TopologyCluster> clusterBuilder =
                 ImmutableMap.builder();
-        SccResult<TopologyVertex, TopologyEdge> results = clusterResults.get();
+        ClusterResults results = clusterResults.get();
 
         // Extract both vertexes and edges from the results; the lists form
         // pairs along the same index.
@@ -656,7 +692,7 @@ public class DefaultTopology extends AbstractModel implements Topology {
         List<Set<TopologyEdge>> clusterEdges = results.clusterEdges();
 
         // Scan over the lists and create a cluster from the results.
-        for (int i = 0, n = results.clusterCount(); i < n; i++) {
+        for (int i = 0, n = clusterVertexes.size(); i < n; i++) {
             Set<TopologyVertex> vertexSet = clusterVertexes.get(i);
             Set<TopologyEdge> edgeSet = clusterEdges.get(i);
 
@@ -683,11 +719,18 @@ public class DefaultTopology extends AbstractModel implements Topology {
         return minVertex;
     }
 
-    // Processes a map of broadcast sets for each cluster.
-    private ImmutableSetMultimap<ClusterId, ConnectPoint> buildBroadcastSets() {
+    // Processes a map of broadcast sets for each cluster, reusing the given
+    // ones which are known to be still valid.
+    private ImmutableSetMultimap<ClusterId, ConnectPoint> buildBroadcastSets(
+            Map<ClusterId, Set<ConnectPoint>> validSets) {
         Builder<ClusterId, ConnectPoint> builder = ImmutableSetMultimap.builder();
         for (TopologyCluster cluster : clusters.get().values()) {
-            addClusterBroadcastSet(cluster, builder);
+            Set<ConnectPoint> points = validSets.get(cluster.id());
+            if (points != null) {
+                builder.putAll(cluster.id(), points);
+            } else {
+                addClusterBroadcastSet(cluster, builder);
+            }
         }
         return builder.build();
     }
@@ -771,6 +814,198 @@ public class DefaultTopology extends AbstractModel implements Topology {
                                   linksBuilder.build());
     }
 
+    // Derives the clusters, broadcast sets and infrastructure points from
+    // those of the previous topology. Returns null if the changes may have
+    // merged clusters, in which case the entire graph has to be searched.
+    private IncrementalResults updateResults(DefaultTopology previous) {
+        // Bulk changes are cheaper to handle by searching the entire graph.
+        TopologyDelta delta = new TopologyDelta(previous.graph, graph);
+        if (2 * delta.size() > graph.getEdges().size() + graph.getVertexes().size()) {
+            return null;
+        }
+
+        ClusterResults previousResults = previous.clusterResults.get();
+        Map<DeviceId, TopologyCluster> previousClusters = previous.clustersByDevice();
+        int n = previousResults.clusterVertexes().size();
+
+        // Clusters which may have split, whose edge sets changed and whose
+        // viable paths changed respectively.
+        boolean[] split = new boolean[n];
+        boolean[] edgesChanged = new boolean[n];
+        boolean[] pathsChanged = new boolean[n];
+        List<TopologyEdge> crossEdges = new ArrayList<>();
+
+        for (TopologyVertex vertex : delta.removedVertexes()) {
+            split[previousClusters.get(vertex.deviceId()).id().index()] = true;
+        }
+        for (TopologyEdge edge : delta.removedEdges()) {
+            int i = clusterIndex(previousClusters, edge);
+            if (i >= 0) {
+                edgesChanged[i] = true;
+                split[i] |= isViable(edge);
+            }
+        }
+        for (TopologyEdge edge : delta.addedEdges()) {
+            int i = clusterIndex(previousClusters, edge);
+            if (i >= 0) {
+                edgesChanged[i] = true;
+                pathsChanged[i] |= isViable(edge);
+            } else if (isViable(edge)) {
+                crossEdges.add(edge);
+            }
+        }
+        for (Map.Entry<TopologyEdge, TopologyEdge> entry : delta.updatedEdges().entrySet()) {
+            TopologyEdge edge = entry.getKey();
+            boolean viable = isViable(edge);
+            boolean wasViable = isViable(entry.getValue());
+            int i = clusterIndex(previousClusters, edge);
+            if (i >= 0) {
+                edgesChanged[i] = true;
+                split[i] |= wasViable && !viable;
+                pathsChanged[i] |= viable && !wasViable;
+            } else if (viable && !wasViable) {
+                crossEdges.add(edge);
+            }
+        }
+
+        // Clusters can only merge if a new viable link between two of them
+        // closes a cycle; otherwise every new cluster lies within a previous
+        // one, or consists of a new device alone.
+        if (crossEdges.size() > MAX_MERGE_CHECKS) {
+            return null;
+        }
+        for (TopologyEdge edge : crossEdges) {
+            if (isReachable(edge.dst(), edge.src())) {
+                return null;
+            }
+        }
+
+        List<Set<TopologyVertex>> clusterVertexes = new ArrayList<>(n);
+        List<Set<TopologyEdge>> clusterEdges = new ArrayList<>(n);
+        Map<ClusterId, Set<ConnectPoint>> validSets = new HashMap<>();
+        ImmutableSetMultimap<ClusterId, ConnectPoint> previousSets = previous.broadcastSets.get();
+        for (int i = 0; i < n; i++) {
+            Set<TopologyVertex> vertexes = previousResults.clusterVertexes().get(i);
+            if (split[i]) {
+                // Search for clusters only among the remaining devices.
+                Set<TopologyVertex> remaining = vertexes.stream()
+                        .filter(graph.getVertexes()::contains)
+                        .collect(Collectors.toSet());
+                SccResult<TopologyVertex, TopologyEdge> result =
+                        TARJAN.search(new DefaultTopologyGraph(remaining, findClusterEdges(remaining)),
+                                      VIABLE_LINKS_WEIGHER);
+                clusterVertexes.addAll(result.clusterVertexes());
+                clusterEdges.addAll(result.clusterEdges());
+            } else {
+                // The cluster is intact; its broadcast set stays valid as long
+                // as its shortest paths could not have changed.
+                if (!pathsChanged[i]) {
+                    validSets.put(ClusterId.clusterId(clusterVertexes.size()),
+                                  previousSets.get(ClusterId.clusterId(i)));
+                }
+                clusterVertexes.add(vertexes);
+                clusterEdges.add(edgesChanged[i] ? findClusterEdges(vertexes) :
+                                         previousResults.clusterEdges().get(i));
+            }
+        }
+        for (TopologyVertex vertex : delta.addedVertexes()) {
+            Set<TopologyVertex> vertexes = ImmutableSet.of(vertex);
+            clusterVertexes.add(vertexes);
+            clusterEdges.add(findClusterEdges(vertexes));
+        }
+
+        return new IncrementalResults(new ClusterResults(clusterVertexes, clusterEdges),
+                                      validSets,
+                                      updateInfrastructurePoints(previous, delta));
+    }
+
+    // Returns the index of the previous cluster containing both ends of the
+    // given edge, or -1 if there is no such cluster.
+    private static int clusterIndex(Map<DeviceId, TopologyCluster> clusters,
+                                    TopologyEdge edge) {
+        TopologyCluster src = clusters.get(edge.src().deviceId());
+        TopologyCluster dst = clusters.get(edge.dst().deviceId());
+        return src != null && src.equals(dst) ? src.id().index() : -1;
+    }
+
+    private static boolean isViable(TopologyEdge edge) {
+        return VIABLE_LINKS_WEIGHER.weight(edge).isViable();
+    }
+
+    // Indicates whether the destination can be reached from the source over
+    // viable links.
+    private boolean isReachable(TopologyVertex src, TopologyVertex dst) {
+        Set<TopologyVertex> visited = new HashSet<>();
+        Deque<TopologyVertex> pending = new ArrayDeque<>();
+        visited.add(src);
+        pending.add(src);
+        while (!pending.isEmpty()) {
+            for (TopologyEdge edge : graph.getEdgesFrom(pending.poll())) {
+                if (isViable(edge) && visited.add(edge.dst())) {
+                    if (edge.dst().equals(dst)) {
+                        return true;
+                    }
+                    pending.add(edge.dst());
+                }
+            }
+        }
+        return false;
+    }
+
+    // Finds all edges of the graph linking the given vertexes.
+    private Set<TopologyEdge> findClusterEdges(Set<TopologyVertex> vertexes) {
+        ImmutableSet.Builder<TopologyEdge> builder = ImmutableSet.builder();
+        for (TopologyVertex vertex : vertexes) {
+            for (TopologyEdge edge : graph.getEdgesFrom(vertex)) {
+                if (vertexes.contains(edge.dst())) {
+                    builder.add(edge);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    // Applies the link changes to the previous set of infrastructure points.
+    private ImmutableSet<ConnectPoint> updateInfrastructurePoints(DefaultTopology previous,
+                                                                  TopologyDelta delta) {
+        Set<ConnectPoint> points = new HashSet<>(previous.infrastructurePoints.get());
+        for (TopologyEdge edge : delta.removedEdges()) {
+            if (edge.link().type() != Type.EDGE) {
+                points.remove(edge.link().src());
+                points.remove(edge.link().dst());
+            }
+        }
+
+        // Points of removed links may remain in use by other links.
+        for (TopologyEdge edge : delta.removedEdges()) {
+            if (edge.link().type() != Type.EDGE) {
+                addInfrastructurePoints(edge.src(), points);
+                addInfrastructurePoints(edge.dst(), points);
+            }
+        }
+        for (TopologyEdge edge : delta.addedEdges()) {
+            if (edge.link().type() != Type.EDGE) {
+                points.add(edge.link().src());
+                points.add(edge.link().dst());
+            }
+        }
+        return ImmutableSet.copyOf(points);
+    }
+
+    // Adds the infrastructure points of all links of the given vertex.
+    private void addInfrastructurePoints(TopologyVertex vertex, Set<ConnectPoint> points) {
+        for (TopologyEdge edge : graph.getEdgesFrom(vertex)) {
+            if (edge.link().type() != Type.EDGE) {
+                points.add(edge.link().src());
+            }
+        }
+        for (TopologyEdge edge : graph.getEdgesTo(vertex)) {
+            if (edge.link().type() != Type.EDGE) {
+                points.add(edge.link().dst());
+            }
+        }
+    }
+
     private GraphPathSearch<TopologyVertex, TopologyEdge> graphPathSearch() {
         return defaultGraphPathSearch != null ? defaultGraphPathSearch : DIJKSTRA;
     }
@@ -791,6 +1026,42 @@ public class DefaultTopology extends AbstractModel implements Topology {
         }
     }
 
+    // Vertexes and edges of the clusters; the lists form pairs along the
+    // same index.
+    private static final class ClusterResults {
+        private final List<Set<TopologyVertex>> clusterVertexes;
+        private final List<Set<TopologyEdge>> clusterEdges;
+
+        ClusterResults(List<Set<TopologyVertex>> clusterVertexes,
+                       List<Set<TopologyEdge>> clusterEdges) {
+            this.clusterVertexes = clusterVertexes;
+            this.clusterEdges = clusterEdges;
+        }
+
+        List<Set<TopologyVertex>> clusterVertexes() {
+            return clusterVertexes;
+        }
+
+        List<Set<TopologyEdge>> clusterEdges() {
+            return clusterEdges;
+        }
+    }
+
+    // Results derived from those of the previous topology.
+    private static final class IncrementalResults {
+        final ClusterResults clusterResults;
+        final Map<ClusterId, Set<ConnectPoint>> broadcastSets;
+        final ImmutableSet<ConnectPoint> infrastructurePoints;
+
+        IncrementalResults(ClusterResults clusterResults,
+                           Map<ClusterId, Set<ConnectPoint>> broadcastSets,
+                           ImmutableSet<ConnectPoint> infrastructurePoints) {
+            this.clusterResults = clusterResults;
+            this.broadcastSets = broadcastSets;
+            this.infrastructurePoints = infrastructurePoints;
+        }
+    }
+
     static final class ClusterIndexes {
         final ImmutableMap<DeviceId, TopologyCluster> clustersByDevice;
         final ImmutableSetMultimap<TopologyCluster, DeviceId> devicesByCluster;
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.common;
+
+import com.google.common.collect.Maps;
+import org.onosproject.net.topology.TopologyEdge;
+import org.onosproject.net.topology.TopologyGraph;
+import org.onosproject.net.topology.TopologyVertex;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Differences between two consecutive topology graphs.
+ */
+public final class TopologyDelta {
+
+    private final Set<TopologyVertex> addedVertexes = new HashSet<>();
+    private final Set<TopologyVertex> removedVertexes = new HashSet<>();
+    private final Set<TopologyEdge> addedEdges = new HashSet<>();
+    private final Collection<TopologyEdge> removedEdges;
+    private final Map<TopologyEdge, TopologyEdge> updatedEdges = Maps.newHashMap();
+
+    /**
+     * Computes the differences between the given graphs.
+     *
+     * @param previous previous topology graph
+     * @param current  current topology graph
+     */
+    public TopologyDelta(TopologyGraph previous, TopologyGraph current) {
+        for (TopologyVertex vertex : current.getVertexes()) {
+            if (!previous.getVertexes().contains(vertex)) {
+                addedVertexes.add(vertex);
+            }
+        }
+        for (TopologyVertex vertex : previous.getVertexes()) {
+            if (!current.getVertexes().contains(vertex)) {
+                removedVertexes.add(vertex);
+            }
+        }
+
+        // Edges are equal when they carry equal links, regardless of the
+        // link state; edges whose link has been replaced are tracked apart.
+        Map<TopologyEdge, TopologyEdge> previousEdges =
+                Maps.newHashMapWithExpectedSize(previous.getEdges().size());
+        previous.getEdges().forEach(edge -> previousEdges.put(edge, edge));
+        for (TopologyEdge edge : current.getEdges()) {
+            TopologyEdge previousEdge = previousEdges.remove(edge);
+            if (previousEdge == null) {
+                addedEdges.add(edge);
+            } else if (previousEdge.link() != edge.link()) {
+                updatedEdges.put(edge, previousEdge);
+            }
+        }
+        removedEdges = previousEdges.values();
+    }
+
+    /**
+     * Returns the vertexes present only in the current graph.
+     *
+     * @return added vertexes
+     */
+    public Set<TopologyVertex> addedVertexes() {
+        return addedVertexes;
+    }
+
+    /**
+     * Returns the vertexes present only in the previous graph.
+     *
+     * @return removed vertexes
+     */
+    public Set<TopologyVertex> removedVertexes() {
+        return removedVertexes;
+    }
+
+    /**
+     * Returns the edges present only in the current graph.
+     *
+     * @return added edges
+     */
+    public Set<TopologyEdge> addedEdges() {
+        return addedEdges;
+    }
+
+    /**
+     * Returns the edges present only in the previous graph.
+     *
+     * @return removed edges
+     */
+    public Collection<TopologyEdge> removedEdges() {
+        return removedEdges;
+    }
+
+    /**
+     * Returns the edges present in both graphs whose backing link has been
+     * updated, e.g. its state, bound to their previous counterparts.
+     *
+     * @return current edges mapped to the previous ones
+     */
+    public Map<TopologyEdge, TopologyEdge> updatedEdges() {
+        return updatedEdges;
+    }
+
+    /**
+     * Returns the number of vertexes and edges which differ.
+     *
+     * @return size of the delta
+     */
+    public int size() {
+        return addedVertexes.size() + removedVertexes.size() +
+                addedEdges.size() + removedEdges.size() + updatedEdges.size();
+    }
+}
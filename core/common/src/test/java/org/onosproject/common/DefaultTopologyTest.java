@@ -40,6 +40,8 @@ import org.onosproject.net.topology.TopologyEdge;
 import org.onosproject.net.topology.TopologyVertex;
 
 import java.util.Set;
+import java.util.stream.Collectors;
+
 import static com.google.common.collect.ImmutableSet.of;
 import static org.junit.Assert.*;
 import static org.onosproject.net.DeviceId.deviceId;
@@ -148,6 +150,80 @@ public class DefaultTopologyTest {
         assertFalse("cluster should not contain D5", devs.contains(D5));
     }
 
+    @Test
+    public void incrementalUpdate() {
+        // Cluster stays intact when an alternate path remains.
+        assertIncremental(of(device("1"), device("2"), device("3"), device("4"), device("5")),
+                          of(link("3", 2, "2", 2), link("2", 2, "3", 2),
+                             link("1", 3, "4", 3), link("4", 3, "1", 3),
+                             link("3", 4, "4", 4), link("4", 4, "3", 4)));
+
+        // Cluster splits when a device loses its links.
+        assertIncremental(of(device("1"), device("2"), device("3"), device("4"), device("5")),
+                          of(link("1", 1, "2", 1), link("3", 2, "2", 2),
+                             link("1", 3, "4", 3), link("4", 3, "1", 3),
+                             link("3", 4, "4", 4), link("4", 4, "3", 4)));
+
+        // New device joins as a cluster of its own.
+        assertIncremental(of(device("1"), device("2"), device("3"), device("4"),
+                             device("5"), device("6")),
+                          of(link("1", 1, "2", 1), link("2", 1, "1", 1),
+                             link("3", 2, "2", 2), link("2", 2, "3", 2),
+                             link("1", 3, "4", 3), link("4", 3, "1", 3),
+                             link("3", 4, "4", 4), link("4", 4, "3", 4),
+                             link("5", 1, "6", 1)));
+
+        // Clusters merge when new links close a cycle.
+        assertIncremental(of(device("1"), device("2"), device("3"), device("4"), device("5")),
+                          of(link("1", 1, "2", 1), link("2", 1, "1", 1),
+                             link("3", 2, "2", 2), link("2", 2, "3", 2),
+                             link("1", 3, "4", 3), link("4", 3, "1", 3),
+                             link("3", 4, "4", 4), link("4", 4, "3", 4),
+                             link("1", 5, "5", 5), link("5", 5, "1", 5)));
+    }
+
+    // Asserts that the topology derived from the current one matches the
+    // topology computed from scratch: clusters and their membership, broadcast
+    // sets, infrastructure points and paths between every pair of devices.
+    private void assertIncremental(Set<Device> devices, Set<Link> links) {
+        GraphDescription graphDescription =
+                new DefaultGraphDescription(System.nanoTime(), System.currentTimeMillis(),
+                                            devices, links);
+        DefaultTopology expected = new DefaultTopology(PID, graphDescription);
+        DefaultTopology actual = new DefaultTopology(PID, graphDescription, null, dt);
+
+        assertEquals("incorrect device count", expected.deviceCount(), actual.deviceCount());
+        assertEquals("incorrect link count", expected.linkCount(), actual.linkCount());
+        assertEquals("incorrect cluster count", expected.clusterCount(), actual.clusterCount());
+        for (Device device : devices) {
+            TopologyCluster e = expected.getCluster(device.id());
+            TopologyCluster a = actual.getCluster(device.id());
+            assertEquals("incorrect cluster devices",
+                         expected.getClusterDevices(e), actual.getClusterDevices(a));
+            assertEquals("incorrect cluster links",
+                         expected.getClusterLinks(e), actual.getClusterLinks(a));
+            assertEquals("incorrect root node", e.root(), a.root());
+            assertEquals("incorrect broadcast set",
+                         expected.broadcastPoints(e.id()), actual.broadcastPoints(a.id()));
+            for (Device other : devices) {
+                assertEquals("incorrect cluster membership",
+                             e.equals(expected.getCluster(other.id())),
+                             a.equals(actual.getCluster(other.id())));
+                assertEquals("incorrect paths",
+                             expected.getPaths(device.id(), other.id()),
+                             actual.getPaths(device.id(), other.id()));
+            }
+        }
+        for (Link link : dt.getGraph().getEdges().stream().map(TopologyEdge::link)
+                .collect(Collectors.toSet())) {
+            assertEquals("incorrect infrastructure point",
+                         expected.isInfrastructure(link.src()), actual.isInfrastructure(link.src()));
+        }
+        for (Link link : links) {
+            assertTrue("should be infrastructure point", actual.isInfrastructure(link.dst()));
+        }
+    }
+
     // Short-hand for creating a link.
     public static Link link(String src, int sp, String dst, int dp) {
         return DefaultLink.builder().providerId(PID)
@@ -160,7 +160,7 @@ public class SimpleTopologyStore
 
         // Have the default topology construct self from the description data.
         DefaultTopology newTopology =
-                new DefaultTopology(providerId, graphDescription);
+                new DefaultTopology(providerId, graphDescription, null, current);
 
         // Promote the new topology to current and return a ready-to-send event.
         synchronized (this) {
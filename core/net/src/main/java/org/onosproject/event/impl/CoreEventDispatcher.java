@@ -15,37 +15,58 @@
  */
 package org.onosproject.event.impl;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.SharedExecutors;
 import org.onosproject.event.AbstractEvent;
 import org.onosproject.event.DefaultEventSinkRegistry;
 import org.onosproject.event.Event;
 import org.onosproject.event.EventDeliveryService;
 import org.onosproject.event.EventSink;
+import org.onosproject.event.ListenerRegistry;
 import org.onosproject.net.device.DeviceEvent;
+import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.FlowRuleEvent;
 import org.onosproject.net.host.HostEvent;
+import org.onosproject.net.intent.Intent;
 import org.onosproject.net.intent.IntentEvent;
 import org.onosproject.net.link.LinkEvent;
 import org.onosproject.net.topology.TopologyEvent;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TimerTask;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static org.onlab.metrics.MetricsUtil.startTimer;
+import static org.onlab.metrics.MetricsUtil.stopTimer;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.EVENT_READ;
@@ -53,6 +74,13 @@ import static org.onosproject.security.AppPermission.Type.EVENT_WRITE;
 import static org.slf4j.LoggerFactory.getLogger;
 /**
  * Simple implementation of an event dispatching service.
+ * <p>
+ * Programming events can optionally be sharded across several dispatch loops
+ * by their subject, e.g. device for flow rule events and key for intent events,
+ * which preserves the delivery order of events pertaining to the same subject.
+ * When sharding is enabled, the sinks of these events must tolerate being
+ * invoked concurrently from several dispatch loops.
+ * </p>
  */
 @Component(immediate = true, service = EventDeliveryService.class)
 public class CoreEventDispatcher extends DefaultEventSinkRegistry
@@ -60,13 +88,24 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
 
     private final Logger log = getLogger(getClass());
 
+    private static final String METRICS_COMPONENT = "EventDispatcher";
+    private static final String LISTENERS_COMPONENT = "EventListeners";
+    private static final String QUEUE_DEPTH = "queueDepth";
+    private static final String PROCESS = "process";
+    private static final String BACKPRESSURE = "backpressure";
 
-    private DispatchLoop topologyDispatcher = new DispatchLoop("topology");
-    private DispatchLoop programmingDispatcher = new DispatchLoop("programming");
-    private DispatchLoop defaultDispatcher = new DispatchLoop("default");
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
 
-    private Map<Class, DispatchLoop> dispatcherMap =
-            new ImmutableMap.Builder<Class, DispatchLoop>()
+    private volatile int partitions = DEFAULT_PARTITIONS;
+    private volatile int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+    private DispatchGroup topologyDispatcher = new DispatchGroup("topology", false);
+    private DispatchGroup programmingDispatcher = new DispatchGroup("programming", true);
+    private DispatchGroup defaultDispatcher = new DispatchGroup("default", false);
+
+    private Map<Class, DispatchGroup> dispatcherMap =
+            new ImmutableMap.Builder<Class, DispatchGroup>()
                 .put(TopologyEvent.class, topologyDispatcher)
                 .put(DeviceEvent.class, topologyDispatcher)
                 .put(LinkEvent.class, topologyDispatcher)
@@ -75,24 +114,44 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
                 .put(IntentEvent.class, programmingDispatcher)
                 .build();
 
-    private Set<DispatchLoop> dispatchers =
-            new ImmutableSet.Builder<DispatchLoop>()
+    private Set<DispatchGroup> dispatchers =
+            new ImmutableSet.Builder<DispatchGroup>()
                 .addAll(dispatcherMap.values())
                 .add(defaultDispatcher)
                 .build();
 
+    // Extracts the subject key by which events are sharded; events of other
+    // classes are sharded by their subject
+    private Map<Class, Function<Event, Object>> partitionKeys =
+            new ImmutableMap.Builder<Class, Function<Event, Object>>()
+                .put(FlowRuleEvent.class, e -> ((FlowRule) e.subject()).deviceId())
+                .put(IntentEvent.class, e -> ((Intent) e.subject()).key())
+                .build();
+
+    // Per-sink metrics, keyed by the event class
+    private final Map<Class, SinkMetrics> sinkMetrics = new ConcurrentHashMap<>();
+
     // Default number of millis a sink can take to process an event.
     private static final long DEFAULT_EXECUTE_MS = 5_000; // ms
     private static final long WATCHDOG_MS = 250; // ms
 
+    // By default events are neither sharded nor bounded
+    private static final int DEFAULT_PARTITIONS = 1;
+    private static final int DEFAULT_QUEUE_CAPACITY = 0;
+    private static final int MAX_PARTITIONS = 64;
+
     @SuppressWarnings("unchecked")
     private static final Event KILL_PILL = new AbstractEvent(null, 0) {
     };
 
+    // Marks the threads of the dispatch loops, which must never be blocked
+    private static final ThreadLocal<Boolean> DISPATCHING =
+            ThreadLocal.withInitial(() -> Boolean.FALSE);
+
     private long maxProcessMillis = DEFAULT_EXECUTE_MS;
 
-    private DispatchLoop getDispatcher(Event event) {
-        DispatchLoop dispatcher = dispatcherMap.get(event.getClass());
+    private DispatchGroup getDispatcher(Event event) {
+        DispatchGroup dispatcher = dispatcherMap.get(event.getClass());
         if (dispatcher == null) {
             dispatcher = defaultDispatcher;
         }
@@ -107,11 +166,33 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
         }
     }
 
+    @Override
+    public <E extends Event> void addSink(Class<E> eventClass, EventSink<E> sink) {
+        super.addSink(eventClass, sink);
+        if (sink instanceof ListenerRegistry) {
+            ((ListenerRegistry) sink).setListenerMetrics(metricsService, LISTENERS_COMPONENT,
+                                                         eventClass.getSimpleName());
+        }
+    }
+
+    @Override
+    public <E extends Event> void removeSink(Class<E> eventClass) {
+        EventSink<E> sink = getSink(eventClass);
+        super.removeSink(eventClass);
+        if (sink instanceof ListenerRegistry) {
+            ((ListenerRegistry) sink).setListenerMetrics(null, null, null);
+        }
+        SinkMetrics metrics = sinkMetrics.remove(eventClass);
+        if (metrics != null) {
+            metrics.unregister();
+        }
+    }
+
     @Activate
     public void activate() {
-
+        dispatchers.forEach(DispatchGroup::registerMetrics);
         if (maxProcessMillis != 0) {
-            dispatchers.forEach(DispatchLoop::start);
+            dispatchers.forEach(DispatchGroup::start);
         }
 
         log.info("Started");
@@ -119,7 +200,8 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
 
     @Deactivate
     public void deactivate() {
-        dispatchers.forEach(DispatchLoop::stop);
+        dispatchers.forEach(DispatchGroup::stop);
+        dispatchers.forEach(DispatchGroup::unregisterMetrics);
 
         log.info("Stopped");
     }
@@ -133,9 +215,9 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
         maxProcessMillis = millis;
 
         if (millis == 0 && oldMillis != 0) {
-            dispatchers.forEach(DispatchLoop::stopWatchdog);
+            dispatchers.forEach(DispatchGroup::stopWatchdog);
         } else if (millis != 0 && oldMillis == 0) {
-            dispatchers.forEach(DispatchLoop::startWatchdog);
+            dispatchers.forEach(DispatchGroup::startWatchdog);
         }
     }
 
@@ -145,20 +227,237 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
         return maxProcessMillis;
     }
 
+    @Override
+    public void setDispatchPartitions(int partitions) {
+        checkPermission(EVENT_WRITE);
+        checkArgument(partitions > 0 && partitions <= MAX_PARTITIONS,
+                      "Partitions must be between 1 and %s", MAX_PARTITIONS);
+        if (this.partitions != partitions) {
+            this.partitions = partitions;
+            programmingDispatcher.rebuild();
+        }
+    }
+
+    @Override
+    public int getDispatchPartitions() {
+        checkPermission(EVENT_READ);
+        return partitions;
+    }
+
+    @Override
+    public void setDispatchQueueCapacity(int capacity) {
+        checkPermission(EVENT_WRITE);
+        checkArgument(capacity >= 0, "Queue capacity cannot be negative");
+        if (queueCapacity != capacity) {
+            queueCapacity = capacity;
+            dispatchers.forEach(DispatchGroup::rebuild);
+        }
+    }
+
+    @Override
+    public int getDispatchQueueCapacity() {
+        checkPermission(EVENT_READ);
+        return queueCapacity;
+    }
+
+    // Returns the key by which the given event is assigned to a partition
+    private Object partitionKey(Event event) {
+        Function<Event, Object> keyFunction = partitionKeys.get(event.getClass());
+        return keyFunction != null ? keyFunction.apply(event) : event.subject();
+    }
+
+    // Returns the metrics of the sink for the given event or null if disabled
+    private SinkMetrics sinkMetrics(Event event) {
+        if (metricsService == null) {
+            return null;
+        }
+        return sinkMetrics.computeIfAbsent(event.getClass(), SinkMetrics::new);
+    }
+
+    // Latency and backpressure metrics of a single event sink.
+    private final class SinkMetrics {
+        private final MetricsService service = metricsService;
+        private final MetricsComponent component;
+        private final MetricsFeature feature;
+        private final Timer processTimer;
+        private final Meter backpressureMeter;
+
+        private SinkMetrics(Class eventClass) {
+            component = service.registerComponent(METRICS_COMPONENT);
+            feature = component.registerFeature(eventClass.getSimpleName());
+            processTimer = service.createTimer(component, feature, PROCESS);
+            backpressureMeter = service.createMeter(component, feature, BACKPRESSURE);
+        }
+
+        private void unregister() {
+            service.removeMetric(component, feature, PROCESS);
+            service.removeMetric(component, feature, BACKPRESSURE);
+        }
+    }
+
+    // Set of dispatch loops sharing the load of the same category of events.
+    private class DispatchGroup {
+        private final String name;
+        private final boolean partitioned;
+        private volatile DispatchLoop[] loops;
+        // Whether the loops are meant to run, whether the current ones have
+        // been started and how many retired ones are still delivering events
+        private boolean enabled;
+        private boolean running;
+        private int draining;
+
+        DispatchGroup(String name, boolean partitioned) {
+            this.name = name;
+            this.partitioned = partitioned;
+            this.loops = createLoops();
+        }
+
+        private DispatchLoop[] createLoops() {
+            int count = partitioned ? partitions : 1;
+            DispatchLoop[] newLoops = new DispatchLoop[count];
+            for (int i = 0; i < count; i++) {
+                newLoops[i] = new DispatchLoop(this, count == 1 ? name : name + "-" + i,
+                                               queueCapacity);
+            }
+            return newLoops;
+        }
+
+        boolean add(Event event) {
+            return loopFor(event).add(event);
+        }
+
+        // Queues an event handed over by a retired loop, ahead of any poster
+        // held back by a full queue
+        void handOver(Event event) {
+            loopFor(event).eventsQueue.add(event);
+        }
+
+        private DispatchLoop loopFor(Event event) {
+            DispatchLoop[] current = loops;
+            if (current.length == 1) {
+                return current[0];
+            }
+            int index = Math.floorMod(Objects.hashCode(partitionKey(event)), current.length);
+            return current[index];
+        }
+
+        synchronized void start() {
+            enabled = true;
+            takeOver(false);
+        }
+
+        synchronized void stop() {
+            enabled = false;
+            running = false;
+            Arrays.stream(loops).forEach(DispatchLoop::stop);
+        }
+
+        // Starts the current loops, once no retired loop has events left to
+        // deliver unless forced to
+        private void takeOver(boolean force) {
+            if (enabled && !running && (draining == 0 || force)) {
+                running = true;
+                Arrays.stream(loops).forEach(DispatchLoop::start);
+            }
+        }
+
+        void startWatchdog() {
+            Arrays.stream(loops).forEach(DispatchLoop::startWatchdog);
+        }
+
+        void stopWatchdog() {
+            Arrays.stream(loops).forEach(DispatchLoop::stopWatchdog);
+        }
+
+        // Replaces the dispatch loops to reflect the current settings. The
+        // new loops queue the events posted meanwhile and only start once the
+        // retired loops have delivered the events queued before, so that the
+        // events of a subject keep their order. A retired loop still busy
+        // after the time limit of sinks no longer holds them back, in which
+        // case events queued before and after the change may interleave.
+        synchronized void rebuild() {
+            DispatchLoop[] retired = loops;
+            DispatchLoop[] fresh = createLoops();
+            loops = fresh;
+            running = false;
+            draining += retired.length;
+            Arrays.stream(retired).forEach(DispatchLoop::retire);
+            takeOver(false);
+            if (enabled && !running) {
+                SharedExecutors.getTimer().schedule(new TimerTask() {
+                    @Override
+                    public void run() {
+                        forceTakeOver(fresh);
+                    }
+                }, maxProcessMillis != 0 ? maxProcessMillis : DEFAULT_EXECUTE_MS);
+            }
+            log.info("Dispatcher {} now uses {} loop(s) with queue capacity {}",
+                     name, fresh.length, queueCapacity);
+        }
+
+        // Notes that a retired loop has delivered all its events
+        synchronized void retired() {
+            draining--;
+            takeOver(false);
+        }
+
+        private synchronized void forceTakeOver(DispatchLoop[] fresh) {
+            if (loops == fresh && enabled && !running) {
+                log.warn("Retired loops of dispatcher {} are still busy; " +
+                                 "events may be delivered out of order", name);
+                takeOver(true);
+            }
+        }
+
+        private int queueDepth() {
+            return Arrays.stream(loops).mapToInt(DispatchLoop::queueDepth).sum();
+        }
+
+        void registerMetrics() {
+            if (metricsService != null) {
+                MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+                MetricsFeature feature = component.registerFeature(name);
+                try {
+                    metricsService.registerMetric(component, feature, QUEUE_DEPTH,
+                                                  (Gauge<Integer>) this::queueDepth);
+                } catch (IllegalArgumentException e) {
+                    log.debug("Queue depth gauge of dispatcher {} already registered", name);
+                }
+            }
+        }
+
+        void unregisterMetrics() {
+            if (metricsService != null) {
+                MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+                metricsService.removeMetric(component, component.registerFeature(name), QUEUE_DEPTH);
+            }
+        }
+    }
+
     // Auxiliary event dispatching loop that feeds off the events queue.
     private class DispatchLoop implements Runnable {
+        private final DispatchGroup group;
         private final String name;
+        private final int capacity;
         private volatile boolean stopped;
+        private volatile boolean retired;
         private volatile EventSink lastSink;
+        private volatile Thread dispatchThread;
         // Means to detect long-running sinks
         private final Stopwatch stopwatch = Stopwatch.createUnstarted();
         private TimerTask watchdog;
         private volatile Future<?> dispatchFuture;
         private final BlockingQueue<Event> eventsQueue;
         private final ExecutorService executor;
+        // Posters waiting for the queue to drain below its capacity
+        private final AtomicInteger waiters = new AtomicInteger();
+        private final Object notFull = new Object();
+        private final AtomicBoolean handedOver = new AtomicBoolean();
 
-        DispatchLoop(String name) {
+        DispatchLoop(DispatchGroup group, String name, int capacity) {
+            this.group = group;
             this.name = name;
+            this.capacity = capacity;
             executor = newSingleThreadExecutor(
                     groupedThreads("onos/event",
                     "dispatch-" + name + "%d", log));
@@ -166,18 +465,60 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
         }
 
         public boolean add(Event event) {
+            // Hold back posters while the queue is full, except for the
+            // dispatch loops themselves which could otherwise deadlock
+            if (capacity > 0 && eventsQueue.size() >= capacity &&
+                    event != KILL_PILL && !DISPATCHING.get()) {
+                awaitNotFull(event);
+            }
             return eventsQueue.add(event);
         }
 
+        private void awaitNotFull(Event event) {
+            SinkMetrics metrics = sinkMetrics(event);
+            if (metrics != null) {
+                metrics.backpressureMeter.mark();
+            }
+            waiters.incrementAndGet();
+            try {
+                synchronized (notFull) {
+                    while (eventsQueue.size() >= capacity && !stopped && !retired) {
+                        notFull.wait(WATCHDOG_MS);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiters.decrementAndGet();
+            }
+        }
+
+        private void signalNotFull() {
+            if (waiters.get() > 0 && eventsQueue.size() < capacity) {
+                synchronized (notFull) {
+                    notFull.notifyAll();
+                }
+            }
+        }
+
+        int queueDepth() {
+            return eventsQueue.size();
+        }
+
         @Override
         public void run() {
             log.info("Dispatch loop({}) initiated", name);
+            DISPATCHING.set(Boolean.TRUE);
+            dispatchThread = Thread.currentThread();
             while (!stopped) {
                 try {
                     // Fetch the next event and if it is the kill-pill, bail
                     Event event = eventsQueue.take();
+                    signalNotFull();
                     if (event != KILL_PILL) {
                         process(event);
+                    } else if (retired) {
+                        break;
                     }
                 } catch (InterruptedException e) {
                     log.warn("Dispatch loop interrupted");
@@ -185,18 +526,39 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
                     log.warn("Error encountered while dispatching event:", e);
                 }
             }
+            if (retired) {
+                handOver();
+            }
             log.info("Dispatch loop({}) terminated", name);
         }
 
+        // Hands over any stragglers to the loops that replaced this one
+        private void handOver() {
+            if (!handedOver.compareAndSet(false, true)) {
+                return;
+            }
+            List<Event> pending = Lists.newArrayList();
+            eventsQueue.drainTo(pending);
+            pending.stream().filter(e -> e != KILL_PILL).forEach(group::handOver);
+            executor.shutdown();
+            group.retired();
+        }
+
         // Locate the sink for the event class and use it to process the event
         @SuppressWarnings("unchecked")
         private void process(Event event) {
             EventSink sink = getSink(event.getClass());
             if (sink != null) {
                 lastSink = sink;
+                SinkMetrics metrics = sinkMetrics(event);
+                Timer.Context context = startTimer(metrics != null ? metrics.processTimer : null);
                 stopwatch.start();
-                sink.process(event);
-                stopwatch.reset();
+                try {
+                    sink.process(event);
+                } finally {
+                    stopwatch.reset();
+                    stopTimer(context);
+                }
             } else {
                 log.warn("No sink registered for event class {}",
                          event.getClass().getName());
@@ -218,6 +580,19 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
             startWatchdog();
         }
 
+        // Lets the loop deliver the events queued so far and then terminate.
+        void retire() {
+            retired = true;
+            stopWatchdog();
+            if (dispatchFuture == null || stopped) {
+                // Not running, so the events queued so far are left for the
+                // loops that replaced this one
+                handOver();
+                return;
+            }
+            add(KILL_PILL);
+        }
+
         // Monitors event sinks to make sure none take too long to execute.
         private class Watchdog extends TimerTask {
             @Override
@@ -229,8 +604,13 @@ public class CoreEventDispatcher extends DefaultEventSinkRegistry
                              "spawning new dispatch loop",
                              lastSink.getClass().getName(), elapsedTimeMillis);
 
-                    // Notify the sink that it has exceeded its time limit.
-                    lastSink.onProcessLimit();
+                    // Notify the sink that it has exceeded its time limit;
+                    // listener registries learn which loop it happened on.
+                    if (lastSink instanceof ListenerRegistry) {
+                        ((ListenerRegistry) lastSink).onProcessLimit(dispatchThread);
+                    } else {
+                        lastSink.onProcessLimit();
+                    }
 
                     // Cancel the old dispatch loop and submit a new one.
 
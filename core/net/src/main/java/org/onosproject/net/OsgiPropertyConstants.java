@@ -32,6 +32,12 @@ public final class OsgiPropertyConstants {
     public static final String MAX_EVENT_TIME_LIMIT = "maxEventTimeLimit";
     public static final int MAX_EVENT_TIME_LIMIT_DEFAULT = 2000;
 
+    public static final String EVENT_DISPATCH_PARTITIONS = "eventDispatchPartitions";
+    public static final int EVENT_DISPATCH_PARTITIONS_DEFAULT = 1;
+
+    public static final String EVENT_DISPATCH_QUEUE_CAPACITY = "eventDispatchQueueCapacity";
+    public static final int EVENT_DISPATCH_QUEUE_CAPACITY_DEFAULT = 0;
+
     public static final String CALCULATE_PERFORMANCE_CHECK = "sharedThreadPerformanceCheck";
     public static final boolean CALCULATE_PERFORMANCE_CHECK_DEFAULT = false;
 
@@ -47,6 +53,9 @@ public final class OsgiPropertyConstants {
     public static final String POLL_FREQUENCY = "fallbackFlowPollFrequency";
     public static final int POLL_FREQUENCY_DEFAULT = 30;
 
+    public static final String SKIP_IDLE_FLOW_EVENTS = "skipIdleFlowEvents";
+    public static final boolean SKIP_IDLE_FLOW_EVENTS_DEFAULT = false;
+
     public static final String FOM_NUM_THREADS = "numThreads";
     public static final int FOM_NUM_THREADS_DEFAULT = 4;
 
@@ -92,6 +101,9 @@ public final class OsgiPropertyConstants {
     public static final String ICR_OPT_LABEL_SELECTION = "optLabelSelection";
     public static final String ICR_OPT_LABEL_SELECTION_DEFAULT = "NONE";
 
+    public static final String ICR_LABEL_POOL_LEASE = "labelPoolLease";
+    public static final int ICR_LABEL_POOL_LEASE_DEFAULT = 0;
+
     public static final String ICR_FLOW_OPTIMIZATION = "optimizeInstructions";
     public static final boolean ICR_FLOW_OPTIMIZATION_DEFAULT = false;
 
@@ -116,6 +128,9 @@ public final class OsgiPropertyConstants {
     public static final String IM_NUM_THREADS = "numThreads";
     public static final int IM_NUM_THREADS_DEFAULT = 12;
 
+    public static final String IM_MAX_BATCHES_IN_FLIGHT = "maxBatchesInFlight";
+    public static final int IM_MAX_BATCHES_IN_FLIGHT_DEFAULT = 1;
+
     public static final String MM_NUM_THREADS = "numThreads";
     public static final int MM_NUM_THREADS_DEFAULT = 12;
 
@@ -140,6 +155,12 @@ public final class OsgiPropertyConstants {
     public static final String PWM_PROBE_INTERVAL = "probeInterval";
     public static final int PWM_PROBE_INTERVAL_DEFAULT = 15;
 
+    public static final String PTS_TRANSLATION_CACHE_SIZE = "translationCacheSize";
+    public static final int PTS_TRANSLATION_CACHE_SIZE_DEFAULT = 0;
+
+    public static final String PM_PATH_CACHE_SIZE = "pathCacheSize";
+    public static final int PM_PATH_CACHE_SIZE_DEFAULT = 0;
+
     public static final String DTP_MAX_EVENTS = "maxEvents";
     public static final int DTP_MAX_EVENTS_DEFAULT = 1000;
 
@@ -166,4 +187,7 @@ public final class OsgiPropertyConstants {
 
     public static final String IFOM_OBJ_TIMEOUT_MS = "objectiveTimeoutMs";
     public static final int IFOM_OBJ_TIMEOUT_MS_DEFAULT = 15000;
+
+    public static final String IFOM_QUEUE_SHARDS = "queueShards";
+    public static final int IFOM_QUEUE_SHARDS_DEFAULT = 8;
 }
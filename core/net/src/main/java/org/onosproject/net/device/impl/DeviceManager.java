@@ -62,6 +62,7 @@ import org.onosproject.net.device.DeviceStore;
 import org.onosproject.net.device.DeviceStoreDelegate;
 import org.onosproject.net.device.PortDescription;
 import org.onosproject.net.device.PortStatistics;
+import org.onosproject.net.device.PortStatisticsSeries;
 import org.onosproject.net.provider.AbstractListenerProviderRegistry;
 import org.onosproject.net.provider.AbstractProviderService;
 import org.onosproject.net.provider.Provider;
@@ -399,6 +400,23 @@ public class DeviceManager
         return store.getDeltaStatisticsForPort(deviceId, portNumber);
     }
 
+    @Override
+    public PortStatisticsSeries getPortStatisticsSeries(DeviceId deviceId, PortNumber portNumber,
+                                                        long since, long resolution) {
+        checkPermission(DEVICE_READ);
+        checkNotNull(deviceId, DEVICE_ID_NULL);
+        checkNotNull(portNumber, PORT_NUMBER_NULL);
+        return store.getPortStatisticsSeries(deviceId, portNumber, since, resolution);
+    }
+
+    @Override
+    public Map<PortNumber, PortStatisticsSeries> getPortStatisticsSeries(DeviceId deviceId,
+                                                                         long since, long resolution) {
+        checkPermission(DEVICE_READ);
+        checkNotNull(deviceId, DEVICE_ID_NULL);
+        return store.getPortStatisticsSeries(deviceId, since, resolution);
+    }
+
     @Override
     public Port getPort(DeviceId deviceId, PortNumber portNumber) {
         checkPermission(DEVICE_READ);
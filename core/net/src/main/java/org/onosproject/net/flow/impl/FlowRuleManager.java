@@ -96,6 +96,8 @@ import static org.onosproject.net.OsgiPropertyConstants.POLL_FREQUENCY;
 import static org.onosproject.net.OsgiPropertyConstants.POLL_FREQUENCY_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.PURGE_ON_DISCONNECTION;
 import static org.onosproject.net.OsgiPropertyConstants.PURGE_ON_DISCONNECTION_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.SKIP_IDLE_FLOW_EVENTS;
+import static org.onosproject.net.OsgiPropertyConstants.SKIP_IDLE_FLOW_EVENTS_DEFAULT;
 import static org.onosproject.net.flow.FlowRuleEvent.Type.RULE_ADD_REQUESTED;
 import static org.onosproject.net.flow.FlowRuleEvent.Type.RULE_REMOVE_REQUESTED;
 import static org.onosproject.security.AppGuard.checkPermission;
@@ -116,7 +118,8 @@ import static org.slf4j.LoggerFactory.getLogger;
                 ALLOW_EXTRANEOUS_RULES + ":Boolean=" + ALLOW_EXTRANEOUS_RULES_DEFAULT,
                 IMPORT_EXTRANEOUS_RULES + ":Boolean=" + IMPORT_EXTRANEOUS_RULES_DEFAULT,
                 PURGE_ON_DISCONNECTION + ":Boolean=" + PURGE_ON_DISCONNECTION_DEFAULT,
-                POLL_FREQUENCY + ":Integer=" + POLL_FREQUENCY_DEFAULT
+                POLL_FREQUENCY + ":Integer=" + POLL_FREQUENCY_DEFAULT,
+                SKIP_IDLE_FLOW_EVENTS + ":Boolean=" + SKIP_IDLE_FLOW_EVENTS_DEFAULT
         }
 )
 public class FlowRuleManager
@@ -141,6 +144,10 @@ public class FlowRuleManager
     /** Frequency (in seconds) for polling flow statistics via fallback provider. */
     private int fallbackFlowPollFrequency = POLL_FREQUENCY_DEFAULT;
 
+    /** Skip the events of flow entries whose statistics did not change since the last poll;
+     * the statistic service relies on these events to compute the load of links. */
+    private boolean skipIdleFlowEvents = SKIP_IDLE_FLOW_EVENTS_DEFAULT;
+
     private final FlowRuleStoreDelegate delegate = new InternalStoreDelegate();
     private final DeviceListener deviceListener = new InternalDeviceListener();
 
@@ -261,6 +268,16 @@ public class FlowRuleManager
                      purgeOnDisconnection ? "enabled" : "disabled");
         }
 
+        flag = Tools.isPropertyEnabled(properties, SKIP_IDLE_FLOW_EVENTS);
+        if (flag == null) {
+            log.info("SkipIdleFlowEvents is not configured, " +
+                             "using current value of {}", skipIdleFlowEvents);
+        } else {
+            skipIdleFlowEvents = flag;
+            log.info("Configured. SkipIdleFlowEvents is {}",
+                     skipIdleFlowEvents ? "enabled" : "disabled");
+        }
+
         String s = get(properties, POLL_FREQUENCY);
         if (isNullOrEmpty(s)) {
             log.info("fallbackFlowPollFrequency is not configured, " +
@@ -549,13 +566,16 @@ public class FlowRuleManager
                     if (!shouldHandle(flowEntry.deviceId())) {
                         return false;
                     }
+                    boolean idle = storedEntry.state() == FlowEntry.FlowEntryState.ADDED &&
+                            storedEntry.packets() == flowEntry.packets() &&
+                            storedEntry.bytes() == flowEntry.bytes();
                     FlowRuleEvent event = store.addOrUpdateFlowRule(flowEntry);
                     // Something went wrong or there is no master or the device
                     // is not available better check if it is the latter cases
                     if (event == null) {
                         log.debug("No flow store event generated for addOrUpdate of {}", flowEntry);
                         return false;
-                    } else {
+                    } else if (!idle || !skipIdleFlowEvents) {
                         log.trace("Flow {} {}", flowEntry, event.type());
                         post(event);
                     }
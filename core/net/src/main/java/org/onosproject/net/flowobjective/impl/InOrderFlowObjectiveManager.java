@@ -16,13 +16,18 @@
 
 package org.onosproject.net.flowobjective.impl;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Timer;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalListeners;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ListMultimap;
-import com.google.common.collect.Multimaps;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.Tools;
 import org.onlab.util.Tools.LogLevel;
 import org.onosproject.net.DeviceId;
@@ -42,10 +47,14 @@ import org.onosproject.net.flowobjective.ObjectiveQueueKey;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Reference;
+import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.osgi.service.component.ComponentContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -62,6 +71,8 @@ import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.net.OsgiPropertyConstants.IFOM_OBJ_TIMEOUT_MS;
 import static org.onosproject.net.OsgiPropertyConstants.IFOM_OBJ_TIMEOUT_MS_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.IFOM_QUEUE_SHARDS;
+import static org.onosproject.net.OsgiPropertyConstants.IFOM_QUEUE_SHARDS_DEFAULT;
 
 /**
  * Provides implementation of the flow objective programming service.
@@ -70,29 +81,30 @@ import static org.onosproject.net.OsgiPropertyConstants.IFOM_OBJ_TIMEOUT_MS_DEFA
         immediate = true,
         service = FlowObjectiveService.class,
         property = {
-                IFOM_OBJ_TIMEOUT_MS + ":Integer=" + IFOM_OBJ_TIMEOUT_MS_DEFAULT
+                IFOM_OBJ_TIMEOUT_MS + ":Integer=" + IFOM_OBJ_TIMEOUT_MS_DEFAULT,
+                IFOM_QUEUE_SHARDS + ":Integer=" + IFOM_QUEUE_SHARDS_DEFAULT
         }
 )
 public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
     private final Logger log = LoggerFactory.getLogger(getClass());
 
+    private static final String METRICS_COMPONENT = "FlowObjective";
+    private static final String METRICS_FEATURE = "InOrderQueue";
+
     /** Objective timeout. */
     int objectiveTimeoutMs = IFOM_OBJ_TIMEOUT_MS_DEFAULT;
 
-    private Cache<FilteringObjQueueKey, Objective> filtObjQueueHead;
-    private Cache<ForwardingObjQueueKey, Objective> fwdObjQueueHead;
-    private Cache<NextObjQueueKey, Objective> nextObjQueueHead;
+    /** Number of shards of the queues of each objective type; changes take effect on the next activation. */
+    int queueShards = IFOM_QUEUE_SHARDS_DEFAULT;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
     private ScheduledExecutorService cacheCleaner;
-    private ExecutorService filtCacheEventExecutor;
-    private ExecutorService fwdCacheEventExecutor;
-    private ExecutorService nextCacheEventExecutor;
 
-    private ListMultimap<FilteringObjQueueKey, Objective> filtObjQueue =
-            Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
-    private ListMultimap<ForwardingObjQueueKey, Objective> fwdObjQueue =
-            Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
-    private ListMultimap<NextObjQueueKey, Objective> nextObjQueue =
-            Multimaps.synchronizedListMultimap(ArrayListMultimap.create());
+    private ShardedQueue<FilteringObjQueueKey> filtObjQueue;
+    private ShardedQueue<ForwardingObjQueueKey> fwdObjQueue;
+    private ShardedQueue<NextObjQueueKey> nextObjQueue;
 
     final FlowObjectiveStoreDelegate delegate = new InternalStoreDelegate();
 
@@ -117,28 +129,15 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
 
         cfgService.registerProperties(InOrderFlowObjectiveManager.class);
 
-        filtCacheEventExecutor = newSingleThreadExecutor(groupedThreads("onos/flowobj", "cache-event-filt", log));
-        fwdCacheEventExecutor = newSingleThreadExecutor(groupedThreads("onos/flowobj", "cache-event-fwd", log));
-        nextCacheEventExecutor = newSingleThreadExecutor(groupedThreads("onos/flowobj", "cache-event-next", log));
-
-        filtObjQueueHead = CacheBuilder.newBuilder()
-                .expireAfterWrite(objectiveTimeoutMs, TimeUnit.MILLISECONDS)
-                .removalListener(RemovalListeners.asynchronous(removalListener, filtCacheEventExecutor))
-                .build();
-        fwdObjQueueHead = CacheBuilder.newBuilder()
-                .expireAfterWrite(objectiveTimeoutMs, TimeUnit.MILLISECONDS)
-                .removalListener(RemovalListeners.asynchronous(removalListener, fwdCacheEventExecutor))
-                .build();
-        nextObjQueueHead = CacheBuilder.newBuilder()
-                .expireAfterWrite(objectiveTimeoutMs, TimeUnit.MILLISECONDS)
-                .removalListener(RemovalListeners.asynchronous(removalListener, nextCacheEventExecutor))
-                .build();
+        filtObjQueue = new ShardedQueue<>("filt", queueShards);
+        fwdObjQueue = new ShardedQueue<>("fwd", queueShards);
+        nextObjQueue = new ShardedQueue<>("next", queueShards);
 
         cacheCleaner = newSingleThreadScheduledExecutor(groupedThreads("onos/flowobj", "cache-cleaner", log));
         cacheCleaner.scheduleAtFixedRate(() -> {
-            filtObjQueueHead.cleanUp();
-            fwdObjQueueHead.cleanUp();
-            nextObjQueueHead.cleanUp();
+            filtObjQueue.cleanUp();
+            fwdObjQueue.cleanUp();
+            nextObjQueue.cleanUp();
         }, 0, objectiveTimeoutMs, TimeUnit.MILLISECONDS);
 
         // Replace store delegate to make sure pendingForward and pendingNext are resubmitted to
@@ -154,9 +153,9 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
         cacheCleaner.shutdown();
         clearQueue();
 
-        filtCacheEventExecutor.shutdown();
-        fwdCacheEventExecutor.shutdown();
-        nextCacheEventExecutor.shutdown();
+        filtObjQueue.shutdown();
+        fwdObjQueue.shutdown();
+        nextObjQueue.shutdown();
 
         super.deactivate();
         // Due to the check in the AbstractStore we have to pass the right instance
@@ -181,42 +180,34 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
         if (newObjectiveTimeoutMs != objectiveTimeoutMs && newObjectiveTimeoutMs > 0) {
             objectiveTimeoutMs = newObjectiveTimeoutMs;
             log.info("Reconfigured timeout of the objectives to {}", objectiveTimeoutMs);
-            // Recreates the queues
-            if (filtObjQueueHead != null) {
-                filtObjQueueHead.invalidateAll();
-                filtObjQueueHead = null;
-            }
-            filtObjQueueHead = CacheBuilder.newBuilder()
-                    .expireAfterWrite(objectiveTimeoutMs, TimeUnit.MILLISECONDS)
-                    .removalListener(RemovalListeners.asynchronous(removalListener, filtCacheEventExecutor))
-                    .build();
-            if (fwdObjQueueHead != null) {
-                fwdObjQueueHead.invalidateAll();
-                fwdObjQueueHead = null;
-            }
-            fwdObjQueueHead = CacheBuilder.newBuilder()
-                    .expireAfterWrite(objectiveTimeoutMs, TimeUnit.MILLISECONDS)
-                    .removalListener(RemovalListeners.asynchronous(removalListener, fwdCacheEventExecutor))
-                    .build();
-            if (nextObjQueueHead != null) {
-                nextObjQueueHead.invalidateAll();
-                nextObjQueueHead = null;
+            // Recreates the queue heads, if already activated
+            if (filtObjQueue != null) {
+                filtObjQueue.resetHeads();
+                fwdObjQueue.resetHeads();
+                nextObjQueue.resetHeads();
             }
-            nextObjQueueHead = CacheBuilder.newBuilder()
-                    .expireAfterWrite(objectiveTimeoutMs, TimeUnit.MILLISECONDS)
-                    .removalListener(RemovalListeners.asynchronous(removalListener, nextCacheEventExecutor))
-                    .build();
             // Restart the cleanup thread
             if (cacheCleaner != null) {
                 cacheCleaner.shutdownNow();
-                cacheCleaner = null;
+                cacheCleaner = newSingleThreadScheduledExecutor(
+                        groupedThreads("onos/flowobj", "cache-cleaner", log));
+                cacheCleaner.scheduleAtFixedRate(() -> {
+                    filtObjQueue.cleanUp();
+                    fwdObjQueue.cleanUp();
+                    nextObjQueue.cleanUp();
+                }, 0, objectiveTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        Integer newQueueShards = Tools.getIntegerProperty(context.getProperties(), IFOM_QUEUE_SHARDS);
+        if (newQueueShards != null && newQueueShards > 0 && newQueueShards != queueShards) {
+            queueShards = newQueueShards;
+            if (filtObjQueue == null) {
+                log.info("Configured number of queue shards to {}", queueShards);
+            } else {
+                log.info("Configured number of queue shards to {}, effective on the next activation",
+                         queueShards);
             }
-            cacheCleaner = newSingleThreadScheduledExecutor(groupedThreads("onos/flowobj", "cache-cleaner", log));
-            cacheCleaner.scheduleAtFixedRate(() -> {
-                filtObjQueueHead.cleanUp();
-                fwdObjQueueHead.cleanUp();
-                nextObjQueueHead.cleanUp();
-            }, 0, objectiveTimeoutMs, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -280,44 +271,36 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
 
     @Override
     public ListMultimap<FilteringObjQueueKey, Objective> getFilteringObjQueue() {
-        return filtObjQueue;
+        return filtObjQueue.queue();
     }
 
     @Override
     public ListMultimap<ForwardingObjQueueKey, Objective> getForwardingObjQueue() {
-        return fwdObjQueue;
+        return fwdObjQueue.queue();
     }
 
     @Override
     public ListMultimap<NextObjQueueKey, Objective> getNextObjQueue() {
-        return nextObjQueue;
+        return nextObjQueue.queue();
     }
 
     @Override
     public Map<FilteringObjQueueKey, Objective> getFilteringObjQueueHead() {
-        return filtObjQueueHead.asMap();
+        return filtObjQueue.heads();
     }
 
     @Override
     public Map<ForwardingObjQueueKey, Objective> getForwardingObjQueueHead() {
-        return fwdObjQueueHead.asMap();
+        return fwdObjQueue.heads();
     }
 
     @Override
     public Map<NextObjQueueKey, Objective> getNextObjQueueHead() {
-        return nextObjQueueHead.asMap();
+        return nextObjQueue.heads();
     }
 
     @Override
     public void clearQueue() {
-        filtObjQueueHead.invalidateAll();
-        fwdObjQueueHead.invalidateAll();
-        nextObjQueueHead.invalidateAll();
-
-        filtObjQueueHead.cleanUp();
-        fwdObjQueueHead.cleanUp();
-        nextObjQueueHead.cleanUp();
-
         filtObjQueue.clear();
         fwdObjQueue.clear();
         nextObjQueue.clear();
@@ -329,35 +312,18 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
      * @param deviceId Device ID
      * @param obj Flow objective
      */
-    private synchronized void enqueue(DeviceId deviceId, Objective obj) {
-        int queueSize;
-        int priority = obj.priority();
-
+    private void enqueue(DeviceId deviceId, Objective obj) {
         LogLevel logLevel = (obj.op() == Objective.Operation.VERIFY) ? LogLevel.TRACE : LogLevel.DEBUG;
         Tools.log(log, logLevel, "Enqueue {}", obj);
 
         if (obj instanceof FilteringObjective) {
-            FilteringObjQueueKey k = new FilteringObjQueueKey(deviceId, priority, ((FilteringObjective) obj).key());
-            filtObjQueue.put(k, obj);
-            queueSize = filtObjQueue.get(k).size();
+            filtObjQueue.enqueue(deviceId, filtKey(deviceId, obj), obj);
         } else if (obj instanceof ForwardingObjective) {
-            ForwardingObjQueueKey k =
-                    new ForwardingObjQueueKey(deviceId, priority, ((ForwardingObjective) obj).selector());
-            fwdObjQueue.put(k, obj);
-            queueSize = fwdObjQueue.get(k).size();
+            fwdObjQueue.enqueue(deviceId, fwdKey(deviceId, obj), obj);
         } else if (obj instanceof NextObjective) {
-            NextObjQueueKey k = new NextObjQueueKey(deviceId, obj.id());
-            nextObjQueue.put(k, obj);
-            queueSize = nextObjQueue.get(k).size();
+            nextObjQueue.enqueue(deviceId, nextKey(deviceId, obj), obj);
         } else {
             log.error("Unknown flow objective instance: {}", obj.getClass().getName());
-            return;
-        }
-        log.trace("{} queue size {}", obj.getClass().getSimpleName(), queueSize);
-
-        // Execute immediately if there is no pending obj ahead
-        if (queueSize == 1) {
-            execute(deviceId, obj);
         }
     }
 
@@ -368,28 +334,14 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
      * @param obj Flow objective
      * @param error ObjectiveError that triggers this dequeue. Null if this is not triggered by an error.
      */
-    private synchronized void dequeue(DeviceId deviceId, Objective obj, ObjectiveError error) {
-        List<Objective> remaining;
-        int priority = obj.priority();
-
+    private void dequeue(DeviceId deviceId, Objective obj, ObjectiveError error) {
         LogLevel logLevel = (obj.op() == Objective.Operation.VERIFY) ? LogLevel.TRACE : LogLevel.DEBUG;
         Tools.log(log, logLevel, "Dequeue {}", obj);
 
         if (obj instanceof FilteringObjective) {
-            FilteringObjQueueKey k = new FilteringObjQueueKey(deviceId, priority, ((FilteringObjective) obj).key());
-            if (!Objects.equals(ObjectiveError.INSTALLATIONTIMEOUT, error)) {
-                filtObjQueueHead.invalidate(k);
-            }
-            filtObjQueue.remove(k, obj);
-            remaining = filtObjQueue.get(k);
+            filtObjQueue.dequeue(deviceId, filtKey(deviceId, obj), obj, error);
         } else if (obj instanceof ForwardingObjective) {
-            ForwardingObjQueueKey k =
-                    new ForwardingObjQueueKey(deviceId, priority, ((ForwardingObjective) obj).selector());
-            if (!Objects.equals(ObjectiveError.INSTALLATIONTIMEOUT, error)) {
-                fwdObjQueueHead.invalidate(k);
-            }
-            fwdObjQueue.remove(k, obj);
-            remaining = fwdObjQueue.get(k);
+            fwdObjQueue.dequeue(deviceId, fwdKey(deviceId, obj), obj, error);
         } else if (obj instanceof NextObjective) {
             if (error != null) {
                 // Remove pendingForwards and pendingNexts if next objective failed
@@ -407,21 +359,9 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
                                     c.onError(pendingObj, error)));
                 }
             }
-            NextObjQueueKey k = new NextObjQueueKey(deviceId, obj.id());
-            if (!Objects.equals(ObjectiveError.INSTALLATIONTIMEOUT, error)) {
-                nextObjQueueHead.invalidate(k);
-            }
-            nextObjQueue.remove(k, obj);
-            remaining = nextObjQueue.get(k);
+            nextObjQueue.dequeue(deviceId, nextKey(deviceId, obj), obj, error);
         } else {
             log.error("Unknown flow objective instance: {}", obj.getClass().getName());
-            return;
-        }
-        log.trace("{} queue size {}", obj.getClass().getSimpleName(), remaining.size());
-
-        // Submit the next one in the queue, if any
-        if (remaining.size() > 0) {
-            execute(deviceId, remaining.get(0));
         }
     }
 
@@ -436,25 +376,243 @@ public class InOrderFlowObjectiveManager extends FlowObjectiveManager {
         LogLevel logLevel = (obj.op() == Objective.Operation.VERIFY) ? LogLevel.TRACE : LogLevel.DEBUG;
         Tools.log(log, logLevel, "Submit objective installer, deviceId {}, obj {}", deviceId, obj);
 
-        int priority = obj.priority();
         if (obj instanceof FilteringObjective) {
-            FilteringObjQueueKey k = new FilteringObjQueueKey(deviceId, priority, ((FilteringObjective) obj).key());
-            filtObjQueueHead.put(k, obj);
+            filtObjQueue.head(filtKey(deviceId, obj), obj);
             super.filter(deviceId, (FilteringObjective) obj);
         } else if (obj instanceof ForwardingObjective) {
-            ForwardingObjQueueKey k =
-                    new ForwardingObjQueueKey(deviceId, priority, ((ForwardingObjective) obj).selector());
-            fwdObjQueueHead.put(k, obj);
+            fwdObjQueue.head(fwdKey(deviceId, obj), obj);
             super.forward(deviceId, (ForwardingObjective) obj);
         } else if (obj instanceof NextObjective) {
-            NextObjQueueKey k = new NextObjQueueKey(deviceId, obj.id());
-            nextObjQueueHead.put(k, obj);
+            nextObjQueue.head(nextKey(deviceId, obj), obj);
             super.next(deviceId, (NextObjective) obj);
         } else {
             log.error("Unknown flow objective instance: {}", obj.getClass().getName());
         }
     }
 
+    private static FilteringObjQueueKey filtKey(DeviceId deviceId, Objective obj) {
+        return new FilteringObjQueueKey(deviceId, obj.priority(), ((FilteringObjective) obj).key());
+    }
+
+    private static ForwardingObjQueueKey fwdKey(DeviceId deviceId, Objective obj) {
+        return new ForwardingObjQueueKey(deviceId, obj.priority(), ((ForwardingObjective) obj).selector());
+    }
+
+    private static NextObjQueueKey nextKey(DeviceId deviceId, Objective obj) {
+        return new NextObjQueueKey(deviceId, obj.id());
+    }
+
+    /**
+     * In-order queues of one type of objectives, sharded by queue key.
+     * <p>
+     * Objectives of the same key always land in the same shard and are
+     * enqueued, dequeued and submitted in order under the lock of that
+     * shard, while other shards make progress in parallel. The timeouts of
+     * the objectives at the head of the queues are rare and are handled by
+     * a single thread for all the shards.
+     * </p>
+     *
+     * @param <K> queue key class
+     */
+    private final class ShardedQueue<K extends ObjectiveQueueKey> {
+        private final String name;
+        private final List<Shard> shards;
+        private final ExecutorService cacheEventExecutor;
+
+        ShardedQueue(String name, int numShards) {
+            this.name = name;
+            this.cacheEventExecutor = newSingleThreadExecutor(
+                    groupedThreads("onos/flowobj", "cache-event-" + name, log));
+            ImmutableList.Builder<Shard> builder = ImmutableList.builder();
+            for (int i = 0; i < numShards; i++) {
+                builder.add(new Shard(i));
+            }
+            this.shards = builder.build();
+        }
+
+        private Shard shard(K key) {
+            return shards.get(Math.floorMod(key.hashCode(), shards.size()));
+        }
+
+        /**
+         * Appends the given objective to the queue of the given key, and
+         * submits it if there is no pending objective ahead.
+         *
+         * @param deviceId device ID
+         * @param key      queue key
+         * @param obj      flow objective
+         */
+        void enqueue(DeviceId deviceId, K key, Objective obj) {
+            Shard shard = shard(key);
+            synchronized (shard) {
+                shard.queue.put(key, obj);
+                shard.enqueueTimes.put(obj, System.nanoTime());
+                List<Objective> queued = shard.queue.get(key);
+                log.trace("{} queue size {}", obj.getClass().getSimpleName(), queued.size());
+                if (queued.size() == 1) {
+                    shard.submit(deviceId, obj);
+                }
+            }
+        }
+
+        /**
+         * Removes the given completed objective from the queue of the given
+         * key, and submits the next objective of the queue, if any.
+         *
+         * @param deviceId device ID
+         * @param key      queue key
+         * @param obj      flow objective
+         * @param error    error which completed the objective, null on success
+         */
+        void dequeue(DeviceId deviceId, K key, Objective obj, ObjectiveError error) {
+            Shard shard = shard(key);
+            synchronized (shard) {
+                if (!Objects.equals(ObjectiveError.INSTALLATIONTIMEOUT, error)) {
+                    shard.head.invalidate(key);
+                }
+                shard.queue.remove(key, obj);
+                shard.enqueueTimes.remove(obj);
+                List<Objective> remaining = shard.queue.get(key);
+                log.trace("{} queue size {}", obj.getClass().getSimpleName(), remaining.size());
+                if (!remaining.isEmpty()) {
+                    shard.submit(deviceId, remaining.get(0));
+                }
+            }
+        }
+
+        /**
+         * Records the given objective as the head of the queue of the given
+         * key, i.e. the objective being executed.
+         *
+         * @param key queue key
+         * @param obj flow objective
+         */
+        void head(K key, Objective obj) {
+            shard(key).head.put(key, obj);
+        }
+
+        /**
+         * Returns a snapshot of the queued objectives.
+         *
+         * @return objectives by queue key
+         */
+        ListMultimap<K, Objective> queue() {
+            ListMultimap<K, Objective> queue = ArrayListMultimap.create();
+            for (Shard shard : shards) {
+                synchronized (shard) {
+                    queue.putAll(shard.queue);
+                }
+            }
+            return queue;
+        }
+
+        /**
+         * Returns a snapshot of the objectives at the head of the queues.
+         *
+         * @return objectives being executed by queue key
+         */
+        Map<K, Objective> heads() {
+            Map<K, Objective> heads = new HashMap<>();
+            shards.forEach(shard -> heads.putAll(shard.head.asMap()));
+            return heads;
+        }
+
+        /**
+         * Recreates the queue heads, e.g. after a change of the objective timeout.
+         */
+        void resetHeads() {
+            for (Shard shard : shards) {
+                Cache<K, Objective> head = shard.head;
+                shard.head = shard.newHead();
+                head.invalidateAll();
+            }
+        }
+
+        /**
+         * Expires the heads of the queues which timed out.
+         */
+        void cleanUp() {
+            shards.forEach(shard -> shard.head.cleanUp());
+        }
+
+        /**
+         * Drops all queued objectives.
+         */
+        void clear() {
+            for (Shard shard : shards) {
+                shard.head.invalidateAll();
+                shard.head.cleanUp();
+                synchronized (shard) {
+                    shard.queue.clear();
+                    shard.enqueueTimes.clear();
+                }
+            }
+        }
+
+        /**
+         * Stops handling timeouts and unregisters the shard metrics.
+         */
+        void shutdown() {
+            cacheEventExecutor.shutdown();
+            shards.forEach(Shard::unregisterMetrics);
+        }
+
+        // Queues of the keys hashed to the same shard, guarded by the shard itself.
+        private final class Shard {
+            private final int index;
+            private final ListMultimap<K, Objective> queue = ArrayListMultimap.create();
+            // Enqueue times of the objectives waiting in the queues of this shard
+            private final Map<Objective, Long> enqueueTimes = new IdentityHashMap<>();
+            private volatile Cache<K, Objective> head;
+            private final Timer waitTimer;
+
+            private Shard(int index) {
+                this.index = index;
+                this.head = newHead();
+
+                MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+                MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+                try {
+                    metricsService.registerMetric(component, feature, metricName("depth"), (Gauge<Integer>) () -> {
+                        synchronized (this) {
+                            return queue.size();
+                        }
+                    });
+                } catch (IllegalArgumentException e) {
+                    log.debug("Queue depth gauge {} already registered", metricName("depth"));
+                }
+                this.waitTimer = metricsService.createTimer(component, feature, metricName("waitTime"));
+            }
+
+            private String metricName(String metric) {
+                return name + "-" + index + "-" + metric;
+            }
+
+            private Cache<K, Objective> newHead() {
+                return CacheBuilder.newBuilder()
+                        .expireAfterWrite(objectiveTimeoutMs, TimeUnit.MILLISECONDS)
+                        .removalListener(RemovalListeners.asynchronous(removalListener, cacheEventExecutor))
+                        .build();
+            }
+
+            // Submits an objective which reached the head of its queue; called under the shard lock.
+            private void submit(DeviceId deviceId, Objective obj) {
+                Long enqueueTime = enqueueTimes.remove(obj);
+                if (enqueueTime != null && waitTimer != null) {
+                    waitTimer.update(System.nanoTime() - enqueueTime, TimeUnit.NANOSECONDS);
+                }
+                execute(deviceId, obj);
+            }
+
+            private void unregisterMetrics() {
+                MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+                MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+                metricsService.removeMetric(component, feature, metricName("depth"));
+                metricsService.removeMetric(component, feature, metricName("waitTime"));
+            }
+        }
+    }
+
     private class InternalStoreDelegate implements FlowObjectiveStoreDelegate {
         @Override
         public void notify(ObjectiveEvent event) {
@@ -25,10 +25,12 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Timer;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
- * An accumulator for building batches of intent operations. Only one batch should
- * be in process per instance at a time.
+ * An accumulator for building batches of intent operations. Only a bounded
+ * number of batches, by default one, should be in process per instance at
+ * a time.
  */
 public class IntentAccumulator extends AbstractAccumulator<IntentData> {
 
@@ -42,7 +44,8 @@ public class IntentAccumulator extends AbstractAccumulator<IntentData> {
 
     private final IntentBatchDelegate delegate;
 
-    private volatile boolean ready;
+    private final AtomicInteger batchesInFlight = new AtomicInteger();
+    private volatile int maxBatchesInFlight = 1;
 
     /**
      * Creates an intent operation accumulator.
@@ -51,14 +54,13 @@ public class IntentAccumulator extends AbstractAccumulator<IntentData> {
      */
     protected IntentAccumulator(IntentBatchDelegate delegate) {
         super(TIMER, DEFAULT_MAX_EVENTS, DEFAULT_MAX_BATCH_MS, DEFAULT_MAX_IDLE_MS);
-        this.delegate = delegate;
         // Assume that the delegate is ready for work at the start
-        ready = true; //TODO validate the assumption that delegate is ready
+        this.delegate = delegate;
     }
 
     @Override
     public void processItems(List<IntentData> items) {
-        ready = false;
+        batchesInFlight.incrementAndGet();
         delegate.execute(reduce(items));
     }
 
@@ -73,10 +75,31 @@ public class IntentAccumulator extends AbstractAccumulator<IntentData> {
 
     @Override
     public boolean isReady() {
-        return ready;
+        return batchesInFlight.get() < maxBatchesInFlight;
     }
 
+    /**
+     * Signals that the delegate is done with one of the batches in process.
+     */
     public void ready() {
-        ready = true;
+        batchesInFlight.decrementAndGet();
+    }
+
+    /**
+     * Sets the maximum number of batches which may be in process at a time.
+     *
+     * @param maxBatchesInFlight maximum number of batches in process
+     */
+    public void setMaxBatchesInFlight(int maxBatchesInFlight) {
+        this.maxBatchesInFlight = Math.max(1, maxBatchesInFlight);
+    }
+
+    /**
+     * Returns the number of batches currently in process.
+     *
+     * @return number of batches in process
+     */
+    public int batchesInFlight() {
+        return batchesInFlight.get();
     }
 }
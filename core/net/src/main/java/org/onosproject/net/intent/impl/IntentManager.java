@@ -15,7 +15,13 @@
  */
 package org.onosproject.net.intent.impl;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer;
 import com.google.common.collect.ImmutableSet;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.Tools;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.core.ApplicationId;
@@ -69,7 +75,9 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -77,6 +85,8 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.onlab.util.Tools.groupedThreads;
+import static org.onosproject.net.OsgiPropertyConstants.IM_MAX_BATCHES_IN_FLIGHT;
+import static org.onosproject.net.OsgiPropertyConstants.IM_MAX_BATCHES_IN_FLIGHT_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.IM_NUM_THREADS;
 import static org.onosproject.net.OsgiPropertyConstants.IM_NUM_THREADS_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.IM_SKIP_RELEASE_RESOURCES_ON_WITHDRAWAL;
@@ -104,7 +114,8 @@ import static org.slf4j.LoggerFactory.getLogger;
     },
     property = {
         IM_SKIP_RELEASE_RESOURCES_ON_WITHDRAWAL + ":Boolean=" + IM_SKIP_RELEASE_RESOURCES_ON_WITHDRAWAL_DEFAULT,
-        IM_NUM_THREADS + ":Integer=" + IM_NUM_THREADS_DEFAULT
+        IM_NUM_THREADS + ":Integer=" + IM_NUM_THREADS_DEFAULT,
+        IM_MAX_BATCHES_IN_FLIGHT + ":Integer=" + IM_MAX_BATCHES_IN_FLIGHT_DEFAULT
     }
 )
 public class IntentManager
@@ -116,6 +127,14 @@ public class IntentManager
     private static final String INTENT_NULL = "Intent cannot be null";
     private static final String INTENT_ID_NULL = "Intent key cannot be null";
 
+    private static final String METRICS_COMPONENT = "Intent";
+    private static final String METRICS_FEATURE = "Batch";
+    private static final String BATCHES_IN_FLIGHT = "batchesInFlight";
+    private static final String KEYS_IN_FLIGHT = "keysInFlight";
+    private static final String BATCH_SIZE = "batchSize";
+    private static final String PROCESS_LATENCY = "processLatency";
+    private static final String WRITE_LATENCY = "writeLatency";
+
     private static final EnumSet<IntentState> RECOMPILE
             = EnumSet.of(INSTALL_REQ, FAILED, WITHDRAW_REQ);
     private static final EnumSet<IntentState> WITHDRAW
@@ -127,6 +146,9 @@ public class IntentManager
     /** Number of worker threads. */
     private int numThreads = IM_NUM_THREADS_DEFAULT;
 
+    /** Maximum number of intent batches processed at a time; above 1, batches are pipelined. */
+    private int maxBatchesInFlight = IM_MAX_BATCHES_IN_FLIGHT_DEFAULT;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected CoreService coreService;
 
@@ -157,9 +179,18 @@ public class IntentManager
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     private NetworkConfigService networkConfigService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
     private ExecutorService batchExecutor;
     private ExecutorService workerExecutor;
 
+    // Completion of the store write of the latest batch handling each key
+    private final Map<Key, CompletableFuture<Void>> keysInFlight = new ConcurrentHashMap<>();
+    private Histogram batchSizes;
+    private Timer batchProcessTimer;
+    private Timer batchWriteTimer;
+
     private final CompilerRegistry compilerRegistry = new CompilerRegistry();
     private final InstallerRegistry installerRegistry = new InstallerRegistry();
     private final InternalIntentProcessor processor = new InternalIntentProcessor();
@@ -188,6 +219,7 @@ public class IntentManager
         Intent.unbindIdGenerator(idGenerator);
         Intent.bindIdGenerator(idGenerator);
         installCoordinator = new InstallCoordinator(installerRegistry, store);
+        registerMetrics();
         log.info("Started");
     }
 
@@ -204,6 +236,7 @@ public class IntentManager
         batchExecutor.shutdown();
         workerExecutor.shutdown();
         Intent.unbindIdGenerator(idGenerator);
+        unregisterMetrics();
         log.info("Stopped");
     }
 
@@ -240,12 +273,46 @@ public class IntentManager
             }
             logConfig("Reconfigured number of worker threads");
         }
+
+        s = Tools.get(context.getProperties(), IM_MAX_BATCHES_IN_FLIGHT);
+        int newMaxBatchesInFlight = isNullOrEmpty(s) ? maxBatchesInFlight : Integer.parseInt(s.trim());
+        if (newMaxBatchesInFlight != maxBatchesInFlight && newMaxBatchesInFlight > 0) {
+            maxBatchesInFlight = newMaxBatchesInFlight;
+            accumulator.setMaxBatchesInFlight(maxBatchesInFlight);
+            log.info("Reconfigured maximum number of batches in flight to {}", maxBatchesInFlight);
+        }
     }
 
     private void logConfig(String prefix) {
         log.info("{} with skipReleaseResourcesOnWithdrawal = {}", prefix, skipReleaseResourcesOnWithdrawal);
     }
 
+    private void registerMetrics() {
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+        batchSizes = metricsService.createHistogram(component, feature, BATCH_SIZE);
+        batchProcessTimer = metricsService.createTimer(component, feature, PROCESS_LATENCY);
+        batchWriteTimer = metricsService.createTimer(component, feature, WRITE_LATENCY);
+        try {
+            metricsService.registerMetric(component, feature, BATCHES_IN_FLIGHT,
+                                          (Gauge<Integer>) accumulator::batchesInFlight);
+            metricsService.registerMetric(component, feature, KEYS_IN_FLIGHT,
+                                          (Gauge<Integer>) keysInFlight::size);
+        } catch (IllegalArgumentException e) {
+            log.debug("Intent batch gauges already registered");
+        }
+    }
+
+    private void unregisterMetrics() {
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+        metricsService.removeMetric(component, feature, BATCHES_IN_FLIGHT);
+        metricsService.removeMetric(component, feature, KEYS_IN_FLIGHT);
+        metricsService.removeMetric(component, feature, BATCH_SIZE);
+        metricsService.removeMetric(component, feature, PROCESS_LATENCY);
+        metricsService.removeMetric(component, feature, WRITE_LATENCY);
+    }
+
     @Override
     public void submit(Intent intent) {
         checkPermission(INTENT_WRITE);
@@ -538,43 +605,34 @@ public class IntentManager
             log.debug("Execute {} operation(s).", operations.size());
             log.trace("Execute operations: {}", operations);
 
-            // batchExecutor is single-threaded, so only one batch is in flight at a time
-            CompletableFuture.runAsync(() -> {
-                // process intent until the phase reaches one of the final phases
-                List<CompletableFuture<IntentData>> futures = operations.stream()
-                        .map(data -> {
-                            log.debug("Start processing of {} {}@{}", data.request(), data.key(), data.version());
-                            return data;
-                        })
-                        .map(x -> CompletableFuture.completedFuture(x)
-                                .thenApply(IntentManager.this::createInitialPhase)
-                                .thenApplyAsync(IntentProcessPhase::process, workerExecutor)
-                                .thenApply(FinalIntentProcessPhase::data)
-                                .exceptionally(e -> {
-                                    // When the future fails, we update the Intent to simulate the failure of
-                                    // the installation/withdrawal phase and we save in the current map. In
-                                    // the next round the CleanUp Thread will pick this Intent again.
-                                    log.warn("Future failed", e);
-                                    log.warn("Intent {} - state {} - request {}",
-                                             x.key(), x.state(), x.request());
-                                    switch (x.state()) {
-                                        case INSTALL_REQ:
-                                        case INSTALLING:
-                                        case WITHDRAW_REQ:
-                                        case WITHDRAWING:
-                                            // TODO should we swtich based on current
-                                            IntentData current = store.getIntentData(x.key());
-                                            return IntentData.nextState(current, FAILED);
-                                        default:
-                                            return null;
-                                    }
-                                }))
-                        .collect(Collectors.toList());
-
-                // write multiple data to store in order
-                store.batchWrite(Tools.allOf(futures).join().stream()
+            // The accumulator bounds the number of batches in flight. Batches
+            // may overlap, processing intents while the previous batch is
+            // written to the store, but an intent is only processed once the
+            // previous batch handling the same key has been written.
+            long start = System.nanoTime();
+            if (batchSizes != null) {
+                batchSizes.update(operations.size());
+            }
+            CompletableFuture<Void> written = new CompletableFuture<>();
+            ExecutorService executor = workerExecutor;
+
+            // process intent until the phase reaches one of the final phases
+            List<CompletableFuture<IntentData>> futures = operations.stream()
+                    .map(data -> {
+                        log.debug("Start processing of {} {}@{}", data.request(), data.key(), data.version());
+                        return process(data, keysInFlight.put(data.key(), written), executor);
+                    })
+                    .collect(Collectors.toList());
+
+            // write multiple data to store in order; the batch executor is
+            // single-threaded, so writes never overlap one another
+            Tools.allOf(futures).thenAcceptAsync(results -> {
+                long processed = System.nanoTime();
+                updateTimer(batchProcessTimer, processed - start);
+                store.batchWrite(results.stream()
                                          .filter(Objects::nonNull)
                                          .collect(Collectors.toList()));
+                updateTimer(batchWriteTimer, System.nanoTime() - processed);
             }, batchExecutor).exceptionally(e -> {
                 log.error("Error submitting batches:", e);
                 // FIXME incomplete Intents should be cleaned up
@@ -584,8 +642,44 @@ public class IntentManager
                 // TODO: maybe we should do more?
                 log.error("Walk the plank, matey...");
                 return null;
-            }).thenRun(accumulator::ready);
+            }).thenRun(() -> {
+                operations.forEach(x -> keysInFlight.remove(x.key(), written));
+                written.complete(null);
+                accumulator.ready();
+            });
+        }
+
+        private CompletableFuture<IntentData> process(IntentData data, CompletableFuture<Void> previous,
+                                                      ExecutorService executor) {
+            CompletableFuture<Void> after = previous != null ? previous : CompletableFuture.completedFuture(null);
+            return after.thenApplyAsync(x -> createInitialPhase(data), executor)
+                    .thenApply(IntentProcessPhase::process)
+                    .thenApply(FinalIntentProcessPhase::data)
+                    .exceptionally(e -> {
+                        // When the future fails, we update the Intent to simulate the failure of
+                        // the installation/withdrawal phase and we save in the current map. In
+                        // the next round the CleanUp Thread will pick this Intent again.
+                        log.warn("Future failed", e);
+                        log.warn("Intent {} - state {} - request {}",
+                                 data.key(), data.state(), data.request());
+                        switch (data.state()) {
+                            case INSTALL_REQ:
+                            case INSTALLING:
+                            case WITHDRAW_REQ:
+                            case WITHDRAWING:
+                                // TODO should we swtich based on current
+                                IntentData current = store.getIntentData(data.key());
+                                return IntentData.nextState(current, FAILED);
+                            default:
+                                return null;
+                        }
+                    });
+        }
 
+        private void updateTimer(Timer timer, long nanos) {
+            if (timer != null) {
+                timer.update(nanos, TimeUnit.NANOSECONDS);
+            }
         }
     }
 
@@ -15,9 +15,7 @@
  */
 package org.onosproject.net.intent.impl;
 
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.ImmutableSet;
-import com.google.common.collect.SetMultimap;
 import org.onosproject.event.Event;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.ElementId;
@@ -58,17 +56,19 @@ import org.slf4j.Logger;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkNotNull;
-import static com.google.common.collect.Multimaps.synchronizedSetMultimap;
 import static java.util.concurrent.Executors.newScheduledThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static org.onlab.util.Tools.groupedThreads;
@@ -89,12 +89,14 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
 
     private final Logger log = getLogger(getClass());
 
-    private final SetMultimap<LinkKey, Key> intentsByLink =
-            //TODO this could be slow as a point of synchronization
-            synchronizedSetMultimap(HashMultimap.<LinkKey, Key>create());
+    // Number of topology event reasons beyond which they are looked up in parallel
+    private static final int PARALLEL_REASONS_THRESHOLD = 64;
 
-    private final SetMultimap<ElementId, Key> intentsByDevice =
-            synchronizedSetMultimap(HashMultimap.<ElementId, Key>create());
+    // Reverse indexes of the tracked resources; updates only lock the map
+    // bin of the resource concerned and lookups do not lock at all.
+    private final Map<LinkKey, Set<Key>> intentsByLink = new ConcurrentHashMap<>();
+
+    private final Map<ElementId, Set<Key>> intentsByDevice = new ConcurrentHashMap<>();
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected TopologyService topologyService;
@@ -206,9 +208,9 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
                                     Collection<NetworkResource> resources) {
         for (NetworkResource resource : resources) {
             if (resource instanceof Link) {
-                intentsByLink.put(linkKey((Link) resource), intentKey);
+                track(intentsByLink, linkKey((Link) resource), intentKey);
             } else if (resource instanceof ElementId) {
-                intentsByDevice.put((ElementId) resource, intentKey);
+                track(intentsByDevice, (ElementId) resource, intentKey);
             }
         }
     }
@@ -218,13 +220,46 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
                                        Collection<NetworkResource> resources) {
         for (NetworkResource resource : resources) {
             if (resource instanceof Link) {
-                intentsByLink.remove(linkKey((Link) resource), intentKey);
+                untrack(intentsByLink, linkKey((Link) resource), intentKey);
             } else if (resource instanceof ElementId) {
-                intentsByDevice.remove(resource, intentKey);
+                untrack(intentsByDevice, (ElementId) resource, intentKey);
             }
         }
     }
 
+    // Indexes the intent under the given resource. Intents are tracked again
+    // on every update, so the common case of an already indexed intent is
+    // answered without locking.
+    private static <K> void track(Map<K, Set<Key>> index, K resource, Key intentKey) {
+        Set<Key> keys = index.get(resource);
+        if (keys != null && keys.contains(intentKey)) {
+            return;
+        }
+        index.compute(resource, (k, v) -> {
+            Set<Key> indexed = v != null ? v : ConcurrentHashMap.newKeySet();
+            indexed.add(intentKey);
+            return indexed;
+        });
+    }
+
+    // Removes the intent from the given resource, dropping empty entries.
+    private static <K> void untrack(Map<K, Set<Key>> index, K resource, Key intentKey) {
+        Set<Key> keys = index.get(resource);
+        if (keys == null || !keys.contains(intentKey)) {
+            return;
+        }
+        index.computeIfPresent(resource, (k, v) -> {
+            v.remove(intentKey);
+            return v.isEmpty() ? null : v;
+        });
+    }
+
+    // Returns a snapshot of the intents indexed under the given resource.
+    private static <K> Set<Key> intents(Map<K, Set<Key>> index, K resource) {
+        Set<Key> keys = index.get(resource);
+        return keys != null ? ImmutableSet.copyOf(keys) : ImmutableSet.of();
+    }
+
     @Override
     public void trackIntent(IntentData intentData) {
 
@@ -241,7 +276,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
         if (log.isTraceEnabled()) {
             log.trace("intent {}, old: {}, new: {}, installableCount: {}, resourceCount: {}",
                       key,
-                      intentsByDevice.values().contains(key),
+                      intentsByDevice.values().stream().anyMatch(keys -> keys.contains(key)),
                       isLocal && isInstalled,
                       installables.size(),
                       intent.resources().size() +
@@ -297,27 +332,30 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
                 delegate.triggerCompile(Collections.emptySet(), true);
 
             } else {
-                Set<Key> intentsToRecompile = new HashSet<>();
-                boolean dontRecompileAllFailedIntents = true;
-
                 // Scan through the list of reasons and keep accruing all
-                // intents that need to be recompiled.
-                for (Event reason : event.reasons()) {
-                    if (reason instanceof LinkEvent) {
-                        LinkEvent linkEvent = (LinkEvent) reason;
-                        final LinkKey linkKey = linkKey(linkEvent.subject());
-                        synchronized (intentsByLink) {
-                            Set<Key> intentKeys = intentsByLink.get(linkKey);
+                // intents that need to be recompiled; large lists, such as
+                // the links lost with a spine switch, are scanned in parallel.
+                List<Event> reasons = event.reasons();
+                Stream<Event> stream = reasons.size() > PARALLEL_REASONS_THRESHOLD ?
+                        reasons.parallelStream() : reasons.stream();
+                Set<Key> intentsToRecompile = stream
+                        .filter(reason -> reason instanceof LinkEvent)
+                        .flatMap(reason -> {
+                            LinkEvent linkEvent = (LinkEvent) reason;
+                            final LinkKey linkKey = linkKey(linkEvent.subject());
+                            Set<Key> intentKeys = intents(intentsByLink, linkKey);
                             log.debug("recompile triggered by LinkEvent {} ({}) for {}",
                                     linkKey, linkEvent.type(), intentKeys);
-                            intentsToRecompile.addAll(intentKeys);
-                        }
-                        dontRecompileAllFailedIntents = dontRecompileAllFailedIntents &&
-                                (linkEvent.type() == LINK_REMOVED ||
+                            return intentKeys.stream();
+                        })
+                        .collect(Collectors.toSet());
+
+                boolean dontRecompileAllFailedIntents = reasons.stream()
+                        .filter(reason -> reason instanceof LinkEvent)
+                        .map(reason -> (LinkEvent) reason)
+                        .allMatch(linkEvent -> linkEvent.type() == LINK_REMOVED ||
                                 (linkEvent.type() == LINK_UPDATED &&
                                 linkEvent.subject().isExpected()));
-                    }
-                }
                 delegate.triggerCompile(intentsToRecompile, !dontRecompileAllFailedIntents);
             }
         }
@@ -362,11 +400,7 @@ public class ObjectiveTracker implements ObjectiveTrackerService {
 
             // TODO should we recompile on available==true?
 
-            final ImmutableSet<Key> snapshot;
-            synchronized (intentsByDevice) {
-                snapshot = ImmutableSet.copyOf(intentsByDevice.get(id));
-            }
-            delegate.triggerCompile(snapshot, available);
+            delegate.triggerCompile(intents(intentsByDevice, id), available);
         }
     }
 
@@ -17,6 +17,7 @@ package org.onosproject.net.intent.impl.compiler;
 
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
@@ -34,10 +35,18 @@ import org.onosproject.net.intent.ConnectivityIntent;
 import org.onosproject.net.intent.Constraint;
 import org.onosproject.net.intent.IntentCompiler;
 import org.onosproject.net.intent.IntentExtensionService;
+import org.onosproject.net.intent.constraint.AnnotationConstraint;
 import org.onosproject.net.intent.constraint.BandwidthConstraint;
+import org.onosproject.net.intent.constraint.EncapsulationConstraint;
 import org.onosproject.net.intent.constraint.HashedPathSelectionConstraint;
+import org.onosproject.net.intent.constraint.LatencyConstraint;
+import org.onosproject.net.intent.constraint.LinkTypeConstraint;
 import org.onosproject.net.intent.constraint.MarkerConstraint;
+import org.onosproject.net.intent.constraint.MeteredConstraint;
+import org.onosproject.net.intent.constraint.ObstacleConstraint;
 import org.onosproject.net.intent.constraint.PathViabilityConstraint;
+import org.onosproject.net.intent.constraint.ProtectedConstraint;
+import org.onosproject.net.intent.constraint.TierConstraint;
 import org.onosproject.net.intent.impl.PathNotFoundException;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.net.resource.Resource;
@@ -57,6 +66,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -72,6 +82,14 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
 
     private static final Logger log = LoggerFactory.getLogger(ConnectivityIntentCompiler.class);
 
+    // Constraints weighing links on their own properties only, regardless of
+    // the resources available on them
+    private static final Set<Class<? extends Constraint>> RESOURCE_INDEPENDENT_CONSTRAINTS =
+            ImmutableSet.of(AnnotationConstraint.class, EncapsulationConstraint.class,
+                            LatencyConstraint.class, LinkTypeConstraint.class,
+                            MeteredConstraint.class, ObstacleConstraint.class,
+                            ProtectedConstraint.class, TierConstraint.class);
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected DeviceService deviceService;
 
@@ -366,6 +384,7 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
             implements LinkWeigher {
 
         private final List<Constraint> constraints;
+        private final boolean resourceIndependent;
 
         /**
          * Creates a new edge-weight function capable of evaluating links
@@ -379,6 +398,9 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
             } else {
                 this.constraints = ImmutableList.copyOf(constraints);
             }
+            this.resourceIndependent = this.constraints.stream().allMatch(
+                    c -> c instanceof MarkerConstraint || c instanceof PathViabilityConstraint ||
+                            RESOURCE_INDEPENDENT_CONSTRAINTS.contains(c.getClass()));
         }
 
         @Override
@@ -405,6 +427,34 @@ public abstract class ConnectivityIntentCompiler<T extends ConnectivityIntent>
             return ScalarWeight.toWeight(cost);
 
         }
+
+        // Weighers evaluating the same constraints against the same resource
+        // service weigh links alike, provided that the constraints do not
+        // depend on resources, whose allocation does not change the topology;
+        // this lets the paths computed for one compilation be reused by the
+        // next. Weighers consulting resources are only equal to themselves.
+        @Override
+        public int hashCode() {
+            return resourceIndependent ? Objects.hash(constraints, resourceService()) :
+                    System.identityHashCode(this);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!resourceIndependent || obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            ConstraintBasedLinkWeigher that = (ConstraintBasedLinkWeigher) obj;
+            return Objects.equals(constraints, that.constraints) &&
+                    resourceService() == that.resourceService();
+        }
+
+        private ResourceService resourceService() {
+            return resourceService;
+        }
     }
 
 }
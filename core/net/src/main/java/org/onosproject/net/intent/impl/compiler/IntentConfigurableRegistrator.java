@@ -38,6 +38,8 @@ import static com.google.common.base.Strings.isNullOrEmpty;
 import static org.onosproject.net.OsgiPropertyConstants.ICR_COPY_TTL;
 import static org.onosproject.net.OsgiPropertyConstants.ICR_COPY_TTL_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.ICR_FLOW_OPTIMIZATION;
+import static org.onosproject.net.OsgiPropertyConstants.ICR_LABEL_POOL_LEASE;
+import static org.onosproject.net.OsgiPropertyConstants.ICR_LABEL_POOL_LEASE_DEFAULT;
 import static org.onosproject.net.OsgiPropertyConstants.ICR_LABEL_SELECTION;
 import static org.onosproject.net.OsgiPropertyConstants.ICR_OPT_LABEL_SELECTION;
 import static org.onosproject.net.OsgiPropertyConstants.ICR_USE_FLOW_OBJECTIVES;
@@ -57,6 +59,7 @@ import static org.slf4j.LoggerFactory.getLogger;
         ICR_USE_FLOW_OBJECTIVES + ":Boolean=" + ICR_USE_FLOW_OBJECTIVES_DEFAULT,
         ICR_LABEL_SELECTION + "=" + ICR_LABEL_SELECTION_DEFAULT,
         ICR_OPT_LABEL_SELECTION + "=" + ICR_OPT_LABEL_SELECTION_DEFAULT,
+        ICR_LABEL_POOL_LEASE + ":Integer=" + ICR_LABEL_POOL_LEASE_DEFAULT,
         ICR_FLOW_OPTIMIZATION + ":Boolean=" + ICR_FLOW_OPTIMIZATION_DEFAULT,
         ICR_COPY_TTL + ":Boolean=" + ICR_COPY_TTL_DEFAULT
     }
@@ -80,6 +83,9 @@ public class IntentConfigurableRegistrator {
     /** Defines the optimization for label selection algorithm - NONE, NO_SWAP, MIN_SWAP. */
     private String optLabelSelection = ICR_OPT_LABEL_SELECTION_DEFAULT;
 
+    /** Milliseconds the labels available on a port are pooled for by this node; 0 disables the pool. */
+    private int labelPoolLease = ICR_LABEL_POOL_LEASE_DEFAULT;
+
     /** Indicates whether or not to optimize the flows in the link collection compiler. */
     private boolean optimizeInstructions = ICR_FLOW_OPTIMIZATION_DEFAULT;
 
@@ -111,6 +117,7 @@ public class IntentConfigurableRegistrator {
             log.info("Settings: useFlowOptimization={}", optimizeInstructions);
             log.info("Settings: useCopyTtl={}", useCopyTtl);
             log.info("Settings: optLabelSelection={}", optLabelSelection);
+            log.info("Settings: labelPoolLease={}", labelPoolLease);
 
             return;
         }
@@ -159,6 +166,20 @@ public class IntentConfigurableRegistrator {
             log.info("Settings: optLabelSelection={}", optLabelSelection);
         }
 
+        int newLabelPoolLease;
+        try {
+            String s = Tools.get(context.getProperties(), ICR_LABEL_POOL_LEASE);
+            newLabelPoolLease = isNullOrEmpty(s) ? labelPoolLease : Integer.parseInt(s.trim());
+        } catch (NumberFormatException | ClassCastException e) {
+            newLabelPoolLease = labelPoolLease;
+        }
+
+        if (labelPoolLease != newLabelPoolLease && newLabelPoolLease >= 0) {
+            labelPoolLease = newLabelPoolLease;
+            changeLabelPoolLease();
+            log.info("Settings: labelPoolLease={}", labelPoolLease);
+        }
+
         boolean newFlowOptimization;
         try {
             String s = Tools.get(context.getProperties(), ICR_FLOW_OPTIMIZATION);
@@ -228,6 +249,16 @@ public class IntentConfigurableRegistrator {
         }
     }
 
+    /**
+     * Returns the time the labels available on a port are pooled for, to be
+     * applied to the label allocators created by the compilers.
+     *
+     * @return lease time in milliseconds; 0 if the pool is disabled
+     */
+    int labelPoolLease() {
+        return labelPoolLease;
+    }
+
     private void changeCompilers() {
         if (useFlowObjectives) {
             flowRuleBased.forEach((cls, compiler) -> extensionService.unregisterCompiler(cls));
@@ -248,6 +279,15 @@ public class IntentConfigurableRegistrator {
         LinkCollectionCompiler.labelAllocator.setOptLabelSelection(optLabelSelection);
     }
 
+    private void changeLabelPoolLease() {
+        if (LinkCollectionCompiler.labelAllocator != null) {
+            LinkCollectionCompiler.labelAllocator.setLabelPoolLease(labelPoolLease);
+        }
+        if (PathCompiler.labelAllocator != null) {
+            PathCompiler.labelAllocator.setLabelPoolLease(labelPoolLease);
+        }
+    }
+
     private void changeFlowOptimization() {
         LinkCollectionCompiler.optimizeInstructions = optimizeInstructions;
     }
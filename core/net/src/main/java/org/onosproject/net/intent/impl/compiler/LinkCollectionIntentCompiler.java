@@ -90,6 +90,7 @@ public class LinkCollectionIntentCompiler
         registrator.registerCompiler(LinkCollectionIntent.class, this, false);
         if (labelAllocator == null) {
             labelAllocator = new LabelAllocator(resourceService);
+            labelAllocator.setLabelPoolLease(registrator.labelPoolLease());
         }
     }
 
@@ -101,6 +101,7 @@ public class LinkCollectionIntentFlowObjectiveCompiler
         registrator.registerCompiler(LinkCollectionIntent.class, this, true);
         if (labelAllocator == null) {
             labelAllocator = new LabelAllocator(resourceService);
+            labelAllocator.setLabelPoolLease(registrator.labelPoolLease());
         }
     }
 
@@ -69,6 +69,7 @@ public class PathIntentCompiler
         appId = coreService.registerApplication("org.onosproject.net.intent");
         registrator.registerCompiler(PathIntent.class, this, false);
         labelAllocator = new LabelAllocator(resourceService);
+        labelAllocator.setLabelPoolLease(registrator.labelPoolLease());
     }
 
     @Deactivate
@@ -75,6 +75,7 @@ public class PathIntentFlowObjectiveCompiler
         appId = coreService.registerApplication("org.onosproject.net.intent");
         registrator.registerCompiler(PathIntent.class, this, true);
         labelAllocator = new LabelAllocator(resourceService);
+        labelAllocator.setLabelPoolLease(registrator.labelPoolLease());
     }
 
     @Deactivate
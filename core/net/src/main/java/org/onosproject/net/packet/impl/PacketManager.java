@@ -16,7 +16,9 @@
 package org.onosproject.net.packet.impl;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import org.onlab.packet.EthernetView;
 import org.onlab.util.ItemNotFoundException;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.NodeId;
@@ -42,6 +44,7 @@ import org.onosproject.net.packet.DefaultPacketRequest;
 import org.onosproject.net.packet.OutboundPacket;
 import org.onosproject.net.packet.PacketContext;
 import org.onosproject.net.packet.PacketEvent;
+import org.onosproject.net.packet.PacketInterest;
 import org.onosproject.net.packet.PacketPriority;
 import org.onosproject.net.packet.PacketProcessor;
 import org.onosproject.net.packet.PacketProcessorEntry;
@@ -63,11 +66,15 @@ import org.onosproject.net.packet.PacketInFilter;
 import org.onosproject.net.packet.PacketInFilter.FilterAction;
 import org.slf4j.Logger;
 
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
 
 
 
@@ -91,6 +98,7 @@ public class PacketManager
 
     private static final String ERROR_NULL_PROCESSOR = "Processor cannot be null";
     private static final String ERROR_NULL_SELECTOR = "Selector cannot be null";
+    private static final String ERROR_NULL_INTEREST = "Interest cannot be null";
     private static final String ERROR_NULL_APP_ID = "Application ID cannot be null";
     private static final String ERROR_NULL_DEVICE_ID = "Device ID cannot be null";
     private static final String SUPPORT_PACKET_REQUEST_PROPERTY = "supportPacketRequest";
@@ -121,6 +129,9 @@ public class PacketManager
 
     private final List<ProcessorEntry> processors = Lists.newCopyOnWriteArrayList();
 
+    // Processors compiled by the packets they are interested in
+    private volatile DispatchTable dispatchTable = new DispatchTable(ImmutableList.of());
+
     private final PacketDriverProvider defaultProvider = new PacketDriverProvider();
 
     private ApplicationId appId;
@@ -167,9 +178,16 @@ public class PacketManager
 
     @Override
     public void addProcessor(PacketProcessor processor, int priority) {
+        addProcessor(processor, priority, PacketInterest.ALL);
+    }
+
+    @Override
+    public synchronized void addProcessor(PacketProcessor processor, int priority,
+                                          PacketInterest interest) {
         checkPermission(PACKET_EVENT);
         checkNotNull(processor, ERROR_NULL_PROCESSOR);
-        ProcessorEntry entry = new ProcessorEntry(processor, priority);
+        checkNotNull(interest, ERROR_NULL_INTEREST);
+        ProcessorEntry entry = new ProcessorEntry(processor, priority, interest);
 
         // Insert the new processor according to its priority.
         int i = 0;
@@ -179,10 +197,11 @@ public class PacketManager
             }
         }
         processors.add(i, entry);
+        dispatchTable = new DispatchTable(processors);
     }
 
     @Override
-    public void removeProcessor(PacketProcessor processor) {
+    public synchronized void removeProcessor(PacketProcessor processor) {
         checkPermission(PACKET_EVENT);
         checkNotNull(processor, ERROR_NULL_PROCESSOR);
 
@@ -193,6 +212,7 @@ public class PacketManager
                 break;
             }
         }
+        dispatchTable = new DispatchTable(processors);
     }
 
     @Override
@@ -475,8 +495,15 @@ public class PacketManager
                 }
                 return;
             }
-            // TODO filter packets sent to processors based on registrations
-            for (ProcessorEntry entry : processors) {
+            // Visit only the processors interested in the packet; the headers
+            // are decoded from the raw frame only if some processor needs them.
+            DispatchTable table = dispatchTable;
+            EthernetView view = table.needsView ? context.inPacket().view() : null;
+            List<ProcessorEntry> candidates = table.candidates(view);
+            for (ProcessorEntry entry : candidates) {
+                if (!entry.interest().matches(view)) {
+                    continue;
+                }
                 try {
                     if (log.isTraceEnabled()) {
                         log.trace("Starting packet processing by {}",
@@ -578,18 +605,63 @@ public class PacketManager
         }
     }
 
+    /**
+     * Processors indexed by the ethernet types they are interested in.
+     */
+    private static final class DispatchTable {
+        // Processors interested in any ethernet type
+        private final List<ProcessorEntry> anyEthType;
+        // Processors interested in an ethernet type, with the ones above
+        private final Map<Short, List<ProcessorEntry>> byEthType;
+        private final boolean needsView;
+
+        DispatchTable(List<ProcessorEntry> processors) {
+            ImmutableList.Builder<ProcessorEntry> any = ImmutableList.builder();
+            Map<Short, ImmutableList.Builder<ProcessorEntry>> typed = new HashMap<>();
+            processors.forEach(entry -> entry.interest().ethTypes()
+                    .forEach(type -> typed.putIfAbsent(type, ImmutableList.builder())));
+
+            // Processors are visited in priority order, so each list keeps it
+            for (ProcessorEntry entry : processors) {
+                Collection<Short> types = entry.interest().ethTypes();
+                if (types.isEmpty()) {
+                    any.add(entry);
+                    typed.values().forEach(builder -> builder.add(entry));
+                } else {
+                    types.forEach(type -> typed.get(type).add(entry));
+                }
+            }
+
+            ImmutableMap.Builder<Short, List<ProcessorEntry>> byType = ImmutableMap.builder();
+            typed.forEach((type, builder) -> byType.put(type, builder.build()));
+            this.anyEthType = any.build();
+            this.byEthType = byType.build();
+            this.needsView = processors.stream().anyMatch(entry -> !entry.interest().isAll());
+        }
+
+        List<ProcessorEntry> candidates(EthernetView view) {
+            if (view == null || byEthType.isEmpty()) {
+                return anyEthType;
+            }
+            return byEthType.getOrDefault(view.etherType(), anyEthType);
+        }
+    }
+
     /**
      * Entity for tracking stats for a packet processor.
      */
     private class ProcessorEntry implements PacketProcessorEntry {
         private final PacketProcessor processor;
         private final int priority;
-        private long invocations = 0;
-        private long nanos = 0;
+        private final PacketInterest interest;
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
 
-        public ProcessorEntry(PacketProcessor processor, int priority) {
+        public ProcessorEntry(PacketProcessor processor, int priority,
+                              PacketInterest interest) {
             this.processor = processor;
             this.priority = priority;
+            this.interest = interest;
         }
 
         @Override
@@ -602,24 +674,30 @@ public class PacketManager
             return priority;
         }
 
+        @Override
+        public PacketInterest interest() {
+            return interest;
+        }
+
         @Override
         public long invocations() {
-            return invocations;
+            return invocations.sum();
         }
 
         @Override
         public long totalNanos() {
-            return nanos;
+            return nanos.sum();
         }
 
         @Override
         public long averageNanos() {
-            return invocations > 0 ? nanos / invocations : 0;
+            long count = invocations.sum();
+            return count > 0 ? nanos.sum() / count : 0;
         }
 
         void addNanos(long nanos) {
-            this.nanos += nanos;
-            this.invocations++;
+            this.nanos.add(nanos);
+            this.invocations.increment();
         }
     }
 }
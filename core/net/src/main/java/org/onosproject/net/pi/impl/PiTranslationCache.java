@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.pi.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import org.onosproject.net.pi.model.PiPipeconf;
+import org.onosproject.net.pi.model.PiPipeconfId;
+import org.onosproject.net.pi.runtime.PiEntity;
+import org.onosproject.net.pi.service.PiTranslationException;
+
+import java.util.Objects;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Bounded cache of PI entities translated from PD entities, shared by the
+ * translators of the PI translation service.
+ * <p>
+ * Entries are addressed by pipeconf and by the content of the PD entity
+ * which the translation depends on, rather than by device, so that the same
+ * entity pushed to many devices sharing a pipeconf is translated once. This
+ * assumes that the pipeline interpreter of a pipeconf translates the same
+ * content the same way on all devices. Failed translations are not cached.
+ * </p>
+ */
+final class PiTranslationCache {
+
+    /**
+     * Translation of a PD entity into a PI entity.
+     *
+     * @param <E> PI entity class
+     */
+    @FunctionalInterface
+    interface Translation<E extends PiEntity> {
+
+        /**
+         * Translates the PD entity.
+         *
+         * @return PI entity
+         * @throws PiTranslationException if the entity cannot be translated
+         */
+        E translate() throws PiTranslationException;
+    }
+
+    private final Cache<Key, PiEntity> cache;
+
+    /**
+     * Creates a new translation cache.
+     *
+     * @param maxSize maximum number of translated entities
+     */
+    PiTranslationCache(long maxSize) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the PI entity translated from a PD entity of the given content,
+     * translating it if not cached.
+     *
+     * @param pipeconf    pipeconf
+     * @param content     content of the PD entity the translation depends on
+     * @param translation translation of the PD entity
+     * @param <E>         PI entity class
+     * @return PI entity
+     * @throws PiTranslationException if the entity cannot be translated
+     */
+    @SuppressWarnings("unchecked")
+    <E extends PiEntity> E get(PiPipeconf pipeconf, Object content, Translation<E> translation)
+            throws PiTranslationException {
+        Key key = new Key(pipeconf.id(), pipeconf.fingerprint(), content);
+        E entity = (E) cache.getIfPresent(key);
+        if (entity == null) {
+            entity = translation.translate();
+            if (entity != null) {
+                cache.put(key, entity);
+            }
+        }
+        return entity;
+    }
+
+    /**
+     * Returns the number of cached entities.
+     *
+     * @return cache size
+     */
+    long size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the hit, miss and eviction statistics of the cache.
+     *
+     * @return cache statistics
+     */
+    CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Evicts all entities.
+     */
+    void clear() {
+        cache.invalidateAll();
+    }
+
+    // Cache key; the fingerprint tells apart pipeconfs registered again
+    // under the same identifier.
+    private static final class Key {
+        private final PiPipeconfId pipeconfId;
+        private final long fingerprint;
+        private final Object content;
+        private final int hash;
+
+        private Key(PiPipeconfId pipeconfId, long fingerprint, Object content) {
+            this.pipeconfId = pipeconfId;
+            this.fingerprint = fingerprint;
+            this.content = content;
+            this.hash = Objects.hash(pipeconfId, fingerprint, content);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof Key) {
+                Key that = (Key) obj;
+                return fingerprint == that.fingerprint &&
+                        Objects.equals(pipeconfId, that.pipeconfId) &&
+                        Objects.equals(content, that.content);
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return toStringHelper(this)
+                    .add("pipeconfId", pipeconfId)
+                    .add("fingerprint", fingerprint)
+                    .add("content", content)
+                    .toString();
+        }
+    }
+}
@@ -16,14 +16,24 @@
 
 package org.onosproject.net.pi.impl;
 
+import com.codahale.metrics.Gauge;
+import com.google.common.collect.ImmutableList;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.device.DeviceService;
 import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.TrafficTreatment;
 import org.onosproject.net.group.Group;
+import org.onosproject.net.group.GroupBucket;
 import org.onosproject.net.meter.Meter;
 import org.onosproject.net.pi.model.PiPipeconf;
 import org.onosproject.net.pi.runtime.PiActionProfileGroup;
+import org.onosproject.net.pi.runtime.PiEntity;
 import org.onosproject.net.pi.runtime.PiMeterCellConfig;
 import org.onosproject.net.pi.runtime.PiPreEntry;
 import org.onosproject.net.pi.runtime.PiTableEntry;
@@ -37,29 +47,59 @@ import org.onosproject.net.pi.service.PiReplicationGroupTranslationStore;
 import org.onosproject.net.pi.service.PiReplicationGroupTranslator;
 import org.onosproject.net.pi.service.PiTranslationException;
 import org.onosproject.net.pi.service.PiTranslationService;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
 import static com.google.common.base.Preconditions.checkNotNull;
+import static org.onosproject.net.OsgiPropertyConstants.PTS_TRANSLATION_CACHE_SIZE;
+import static org.onosproject.net.OsgiPropertyConstants.PTS_TRANSLATION_CACHE_SIZE_DEFAULT;
 
 /**
  * Implementation of the PI translation service.
  */
-@Component(immediate = true, service = PiTranslationService.class)
+@Component(
+        immediate = true,
+        service = PiTranslationService.class,
+        property = {
+                PTS_TRANSLATION_CACHE_SIZE + ":Integer=" + PTS_TRANSLATION_CACHE_SIZE_DEFAULT
+        }
+)
 public class PiTranslationServiceImpl implements PiTranslationService {
 
     private final Logger log = LoggerFactory.getLogger(this.getClass());
 
-    // TODO: implement cache to speed up translation.
+    private static final String METRICS_COMPONENT = "PiTranslation";
+    private static final String METRICS_FEATURE = "Cache";
+    private static final List<String> METRICS = ImmutableList.of("hits", "misses", "evictions", "size");
+
+    // Discriminators of the content of the cached PD entities
+    private static final String FLOW_RULE = "flowRule";
+    private static final String GROUP = "group";
+    private static final String REPLICATION_GROUP = "replicationGroup";
+
+    /** Maximum number of translated flow rules and groups cached for devices sharing a pipeconf; 0 disables it. */
+    private int translationCacheSize = PTS_TRANSLATION_CACHE_SIZE_DEFAULT;
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected DeviceService deviceService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected ComponentConfigService cfgService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     private PiFlowRuleTranslationStore flowRuleTranslationStore;
 
@@ -77,23 +117,108 @@ public class PiTranslationServiceImpl implements PiTranslationService {
     private PiReplicationGroupTranslator repGroupTranslator;
     private PiMeterTranslator meterTranslator;
 
+    private volatile PiTranslationCache translationCache;
+
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        modified(context);
         flowRuleTranslator = new InternalFlowRuleTranslator(flowRuleTranslationStore);
         groupTranslator = new InternalGroupTranslator(groupTranslationStore);
         repGroupTranslator = new InternalReplicationGroupTranslator(repGroupTranslationStore);
         meterTranslator = new InternalMeterTranslator(meterTranslationStore);
+        registerMetrics();
         log.info("Started");
     }
 
     @Deactivate
     public void deactivate() {
+        cfgService.unregisterProperties(getClass(), false);
+        unregisterMetrics();
+        translationCache = null;
         flowRuleTranslator = null;
         groupTranslator = null;
         meterTranslator = null;
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        int newCacheSize = translationCacheSize;
+        if (context != null) {
+            Integer s = Tools.getIntegerProperty(context.getProperties(), PTS_TRANSLATION_CACHE_SIZE);
+            if (s != null && s >= 0) {
+                newCacheSize = s;
+            }
+        }
+        PiTranslationCache cache = translationCache;
+        if (cache == null ? newCacheSize > 0 : newCacheSize != translationCacheSize) {
+            translationCache = newCacheSize > 0 ? new PiTranslationCache(newCacheSize) : null;
+        }
+        translationCacheSize = newCacheSize;
+        log.info("Settings: {}={}", PTS_TRANSLATION_CACHE_SIZE, translationCacheSize);
+    }
+
+    private void registerMetrics() {
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+        try {
+            metricsService.registerMetric(component, feature, "hits",
+                    (Gauge<Long>) () -> cacheStat(cache -> cache.stats().hitCount()));
+            metricsService.registerMetric(component, feature, "misses",
+                    (Gauge<Long>) () -> cacheStat(cache -> cache.stats().missCount()));
+            metricsService.registerMetric(component, feature, "evictions",
+                    (Gauge<Long>) () -> cacheStat(cache -> cache.stats().evictionCount()));
+            metricsService.registerMetric(component, feature, "size",
+                    (Gauge<Long>) () -> cacheStat(PiTranslationCache::size));
+        } catch (IllegalArgumentException e) {
+            log.debug("Translation cache metrics already registered");
+        }
+    }
+
+    private void unregisterMetrics() {
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+        METRICS.forEach(name -> metricsService.removeMetric(component, feature, name));
+    }
+
+    private long cacheStat(ToLongFunction<PiTranslationCache> stat) {
+        PiTranslationCache cache = translationCache;
+        return cache != null ? stat.applyAsLong(cache) : 0;
+    }
+
+    private <E extends PiEntity> E translate(PiPipeconf pipeconf, Object content,
+                                             PiTranslationCache.Translation<E> translation)
+            throws PiTranslationException {
+        PiTranslationCache cache = translationCache;
+        return cache != null ? cache.get(pipeconf, content, translation) : translation.translate();
+    }
+
+    // Parts of a flow rule its translation depends on; unlike the device
+    // and the flow ID, they are shared by the same rule on all devices.
+    private static Object flowRuleContent(FlowRule rule) {
+        return Arrays.asList(FLOW_RULE, rule.table(), rule.selector(), treatmentContent(rule.treatment()),
+                             rule.priority(), rule.isPermanent(), rule.timeout());
+    }
+
+    private static Object groupContent(String kind, Group group) {
+        return Arrays.asList(kind, group.type(), group.id(), group.appCookie(),
+                             group.buckets().buckets().stream()
+                                     .map(PiTranslationServiceImpl::bucketContent)
+                                     .collect(ImmutableList.toImmutableList()));
+    }
+
+    // Bucket equality leaves out some of the attributes the translation uses
+    private static Object bucketContent(GroupBucket bucket) {
+        return Arrays.asList(bucket.type(), treatmentContent(bucket.treatment()), bucket.weight(),
+                             bucket.watchPort(), bucket.watchGroup());
+    }
+
+    // Treatment equality leaves out the meter and clear instructions
+    private static Object treatmentContent(TrafficTreatment treatment) {
+        return Arrays.asList(treatment, treatment.clearedDeferred(), treatment.meters(), treatment.statTrigger());
+    }
+
     @Override
     public PiFlowRuleTranslator flowRuleTranslator() {
         return flowRuleTranslator;
@@ -135,8 +260,10 @@ public class PiTranslationServiceImpl implements PiTranslationService {
                 throws PiTranslationException {
             checkNotNull(original);
             checkNotNull(pipeconf);
-            return PiFlowRuleTranslatorImpl
-                    .translate(original, pipeconf, getDevice(original.deviceId()));
+            final Device device = getDevice(original.deviceId());
+            return PiTranslationServiceImpl.this.translate(
+                    pipeconf, flowRuleContent(original),
+                    () -> PiFlowRuleTranslatorImpl.translate(original, pipeconf, device));
         }
     }
 
@@ -153,8 +280,10 @@ public class PiTranslationServiceImpl implements PiTranslationService {
                 throws PiTranslationException {
             checkNotNull(original);
             checkNotNull(pipeconf);
-            return PiGroupTranslatorImpl
-                    .translate(original, pipeconf, getDevice(original.deviceId()));
+            final Device device = getDevice(original.deviceId());
+            return PiTranslationServiceImpl.this.translate(
+                    pipeconf, groupContent(GROUP, original),
+                    () -> PiGroupTranslatorImpl.translate(original, pipeconf, device));
         }
     }
 
@@ -171,8 +300,10 @@ public class PiTranslationServiceImpl implements PiTranslationService {
                 throws PiTranslationException {
             checkNotNull(original);
             checkNotNull(pipeconf);
-            return PiReplicationGroupTranslatorImpl.translate(
-                    original, pipeconf, getDevice(original.deviceId()));
+            final Device device = getDevice(original.deviceId());
+            return PiTranslationServiceImpl.this.translate(
+                    pipeconf, groupContent(REPLICATION_GROUP, original),
+                    () -> PiReplicationGroupTranslatorImpl.translate(original, pipeconf, device));
         }
     }
 
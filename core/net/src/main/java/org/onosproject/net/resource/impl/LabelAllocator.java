@@ -30,7 +30,6 @@ import org.onosproject.net.EncapsulationType;
 import org.onosproject.net.Link;
 import org.onosproject.net.LinkKey;
 import org.onosproject.net.resource.Resource;
-import org.onosproject.net.resource.ResourceAllocation;
 import org.onosproject.net.resource.ResourceConsumer;
 import org.onosproject.net.resource.ResourceService;
 import org.onosproject.net.resource.Resources;
@@ -95,6 +94,7 @@ public final class LabelAllocator {
     private ResourceService resourceService;
     private LabelSelection labelSelection;
     private OptimizationBehavior optLabelSelection;
+    private volatile LabelPool labelPool;
 
     /**
      * Creates a new label allocator. Random is the default selection behavior.
@@ -178,6 +178,16 @@ public final class LabelAllocator {
         return this.optLabelSelection;
     }
 
+    /**
+     * Changes the time the labels available on a port are pooled for by this
+     * node, sparing a lookup of every label of the port at each allocation.
+     *
+     * @param leaseMillis lease time in milliseconds; 0 disables the pool
+     */
+    public void setLabelPoolLease(long leaseMillis) {
+        this.labelPool = leaseMillis > 0 ? new LabelPool(resourceService, leaseMillis) : null;
+    }
+
     /**
      * Returns the label selection behavior, given a behavior type.
      *
@@ -211,17 +221,19 @@ public final class LabelAllocator {
     }
 
     // Given a link and a encapsulation type, returns a set of candidates
-    private Set<Identifier<?>> getCandidates(LinkKey link, EncapsulationType type) {
+    private Set<Identifier<?>> getCandidates(LinkKey link, EncapsulationType type,
+                                             Map<ConnectPoint, Set<Identifier<?>>> excluded) {
         // Available ids on src port
-        Set<Identifier<?>> availableIDsatSrc = getAvailableIDs(link.src(), type);
+        Set<Identifier<?>> availableIDsatSrc = getAvailableIDs(link.src(), type, excluded);
         // Available ids on dst port
-        Set<Identifier<?>> availableIDsatDst = getAvailableIDs(link.dst(), type);
+        Set<Identifier<?>> availableIDsatDst = getAvailableIDs(link.dst(), type, excluded);
         // Create the candidate set doing an intersection of the previous sets
         return Sets.intersection(availableIDsatSrc, availableIDsatDst);
     }
 
     // Implements NONE behavior
-    private Map<LinkKey, Identifier<?>> noOptimizeBehavior(Set<LinkKey> links, EncapsulationType type) {
+    private Map<LinkKey, Identifier<?>> noOptimizeBehavior(Set<LinkKey> links, EncapsulationType type,
+                                                           Map<ConnectPoint, Set<Identifier<?>>> excluded) {
         // Init step
         Map<LinkKey, Identifier<?>> ids = Maps.newHashMap();
         Set<Identifier<?>> candidates;
@@ -229,7 +241,7 @@ public final class LabelAllocator {
         // Iterates for each link selecting a label in the candidate set
         for (LinkKey link : links) {
             // Get candidates set for the current link
-            candidates = getCandidates(link, type);
+            candidates = getCandidates(link, type, excluded);
             // Select a label for the current link
             selected = labelSelection.select(candidates);
             // If candidates is empty, selected is null
@@ -246,7 +258,8 @@ public final class LabelAllocator {
     // Implements suggestedIdentifier behavior
     private Map<LinkKey, Identifier<?>> suggestedIdentifierBehavior(Set<LinkKey> links,
                                                            EncapsulationType type,
-                                                           Identifier<?> suggested) {
+                                                           Identifier<?> suggested,
+                                                           Map<ConnectPoint, Set<Identifier<?>>> excluded) {
         // Init step
         Map<LinkKey, Identifier<?>> ids = Maps.newHashMap();
         Set<Identifier<?>> candidates;
@@ -256,7 +269,7 @@ public final class LabelAllocator {
         // Select the suggested if available on the whole path
         for (LinkKey link : links) {
             // Get candidates set for the current link
-            candidates = getCandidates(link, type);
+            candidates = getCandidates(link, type, excluded);
 
             // Select the suggested if included in the candidates
             // Otherwise select an other label for the current link
@@ -274,7 +287,8 @@ public final class LabelAllocator {
     }
 
     // Implements NO_SWAP behavior
-    private Map<LinkKey, Identifier<?>> noSwapBehavior(Set<LinkKey> links, EncapsulationType type) {
+    private Map<LinkKey, Identifier<?>> noSwapBehavior(Set<LinkKey> links, EncapsulationType type,
+                                                       Map<ConnectPoint, Set<Identifier<?>>> excluded) {
         // Init steps
         Map<LinkKey, Identifier<?>> ids = Maps.newHashMap();
         Identifier<?> selected;
@@ -283,7 +297,7 @@ public final class LabelAllocator {
         // Iterates for each link building the candidate set
         for (LinkKey link : links) {
             // Get candidates set for the current link
-            linkCandidates = getCandidates(link, type);
+            linkCandidates = getCandidates(link, type, excluded);
             // Warm up
             if (candidates == null) {
                 candidates = linkCandidates;
@@ -305,7 +319,8 @@ public final class LabelAllocator {
     }
 
     // Implements MIN_SWAP behavior
-    private Map<LinkKey, Identifier<?>> minSwapBehavior(Set<LinkKey> links, EncapsulationType type) {
+    private Map<LinkKey, Identifier<?>> minSwapBehavior(Set<LinkKey> links, EncapsulationType type,
+                                                        Map<ConnectPoint, Set<Identifier<?>>> excluded) {
         // Init step
         Map<LinkKey, Identifier<?>> ids = Maps.newHashMap();
         Set<Identifier<?>> candidates;
@@ -313,7 +328,7 @@ public final class LabelAllocator {
         // Iterates for each link selecting a label in the candidate set
         for (LinkKey link : links) {
             // Get candidates set for the current link
-            candidates = getCandidates(link, type);
+            candidates = getCandidates(link, type, excluded);
             // If we are in the first link or selected is not available
             if (selected == null || !candidates.contains(selected)) {
                 // Select a label for the current link
@@ -335,17 +350,20 @@ public final class LabelAllocator {
      *
      * @param links the links where to look for Ids
      * @param  type the encapsulation type
+     * @param suggestedIdentifier used if available
+     * @param excluded the Ids not to be used, by port
      * @return the mappings between key and id
      */
     private Map<LinkKey, Identifier<?>> findAvailableIDs(Set<LinkKey> links,
                                                          EncapsulationType type,
-                                                         Optional<Identifier<?>> suggestedIdentifier) {
+                                                         Optional<Identifier<?>> suggestedIdentifier,
+                                                         Map<ConnectPoint, Set<Identifier<?>>> excluded) {
         // Init step
         Map<LinkKey, Identifier<?>> ids;
 
         //Use suggested identifier if possible
         if (suggestedIdentifier.isPresent()) {
-            ids = suggestedIdentifierBehavior(links, type, suggestedIdentifier.get());
+            ids = suggestedIdentifierBehavior(links, type, suggestedIdentifier.get(), excluded);
 
             if (!ids.isEmpty()) {
                 return ids;
@@ -356,16 +374,16 @@ public final class LabelAllocator {
         switch (optLabelSelection) {
             // No swapping of the labels
             case NO_SWAP:
-                ids = noSwapBehavior(links, type);
+                ids = noSwapBehavior(links, type, excluded);
                 break;
             // Swapping is minimized
             case MIN_SWAP:
-                ids = minSwapBehavior(links, type);
+                ids = minSwapBehavior(links, type, excluded);
                 break;
             // No optimizations are in place
             case NONE:
             default:
-                ids = noOptimizeBehavior(links, type);
+                ids = noOptimizeBehavior(links, type, excluded);
         }
         // Done exit
         return ids;
@@ -376,12 +394,22 @@ public final class LabelAllocator {
      *
      * @param cp the connection point
      * @param type the type of Id
+     * @param excluded the Ids not to be used, by port
      * @return the set of available Ids
      */
-    private Set<Identifier<?>> getAvailableIDs(ConnectPoint cp, EncapsulationType type) {
-        return resourceService.getAvailableResourceValues(
-                Resources.discrete(cp.deviceId(), cp.port()).id(), getEncapsulationClass(type)
-        );
+    private Set<Identifier<?>> getAvailableIDs(ConnectPoint cp, EncapsulationType type,
+                                               Map<ConnectPoint, Set<Identifier<?>>> excluded) {
+        Set<Identifier<?>> available;
+        LabelPool pool = labelPool;
+        if (pool != null) {
+            available = pool.available(cp, getEncapsulationClass(type));
+        } else {
+            available = resourceService.getAvailableResourceValues(
+                    Resources.discrete(cp.deviceId(), cp.port()).id(), getEncapsulationClass(type)
+            );
+        }
+        Set<Identifier<?>> excludedIds = excluded.get(cp);
+        return excludedIds != null ? Sets.difference(available, excludedIds) : available;
     }
 
     /**
@@ -417,39 +445,9 @@ public final class LabelAllocator {
                                                           ResourceConsumer resourceConsumer,
                                                           EncapsulationType type,
                                                           Optional<Identifier<?>> suggestedIdentifier) {
-        // To preserve order of the links. This is important for MIN_SWAP behavior
-        Set<LinkKey> linkRequest = links.stream()
-                .map(LinkKey::linkKey)
-                .collect(Collectors.toCollection(LinkedHashSet::new));
-
-        Map<LinkKey, Identifier<?>> availableIds = findAvailableIDs(linkRequest, type, suggestedIdentifier);
-        if (availableIds.isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        Set<Resource> resources = availableIds.entrySet().stream()
-                .flatMap(x -> Stream.of(
-                        Resources.discrete(
-                                x.getKey().src().deviceId(),
-                                x.getKey().src().port(),
-                                x.getValue()
-                        ).resource(),
-                        Resources.discrete(
-                                x.getKey().dst().deviceId(),
-                                x.getKey().dst().port(),
-                                x.getValue()
-                        ).resource()
-                ))
-                .collect(Collectors.toSet());
-
-        List<ResourceAllocation> allocations = resourceService.allocate(resourceConsumer,
-                ImmutableList.copyOf(resources));
-
-        if (allocations.isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        return ImmutableMap.copyOf(availableIds);
+        Map<ResourceConsumer, Map<LinkKey, Identifier<?>>> allocation = assign(
+                ImmutableMap.of(resourceConsumer, toLinkKeys(links)), type, suggestedIdentifier);
+        return allocation.getOrDefault(resourceConsumer, Collections.emptyMap());
     }
 
     /**
@@ -463,16 +461,107 @@ public final class LabelAllocator {
     public Map<LinkKey, Identifier<?>> assignLabelToLinks(Set<Link> links,
                                                           ResourceConsumer resourceConsumer,
                                                           EncapsulationType type) {
-        // To preserve order of the links. This is important for MIN_SWAP behavior
-        Set<LinkKey> linkRequest = links.stream()
+        return assignLabelToLinks(links, resourceConsumer, type, Optional.empty());
+    }
+
+    /**
+     * Allocates labels to the links of many resource consumers at once.
+     * The labels of all the consumers are allocated in bulk; each consumer
+     * gets the labels of all of its links or none of them.
+     * The intent compilers compile one intent at a time and so allocate
+     * through the single consumer methods, one transaction per intent.
+     *
+     * @param requests the links where labels will be allocated, by resource consumer
+     * @param type the encapsulation type
+     * @return the links and associated labels of the consumers whose allocation succeeded
+     */
+    public Map<ResourceConsumer, Map<LinkKey, Identifier<?>>> assignLabelToLinks(
+            Map<ResourceConsumer, Set<Link>> requests,
+            EncapsulationType type) {
+        Map<ResourceConsumer, Set<LinkKey>> linkRequests = Maps.newLinkedHashMap();
+        requests.forEach((consumer, links) -> linkRequests.put(consumer, toLinkKeys(links)));
+        return assign(linkRequests, type, Optional.empty());
+    }
+
+    // To preserve order of the links. This is important for MIN_SWAP behavior
+    private Set<LinkKey> toLinkKeys(Set<Link> links) {
+        return links.stream()
                 .map(LinkKey::linkKey)
                 .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    // Allocates the labels of the given consumers, retrying the failed ones
+    // once with fresh labels if the pool is in use
+    private Map<ResourceConsumer, Map<LinkKey, Identifier<?>>> assign(
+            Map<ResourceConsumer, Set<LinkKey>> linkRequests,
+            EncapsulationType type,
+            Optional<Identifier<?>> suggestedIdentifier) {
+        Map<ResourceConsumer, Map<LinkKey, Identifier<?>>> allocation =
+                allocate(linkRequests, type, suggestedIdentifier);
+        LabelPool pool = labelPool;
+        if (allocation.size() == linkRequests.size() || pool == null) {
+            return allocation;
+        }
+
+        // Pooled labels may have been allocated by other nodes meanwhile
+        Map<ResourceConsumer, Set<LinkKey>> failed = Maps.filterKeys(linkRequests,
+                consumer -> !allocation.containsKey(consumer));
+        failed.values().forEach(links -> links.forEach(link -> {
+            pool.invalidate(link.src(), getEncapsulationClass(type));
+            pool.invalidate(link.dst(), getEncapsulationClass(type));
+        }));
+        return ImmutableMap.<ResourceConsumer, Map<LinkKey, Identifier<?>>>builder()
+                .putAll(allocation)
+                .putAll(allocate(failed, type, suggestedIdentifier))
+                .build();
+    }
 
-        Map<LinkKey, Identifier<?>> availableIds = findAvailableIDs(linkRequest, type, Optional.empty());
-        if (availableIds.isEmpty()) {
+    // Selects the labels of the links of each consumer and allocates them in bulk
+    private Map<ResourceConsumer, Map<LinkKey, Identifier<?>>> allocate(
+            Map<ResourceConsumer, Set<LinkKey>> linkRequests,
+            EncapsulationType type,
+            Optional<Identifier<?>> suggestedIdentifier) {
+        // Labels selected for the previous consumers, which the next ones must not compete for
+        Map<ConnectPoint, Set<Identifier<?>>> selected = Maps.newHashMap();
+        Map<ResourceConsumer, Map<LinkKey, Identifier<?>>> selections = Maps.newLinkedHashMap();
+        Map<ResourceConsumer, List<Resource>> resources = Maps.newLinkedHashMap();
+        linkRequests.forEach((consumer, links) -> {
+            Map<LinkKey, Identifier<?>> availableIds = findAvailableIDs(links, type, suggestedIdentifier, selected);
+            if (availableIds.isEmpty()) {
+                return;
+            }
+            availableIds.forEach((link, id) -> {
+                selected.computeIfAbsent(link.src(), cp -> Sets.newHashSet()).add(id);
+                selected.computeIfAbsent(link.dst(), cp -> Sets.newHashSet()).add(id);
+            });
+            selections.put(consumer, availableIds);
+            resources.put(consumer, toResources(availableIds));
+        });
+        if (resources.isEmpty()) {
             return Collections.emptyMap();
         }
 
+        Set<ResourceConsumer> allocated = resourceService.allocate(resources).keySet();
+
+        LabelPool pool = labelPool;
+        ImmutableMap.Builder<ResourceConsumer, Map<LinkKey, Identifier<?>>> allocation = ImmutableMap.builder();
+        selections.forEach((consumer, availableIds) -> {
+            if (!allocated.contains(consumer)) {
+                return;
+            }
+            if (pool != null) {
+                availableIds.forEach((link, id) -> {
+                    pool.allocated(link.src(), getEncapsulationClass(type), id);
+                    pool.allocated(link.dst(), getEncapsulationClass(type), id);
+                });
+            }
+            allocation.put(consumer, ImmutableMap.copyOf(availableIds));
+        });
+        return allocation.build();
+    }
+
+    // Returns the resources of the labels of the given links
+    private List<Resource> toResources(Map<LinkKey, Identifier<?>> availableIds) {
         Set<Resource> resources = availableIds.entrySet().stream()
                 .flatMap(x -> Stream.of(
                         Resources.discrete(
@@ -487,15 +576,7 @@ public final class LabelAllocator {
                         ).resource()
                 ))
                 .collect(Collectors.toSet());
-
-        List<ResourceAllocation> allocations = resourceService.allocate(resourceConsumer,
-                                                                        ImmutableList.copyOf(resources));
-
-        if (allocations.isEmpty()) {
-            return Collections.emptyMap();
-        }
-
-        return ImmutableMap.copyOf(availableIds);
+        return ImmutableList.copyOf(resources);
     }
 
     /**
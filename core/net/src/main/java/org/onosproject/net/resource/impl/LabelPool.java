@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.resource.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import org.onlab.util.Identifier;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.resource.ResourceService;
+import org.onosproject.net.resource.Resources;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Node-local pool of the labels available on the ports of the network.
+ * <p>
+ * Finding the labels available on a port checks every label registered on
+ * it against the resource store, which makes it the most expensive step of
+ * the label allocation. The pool reads them once per port and label type,
+ * and leases them for a bounded time during which the labels allocated by
+ * this node are withdrawn from the pool. Pooled labels are candidates only:
+ * the allocation transaction remains the arbiter, and the ports whose labels
+ * turn out to be stale are dropped from the pool.
+ * </p>
+ */
+final class LabelPool {
+
+    private final ResourceService resourceService;
+    private final Cache<PortKey, Set<Identifier<?>>> labels;
+
+    /**
+     * Creates a new label pool.
+     *
+     * @param resourceService resource service
+     * @param leaseMillis     time in milliseconds the labels read from the
+     *                        resource service are pooled for
+     */
+    LabelPool(ResourceService resourceService, long leaseMillis) {
+        this.resourceService = resourceService;
+        this.labels = CacheBuilder.newBuilder()
+                .expireAfterWrite(leaseMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Returns the labels of the given type available on the given port.
+     *
+     * @param cp   connect point of the port
+     * @param type class of the labels
+     * @return snapshot of the available labels
+     */
+    @SuppressWarnings("unchecked")
+    Set<Identifier<?>> available(ConnectPoint cp, Class<?> type) {
+        PortKey key = new PortKey(cp, type);
+        Set<Identifier<?>> pooled = labels.getIfPresent(key);
+        if (pooled == null) {
+            pooled = ConcurrentHashMap.newKeySet();
+            pooled.addAll(resourceService.getAvailableResourceValues(
+                    Resources.discrete(cp.deviceId(), cp.port()).id(), (Class) type));
+            labels.put(key, pooled);
+        }
+        return ImmutableSet.copyOf(pooled);
+    }
+
+    /**
+     * Withdraws a label allocated on the given port from the pool.
+     *
+     * @param cp    connect point of the port
+     * @param type  class of the label
+     * @param label allocated label
+     */
+    void allocated(ConnectPoint cp, Class<?> type, Identifier<?> label) {
+        Set<Identifier<?>> pooled = labels.getIfPresent(new PortKey(cp, type));
+        if (pooled != null) {
+            pooled.remove(label);
+        }
+    }
+
+    /**
+     * Drops the labels pooled for the given port.
+     *
+     * @param cp   connect point of the port
+     * @param type class of the labels
+     */
+    void invalidate(ConnectPoint cp, Class<?> type) {
+        labels.invalidate(new PortKey(cp, type));
+    }
+
+    // Pool key; ports are told apart by label type.
+    private static final class PortKey {
+        private final ConnectPoint cp;
+        private final Class<?> type;
+
+        private PortKey(ConnectPoint cp, Class<?> type) {
+            this.cp = cp;
+            this.type = type;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cp, type);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof PortKey) {
+                PortKey that = (PortKey) obj;
+                return Objects.equals(cp, that.cp) &&
+                        Objects.equals(type, that.type);
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return toStringHelper(this)
+                    .add("cp", cp)
+                    .add("type", type.getSimpleName())
+                    .toString();
+        }
+    }
+}
@@ -17,6 +17,7 @@ package org.onosproject.net.resource.impl;
 
 import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import org.onlab.util.Tools;
 import org.onosproject.event.AbstractListenerManager;
 import org.onosproject.net.resource.DiscreteResourceId;
@@ -40,6 +41,7 @@ import org.slf4j.Logger;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -103,6 +105,21 @@ public final class ResourceManager extends AbstractListenerManager<ResourceEvent
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Map<ResourceConsumer, List<ResourceAllocation>> allocate(
+            Map<ResourceConsumer, ? extends List<? extends Resource>> requests) {
+        checkPermission(RESOURCE_WRITE);
+        checkNotNull(requests);
+
+        Set<ResourceConsumer> allocated = store.allocate(requests);
+        return requests.entrySet().stream()
+                .filter(x -> allocated.contains(x.getKey()))
+                .collect(ImmutableMap.toImmutableMap(Map.Entry::getKey,
+                        x -> x.getValue().stream()
+                                .map(resource -> new ResourceAllocation(resource, x.getKey()))
+                                .collect(ImmutableList.toImmutableList())));
+    }
+
     @Override
     public boolean release(List<ResourceAllocation> allocations) {
         checkPermission(RESOURCE_WRITE);
@@ -15,14 +15,15 @@
  */
 package org.onosproject.net.statistic.impl;
 
-import com.google.common.collect.Maps;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import org.onosproject.net.statistic.PortStatisticsService;
 import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DeviceId;
-import org.onosproject.net.device.DeviceEvent;
-import org.onosproject.net.device.DeviceListener;
+import org.onosproject.net.PortNumber;
 import org.onosproject.net.device.DeviceService;
-import org.onosproject.net.device.PortStatistics;
+import org.onosproject.net.device.PortStatisticsSeries;
 import org.onosproject.net.statistic.DefaultLoad;
 import org.onosproject.net.statistic.Load;
 import org.osgi.service.component.annotations.Activate;
@@ -33,11 +34,8 @@ import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
 
-import static org.onosproject.net.device.DeviceEvent.Type.DEVICE_AVAILABILITY_CHANGED;
-import static org.onosproject.net.device.DeviceEvent.Type.DEVICE_REMOVED;
-import static org.onosproject.net.device.DeviceEvent.Type.PORT_STATS_UPDATED;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
@@ -55,20 +53,22 @@ public class PortStatisticsManager implements PortStatisticsService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected DeviceService deviceService;
 
-    private final DeviceListener deviceListener = new InternalDeviceListener();
-
-    private Map<ConnectPoint, DataPoint> current = Maps.newConcurrentMap();
-    private Map<ConnectPoint, DataPoint> previous = Maps.newConcurrentMap();
+    // Recent statistics of the ports of each device, fetched at once from the
+    // device master, as the load of many ports is requested together
+    private final LoadingCache<DeviceId, Map<PortNumber, PortStatisticsSeries>> recentSeries =
+            CacheBuilder.newBuilder()
+                    .expireAfterWrite(SECOND, TimeUnit.MILLISECONDS)
+                    .build(CacheLoader.from(deviceId -> deviceService.getPortStatisticsSeries(
+                            deviceId, System.currentTimeMillis() - 2 * STALE_LIMIT, SECOND)));
 
     @Activate
     public void activate() {
-        deviceService.addListener(deviceListener);
         log.info("Started");
     }
 
     @Deactivate
     public void deactivate() {
-        deviceService.removeListener(deviceListener);
+        recentSeries.invalidateAll();
         log.info("Stopped");
     }
 
@@ -79,23 +79,27 @@ public class PortStatisticsManager implements PortStatisticsService {
 
     @Override
     public Load load(ConnectPoint connectPoint, MetricType metricType) {
-        DataPoint c = current.get(connectPoint);
-        DataPoint p = previous.get(connectPoint);
         long now = System.currentTimeMillis();
-
-        if (c != null && p != null && (now - c.time < STALE_LIMIT)) {
-            if (c.time > p.time + SECOND) {
-                long cve = getEgressValue(c.stats, metricType);
-                long cvi = getIngressValue(c.stats, metricType);
-                long pve = getEgressValue(p.stats, metricType);
-                long pvi = getIngressValue(p.stats, metricType);
+        // Samples at least a second apart, the latest one being the current one
+        PortStatisticsSeries series = recentSeries.getUnchecked(connectPoint.deviceId())
+                .getOrDefault(connectPoint.port(), PortStatisticsSeries.EMPTY);
+        int c = series.size() - 1;
+        int p = c - 1;
+
+        if (p >= 0 && (now - series.time(c) < STALE_LIMIT)) {
+            if (series.time(c) > series.time(p) + SECOND) {
+                long cve = getEgressValue(series, c, metricType);
+                long cvi = getIngressValue(series, c, metricType);
+                long pve = getEgressValue(series, p, metricType);
+                long pvi = getIngressValue(series, p, metricType);
+                int interval = (int) (series.time(c) - series.time(p)) / SECOND;
                 //Use max of either Tx or Rx load as the total load of a port
                 Load load = null;
                 if (cve >= pve) {
-                    load = new DefaultLoad(cve, pve, (int) (c.time - p.time) / SECOND);
+                    load = new DefaultLoad(cve, pve, interval);
                 }
                 if (cvi >= pvi) {
-                    Load rcvLoad = new DefaultLoad(cvi, pvi, (int) (c.time - p.time) / SECOND);
+                    Load rcvLoad = new DefaultLoad(cvi, pvi, interval);
                     load = ((load == null) || (rcvLoad.rate() > load.rate())) ? rcvLoad : load;
                 }
                 return load;
@@ -104,73 +108,11 @@ public class PortStatisticsManager implements PortStatisticsService {
         return null;
     }
 
-    private long getEgressValue(PortStatistics stats, MetricType metricType) {
-        return metricType == MetricType.BYTES ? stats.bytesSent() : stats.packetsSent();
-    }
-
-    private long getIngressValue(PortStatistics stats, MetricType metricType) {
-        return metricType == MetricType.BYTES ? stats.bytesReceived() : stats.packetsReceived();
-    }
-
-    // Monitors port stats update messages.
-    private class InternalDeviceListener implements DeviceListener {
-        @Override
-        public void event(DeviceEvent event) {
-            DeviceEvent.Type type = event.type();
-            DeviceId deviceId = event.subject().id();
-            if (type == PORT_STATS_UPDATED) {
-                // Update port load
-                updateDeviceData(deviceId);
-
-            } else if (type == DEVICE_REMOVED ||
-                    (type == DEVICE_AVAILABILITY_CHANGED &&
-                            !deviceService.isAvailable(deviceId))) {
-                // Clean-up all port loads
-                pruneDeviceData(deviceId);
-            }
-        }
+    private long getEgressValue(PortStatisticsSeries series, int index, MetricType metricType) {
+        return metricType == MetricType.BYTES ? series.bytesSent(index) : series.packetsSent(index);
     }
 
-    // Updates the port stats for the specified device
-    private void updateDeviceData(DeviceId deviceId) {
-        deviceService.getPortStatistics(deviceId)
-                .forEach(stats -> updatePortData(deviceId, stats));
+    private long getIngressValue(PortStatisticsSeries series, int index, MetricType metricType) {
+        return metricType == MetricType.BYTES ? series.bytesReceived(index) : series.packetsReceived(index);
     }
-
-    // Updates the port stats for the specified port
-    private void updatePortData(DeviceId deviceId, PortStatistics stats) {
-        ConnectPoint cp = new ConnectPoint(deviceId, stats.portNumber());
-        DataPoint c = current.get(cp);
-
-        // Create a new data point and make it the current one
-        current.put(cp, new DataPoint(stats));
-
-        // If we have a current data point, demote it to previous
-        if (c != null) {
-            previous.put(cp, c);
-        }
-    }
-
-    // Cleans all port loads for the specified device
-    private void pruneDeviceData(DeviceId deviceId) {
-        pruneMap(current, deviceId);
-        pruneMap(previous, deviceId);
-    }
-
-    private void pruneMap(Map<ConnectPoint, DataPoint> map, DeviceId deviceId) {
-        map.keySet().stream().filter(cp -> deviceId.equals(cp.deviceId()))
-                .collect(Collectors.toSet()).forEach(map::remove);
-    }
-
-    // Auxiliary data point to track when we receive different samples.
-    private class DataPoint {
-        long time;
-        PortStatistics stats;
-
-        DataPoint(PortStatistics stats) {
-            time = System.currentTimeMillis();
-            this.stats = stats;
-        }
-    }
-
 }
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.topology.impl;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.cache.RemovalNotification;
+import org.onosproject.common.TopologyDelta;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.Link;
+import org.onosproject.net.LinkKey;
+import org.onosproject.net.Path;
+import org.onosproject.net.topology.LinkWeigher;
+import org.onosproject.net.topology.Topology;
+import org.onosproject.net.topology.TopologyEdge;
+import org.onosproject.net.topology.TopologyGraph;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Bounded cache of the shortest paths between infrastructure devices.
+ * <p>
+ * Paths are cached per source, destination and link weigher, and
+ * are valid for the current topology only. When the topology changes, the
+ * cache carries over the paths which cannot have been affected: if links
+ * were only removed, just the paths which traverse them are evicted, since
+ * the remaining paths are still the shortest ones; any other change
+ * empties the cache. Link weighers are therefore expected to weigh links
+ * the same way for as long as they are in use.
+ * </p>
+ */
+final class PathCache {
+
+    private final Cache<Key, Set<Path>> cache;
+    private final Map<LinkKey, Set<Key>> keysByLink = new ConcurrentHashMap<>();
+    private final LongAdder invalidations = new LongAdder();
+
+    // Lookups and insertions share the lock, topology changes own it; this
+    // keeps paths computed over a former topology from slipping in.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Topology topology;
+    private TopologyGraph graph;
+
+    /**
+     * Creates a new path cache.
+     *
+     * @param maxSize maximum number of source and destination pairs
+     */
+    PathCache(int maxSize) {
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .removalListener(this::unindex)
+                .build();
+    }
+
+    /**
+     * Returns the cached paths between the given devices.
+     *
+     * @param topology topology snapshot
+     * @param src      source device
+     * @param dst      destination device
+     * @param weigher  link weigher
+     * @return set of paths; null if not cached
+     */
+    Set<Path> get(Topology topology, DeviceId src, DeviceId dst, LinkWeigher weigher) {
+        lock.readLock().lock();
+        try {
+            if (topology == null || topology != this.topology) {
+                return null;
+            }
+            return cache.getIfPresent(new Key(src, dst, weigher));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Caches the paths between the given devices, provided the topology
+     * snapshot is still the current one.
+     *
+     * @param topology topology snapshot the paths were computed over
+     * @param src      source device
+     * @param dst      destination device
+     * @param weigher  link weigher
+     * @param paths    set of paths
+     */
+    void put(Topology topology, DeviceId src, DeviceId dst, LinkWeigher weigher,
+             Set<Path> paths) {
+        lock.readLock().lock();
+        try {
+            if (topology == null || topology != this.topology) {
+                return;
+            }
+            Key key = new Key(src, dst, weigher);
+            cache.put(key, paths);
+            for (Path path : paths) {
+                for (Link link : path.links()) {
+                    keysByLink.compute(LinkKey.linkKey(link), (k, keys) -> {
+                        Set<Key> indexed = keys != null ? keys : new HashSet<>();
+                        indexed.add(key);
+                        return indexed;
+                    });
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Makes the given topology the current one, evicting the paths which
+     * may no longer be valid.
+     *
+     * @param topology new topology snapshot
+     * @param graph    graph of the new topology
+     */
+    void topologyChanged(Topology topology, TopologyGraph graph) {
+        lock.writeLock().lock();
+        try {
+            TopologyDelta delta = this.graph != null && graph != null ?
+                    new TopologyDelta(this.graph, graph) : null;
+            if (delta == null || !delta.addedVertexes().isEmpty() ||
+                    !delta.addedEdges().isEmpty() || !delta.updatedEdges().isEmpty()) {
+                // New or updated links may offer shorter paths.
+                clear();
+            } else {
+                for (TopologyEdge edge : delta.removedEdges()) {
+                    Set<Key> keys = keysByLink.remove(LinkKey.linkKey(edge.link()));
+                    if (keys != null) {
+                        invalidations.add(keys.size());
+                        cache.invalidateAll(keys);
+                    }
+                }
+            }
+            this.topology = topology;
+            this.graph = graph;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Evicts all paths.
+     */
+    void clear() {
+        lock.writeLock().lock();
+        try {
+            invalidations.add(cache.size());
+            keysByLink.clear();
+            cache.invalidateAll();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of cached source and destination pairs.
+     *
+     * @return cache size
+     */
+    long size() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the number of cached paths evicted due to topology changes.
+     *
+     * @return invalidation count
+     */
+    long invalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Returns the hit and miss statistics of the cache.
+     *
+     * @return cache statistics
+     */
+    CacheStats stats() {
+        return cache.stats();
+    }
+
+    // Drops the index entries of removed paths, unless their key has been
+    // cached again in the meantime.
+    private void unindex(RemovalNotification<Key, Set<Path>> notification) {
+        Key key = notification.getKey();
+        if (notification.getValue() == null || key == null) {
+            return;
+        }
+        for (Path path : notification.getValue()) {
+            for (Link link : path.links()) {
+                keysByLink.computeIfPresent(LinkKey.linkKey(link), (k, keys) -> {
+                    if (!cache.asMap().containsKey(key)) {
+                        keys.remove(key);
+                    }
+                    return keys.isEmpty() ? null : keys;
+                });
+            }
+        }
+    }
+
+    // Cache key; link weighers are told apart by equality, so weighers
+    // which are equal must weigh links the same way.
+    private static final class Key {
+        private final DeviceId src;
+        private final DeviceId dst;
+        private final LinkWeigher weigher;
+
+        private Key(DeviceId src, DeviceId dst, LinkWeigher weigher) {
+            this.src = src;
+            this.dst = dst;
+            this.weigher = weigher;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(src, dst, weigher);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (obj instanceof Key) {
+                Key that = (Key) obj;
+                return Objects.equals(src, that.src) &&
+                        Objects.equals(dst, that.dst) &&
+                        Objects.equals(weigher, that.weigher);
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return toStringHelper(this)
+                    .add("src", src)
+                    .add("dst", dst)
+                    .add("weigher", weigher)
+                    .toString();
+        }
+    }
+}
@@ -15,6 +15,13 @@
  */
 package org.onosproject.net.topology.impl;
 
+import com.codahale.metrics.Gauge;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
+import org.onlab.util.Tools;
+import org.onosproject.cfg.ComponentConfigService;
+import org.onosproject.net.DeviceId;
 import org.onosproject.net.DisjointPath;
 import org.onosproject.net.ElementId;
 import org.onosproject.net.Link;
@@ -23,18 +30,26 @@ import org.onosproject.net.host.HostService;
 import org.onosproject.net.topology.AbstractPathService;
 import org.onosproject.net.topology.LinkWeigher;
 import org.onosproject.net.topology.PathService;
+import org.onosproject.net.topology.Topology;
+import org.onosproject.net.topology.TopologyEvent;
+import org.onosproject.net.topology.TopologyListener;
 import org.onosproject.net.topology.TopologyService;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
+import static org.onosproject.net.OsgiPropertyConstants.PM_PATH_CACHE_SIZE;
+import static org.onosproject.net.OsgiPropertyConstants.PM_PATH_CACHE_SIZE_DEFAULT;
 import static org.onosproject.security.AppGuard.checkPermission;
 import static org.onosproject.security.AppPermission.Type.TOPOLOGY_READ;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -44,9 +59,23 @@ import static org.slf4j.LoggerFactory.getLogger;
  * Provides implementation of a path selection service atop the current
  * topology and host services.
  */
-@Component(immediate = true, service = PathService.class)
+@Component(
+    immediate = true,
+    service = PathService.class,
+    property = {
+        PM_PATH_CACHE_SIZE + ":Integer=" + PM_PATH_CACHE_SIZE_DEFAULT
+    }
+)
 public class PathManager extends AbstractPathService implements PathService {
 
+    private static final String METRICS_COMPONENT = "Topology";
+    private static final String METRICS_FEATURE = "PathCache";
+    private static final String HITS = "hits";
+    private static final String MISSES = "misses";
+    private static final String SIZE = "size";
+    private static final String INVALIDATIONS = "invalidations";
+    private static final String[] METRICS = {HITS, MISSES, SIZE, INVALIDATIONS};
+
     private final Logger log = getLogger(getClass());
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
@@ -55,19 +84,105 @@ public class PathManager extends AbstractPathService implements PathService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected HostService hostService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected ComponentConfigService cfgService;
+
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
+    /** Maximum number of device pairs whose shortest paths are cached; 0 disables caching. */
+    private int pathCacheSize = PM_PATH_CACHE_SIZE_DEFAULT;
+
+    private final TopologyListener topologyListener = new InternalTopologyListener();
+
+    private volatile PathCache pathCache;
+
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
         // initialize AbstractPathService
         super.topologyService = this.topologyService;
         super.hostService = this.hostService;
+        cfgService.registerProperties(getClass());
+        modified(context);
+        topologyService.addListener(topologyListener);
+        registerMetrics();
         log.info("Started");
     }
 
     @Deactivate
     public void deactivate() {
+        cfgService.unregisterProperties(getClass(), false);
+        topologyService.removeListener(topologyListener);
+        unregisterMetrics();
+        pathCache = null;
         log.info("Stopped");
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        if (context == null) {
+            return;
+        }
+
+        Integer newSize = Tools.getIntegerProperty(context.getProperties(), PM_PATH_CACHE_SIZE);
+        if (newSize != null && newSize >= 0 && newSize != pathCacheSize) {
+            pathCacheSize = newSize;
+            PathCache cache = null;
+            if (pathCacheSize > 0) {
+                cache = new PathCache(pathCacheSize);
+                Topology topology = topologyService.currentTopology();
+                cache.topologyChanged(topology, topology != null ?
+                        topologyService.getGraph(topology) : null);
+            }
+            pathCache = cache;
+            log.info("Configured. Path cache size is {}", pathCacheSize);
+        }
+    }
+
+    @Override
+    protected Set<Path> getInfrastructurePaths(Topology topology, DeviceId src,
+                                               DeviceId dst, LinkWeigher weigher) {
+        PathCache cache = pathCache;
+        if (cache == null) {
+            return super.getInfrastructurePaths(topology, src, dst, weigher);
+        }
+        Set<Path> paths = cache.get(topology, src, dst, weigher);
+        if (paths == null) {
+            paths = super.getInfrastructurePaths(topology, src, dst, weigher);
+            cache.put(topology, src, dst, weigher, paths);
+        }
+        return paths;
+    }
+
+    private void registerMetrics() {
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+        registerGauge(component, feature, HITS, cache -> cache.stats().hitCount());
+        registerGauge(component, feature, MISSES, cache -> cache.stats().missCount());
+        registerGauge(component, feature, SIZE, PathCache::size);
+        registerGauge(component, feature, INVALIDATIONS, PathCache::invalidationCount);
+    }
+
+    private void registerGauge(MetricsComponent component, MetricsFeature feature,
+                               String name, ToLongFunction<PathCache> value) {
+        try {
+            metricsService.registerMetric(component, feature, name, (Gauge<Long>) () -> {
+                PathCache cache = pathCache;
+                return cache != null ? value.applyAsLong(cache) : 0L;
+            });
+        } catch (IllegalArgumentException e) {
+            log.debug("Path cache gauge {} already registered", name);
+        }
+    }
+
+    private void unregisterMetrics() {
+        MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+        MetricsFeature feature = component.registerFeature(METRICS_FEATURE);
+        for (String name : METRICS) {
+            metricsService.removeMetric(component, feature, name);
+        }
+    }
+
     @Override
     public Set<Path> getPaths(ElementId src, ElementId dst) {
         checkPermission(TOPOLOGY_READ);
@@ -114,4 +229,14 @@ public class PathManager extends AbstractPathService implements PathService {
         return super.getDisjointPaths(src, dst, weigher, riskProfile);
     }
 
+    // Keeps the path cache in line with the current topology.
+    private class InternalTopologyListener implements TopologyListener {
+        @Override
+        public void event(TopologyEvent event) {
+            PathCache cache = pathCache;
+            if (cache != null) {
+                cache.topologyChanged(event.subject(), topologyService.getGraph(event.subject()));
+            }
+        }
+    }
 }
@@ -18,16 +18,35 @@ package org.onosproject.event.impl;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
+import com.google.common.collect.ImmutableList;
 import org.onosproject.event.AbstractEvent;
+import org.onosproject.event.Event;
 import org.onosproject.event.EventSink;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.FlowRuleEvent;
+import org.onosproject.net.intent.Intent;
+import org.onosproject.net.intent.IntentEvent;
+import org.onosproject.net.intent.IntentTestsMocks;
+import org.onosproject.net.intent.MockIdGenerator;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.onosproject.net.NetTestTools.APP_ID;
+import static org.onosproject.net.NetTestTools.did;
 
 /**
  * Test of the event dispatcher mechanism.
@@ -88,6 +107,140 @@ public class CoreEventDispatcherTest {
         assertTrue(takesTooLong.interrupted);
     }
 
+    @Test
+    public void postWithBoundedQueue() throws Exception {
+        dispatcher.setDispatchQueueCapacity(2);
+        prickleSink.latch = new CountDownLatch(5);
+        for (String subject : new String[]{"a", "b", "c", "d", "e"}) {
+            dispatcher.post(new Prickle(subject));
+        }
+        prickleSink.latch.await(1000, TimeUnit.MILLISECONDS);
+        validate(prickleSink, "a", "b", "c", "d", "e");
+    }
+
+    @Test
+    public void postWithPartitions() throws Exception {
+        dispatcher.setDispatchPartitions(4);
+        assertEquals("incorrect partitions", 4, dispatcher.getDispatchPartitions());
+
+        int subjects = 8;
+        int count = 50;
+        OrderSink<FlowRuleEvent> flowSink = new OrderSink<>(e -> e.subject().deviceId(), subjects * count);
+        OrderSink<IntentEvent> intentSink = new OrderSink<>(e -> e.subject().key(), subjects * count);
+        dispatcher.addSink(FlowRuleEvent.class, flowSink);
+        dispatcher.addSink(IntentEvent.class, intentSink);
+        MockIdGenerator.cleanBind();
+        try {
+            List<FlowRule> rules = new ArrayList<>();
+            List<Intent> intents = new ArrayList<>();
+            for (int i = 0; i < subjects; i++) {
+                rules.add(DefaultFlowRule.builder()
+                                  .forDevice(did("device" + i))
+                                  .withSelector(DefaultTrafficSelector.emptySelector())
+                                  .withTreatment(DefaultTrafficTreatment.emptyTreatment())
+                                  .withPriority(i)
+                                  .makePermanent()
+                                  .fromApp(APP_ID)
+                                  .build());
+                intents.add(new IntentTestsMocks.MockIntent((long) i));
+            }
+            // Interleave the subjects; the event time tells the posting order
+            for (long time = 0; time < count; time++) {
+                for (int i = 0; i < subjects; i++) {
+                    dispatcher.post(new FlowRuleEvent(FlowRuleEvent.Type.RULE_ADDED, rules.get(i), time));
+                    dispatcher.post(new IntentEvent(IntentEvent.Type.INSTALLED, intents.get(i), time));
+                }
+            }
+            assertTrue("flow rule events not delivered", flowSink.latch.await(1000, TimeUnit.MILLISECONDS));
+            assertTrue("intent events not delivered", intentSink.latch.await(1000, TimeUnit.MILLISECONDS));
+
+            Set<String> threads = new HashSet<>();
+            for (OrderSink<?> sink : ImmutableList.of(flowSink, intentSink)) {
+                assertEquals("incorrect subject count", subjects, sink.times.size());
+                sink.times.values().forEach(times -> {
+                    assertEquals("incorrect event count", count, times.size());
+                    for (int i = 0; i < count; i++) {
+                        assertEquals("events delivered out of order", i, (long) times.get(i));
+                    }
+                });
+                sink.threads.values().forEach(names -> {
+                    assertEquals("subject dispatched by several loops", 1, names.size());
+                    threads.addAll(names);
+                });
+            }
+            assertTrue("events not spread over loops", threads.size() > 1);
+        } finally {
+            MockIdGenerator.unbind();
+            dispatcher.removeSink(IntentEvent.class);
+            dispatcher.removeSink(FlowRuleEvent.class);
+        }
+    }
+
+    @Test
+    public void postWhilePartitionsChange() throws Exception {
+        int count = 200;
+        OrderSink<IntentEvent> intentSink = new OrderSink<>(e -> e.subject().key(), 4 * count);
+        intentSink.delayMillis = 1;
+        dispatcher.addSink(IntentEvent.class, intentSink);
+        MockIdGenerator.cleanBind();
+        try {
+            List<Intent> intents = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                intents.add(new IntentTestsMocks.MockIntent((long) i));
+            }
+            // Change the partitions while the events posted so far are still
+            // being delivered
+            for (long time = 0; time < count; time++) {
+                if (time == count / 2) {
+                    dispatcher.setDispatchPartitions(3);
+                }
+                for (Intent intent : intents) {
+                    dispatcher.post(new IntentEvent(IntentEvent.Type.INSTALLED, intent, time));
+                }
+            }
+            assertTrue("intent events not delivered", intentSink.latch.await(5000, TimeUnit.MILLISECONDS));
+            intentSink.times.values().forEach(times -> {
+                assertEquals("incorrect event count", count, times.size());
+                for (int i = 0; i < count; i++) {
+                    assertEquals("events delivered out of order", i, (long) times.get(i));
+                }
+            });
+        } finally {
+            MockIdGenerator.unbind();
+            dispatcher.removeSink(IntentEvent.class);
+        }
+    }
+
+    @Test
+    public void rebuildWithoutTimeLimit() throws Exception {
+        // Without a time limit, the loops are not started on activation, so
+        // that the events posted remain queued in them
+        CoreEventDispatcher idle = new CoreEventDispatcher();
+        idle.setDispatchTimeLimit(0);
+        idle.activate();
+        PrickleSink sink = new PrickleSink();
+        sink.latch = new CountDownLatch(3);
+        idle.addSink(Prickle.class, sink);
+        try {
+            idle.post(new Prickle("a"));
+            idle.post(new Prickle("b"));
+            idle.setDispatchQueueCapacity(10);
+            idle.post(new Prickle("c"));
+            validate(sink);
+
+            // The events queued by the retired loops are delivered by the
+            // new ones once started
+            idle.deactivate();
+            idle.setDispatchTimeLimit(5000);
+            idle.activate();
+            assertTrue("events not delivered", sink.latch.await(1000, TimeUnit.MILLISECONDS));
+            validate(sink, "a", "b", "c");
+        } finally {
+            idle.removeSink(Prickle.class);
+            idle.deactivate();
+        }
+    }
+
     private void validate(Sink sink, String... strings) {
         int i = 0;
         assertEquals("incorrect event count", strings.length, sink.subjects.size());
@@ -141,6 +294,37 @@ public class CoreEventDispatcherTest {
         }
     }
 
+    // Records the time of the events of each subject, in delivery order,
+    // along with the threads which delivered them.
+    private static class OrderSink<E extends Event> implements EventSink<E> {
+        final Map<Object, List<Long>> times = new ConcurrentHashMap<>();
+        final Map<Object, Set<String>> threads = new ConcurrentHashMap<>();
+        final Function<E, Object> subject;
+        final CountDownLatch latch;
+        long delayMillis;
+
+        OrderSink(Function<E, Object> subject, int count) {
+            this.subject = subject;
+            this.latch = new CountDownLatch(count);
+        }
+
+        @Override
+        public void process(E event) {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            Object key = subject.apply(event);
+            times.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(event.time());
+            threads.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet())
+                    .add(Thread.currentThread().getName());
+            latch.countDown();
+        }
+    }
+
     private static class TooLongEvent extends AbstractEvent<Type, String> {
         protected TooLongEvent(String subject) {
             super(Type.FOO, subject);
@@ -25,6 +25,7 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.onlab.junit.TestTools;
+import org.onlab.osgi.ComponentContextAdapter;
 import org.onlab.packet.Ip4Address;
 import org.onlab.packet.IpAddress;
 import org.onosproject.cfg.ComponentConfigAdapter;
@@ -80,8 +81,10 @@ import org.onosproject.store.trivial.SimpleFlowRuleStore;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -274,6 +277,35 @@ public class FlowRuleManagerTest {
         validateEvents(RULE_UPDATED, RULE_UPDATED);
     }
 
+    @Test
+    public void skipIdleFlowEvents() {
+        mgr.modified(new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, String> props = new Hashtable<>();
+                props.put("skipIdleFlowEvents", "true");
+                return props;
+            }
+        });
+        FlowRule f1 = addFlowRule(1);
+        FlowRule f2 = addFlowRule(2);
+
+        FlowEntry fe1 = new DefaultFlowEntry(f1);
+        FlowEntry fe2 = new DefaultFlowEntry(f2);
+        providerService.pushFlowMetrics(DID, ImmutableList.of(fe1, fe2));
+        validateEvents(RULE_ADD_REQUESTED, RULE_ADD_REQUESTED,
+                       RULE_ADDED, RULE_ADDED);
+
+        // Only the entry whose counters moved is reported
+        FlowEntry busy = new DefaultFlowEntry(f2, FlowEntryState.ADDED, 1, 10, 1000);
+        providerService.pushFlowMetrics(DID, ImmutableList.of(fe1, busy));
+        validateEvents(RULE_UPDATED);
+        assertEquals(10, service.getFlowEntry(f2).packets());
+
+        providerService.pushFlowMetrics(DID, ImmutableList.of(fe1, busy));
+        validateEvents();
+    }
+
     private boolean validateState(Map<FlowRule, FlowEntryState> expected) {
         Map<FlowRule, FlowEntryState> expectedToCheck = new HashMap<>(expected);
         Iterable<FlowEntry> rules = service.getFlowEntries(DID);
@@ -16,11 +16,18 @@
 
 package org.onosproject.net.flowobjective.impl;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.Timer;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsServiceAdapter;
 import org.onlab.packet.Ethernet;
 import org.onlab.packet.IpPrefix;
 import org.onlab.packet.MacAddress;
@@ -64,12 +71,15 @@ import static org.junit.Assert.assertEquals;
 import static org.onlab.junit.TestTools.assertAfter;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.net.OsgiPropertyConstants.IFOM_OBJ_TIMEOUT_MS_DEFAULT;
+import static org.onosproject.net.OsgiPropertyConstants.IFOM_QUEUE_SHARDS_DEFAULT;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 public class InOrderFlowObjectiveManagerTest {
     private InOrderFlowObjectiveManager mgr;
@@ -100,6 +110,9 @@ public class InOrderFlowObjectiveManagerTest {
     private static final int DEFAULT_OFFSET = 10; // ms
     private static final int DEFAULT_BOUND = 40; // ms
     private static final int TIMEOUT_THRESH = 500; // ms
+    private static final int SHARDS = 4;
+    private static final int KEYS = 16;
+    private static final int OBJS_PER_KEY = 4;
     private static int offset = DEFAULT_OFFSET;
     private static int bound = DEFAULT_BOUND;
 
@@ -137,6 +150,8 @@ public class InOrderFlowObjectiveManagerTest {
 
     private List<Objective> actualObjs = Lists.newCopyOnWriteArrayList();
 
+    private TestMetricsService metricsService;
+
     private Pipeliner pipeliner = new PipelinerAdapter() {
         @Override
         public void filter(FilteringObjective filterObjective) {
@@ -191,14 +206,21 @@ public class InOrderFlowObjectiveManagerTest {
     }
 
     private void internalSetup(int objTimeoutMs) {
+        internalSetup(objTimeoutMs, IFOM_QUEUE_SHARDS_DEFAULT);
+    }
+
+    private void internalSetup(int objTimeoutMs, int queueShards) {
         mgr = new InOrderFlowObjectiveManager();
         mgr.objectiveTimeoutMs = objTimeoutMs;
+        mgr.queueShards = queueShards;
         mgr.pipeliners.put(DEV1, pipeliner);
         mgr.installerExecutor = newFixedThreadPool(4, groupedThreads("foo", "bar"));
         mgr.cfgService = createMock(ComponentConfigService.class);
         mgr.deviceService = createMock(DeviceService.class);
         mgr.driverService = createMock(DriverService.class);
         mgr.flowObjectiveStore = createMock(FlowObjectiveStore.class);
+        metricsService = new TestMetricsService();
+        mgr.metricsService = metricsService;
         mgr.activate(null);
 
         reset(mgr.flowObjectiveStore);
@@ -331,6 +353,83 @@ public class InOrderFlowObjectiveManagerTest {
         verify(mgr.flowObjectiveStore);
     }
 
+    @Test
+    public void filterAcrossShards() {
+        internalSetup(IFOM_OBJ_TIMEOUT_MS_DEFAULT, SHARDS);
+
+        // Objectives of several keys, with as many queues spread over the shards
+        List<List<FilteringObjective>> objsByKey = Lists.newArrayList();
+        for (int key = 0; key < KEYS; key++) {
+            List<FilteringObjective> objs = Lists.newArrayList();
+            for (int i = 0; i < OBJS_PER_KEY; i++) {
+                objs.add(buildFilteringObjective(PortNumber.portNumber(key + 1), V1, M1,
+                                                 key * OBJS_PER_KEY + i + 1).add());
+            }
+            objsByKey.add(objs);
+        }
+        for (int i = 0; i < OBJS_PER_KEY; i++) {
+            for (List<FilteringObjective> objs : objsByKey) {
+                mgr.filter(DEV1, objs.get(i));
+            }
+        }
+
+        // The queues of the first objectives being executed are in several shards
+        long busyShards = IntStream.range(0, SHARDS).filter(shard -> depth("filt", shard) > 0).count();
+        assertTrue(busyShards > 1);
+
+        // Wait for the pipeline operation to complete
+        int expectedTime = (bound + offset) * KEYS * OBJS_PER_KEY;
+        assertAfter(expectedTime, expectedTime * 5,
+                    () -> assertEquals(KEYS * OBJS_PER_KEY, actualObjs.size()));
+
+        // Objectives of the same key are executed in order
+        objsByKey.forEach(objs -> {
+            for (int i = 1; i < objs.size(); i++) {
+                assertTrue(actualObjs.indexOf(objs.get(i - 1)) < actualObjs.indexOf(objs.get(i)));
+            }
+        });
+    }
+
+    @Test
+    public void queueMetrics() {
+        internalSetup(IFOM_OBJ_TIMEOUT_MS_DEFAULT, SHARDS);
+
+        for (String queue : new String[] {"filt", "fwd", "next"}) {
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertEquals(0, depth(queue, shard));
+                assertEquals(0, waitTimer(queue, shard).getCount());
+            }
+        }
+
+        expectFiltObjs.forEach(filtObj -> mgr.filter(DEV1, filtObj));
+
+        // Wait for the pipeline operation to complete
+        int expectedTime = (bound + offset) * 7;
+        assertAfter(expectedTime, expectedTime * 5, () -> assertEquals(expectFiltObjs.size(), actualObjs.size()));
+
+        // Every objective waited once for its turn, and none is left queued
+        assertAfter(expectedTime, () -> {
+            long waits = 0;
+            for (int shard = 0; shard < SHARDS; shard++) {
+                assertEquals(0, depth("filt", shard));
+                waits += waitTimer("filt", shard).getCount();
+            }
+            assertEquals(expectFiltObjs.size(), waits);
+        });
+
+        // The metrics of the queues are unregistered on deactivation
+        mgr.deactivate();
+        assertTrue(metricsService.metrics.isEmpty());
+    }
+
+    private int depth(String queue, int shard) {
+        return (Integer) ((Gauge<?>) metricsService.metrics.get(queue + "-" + shard + "-depth")).getValue();
+    }
+
+    private Timer waitTimer(String queue, int shard) {
+        return (Timer) metricsService.metrics.get(queue + "-" + shard + "-waitTime");
+    }
+
     // FIXME We currently do not handle the case when an app sends edit/remove of a next id before add.
     //       The edit/remove operation will be queued by pendingNext, and the add operation will be
     //       queued by the ordering queue forever due to the deadlock. This can be improved by making
@@ -431,4 +530,30 @@ public class InOrderFlowObjectiveManagerTest {
                 .withPriority(PRIORITY)
                 .withFlag(ForwardingObjective.Flag.SPECIFIC);
     }
-}
\ No newline at end of file
+
+    /**
+     * Metrics service keeping the queue metrics by name.
+     */
+    private static final class TestMetricsService extends MetricsServiceAdapter {
+        private final Map<String, Metric> metrics = Maps.newConcurrentMap();
+
+        @Override
+        public Timer createTimer(MetricsComponent component, MetricsFeature feature, String metricName) {
+            Timer timer = new Timer();
+            metrics.put(metricName, timer);
+            return timer;
+        }
+
+        @Override
+        public <T extends Metric> T registerMetric(MetricsComponent component, MetricsFeature feature,
+                                                   String metricName, T metric) {
+            metrics.put(metricName, metric);
+            return metric;
+        }
+
+        @Override
+        public boolean removeMetric(MetricsComponent component, MetricsFeature feature, String metricName) {
+            return metrics.remove(metricName) != null;
+        }
+    }
+}
@@ -26,6 +26,8 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.onlab.metrics.MetricsServiceAdapter;
+import org.onlab.osgi.ComponentContextAdapter;
 import org.onosproject.TestApplicationId;
 import org.onosproject.cfg.ComponentConfigAdapter;
 import org.onosproject.cfg.ComponentConfigService;
@@ -60,6 +62,8 @@ import org.onosproject.store.trivial.SimpleIntentStore;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Dictionary;
+import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -100,6 +104,7 @@ public class IntentManagerTest {
 
     private IntentManager manager;
     private MockFlowRuleService flowRuleService;
+    private GatedIntentStore store;
 
     protected IntentService service;
     protected IntentExtensionService extensionService;
@@ -281,6 +286,40 @@ public class IntentManagerTest {
         }
     }
 
+    /**
+     * Intent store that records the order in which intents are processed and
+     * written, and that can hold back batch writes.
+     */
+    private static class GatedIntentStore extends SimpleIntentStore {
+        private final List<IntentState> events = Collections.synchronizedList(Lists.newArrayList());
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private volatile CountDownLatch gate;
+
+        @Override
+        public IntentData getPendingData(Key intentKey) {
+            IntentData pending = super.getPendingData(intentKey);
+            if (pending != null) {
+                events.add(pending.request());
+            }
+            return pending;
+        }
+
+        @Override
+        public void batchWrite(Iterable<IntentData> updates) {
+            writing.countDown();
+            CountDownLatch latch = gate;
+            if (latch != null) {
+                try {
+                    latch.await(SUBMIT_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            super.batchWrite(updates);
+            updates.forEach(data -> events.add(data.state()));
+        }
+    }
+
     private static EntryForIntentMatcher hasIntentWithId(IntentId id) {
         return new EntryForIntentMatcher(id);
     }
@@ -289,12 +328,14 @@ public class IntentManagerTest {
     public void setUp() {
         manager = new IntentManager();
         flowRuleService = new MockFlowRuleService();
-        manager.store = new SimpleIntentStore();
+        store = new GatedIntentStore();
+        manager.store = store;
         injectEventDispatcher(manager, new TestEventDispatcher());
         manager.trackerService = trackerService;
         manager.flowRuleService = flowRuleService;
         manager.coreService = new TestCoreManager();
         manager.configService = mock(ComponentConfigService.class);
+        manager.metricsService = new MetricsServiceAdapter();
         service = manager;
         extensionService = manager;
         intentInstallCoordinator = manager;
@@ -379,6 +420,49 @@ public class IntentManagerTest {
         verifyState();
     }
 
+    /**
+     * Tests that with several batches in flight, a withdrawal is only
+     * processed once the batch submitting the same intent has been written.
+     */
+    @Test
+    public void withdrawAfterSubmitWritten() {
+        manager.modified(new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, String> props = new Hashtable<>();
+                props.put("maxBatchesInFlight", "2");
+                return props;
+            }
+        });
+        flowRuleService.setFuture(true);
+        CountDownLatch gate = new CountDownLatch(1);
+        store.gate = gate;
+
+        listener.setLatch(1, Type.WITHDRAWN);
+        Intent intent = new MockIntent(MockIntent.nextId());
+        service.submit(intent);
+        try {
+            assertTrue(store.writing.await(SUBMIT_TIMEOUT_MS, TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            fail("Interrupted while waiting for the submit batch");
+        }
+
+        // Give the withdrawal batch a chance to overtake the submit batch
+        service.withdraw(intent);
+        delay(100);
+        assertFalse(store.events.contains(WITHDRAW_REQ));
+        gate.countDown();
+
+        listener.await(Type.WITHDRAWN);
+        assertEquals(Lists.newArrayList(INSTALL_REQ, INSTALLING, WITHDRAW_REQ),
+                     store.events.subList(0, 3));
+        assertAfter(SUBMIT_TIMEOUT_MS, () -> {
+            assertEquals(WITHDRAWN, manager.getIntentState(intent.key()));
+            assertEquals(0L, flowRuleService.getFlowRuleCount());
+        });
+        verifyState();
+    }
+
     @Test
     @Ignore("This is disabled because we are seeing intermittent failures on Jenkins")
     public void stressSubmitWithdrawUnique() {
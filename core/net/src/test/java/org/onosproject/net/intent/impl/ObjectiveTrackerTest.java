@@ -216,6 +216,44 @@ public class ObjectiveTrackerTest extends AbstractIntentTest {
                    equalTo("0x333"));
     }
 
+    /**
+     * Tests an event for many links down, where some of the links match
+     * existing intents and some intents are no longer tracked.
+     *
+     * @throws InterruptedException if the latch wait fails.
+     */
+    @Test
+    public void testEventLinksDownMatch() throws Exception {
+        List<Key> expected = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            final Link link = link("src", i, "dst", i);
+            reasons.add(new LinkEvent(LinkEvent.Type.LINK_REMOVED, link));
+
+            final Key key = Key.of(i, APP_ID);
+            Collection<NetworkResource> resources = ImmutableSet.of(link);
+            tracker.addTrackedResources(key, resources);
+            tracker.addTrackedResources(key, resources);
+            if (i % 2 == 0) {
+                tracker.removeTrackedResources(key, resources);
+            } else {
+                expected.add(key);
+            }
+        }
+
+        final TopologyEvent event = new TopologyEvent(
+                TopologyEvent.Type.TOPOLOGY_CHANGED,
+                topology,
+                reasons);
+
+        listener.event(event);
+        assertThat(
+                delegate.latch.await(WAIT_TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                is(true));
+
+        assertThat(delegate.intentIdsFromEvent, containsInAnyOrder(expected.toArray()));
+        assertThat(delegate.compileAllFailedFromEvent, is(false));
+    }
+
     /**
      * Tests a resource available event.
      *
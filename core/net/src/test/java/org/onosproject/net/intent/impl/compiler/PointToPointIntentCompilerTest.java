@@ -15,17 +15,22 @@
  */
 package org.onosproject.net.intent.impl.compiler;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import org.hamcrest.Matchers;
 import org.junit.Test;
+import org.onlab.graph.ScalarWeight;
 import org.onlab.util.Bandwidth;
 import org.onosproject.TestApplicationId;
 import org.onosproject.core.ApplicationId;
 import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DefaultPath;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.FilteredConnectPoint;
+import org.onosproject.net.ElementId;
 import org.onosproject.net.Link;
 import org.onosproject.net.NetTestTools;
+import org.onosproject.net.Path;
 import org.onosproject.net.PortNumber;
 import org.onosproject.net.ResourceGroup;
 import org.onosproject.net.flow.TrafficSelector;
@@ -38,15 +43,28 @@ import org.onosproject.net.intent.Key;
 import org.onosproject.net.intent.LinkCollectionIntent;
 import org.onosproject.net.intent.PointToPointIntent;
 import org.onosproject.net.intent.constraint.BandwidthConstraint;
+import org.onosproject.net.intent.constraint.LinkTypeConstraint;
 import org.onosproject.net.intent.impl.PathNotFoundException;
 import org.onosproject.net.resource.ContinuousResource;
+import org.onosproject.net.resource.DiscreteResourceId;
 import org.onosproject.net.resource.MockResourceService;
+import org.onosproject.net.resource.Resource;
 import org.onosproject.net.resource.ResourceAllocation;
+import org.onosproject.net.resource.ResourceConsumer;
 import org.onosproject.net.resource.ResourceService;
 import org.onosproject.net.resource.Resources;
+import org.onosproject.net.topology.DefaultTopologyEdge;
+import org.onosproject.net.topology.DefaultTopologyVertex;
+import org.onosproject.net.topology.LinkWeigher;
+import org.onosproject.net.topology.PathService;
+import org.onosproject.net.topology.PathServiceAdapter;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -55,6 +73,8 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
+import static org.onosproject.net.NetTestTools.PID;
+import static org.onosproject.net.NetTestTools.link;
 import static org.onosproject.net.intent.LinksHaveEntryWithSourceDestinationPairMatcher.linksHasPath;
 
 /**
@@ -813,4 +833,137 @@ public class PointToPointIntentCompilerTest extends AbstractIntentTest {
             assertThat(noPath.getMessage(), containsString("No path"));
         }
     }
+
+    /**
+     * Tests that compiling the same intent twice weighs links with equal
+     * weighers, so that the paths computed for the first compilation are
+     * found in a path cache by the second one.
+     */
+    @Test
+    public void testRecompilationHitsPathCache() {
+        List<Constraint> constraints =
+                Collections.singletonList(new LinkTypeConstraint(false, Link.Type.OPTICAL));
+        PointToPointIntent intent = makeIntent(new ConnectPoint(DID_1, PORT_1),
+                                               new ConnectPoint(DID_8, PORT_1),
+                                               constraints);
+
+        String[] hops = {S1, S2, S3, S4, S5, S6, S7, S8};
+        PointToPointIntentCompiler compiler = makeCompiler(hops);
+        CachingPathService pathService =
+                new CachingPathService(new IntentTestsMocks.MockPathService(hops));
+        compiler.pathService = pathService;
+
+        assertThat(compiler.compile(intent, null), hasSize(1));
+        assertThat(compiler.compile(intent, null), hasSize(1));
+        assertThat(pathService.lookups, is(2));
+        assertThat(pathService.computations, is(1));
+    }
+
+    /**
+     * Tests that the paths computed for a compilation are not reused by the
+     * next one when a bandwidth allocation made in between rules them out,
+     * even though the links are weighed with the same constraints.
+     */
+    @Test
+    public void testRecompilationAfterBandwidthAllocation() {
+        List<Constraint> constraints =
+                Collections.singletonList(new BandwidthConstraint(Bandwidth.bps(BPS_TO_RESERVE)));
+        ConnectPoint ingress = new ConnectPoint(DID_1, PORT_1);
+        ConnectPoint egress = new ConnectPoint(DID_3, PORT_2);
+
+        // Two paths from s1 to s3, leaving and reaching them on distinct ports
+        Path shortest = new DefaultPath(PID, ImmutableList.of(link(S1, 2, S2, 1), link(S2, 2, S3, 1)),
+                                        ScalarWeight.toWeight(2));
+        Path longest = new DefaultPath(PID, ImmutableList.of(link(S1, 3, S4, 1), link(S4, 2, S5, 1),
+                                                             link(S5, 2, S3, 3)),
+                                       ScalarWeight.toWeight(3));
+
+        PointToPointIntentCompiler compiler =
+                makeCompiler(new String[]{S1, S2, S3}, new ExclusiveBandwidthResourceService());
+        CachingPathService pathService = new CachingPathService(new WeighingPathService(shortest, longest));
+        compiler.pathService = pathService;
+
+        // The first intent takes the bandwidth of the shortest path
+        List<Intent> result = compiler.compile(makeIntent(ingress, egress, constraints), null);
+        assertThat(result, hasSize(1));
+        assertThat(((LinkCollectionIntent) result.get(0)).links(), linksHasPath(S1, S2));
+
+        // The second one must go around it
+        result = compiler.compile(makeIntent(ingress, egress, constraints), null);
+        assertThat(result, hasSize(1));
+        assertThat(((LinkCollectionIntent) result.get(0)).links(), linksHasPath(S1, S4));
+        assertThat(((LinkCollectionIntent) result.get(0)).links(), linksHasPath(S4, S5));
+        assertThat(((LinkCollectionIntent) result.get(0)).links(), linksHasPath(S5, S3));
+        assertThat(pathService.computations, is(2));
+    }
+
+    // Path service caching paths per source, destination and link weigher,
+    // as the path manager does.
+    private static class CachingPathService extends PathServiceAdapter {
+        private final Map<List<Object>, Set<Path>> cache = new HashMap<>();
+        private final PathService delegate;
+        private int lookups;
+        private int computations;
+
+        CachingPathService(PathService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Set<Path> getPaths(ElementId src, ElementId dst, LinkWeigher weigher) {
+            lookups++;
+            return cache.computeIfAbsent(Arrays.asList(src, dst, weigher), key -> {
+                computations++;
+                return delegate.getPaths(src, dst, weigher);
+            });
+        }
+    }
+
+    // Path service giving out the shortest of the given paths between the
+    // devices over links which the link weigher does not rule out.
+    private static class WeighingPathService extends PathServiceAdapter {
+        private final List<Path> paths;
+
+        WeighingPathService(Path... paths) {
+            this.paths = ImmutableList.copyOf(paths);
+        }
+
+        @Override
+        public Set<Path> getPaths(ElementId src, ElementId dst, LinkWeigher weigher) {
+            List<Path> viable = paths.stream()
+                    .filter(path -> path.src().elementId().equals(src) && path.dst().elementId().equals(dst))
+                    .filter(path -> path.links().stream().noneMatch(link -> weigher.weight(new DefaultTopologyEdge(
+                            new DefaultTopologyVertex(link.src().deviceId()),
+                            new DefaultTopologyVertex(link.dst().deviceId()),
+                            link)).isNegative()))
+                    .collect(Collectors.toList());
+            int hops = viable.stream().mapToInt(path -> path.links().size()).min().orElse(0);
+            return viable.stream()
+                    .filter(path -> path.links().size() == hops)
+                    .collect(Collectors.toSet());
+        }
+    }
+
+    // Resource service on which the first bandwidth allocation on a port
+    // uses up all the bandwidth of the port.
+    private static class ExclusiveBandwidthResourceService extends MockResourceService {
+        private final Set<DiscreteResourceId> allocated = new HashSet<>();
+
+        @Override
+        public List<ResourceAllocation> allocate(ResourceConsumer consumer, List<? extends Resource> resources) {
+            resources.stream()
+                    .filter(resource -> resource.isTypeOf(Bandwidth.class))
+                    .forEach(resource -> resource.parent().ifPresent(port -> allocated.add(port.id())));
+            return super.allocate(consumer, resources);
+        }
+
+        @Override
+        public boolean isAvailable(Resource resource) {
+            if (resource.isTypeOf(Bandwidth.class) &&
+                    resource.parent().map(port -> allocated.contains(port.id())).orElse(false)) {
+                return false;
+            }
+            return super.isAvailable(resource);
+        }
+    }
 }
@@ -20,16 +20,25 @@ import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import org.junit.Before;
 import org.junit.Test;
+import org.onlab.packet.ARP;
+import org.onlab.packet.Ethernet;
+import org.onlab.packet.IPacket;
+import org.onlab.packet.IPv4;
+import org.onlab.packet.Ip4Address;
+import org.onlab.packet.MacAddress;
+import org.onlab.packet.UDP;
 import org.onosproject.cluster.ClusterServiceAdapter;
 import org.onosproject.common.event.impl.TestEventDispatcher;
 import org.onosproject.core.CoreServiceAdapter;
 import org.onosproject.core.IdGenerator;
 import org.onosproject.event.TestListener;
 import org.onosproject.net.AnnotationKeys;
+import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DefaultAnnotations;
 import org.onosproject.net.DefaultDevice;
 import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
 import org.onosproject.net.config.NetworkConfigServiceAdapter;
 import org.onosproject.net.device.DeviceServiceAdapter;
 import org.onosproject.net.driver.AbstractHandlerBehaviour;
@@ -38,16 +47,29 @@ import org.onosproject.net.driver.DriverRegistry;
 import org.onosproject.net.driver.impl.DriverManager;
 import org.onosproject.net.driver.impl.DriverRegistryManager;
 import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.packet.DefaultInboundPacket;
 import org.onosproject.net.packet.DefaultOutboundPacket;
+import org.onosproject.net.packet.InboundPacket;
 import org.onosproject.net.packet.OutboundPacket;
+import org.onosproject.net.packet.PacketContext;
+import org.onosproject.net.packet.PacketContextAdapter;
+import org.onosproject.net.packet.PacketInterest;
+import org.onosproject.net.packet.PacketProcessor;
+import org.onosproject.net.packet.PacketProcessorEntry;
 import org.onosproject.net.packet.PacketProgrammable;
+import org.onosproject.net.packet.PacketProvider;
 import org.onosproject.net.packet.PacketProviderRegistry;
+import org.onosproject.net.packet.PacketProviderService;
 import org.onosproject.net.pi.PiPipeconfServiceAdapter;
+import org.onosproject.net.provider.AbstractProvider;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.net.provider.TestProvider;
 import org.onosproject.store.trivial.SimplePacketStore;
 
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.Assert.assertEquals;
@@ -108,6 +130,80 @@ public class PacketManagerTest {
         assertEquals("Packet not emitted correctly", packet, emittedPacket);
     }
 
+    /**
+     * Tests that packets are given only to the processors interested in them,
+     * in priority order.
+     */
+    @Test
+    public void processorInterests() {
+        List<String> visits = new ArrayList<>();
+        mgr.addProcessor(context -> visits.add("all"), PacketProcessor.observer(0));
+        mgr.addProcessor(context -> visits.add("arp"), PacketProcessor.director(0),
+                         PacketInterest.builder().matchEthType(Ethernet.TYPE_ARP).build());
+        mgr.addProcessor(context -> visits.add("udp"), PacketProcessor.advisor(0),
+                         PacketInterest.builder()
+                                 .matchEthType(Ethernet.TYPE_IPV4)
+                                 .matchIpProtocol(IPv4.PROTOCOL_UDP)
+                                 .matchL4Port(67)
+                                 .build());
+
+        PacketProviderService providerService = providerRegistry.register(new TestPacketProvider());
+
+        providerService.processPacket(context(ARP.buildArpRequest(
+                MacAddress.valueOf("00:00:00:00:00:01").toBytes(),
+                Ip4Address.valueOf("10.0.0.1").toOctets(),
+                Ip4Address.valueOf("10.0.0.2").toOctets(),
+                Ethernet.VLAN_UNTAGGED)));
+        assertEquals(ImmutableList.of("arp", "all"), visits);
+
+        visits.clear();
+        UDP udp = new UDP();
+        udp.setSourcePort(68);
+        udp.setDestinationPort(67);
+        IPv4 ipv4 = new IPv4();
+        ipv4.setProtocol(IPv4.PROTOCOL_UDP);
+        ipv4.setPayload(udp);
+        providerService.processPacket(context(ethernet(Ethernet.TYPE_IPV4, ipv4)));
+        assertEquals(ImmutableList.of("udp", "all"), visits);
+
+        visits.clear();
+        udp.setDestinationPort(53);
+        udp.setSourcePort(53);
+        providerService.processPacket(context(ethernet(Ethernet.TYPE_IPV4, ipv4)));
+        assertEquals(ImmutableList.of("all"), visits);
+
+        PacketProcessorEntry entry = mgr.getProcessors().get(0);
+        assertEquals(1, entry.invocations());
+        assertEquals(PacketProcessor.advisor(0), entry.priority());
+        assertEquals(IPv4.PROTOCOL_UDP, (byte) entry.interest().ipProto().get());
+        assertEquals(3, mgr.getProcessors().get(2).invocations());
+    }
+
+    private static Ethernet ethernet(short etherType, IPacket payload) {
+        Ethernet eth = new Ethernet();
+        eth.setSourceMACAddress(MacAddress.valueOf("00:00:00:00:00:01"));
+        eth.setDestinationMACAddress(MacAddress.BROADCAST);
+        eth.setEtherType(etherType);
+        eth.setPayload(payload);
+        return eth;
+    }
+
+    private static PacketContext context(Ethernet eth) {
+        InboundPacket inPkt = new DefaultInboundPacket(new ConnectPoint(FOO_DID, PortNumber.portNumber(1)),
+                                                       ByteBuffer.wrap(eth.serialize()), Optional.empty());
+        return new PacketContextAdapter(0, inPkt, null, false);
+    }
+
+    private static class TestPacketProvider extends AbstractProvider implements PacketProvider {
+        TestPacketProvider() {
+            super(FOO_PID);
+        }
+
+        @Override
+        public void emit(OutboundPacket packet) {
+        }
+    }
+
     private static class TestDeviceService extends DeviceServiceAdapter {
         @Override
         public int getDeviceCount() {
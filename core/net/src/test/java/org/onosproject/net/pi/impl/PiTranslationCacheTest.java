@@ -0,0 +1,110 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.net.pi.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.net.pi.model.PiPipeconf;
+import org.onosproject.net.pi.runtime.PiMatchKey;
+import org.onosproject.net.pi.runtime.PiTableEntry;
+import org.onosproject.net.pi.service.PiTranslationException;
+import org.onosproject.pipelines.basic.PipeconfLoader;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.onosproject.pipelines.basic.BasicConstants.INGRESS_TABLE0_CONTROL_TABLE0;
+
+/**
+ * Test for {@link PiTranslationCache}.
+ */
+public class PiTranslationCacheTest {
+
+    private PiPipeconf pipeconf;
+    private PiTranslationCache cache;
+    private AtomicInteger translations;
+
+    @Before
+    public void setUp() {
+        pipeconf = PipeconfLoader.BASIC_PIPECONF;
+        cache = new PiTranslationCache(2);
+        translations = new AtomicInteger();
+    }
+
+    private PiTableEntry translate(int priority) {
+        translations.incrementAndGet();
+        return PiTableEntry.builder()
+                .forTable(INGRESS_TABLE0_CONTROL_TABLE0)
+                .withMatchKey(PiMatchKey.EMPTY)
+                .withPriority(priority)
+                .build();
+    }
+
+    /**
+     * Tests that entities of the same content are translated once.
+     */
+    @Test
+    public void testHit() throws Exception {
+        PiTableEntry entry1 = cache.get(pipeconf, Arrays.asList("rule", 1), () -> translate(1));
+        PiTableEntry entry2 = cache.get(pipeconf, Arrays.asList("rule", 1), () -> translate(1));
+        PiTableEntry entry3 = cache.get(pipeconf, Arrays.asList("rule", 2), () -> translate(2));
+
+        assertThat(entry2, sameInstance(entry1));
+        assertThat(entry3.priority().getAsInt(), is(2));
+        assertThat(translations.get(), is(2));
+        assertThat(cache.stats().hitCount(), is(1L));
+        assertThat(cache.stats().missCount(), is(2L));
+        assertThat(cache.size(), is(2L));
+    }
+
+    /**
+     * Tests that the cache is bounded.
+     */
+    @Test
+    public void testEviction() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            final int priority = i;
+            cache.get(pipeconf, Arrays.asList("rule", i), () -> translate(priority));
+        }
+        assertThat(cache.size() <= 2, is(true));
+        assertThat(cache.stats().evictionCount() >= 8, is(true));
+
+        cache.clear();
+        assertThat(cache.size(), is(0L));
+    }
+
+    /**
+     * Tests that failed translations are not cached.
+     */
+    @Test
+    public void testFailure() {
+        for (int i = 0; i < 2; i++) {
+            try {
+                cache.get(pipeconf, Arrays.asList("rule", 1), () -> {
+                    translations.incrementAndGet();
+                    throw new PiTranslationException("failed");
+                });
+            } catch (PiTranslationException e) {
+                // expected
+            }
+        }
+        assertThat(translations.get(), is(2));
+        assertThat(cache.size(), is(0L));
+    }
+}
@@ -16,6 +16,7 @@
 
 package org.onosproject.net.resource.impl;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.junit.After;
 import org.junit.Before;
@@ -32,6 +33,7 @@ import org.onosproject.net.LinkKey;
 import org.onosproject.net.intent.IntentId;
 import org.onosproject.net.intent.MockIdGenerator;
 import org.onosproject.net.resource.MockResourceService;
+import org.onosproject.net.resource.ResourceConsumer;
 import org.onosproject.net.resource.impl.LabelAllocator.FirstFitSelection;
 import org.onosproject.net.resource.impl.LabelAllocator.LabelSelection;
 import org.onosproject.net.resource.impl.LabelAllocator.RandomSelection;
@@ -40,6 +42,7 @@ import org.onosproject.net.resource.impl.LabelAllocator.RandomSelection;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -479,6 +482,72 @@ public class LabelAllocatorTest {
         assertEquals(prevVlanId, vlanId);
     }
 
+    /**
+     * To test the allocation of labels from the node-local label pool.
+     */
+    @Test
+    public void testLabelPool() {
+        this.allocator.setLabelSelection(firstFit);
+        this.allocator.setLabelPoolLease(60000);
+        this.resourceService.availableVlanLabels = ImmutableSet.of(
+                (short) 1,
+                (short) 20,
+                (short) 100
+        );
+        Map<LinkKey, Identifier<?>> allocation = this.allocator.assignLabelToLinks(
+                ImmutableSet.copyOf(links.subList(1, 2)),
+                IntentId.valueOf(idGenerator.getNewId()),
+                EncapsulationType.VLAN);
+        assertEquals(VlanId.vlanId((short) 1), allocation.get(LinkKey.linkKey(d1p1, d3p1)));
+        // Labels are taken from the pool rather than from the resource service
+        this.resourceService.availableVlanLabels = ImmutableSet.of(
+                (short) 1,
+                (short) 50
+        );
+        allocation = this.allocator.assignLabelToLinks(
+                ImmutableSet.copyOf(links.subList(1, 2)),
+                IntentId.valueOf(idGenerator.getNewId()),
+                EncapsulationType.VLAN);
+        Identifier<?> id = allocation.get(LinkKey.linkKey(d1p1, d3p1));
+        assertTrue(VlanId.vlanId((short) 20).equals(id) || VlanId.vlanId((short) 100).equals(id));
+        // Without the pool, the resource service is looked up again
+        this.allocator.setLabelPoolLease(0);
+        allocation = this.allocator.assignLabelToLinks(
+                ImmutableSet.copyOf(links.subList(1, 2)),
+                IntentId.valueOf(idGenerator.getNewId()),
+                EncapsulationType.VLAN);
+        assertEquals(VlanId.vlanId((short) 1), allocation.get(LinkKey.linkKey(d1p1, d3p1)));
+    }
+
+    /**
+     * To test the allocation of labels to many consumers at once.
+     */
+    @Test
+    public void testBulkAssignment() {
+        this.allocator.setLabelSelection(firstFit);
+        this.resourceService.availableVlanLabels = ImmutableSet.of(
+                (short) 1,
+                (short) 20,
+                (short) 100
+        );
+        ResourceConsumer first = IntentId.valueOf(idGenerator.getNewId());
+        ResourceConsumer second = IntentId.valueOf(idGenerator.getNewId());
+        ResourceConsumer third = IntentId.valueOf(idGenerator.getNewId());
+        ResourceConsumer fourth = IntentId.valueOf(idGenerator.getNewId());
+        Set<Link> path = ImmutableSet.copyOf(links.subList(1, 2));
+        Map<ResourceConsumer, Map<LinkKey, Identifier<?>>> allocation = this.allocator.assignLabelToLinks(
+                ImmutableMap.of(first, path, second, path, third, path, fourth, path),
+                EncapsulationType.VLAN);
+        // The consumers do not compete for the same labels
+        LinkKey link = LinkKey.linkKey(d1p1, d3p1);
+        assertEquals(ImmutableSet.of(VlanId.vlanId((short) 1), VlanId.vlanId((short) 20),
+                                     VlanId.vlanId((short) 100)),
+                     ImmutableSet.of(allocation.get(first).get(link), allocation.get(second).get(link),
+                                     allocation.get(third).get(link)));
+        // There are no labels left for the last one
+        assertNull(allocation.get(fourth));
+    }
+
     /**
      * To test the developed algorithms when there are no labels.
      */
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.net.statistic.impl;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.net.ConnectPoint;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DefaultPortStatistics;
+import org.onosproject.net.device.DeviceServiceAdapter;
+import org.onosproject.net.device.PortStatisticsSeries;
+import org.onosproject.net.statistic.Load;
+import org.onosproject.net.statistic.PortStatisticsService.MetricType;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.onosproject.net.device.PortStatisticsSeries.SAMPLE_SIZE;
+
+/**
+ * Unit tests for PortStatisticsManager.
+ */
+public class PortStatisticsManagerTest {
+
+    private static final DeviceId DID1 = DeviceId.deviceId("of:1");
+    private static final DeviceId DID2 = DeviceId.deviceId("of:2");
+    private static final PortNumber P1 = PortNumber.portNumber(1);
+    private static final PortNumber P2 = PortNumber.portNumber(2);
+    private static final PortNumber P3 = PortNumber.portNumber(3);
+
+    private TestDeviceService deviceService;
+    private PortStatisticsManager manager;
+
+    @Before
+    public void setUp() {
+        deviceService = new TestDeviceService();
+        manager = new PortStatisticsManager();
+        manager.deviceService = deviceService;
+        manager.activate();
+    }
+
+    @After
+    public void tearDown() {
+        manager.deactivate();
+    }
+
+    // Series of samples of the given ages in milliseconds, oldest first,
+    // each with the given sent and received counters
+    private static PortStatisticsSeries series(long now, long[] ages, long[] sent, long[] received) {
+        long[] samples = new long[ages.length * SAMPLE_SIZE];
+        for (int i = 0; i < ages.length; i++) {
+            PortStatisticsSeries.write(samples, i * SAMPLE_SIZE, now - ages[i],
+                                       DefaultPortStatistics.builder()
+                                               .setBytesSent(sent[i])
+                                               .setBytesReceived(received[i])
+                                               .setPacketsSent(sent[i] / 100)
+                                               .setPacketsReceived(received[i] / 100)
+                                               .build());
+        }
+        return new PortStatisticsSeries(samples);
+    }
+
+    @Test
+    public void testLoad() {
+        long now = System.currentTimeMillis();
+        deviceService.series.put(DID1, ImmutableMap.of(
+                // Higher rate received than sent
+                P1, series(now, new long[]{15_000, 5_000}, new long[]{1_000, 11_000}, new long[]{0, 40_000}),
+                // Higher rate sent than received
+                P2, series(now, new long[]{12_000, 2_000}, new long[]{0, 50_000}, new long[]{500, 600})));
+
+        Load load = manager.load(new ConnectPoint(DID1, P1));
+        assertEquals(4_000, load.rate());
+        assertEquals(40_000, load.latest());
+
+        load = manager.load(new ConnectPoint(DID1, P1), MetricType.PACKETS);
+        assertEquals(40, load.rate());
+
+        load = manager.load(new ConnectPoint(DID1, P2));
+        assertEquals(5_000, load.rate());
+        assertEquals(50_000, load.latest());
+
+        assertNull(manager.load(new ConnectPoint(DID1, P3)));
+
+        // The statistics of the device are fetched once for all its ports
+        assertEquals(1, (int) deviceService.queries.get(DID1));
+    }
+
+    @Test
+    public void testNoLoad() {
+        long now = System.currentTimeMillis();
+        deviceService.series.put(DID2, ImmutableMap.of(
+                // Single sample
+                P1, series(now, new long[]{1_000}, new long[]{1_000}, new long[]{1_000}),
+                // Stale samples
+                P2, series(now, new long[]{30_000, 20_000}, new long[]{0, 10_000}, new long[]{0, 10_000}),
+                // Counters reset
+                P3, series(now, new long[]{11_000, 1_000}, new long[]{10_000, 0}, new long[]{10_000, 0})));
+
+        assertNull(manager.load(new ConnectPoint(DID2, P1)));
+        assertNull(manager.load(new ConnectPoint(DID2, P2)));
+        assertNull(manager.load(new ConnectPoint(DID2, P3)));
+    }
+
+    private static class TestDeviceService extends DeviceServiceAdapter {
+        private final Map<DeviceId, Map<PortNumber, PortStatisticsSeries>> series = new HashMap<>();
+        private final Map<DeviceId, Integer> queries = new HashMap<>();
+
+        @Override
+        public Map<PortNumber, PortStatisticsSeries> getPortStatisticsSeries(DeviceId deviceId,
+                                                                             long since, long resolution) {
+            queries.merge(deviceId, 1, Integer::sum);
+            return series.getOrDefault(deviceId, ImmutableMap.of());
+        }
+    }
+}
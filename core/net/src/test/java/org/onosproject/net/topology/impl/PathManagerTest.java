@@ -15,25 +15,41 @@
  */
 package org.onosproject.net.topology.impl;
 
+import com.google.common.collect.ImmutableSet;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.onlab.junit.TestUtils;
+import org.onlab.metrics.MetricsServiceAdapter;
+import org.onlab.osgi.ComponentContextAdapter;
+import org.onosproject.cfg.ComponentConfigAdapter;
+import org.onosproject.common.DefaultTopology;
+import org.onosproject.net.Device;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.ElementId;
 import org.onosproject.net.Host;
 import org.onosproject.net.HostId;
+import org.onosproject.net.Link;
 import org.onosproject.net.Path;
 import org.onosproject.net.host.HostServiceAdapter;
 import org.onosproject.net.provider.ProviderId;
+import org.onosproject.net.topology.DefaultGraphDescription;
 import org.onosproject.net.topology.LinkWeigher;
+import org.onosproject.net.topology.LinkWeigherAdapter;
 import org.onosproject.net.topology.PathService;
 import org.onosproject.net.topology.Topology;
+import org.onosproject.net.topology.TopologyEvent;
+import org.onosproject.net.topology.TopologyGraph;
+import org.onosproject.net.topology.TopologyListener;
 import org.onosproject.net.topology.TopologyServiceAdapter;
 
+import java.util.Collection;
+import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Hashtable;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -60,7 +76,9 @@ public class PathManagerTest {
         service = mgr;
         TestUtils.setField(mgr, "topologyService", fakeTopoMgr);
         TestUtils.setField(mgr, "hostService", fakeHostMgr);
-        mgr.activate();
+        TestUtils.setField(mgr, "cfgService", new ComponentConfigAdapter());
+        TestUtils.setField(mgr, "metricsService", new MetricsServiceAdapter());
+        mgr.activate(null);
     }
 
     @After
@@ -137,6 +155,70 @@ public class PathManagerTest {
         assertTrue("there should be no paths", paths.isEmpty());
     }
 
+    @Test
+    public void cachedPaths() {
+        mgr.modified(new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, String> props = new Hashtable<>();
+                props.put("pathCacheSize", "10");
+                return props;
+            }
+        });
+
+        DeviceId src = did("src");
+        DeviceId dst = did("dst");
+        Path path = createPath("src", "middle", "dst");
+        Link other = link("src", 3, "other", 1);
+        fakeTopoMgr.paths.add(path);
+        fakeTopoMgr.changeTopology(path.links(), other);
+        validatePaths(service.getPaths(src, dst), 1, 2, src, dst);
+        validatePaths(service.getPaths(src, dst), 1, 2, src, dst);
+        assertEquals("paths should be cached", 1, fakeTopoMgr.pathQueries);
+
+        // Removing a link which no cached path traverses keeps the paths.
+        fakeTopoMgr.changeTopology(path.links());
+        validatePaths(service.getPaths(src, dst), 1, 2, src, dst);
+        assertEquals("paths should remain cached", 1, fakeTopoMgr.pathQueries);
+
+        // Removing a link of a cached path evicts it.
+        fakeTopoMgr.changeTopology(path.links().subList(0, 1));
+        service.getPaths(src, dst);
+        assertEquals("paths should be evicted", 2, fakeTopoMgr.pathQueries);
+
+        // Adding a link empties the cache.
+        fakeTopoMgr.changeTopology(path.links());
+        service.getPaths(src, dst);
+        service.getPaths(src, dst);
+        assertEquals("cache should be emptied", 3, fakeTopoMgr.pathQueries);
+    }
+
+    @Test
+    public void cachedPathsByWeigher() {
+        mgr.modified(new ComponentContextAdapter() {
+            @Override
+            public Dictionary getProperties() {
+                Hashtable<String, String> props = new Hashtable<>();
+                props.put("pathCacheSize", "10");
+                return props;
+            }
+        });
+
+        DeviceId src = did("src");
+        DeviceId dst = did("dst");
+        Path path = createPath("src", "middle", "dst");
+        fakeTopoMgr.paths.add(path);
+        fakeTopoMgr.changeTopology(path.links());
+
+        // Weighers which are equal share the cached paths.
+        validatePaths(service.getPaths(src, dst, new EqualWeigher(1.0)), 1, 2, src, dst);
+        validatePaths(service.getPaths(src, dst, new EqualWeigher(1.0)), 1, 2, src, dst);
+        assertEquals("paths should be cached", 1, fakeTopoMgr.pathQueries);
+
+        validatePaths(service.getPaths(src, dst, new EqualWeigher(2.0)), 1, 2, src, dst);
+        assertEquals("paths should not be shared", 2, fakeTopoMgr.pathQueries);
+    }
+
     // Makes sure the set of paths meets basic expectations.
     private void validatePaths(Set<Path> paths, int count, int length,
                                ElementId src, ElementId dst) {
@@ -148,21 +230,73 @@ public class PathManagerTest {
         }
     }
 
+    // Link weigher equal to the weighers of the same weight.
+    private static class EqualWeigher extends LinkWeigherAdapter {
+        private final double value;
+
+        EqualWeigher(Double weight) {
+            super(weight);
+            this.value = weight;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(value);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof EqualWeigher && ((EqualWeigher) obj).value == value;
+        }
+    }
+
     // Fake entity to give out paths.
     private class FakeTopoMgr extends TopologyServiceAdapter {
         Set<Path> paths = new HashSet<>();
+        int pathQueries;
+        DefaultTopology topology;
+        TopologyListener listener;
+
+        @Override
+        public Topology currentTopology() {
+            return topology;
+        }
+
+        @Override
+        public TopologyGraph getGraph(Topology topology) {
+            return topology != null ? ((DefaultTopology) topology).getGraph() : null;
+        }
 
         @Override
         public Set<Path> getPaths(Topology topology, DeviceId src,
                                   DeviceId dst) {
+            pathQueries++;
             return paths;
         }
 
         @Override
         public Set<Path> getPaths(Topology topology, DeviceId src,
                                   DeviceId dst, LinkWeigher weight) {
+            pathQueries++;
             return paths;
         }
+
+        @Override
+        public void addListener(TopologyListener listener) {
+            this.listener = listener;
+        }
+
+        // Makes the topology comprising the given links the current one.
+        void changeTopology(Collection<Link> links, Link... moreLinks) {
+            Set<Link> allLinks = new HashSet<>(links);
+            allLinks.addAll(ImmutableSet.copyOf(moreLinks));
+            Set<Device> devices = ImmutableSet.of(device("src"), device("middle"),
+                                                  device("dst"), device("other"));
+            topology = new DefaultTopology(PID, new DefaultGraphDescription(
+                    System.nanoTime(), System.currentTimeMillis(), devices, allLinks));
+            listener.event(new TopologyEvent(TopologyEvent.Type.TOPOLOGY_CHANGED,
+                                             topology, null));
+        }
     }
 
     // Fake entity to give out hosts.
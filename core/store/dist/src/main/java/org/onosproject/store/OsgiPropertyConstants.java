@@ -38,6 +38,9 @@ public final class OsgiPropertyConstants {
     public static final String MAX_BACKUP_COUNT = "backupCount";
     public static final int MAX_BACKUP_COUNT_DEFAULT = 2;
 
+    public static final String FLOW_BUCKET_COUNT = "flowBucketCount";
+    public static final int FLOW_BUCKET_COUNT_DEFAULT = 128;
+
     public static final String ELECTION_TIMEOUT_MILLIS = "electionTimeoutMillis";
     public static final long ELECTION_TIMEOUT_MILLIS_DEFAULT = 2500;
 
@@ -67,4 +70,10 @@ public final class OsgiPropertyConstants {
 
     public static final String MAX_PATHS = "maxPaths";
     public static final int MAX_PATHS_DEFAULT = -1;
+
+    public static final String PORT_STATS_RETENTION = "portStatsRetention";
+    public static final int PORT_STATS_RETENTION_DEFAULT = 600;
+
+    public static final String PORT_STATS_RESOLUTION = "portStatsResolution";
+    public static final int PORT_STATS_RESOLUTION_DEFAULT = 10;
 }
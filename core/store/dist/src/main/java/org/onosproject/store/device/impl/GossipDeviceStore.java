@@ -17,11 +17,13 @@ package org.onosproject.store.device.impl;
 
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import org.apache.commons.lang3.RandomUtils;
 import org.onlab.packet.ChassisId;
 import org.onlab.util.KryoNamespace;
+import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.NodeId;
@@ -29,6 +31,7 @@ import org.onosproject.mastership.MastershipService;
 import org.onosproject.mastership.MastershipTermService;
 import org.onosproject.net.Annotations;
 import org.onosproject.net.AnnotationsUtil;
+import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DefaultAnnotations;
 import org.onosproject.net.DefaultDevice;
 import org.onosproject.net.DefaultPort;
@@ -46,6 +49,7 @@ import org.onosproject.net.device.DeviceStore;
 import org.onosproject.net.device.DeviceStoreDelegate;
 import org.onosproject.net.device.PortDescription;
 import org.onosproject.net.device.PortStatistics;
+import org.onosproject.net.device.PortStatisticsSeries;
 import org.onosproject.net.provider.ProviderId;
 import org.onosproject.store.AbstractStore;
 import org.onosproject.store.Timestamp;
@@ -53,18 +57,13 @@ import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
 import org.onosproject.store.cluster.messaging.MessageSubject;
 import org.onosproject.store.impl.MastershipBasedTimestamp;
 import org.onosproject.store.impl.Timestamped;
-import org.onosproject.store.serializers.KryoNamespaces;
 import org.onosproject.store.serializers.custom.DistributedStoreSerializers;
-import org.onosproject.store.service.EventuallyConsistentMap;
-import org.onosproject.store.service.EventuallyConsistentMapEvent;
-import org.onosproject.store.service.EventuallyConsistentMapListener;
-import org.onosproject.store.service.MultiValuedTimestamp;
 import org.onosproject.store.service.Serializer;
-import org.onosproject.store.service.StorageService;
-import org.onosproject.store.service.WallClockTimestamp;
+import org.osgi.service.component.ComponentContext;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
 import org.osgi.service.component.annotations.Deactivate;
+import org.osgi.service.component.annotations.Modified;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
@@ -73,6 +72,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -95,29 +95,47 @@ import static com.google.common.base.Predicates.notNull;
 import static com.google.common.base.Verify.verify;
 import static java.util.concurrent.Executors.newCachedThreadPool;
 import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static org.onlab.util.Tools.futureGetOrElse;
+import static org.onlab.util.Tools.getIntegerProperty;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onlab.util.Tools.minPriority;
 import static org.onosproject.cluster.ControllerNodeToNodeId.toNodeId;
+import static org.onosproject.store.OsgiPropertyConstants.PORT_STATS_RESOLUTION;
+import static org.onosproject.store.OsgiPropertyConstants.PORT_STATS_RESOLUTION_DEFAULT;
+import static org.onosproject.store.OsgiPropertyConstants.PORT_STATS_RETENTION;
+import static org.onosproject.store.OsgiPropertyConstants.PORT_STATS_RETENTION_DEFAULT;
 import static org.onosproject.net.device.DeviceEvent.Type.DEVICE_AVAILABILITY_CHANGED;
 import static org.onosproject.net.device.DeviceEvent.Type.PORT_ADDED;
 import static org.onosproject.net.device.DeviceEvent.Type.PORT_REMOVED;
 import static org.onosproject.net.device.DeviceEvent.Type.PORT_STATS_UPDATED;
 import static org.onosproject.net.device.DeviceEvent.Type.PORT_UPDATED;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.DEVICE_ADVERTISE;
+import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.DEVICE_PORT_STATS_SERIES_REQ;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.DEVICE_REMOVED;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.DEVICE_REMOVE_REQ;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.DEVICE_STATUS_CHANGE;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.DEVICE_UPDATE;
+import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_DELTA_STATS_FOR_PORT_REQ;
+import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_DELTA_STATS_REQ;
+import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_STATS_FOR_PORT_REQ;
+import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_STATS_REQ;
+import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_STATS_SERIES_REQ;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_STATUS_UPDATE;
 import static org.onosproject.store.device.impl.GossipDeviceStoreMessageSubjects.PORT_UPDATE;
-import static org.onosproject.store.service.EventuallyConsistentMapEvent.Type.PUT;
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Manages inventory of infrastructure devices using gossip protocol to distribute
  * information.
  */
-@Component(immediate = true, service = DeviceStore.class)
+@Component(
+        immediate = true,
+        service = DeviceStore.class,
+        property = {
+                PORT_STATS_RETENTION + ":Integer=" + PORT_STATS_RETENTION_DEFAULT,
+                PORT_STATS_RESOLUTION + ":Integer=" + PORT_STATS_RESOLUTION_DEFAULT
+        }
+)
 public class GossipDeviceStore
         extends AbstractStore<DeviceEvent, DeviceStoreDelegate>
         implements DeviceStore {
@@ -137,10 +155,21 @@ public class GossipDeviceStore
     private final ConcurrentMap<DeviceId, Device> devices = Maps.newConcurrentMap();
     private final ConcurrentMap<DeviceId, ConcurrentMap<PortNumber, Port>> devicePorts = Maps.newConcurrentMap();
 
-    private EventuallyConsistentMap<DeviceId, Map<PortNumber, PortStatistics>> devicePortStats;
-    private EventuallyConsistentMap<DeviceId, Map<PortNumber, PortStatistics>> devicePortDeltaStats;
-    private final EventuallyConsistentMapListener<DeviceId, Map<PortNumber, PortStatistics>>
-            portStatsListener = new InternalPortStatsListener();
+    // Port statistics are kept on the node receiving them, normally the
+    // device master, and queried from it by the other nodes.
+    private final ConcurrentMap<DeviceId, Map<PortNumber, PortStatistics>> devicePortStats =
+            Maps.newConcurrentMap();
+    private final ConcurrentMap<DeviceId, Map<PortNumber, PortStatistics>> devicePortDeltaStats =
+            Maps.newConcurrentMap();
+    private volatile PortStatisticsHistory portStatsHistory = new PortStatisticsHistory(
+            TimeUnit.SECONDS.toMillis(PORT_STATS_RETENTION_DEFAULT),
+            TimeUnit.SECONDS.toMillis(PORT_STATS_RESOLUTION_DEFAULT));
+
+    /** Period in seconds for which the history of port statistics is kept. */
+    private int portStatsRetention = PORT_STATS_RETENTION_DEFAULT;
+
+    /** Minimum time in seconds between two samples of the history of port statistics. */
+    private int portStatsResolution = PORT_STATS_RESOLUTION_DEFAULT;
 
     // to be updated under Device lock
     private final Map<DeviceId, Timestamp> offline = Maps.newHashMap();
@@ -152,9 +181,6 @@ public class GossipDeviceStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected DeviceClockService deviceClockService;
 
-    @Reference(cardinality = ReferenceCardinality.MANDATORY)
-    protected StorageService storageService;
-
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected ClusterCommunicationService clusterCommunicator;
 
@@ -167,6 +193,9 @@ public class GossipDeviceStore
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected MastershipTermService termService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected ComponentConfigService cfgService;
+
     private static final Timestamp DEFAULT_TIMESTAMP = new MastershipBasedTimestamp(0, 0);
 
     protected static final Serializer SERIALIZER = Serializer.using(KryoNamespace.newBuilder()
@@ -180,6 +209,8 @@ public class GossipDeviceStore
                     .register(DeviceAntiEntropyAdvertisement.class)
                     .register(DeviceFragmentId.class)
                     .register(PortFragmentId.class)
+                    .register(InternalPortStatsSeriesRequest.class)
+                    .register(PortStatisticsSeries.class)
                     .build("GossipDevice"));
 
     private ExecutorService executor;
@@ -191,7 +222,10 @@ public class GossipDeviceStore
     private long periodSec = 5;
 
     @Activate
-    public void activate() {
+    public void activate(ComponentContext context) {
+        cfgService.registerProperties(getClass());
+        modified(context);
+
         executor = newCachedThreadPool(groupedThreads("onos/device", "fg-%d", log));
 
         backgroundExecutor =
@@ -209,28 +243,19 @@ public class GossipDeviceStore
         backgroundExecutor.scheduleAtFixedRate(new SendAdvertisementTask(),
                                                initialDelaySec, periodSec, TimeUnit.SECONDS);
 
-        // Create a distributed map for port stats.
-        KryoNamespace.Builder deviceDataSerializer = KryoNamespace.newBuilder()
-                .register(KryoNamespaces.API)
-                .nextId(KryoNamespaces.BEGIN_USER_CUSTOM_ID)
-                .register(MultiValuedTimestamp.class);
-
-        devicePortStats = storageService.<DeviceId, Map<PortNumber, PortStatistics>>eventuallyConsistentMapBuilder()
-                .withName("port-stats")
-                .withSerializer(deviceDataSerializer)
-                .withAntiEntropyPeriod(5, TimeUnit.SECONDS)
-                .withTimestampProvider((k, v) -> new WallClockTimestamp())
-                .withTombstonesDisabled()
-                .build();
-        devicePortDeltaStats = storageService.<DeviceId, Map<PortNumber, PortStatistics>>
-                eventuallyConsistentMapBuilder()
-                .withName("port-stats-delta")
-                .withSerializer(deviceDataSerializer)
-                .withAntiEntropyPeriod(5, TimeUnit.SECONDS)
-                .withTimestampProvider((k, v) -> new WallClockTimestamp())
-                .withTombstonesDisabled()
-                .build();
-        devicePortStats.addListener(portStatsListener);
+        clusterCommunicator.addSubscriber(PORT_STATS_REQ, SERIALIZER::decode,
+                                          this::getLocalPortStatistics, SERIALIZER::encode, executor);
+        clusterCommunicator.addSubscriber(PORT_DELTA_STATS_REQ, SERIALIZER::decode,
+                                          this::getLocalPortDeltaStatistics, SERIALIZER::encode, executor);
+        clusterCommunicator.addSubscriber(PORT_STATS_SERIES_REQ, SERIALIZER::decode,
+                                          this::getLocalPortStatisticsSeries, SERIALIZER::encode, executor);
+        clusterCommunicator.addSubscriber(PORT_STATS_FOR_PORT_REQ, SERIALIZER::decode,
+                                          this::getLocalStatisticsForPort, SERIALIZER::encode, executor);
+        clusterCommunicator.addSubscriber(PORT_DELTA_STATS_FOR_PORT_REQ, SERIALIZER::decode,
+                                          this::getLocalDeltaStatisticsForPort, SERIALIZER::encode, executor);
+        clusterCommunicator.addSubscriber(DEVICE_PORT_STATS_SERIES_REQ, SERIALIZER::decode,
+                                          this::getLocalDevicePortStatisticsSeries, SERIALIZER::encode, executor);
+
         log.info("Started");
     }
 
@@ -238,11 +263,33 @@ public class GossipDeviceStore
         clusterCommunicator.addSubscriber(subject, SERIALIZER::decode, handler, executor);
     }
 
+    @Modified
+    public void modified(ComponentContext context) {
+        if (context == null) {
+            return;
+        }
+        Dictionary<?, ?> properties = context.getProperties();
+        int newRetention = getIntegerProperty(properties, PORT_STATS_RETENTION, portStatsRetention);
+        int newResolution = getIntegerProperty(properties, PORT_STATS_RESOLUTION, portStatsResolution);
+        if (newResolution <= 0 || newRetention < newResolution) {
+            log.warn("Ignoring invalid port statistics history retention {}s and resolution {}s",
+                     newRetention, newResolution);
+            return;
+        }
+        if (newRetention != portStatsRetention || newResolution != portStatsResolution) {
+            // The history recorded so far is dropped
+            portStatsRetention = newRetention;
+            portStatsResolution = newResolution;
+            portStatsHistory = new PortStatisticsHistory(TimeUnit.SECONDS.toMillis(newRetention),
+                                                         TimeUnit.SECONDS.toMillis(newResolution));
+        }
+        log.info("Settings: portStatsRetention={}, portStatsResolution={}",
+                 portStatsRetention, portStatsResolution);
+    }
+
     @Deactivate
     public void deactivate() {
-        devicePortStats.removeListener(portStatsListener);
-        devicePortStats.destroy();
-        devicePortDeltaStats.destroy();
+        cfgService.unregisterProperties(getClass(), false);
         executor.shutdownNow();
 
         backgroundExecutor.shutdownNow();
@@ -258,6 +305,8 @@ public class GossipDeviceStore
         deviceDescs.clear();
         devices.clear();
         devicePorts.clear();
+        devicePortStats.clear();
+        devicePortDeltaStats.clear();
         availableDevices.clear();
         clusterCommunicator.removeSubscriber(DEVICE_UPDATE);
         clusterCommunicator.removeSubscriber(DEVICE_STATUS_CHANGE);
@@ -266,6 +315,12 @@ public class GossipDeviceStore
         clusterCommunicator.removeSubscriber(PORT_UPDATE);
         clusterCommunicator.removeSubscriber(PORT_STATUS_UPDATE);
         clusterCommunicator.removeSubscriber(DEVICE_ADVERTISE);
+        clusterCommunicator.removeSubscriber(PORT_STATS_REQ);
+        clusterCommunicator.removeSubscriber(PORT_DELTA_STATS_REQ);
+        clusterCommunicator.removeSubscriber(PORT_STATS_SERIES_REQ);
+        clusterCommunicator.removeSubscriber(PORT_STATS_FOR_PORT_REQ);
+        clusterCommunicator.removeSubscriber(PORT_DELTA_STATS_FOR_PORT_REQ);
+        clusterCommunicator.removeSubscriber(DEVICE_PORT_STATS_SERIES_REQ);
         log.info("Stopped");
     }
 
@@ -933,8 +988,10 @@ public class GossipDeviceStore
         }
         devicePortDeltaStats.put(deviceId, deltaStatsMap);
         devicePortStats.put(deviceId, newStatsMap);
-        // DeviceEvent returns null because of InternalPortStatsListener usage
-        return null;
+        portStatsHistory.record(deviceId, System.currentTimeMillis(), newStatsCollection);
+
+        Device device = devices.get(deviceId);
+        return device != null ? new DeviceEvent(PORT_STATS_UPDATED, device) : null;
     }
 
     /**
@@ -974,40 +1031,111 @@ public class GossipDeviceStore
 
     @Override
     public List<PortStatistics> getPortStatistics(DeviceId deviceId) {
-        Map<PortNumber, PortStatistics> portStats = devicePortStats.get(deviceId);
-        if (portStats == null) {
-            return Collections.emptyList();
+        NodeId master = mastershipService.getMasterFor(deviceId);
+        if (master == null || master.equals(clusterService.getLocalNode().id())) {
+            return getLocalPortStatistics(deviceId);
         }
-        return ImmutableList.copyOf(portStats.values());
+        return queryMaster(master, PORT_STATS_REQ, deviceId, Collections.emptyList());
     }
 
     @Override
     public PortStatistics getStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
-        Map<PortNumber, PortStatistics> portStatsMap = devicePortStats.get(deviceId);
-        if (portStatsMap == null) {
-            return null;
+        ConnectPoint connectPoint = new ConnectPoint(deviceId, portNumber);
+        NodeId master = mastershipService.getMasterFor(deviceId);
+        if (master == null || master.equals(clusterService.getLocalNode().id())) {
+            return getLocalStatisticsForPort(connectPoint);
         }
-        PortStatistics portStats = portStatsMap.get(portNumber);
-        return portStats;
+        return queryMaster(master, PORT_STATS_FOR_PORT_REQ, connectPoint, null);
     }
 
     @Override
     public List<PortStatistics> getPortDeltaStatistics(DeviceId deviceId) {
-        Map<PortNumber, PortStatistics> portStats = devicePortDeltaStats.get(deviceId);
+        NodeId master = mastershipService.getMasterFor(deviceId);
+        if (master == null || master.equals(clusterService.getLocalNode().id())) {
+            return getLocalPortDeltaStatistics(deviceId);
+        }
+        return queryMaster(master, PORT_DELTA_STATS_REQ, deviceId, Collections.emptyList());
+    }
+
+    @Override
+    public PortStatistics getDeltaStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
+        ConnectPoint connectPoint = new ConnectPoint(deviceId, portNumber);
+        NodeId master = mastershipService.getMasterFor(deviceId);
+        if (master == null || master.equals(clusterService.getLocalNode().id())) {
+            return getLocalDeltaStatisticsForPort(connectPoint);
+        }
+        return queryMaster(master, PORT_DELTA_STATS_FOR_PORT_REQ, connectPoint, null);
+    }
+
+    @Override
+    public PortStatisticsSeries getPortStatisticsSeries(DeviceId deviceId, PortNumber portNumber,
+                                                        long since, long resolution) {
+        InternalPortStatsSeriesRequest request =
+                new InternalPortStatsSeriesRequest(deviceId, portNumber, since, resolution);
+        NodeId master = mastershipService.getMasterFor(deviceId);
+        if (master == null || master.equals(clusterService.getLocalNode().id())) {
+            return getLocalPortStatisticsSeries(request);
+        }
+        return queryMaster(master, PORT_STATS_SERIES_REQ, request, PortStatisticsSeries.EMPTY);
+    }
+
+    @Override
+    public Map<PortNumber, PortStatisticsSeries> getPortStatisticsSeries(DeviceId deviceId,
+                                                                         long since, long resolution) {
+        InternalPortStatsSeriesRequest request =
+                new InternalPortStatsSeriesRequest(deviceId, null, since, resolution);
+        NodeId master = mastershipService.getMasterFor(deviceId);
+        if (master == null || master.equals(clusterService.getLocalNode().id())) {
+            return getLocalDevicePortStatisticsSeries(request);
+        }
+        return queryMaster(master, DEVICE_PORT_STATS_SERIES_REQ, request, ImmutableMap.of());
+    }
+
+    private List<PortStatistics> getLocalPortStatistics(DeviceId deviceId) {
+        Map<PortNumber, PortStatistics> portStats = devicePortStats.get(deviceId);
         if (portStats == null) {
             return Collections.emptyList();
         }
         return ImmutableList.copyOf(portStats.values());
     }
 
-    @Override
-    public PortStatistics getDeltaStatisticsForPort(DeviceId deviceId, PortNumber portNumber) {
-        Map<PortNumber, PortStatistics> portStatsMap = devicePortDeltaStats.get(deviceId);
-        if (portStatsMap == null) {
-            return null;
+    private List<PortStatistics> getLocalPortDeltaStatistics(DeviceId deviceId) {
+        Map<PortNumber, PortStatistics> portStats = devicePortDeltaStats.get(deviceId);
+        if (portStats == null) {
+            return Collections.emptyList();
         }
-        PortStatistics portStats = portStatsMap.get(portNumber);
-        return portStats;
+        return ImmutableList.copyOf(portStats.values());
+    }
+
+    private PortStatistics getLocalStatisticsForPort(ConnectPoint connectPoint) {
+        Map<PortNumber, PortStatistics> portStats = devicePortStats.get(connectPoint.deviceId());
+        return portStats != null ? portStats.get(connectPoint.port()) : null;
+    }
+
+    private PortStatistics getLocalDeltaStatisticsForPort(ConnectPoint connectPoint) {
+        Map<PortNumber, PortStatistics> portStats = devicePortDeltaStats.get(connectPoint.deviceId());
+        return portStats != null ? portStats.get(connectPoint.port()) : null;
+    }
+
+    private PortStatisticsSeries getLocalPortStatisticsSeries(InternalPortStatsSeriesRequest request) {
+        return portStatsHistory.series(request.deviceId(), request.portNumber(),
+                                       request.since(), request.resolution());
+    }
+
+    private Map<PortNumber, PortStatisticsSeries> getLocalDevicePortStatisticsSeries(
+            InternalPortStatsSeriesRequest request) {
+        return portStatsHistory.series(request.deviceId(), request.since(), request.resolution());
+    }
+
+    private <Q, R> R queryMaster(NodeId master, MessageSubject subject, Q request, R defaultValue) {
+        return futureGetOrElse(clusterCommunicator.sendAndReceive(request,
+                                                                  subject,
+                                                                  SERIALIZER::encode,
+                                                                  SERIALIZER::decode,
+                                                                  master),
+                               REMOTE_MASTER_TIMEOUT,
+                               TimeUnit.MILLISECONDS,
+                               defaultValue);
     }
 
     @Override
@@ -1142,6 +1270,9 @@ public class GossipDeviceStore
             if (ports != null) {
                 ports.clear();
             }
+            devicePortStats.remove(deviceId);
+            devicePortDeltaStats.remove(deviceId);
+            portStatsHistory.remove(deviceId);
             markOfflineInternal(deviceId, timestamp);
             descs.clear();
             // Forget about the device
@@ -1705,17 +1836,4 @@ public class GossipDeviceStore
             log.warn("Exception thrown handling Device advertisements.", e);
         }
     }
-
-    private class InternalPortStatsListener
-            implements EventuallyConsistentMapListener<DeviceId, Map<PortNumber, PortStatistics>> {
-        @Override
-        public void event(EventuallyConsistentMapEvent<DeviceId, Map<PortNumber, PortStatistics>> event) {
-            if (event.type() == PUT) {
-                Device device = devices.get(event.key());
-                if (device != null) {
-                    notifyDelegate(new DeviceEvent(PORT_STATS_UPDATED, device));
-                }
-            }
-        }
-    }
 }
@@ -30,6 +30,15 @@ public final class GossipDeviceStoreMessageSubjects {
     public static final MessageSubject DEVICE_REMOVED = new MessageSubject("peer-device-removed");
     public static final MessageSubject PORT_UPDATE = new MessageSubject("peer-port-update");
     public static final MessageSubject PORT_STATUS_UPDATE = new MessageSubject("peer-port-status-update");
+    public static final MessageSubject PORT_STATS_REQ = new MessageSubject("peer-port-stats-request");
+    public static final MessageSubject PORT_DELTA_STATS_REQ = new MessageSubject("peer-port-delta-stats-request");
+    public static final MessageSubject PORT_STATS_SERIES_REQ = new MessageSubject("peer-port-stats-series-request");
+    public static final MessageSubject PORT_STATS_FOR_PORT_REQ =
+            new MessageSubject("peer-port-stats-for-port-request");
+    public static final MessageSubject PORT_DELTA_STATS_FOR_PORT_REQ =
+            new MessageSubject("peer-port-delta-stats-for-port-request");
+    public static final MessageSubject DEVICE_PORT_STATS_SERIES_REQ =
+            new MessageSubject("peer-device-port-stats-series-request");
 
     public static final MessageSubject DEVICE_ADVERTISE = new MessageSubject("peer-device-advertisements");
     // to be used with 3-way anti-entropy process
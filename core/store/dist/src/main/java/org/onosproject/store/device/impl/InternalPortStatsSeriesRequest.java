@@ -0,0 +1,83 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.device.impl;
+
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * Request sent by GossipDeviceStore to the master of a device for the
+ * statistics history of one or all of its ports.
+ */
+public class InternalPortStatsSeriesRequest {
+
+    private final DeviceId deviceId;
+    private final PortNumber portNumber;
+    private final long since;
+    private final long resolution;
+
+    /**
+     * Creates a InternalPortStatsSeriesRequest.
+     * @param deviceId identifier of the device.
+     * @param portNumber number of the port; null for all the ports of the device.
+     * @param since time of the oldest sample requested.
+     * @param resolution minimum time between two samples.
+     */
+    public InternalPortStatsSeriesRequest(DeviceId deviceId, PortNumber portNumber,
+                                          long since, long resolution) {
+        this.deviceId = deviceId;
+        this.portNumber = portNumber;
+        this.since = since;
+        this.resolution = resolution;
+    }
+
+    public DeviceId deviceId() {
+        return deviceId;
+    }
+
+    public PortNumber portNumber() {
+        return portNumber;
+    }
+
+    public long since() {
+        return since;
+    }
+
+    public long resolution() {
+        return resolution;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(getClass())
+                .add("deviceId", deviceId)
+                .add("portNumber", portNumber)
+                .add("since", since)
+                .add("resolution", resolution)
+                .toString();
+    }
+
+    // for serializer
+    @SuppressWarnings("unused")
+    private InternalPortStatsSeriesRequest() {
+        deviceId = null;
+        portNumber = null;
+        since = 0;
+        resolution = 0;
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.device.impl;
+
+import java.util.Collection;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.PortStatistics;
+import org.onosproject.net.device.PortStatisticsSeries;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.onosproject.net.device.PortStatisticsSeries.SAMPLE_SIZE;
+
+/**
+ * Node-local history of the counters of the ports of devices.
+ * <p>
+ * Each port has a ring buffer of samples held in an array of primitives,
+ * laid out as in {@link PortStatisticsSeries}. Samples are downsampled as
+ * they are recorded: time is divided in slots of the configured resolution
+ * and a sample replaces the previous one when both fall in the same slot.
+ * Buffers grow on demand up to the number of slots of the retention period,
+ * after which the oldest samples get overwritten.
+ * </p>
+ */
+final class PortStatisticsHistory {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private final long retention;
+    private final long resolution;
+    private final int capacity;
+    private final Map<DeviceId, Map<PortNumber, Samples>> devices = Maps.newConcurrentMap();
+
+    /**
+     * Creates an empty history.
+     *
+     * @param retention  period for which samples are kept, in milliseconds
+     * @param resolution minimum time between two samples, in milliseconds
+     */
+    PortStatisticsHistory(long retention, long resolution) {
+        checkArgument(resolution > 0, "Resolution must be positive");
+        checkArgument(retention >= resolution, "Retention must not be shorter than resolution");
+        this.retention = retention;
+        this.resolution = resolution;
+        this.capacity = (int) Math.min(retention / resolution, Integer.MAX_VALUE / SAMPLE_SIZE);
+    }
+
+    /**
+     * Returns the period for which samples are kept.
+     *
+     * @return retention in milliseconds
+     */
+    long retention() {
+        return retention;
+    }
+
+    /**
+     * Returns the minimum time between two samples.
+     *
+     * @return resolution in milliseconds
+     */
+    long resolution() {
+        return resolution;
+    }
+
+    /**
+     * Records the given statistics of the ports of a device.
+     *
+     * @param deviceId device identifier
+     * @param time     time of the statistics, in milliseconds since the epoch
+     * @param stats    statistics of the ports
+     */
+    void record(DeviceId deviceId, long time, Collection<PortStatistics> stats) {
+        Map<PortNumber, Samples> ports = devices.computeIfAbsent(deviceId, id -> Maps.newConcurrentMap());
+        stats.forEach(s -> ports.computeIfAbsent(s.portNumber(), port -> new Samples()).add(time, s));
+    }
+
+    /**
+     * Returns the samples of the given port recorded since the given time,
+     * keeping the latest one and dropping those closer than the given
+     * resolution to the next kept sample.
+     *
+     * @param deviceId   device identifier
+     * @param portNumber port number
+     * @param since      time of the oldest sample to return, in milliseconds since the epoch
+     * @param resolution minimum time between two returned samples, in milliseconds
+     * @return time series of the port counters
+     */
+    PortStatisticsSeries series(DeviceId deviceId, PortNumber portNumber, long since, long resolution) {
+        Map<PortNumber, Samples> ports = devices.get(deviceId);
+        Samples samples = ports != null ? ports.get(portNumber) : null;
+        return samples != null ? samples.series(since, resolution) : PortStatisticsSeries.EMPTY;
+    }
+
+    /**
+     * Returns the samples of all the ports of the given device, selected as
+     * by {@link #series(DeviceId, PortNumber, long, long)}.
+     *
+     * @param deviceId   device identifier
+     * @param since      time of the oldest sample to return, in milliseconds since the epoch
+     * @param resolution minimum time between two returned samples, in milliseconds
+     * @return time series of the port counters, by port
+     */
+    Map<PortNumber, PortStatisticsSeries> series(DeviceId deviceId, long since, long resolution) {
+        Map<PortNumber, Samples> ports = devices.get(deviceId);
+        if (ports == null) {
+            return ImmutableMap.of();
+        }
+        ImmutableMap.Builder<PortNumber, PortStatisticsSeries> series = ImmutableMap.builder();
+        ports.forEach((port, samples) -> series.put(port, samples.series(since, resolution)));
+        return series.build();
+    }
+
+    /**
+     * Removes the samples of the ports of the given device.
+     *
+     * @param deviceId device identifier
+     */
+    void remove(DeviceId deviceId) {
+        devices.remove(deviceId);
+    }
+
+    /**
+     * Ring buffer of the samples of a port.
+     */
+    private final class Samples {
+        private long[] values = new long[Math.min(INITIAL_CAPACITY, capacity) * SAMPLE_SIZE];
+        private int head;
+        private int size;
+
+        // Returns the position in the buffer of the i-th oldest sample.
+        private int offset(int i) {
+            return (head + i) % (values.length / SAMPLE_SIZE) * SAMPLE_SIZE;
+        }
+
+        synchronized void add(long time, PortStatistics stats) {
+            if (size > 0 && time / resolution == values[offset(size - 1)] / resolution) {
+                PortStatisticsSeries.write(values, offset(size - 1), time, stats);
+                return;
+            }
+            int slots = values.length / SAMPLE_SIZE;
+            if (size == slots) {
+                if (slots < capacity) {
+                    long[] grown = new long[Math.min(capacity, slots * 2) * SAMPLE_SIZE];
+                    for (int i = 0; i < size; i++) {
+                        System.arraycopy(values, offset(i), grown, i * SAMPLE_SIZE, SAMPLE_SIZE);
+                    }
+                    values = grown;
+                    head = 0;
+                } else {
+                    head = (head + 1) % slots;
+                    size--;
+                }
+            }
+            PortStatisticsSeries.write(values, offset(size), time, stats);
+            size++;
+        }
+
+        synchronized PortStatisticsSeries series(long since, long resolution) {
+            // Selects samples from the latest one backwards
+            long[] selected = new long[size * SAMPLE_SIZE];
+            int count = 0;
+            long last = 0;
+            for (int i = size - 1; i >= 0; i--) {
+                int offset = offset(i);
+                long time = values[offset];
+                if (time < since) {
+                    break;
+                }
+                if (count == 0 || last - time >= resolution) {
+                    System.arraycopy(values, offset, selected, count * SAMPLE_SIZE, SAMPLE_SIZE);
+                    count++;
+                    last = time;
+                }
+            }
+            long[] series = new long[count * SAMPLE_SIZE];
+            for (int i = 0; i < count; i++) {
+                System.arraycopy(selected, i * SAMPLE_SIZE, series, (count - 1 - i) * SAMPLE_SIZE, SAMPLE_SIZE);
+            }
+            return new PortStatisticsSeries(series);
+        }
+    }
+}
@@ -25,10 +25,12 @@ import org.onosproject.net.DeviceId;
 public class BucketId {
     private final DeviceId deviceId;
     private final int bucket;
+    private final int bucketCount;
 
-    BucketId(DeviceId deviceId, int bucket) {
+    BucketId(DeviceId deviceId, int bucket, int bucketCount) {
         this.deviceId = deviceId;
         this.bucket = bucket;
+        this.bucketCount = bucketCount;
     }
 
     /**
@@ -49,6 +51,15 @@ public class BucketId {
         return bucket;
     }
 
+    /**
+     * Returns the number of buckets in the device flow table the bucket belongs to.
+     *
+     * @return the number of buckets in the device flow table
+     */
+    public int bucketCount() {
+        return bucketCount;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(deviceId, bucket);
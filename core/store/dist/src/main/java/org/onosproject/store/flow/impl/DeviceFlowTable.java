@@ -43,6 +43,7 @@ import org.onosproject.cluster.NodeId;
 import org.onosproject.core.ApplicationId;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.device.DeviceService;
+import org.onosproject.net.flow.DefaultFlowEntry;
 import org.onosproject.net.flow.FlowEntry;
 import org.onosproject.net.flow.FlowId;
 import org.onosproject.net.flow.FlowRule;
@@ -67,24 +68,31 @@ import org.slf4j.LoggerFactory;
  * anti-entropy protocol is used to detect missing flows on backups (e.g. due to a node restart). Finally, when a
  * device mastership change occurs, the new master synchronizes flows with the prior master and/or backups for the
  * device, allowing mastership to be reassigned to non-backup nodes.
+ * <p>
+ * Once a bucket has been backed up to a node, subsequent backups to that node only carry the entries changed since
+ * the last replicated timestamp, as recorded in the bucket's change log. The full bucket is sent only when the change
+ * log no longer covers the backup's state or the backup rejects the delta.
  */
 public class DeviceFlowTable {
-    private static final int NUM_BUCKETS = 128;
     private static final Serializer SERIALIZER = Serializer.using(KryoNamespace.newBuilder()
         .register(KryoNamespaces.API)
+        .register(new FlowEntrySerializer(), DefaultFlowEntry.class)
         .register(BucketId.class)
         .register(FlowBucket.class)
+        .register(FlowBucketDelta.class)
         .register(FlowBucketDigest.class)
         .register(LogicalTimestamp.class)
         .register(Timestamped.class)
         .build());
     private static final int GET_FLOW_ENTRIES_TIMEOUT = 15; // seconds
+    private static final long MAX_REFRESH_BACKUP_DELAY = 30000; // milliseconds
 
     private final Logger log = LoggerFactory.getLogger(getClass());
 
     private final MessageSubject getDigestsSubject;
     private final MessageSubject getBucketSubject;
     private final MessageSubject backupSubject;
+    private final MessageSubject backupDeltaSubject;
     private final MessageSubject getFlowsSubject;
 
     private final DeviceId deviceId;
@@ -95,6 +103,7 @@ public class DeviceFlowTable {
     private final ScheduledExecutorService scheduler;
     private final Executor executor;
     private final NodeId localNodeId;
+    private final int numBuckets;
 
     private final LogicalClock clock = new LogicalClock();
 
@@ -127,7 +136,8 @@ public class DeviceFlowTable {
         ScheduledExecutorService scheduler,
         Executor executor,
         long backupPeriod,
-        long antiEntropyPeriod) {
+        long antiEntropyPeriod,
+        int numBuckets) {
         this.deviceId = deviceId;
         this.clusterCommunicator = clusterCommunicator;
         this.clusterService = clusterService;
@@ -137,14 +147,16 @@ public class DeviceFlowTable {
         this.executor = executor;
         this.localNodeId = clusterService.getLocalNode().id();
         this.replicaInfo = lifecycleManager.getReplicaInfo();
+        this.numBuckets = numBuckets;
 
-        for (int i = 0; i < NUM_BUCKETS; i++) {
-            flowBuckets.put(i, new FlowBucket(new BucketId(deviceId, i)));
+        for (int i = 0; i < numBuckets; i++) {
+            flowBuckets.put(i, new FlowBucket(new BucketId(deviceId, i, numBuckets)));
         }
 
         getDigestsSubject = new MessageSubject(String.format("flow-store-%s-digests", deviceId));
         getBucketSubject = new MessageSubject(String.format("flow-store-%s-bucket", deviceId));
         backupSubject = new MessageSubject(String.format("flow-store-%s-backup", deviceId));
+        backupDeltaSubject = new MessageSubject(String.format("flow-store-%s-backup-delta", deviceId));
         getFlowsSubject = new MessageSubject(String.format("flow-store-%s-flows", deviceId));
 
         addListeners();
@@ -301,7 +313,25 @@ public class DeviceFlowTable {
      * @return the bucket number for the given flow identifier
      */
     private int bucket(FlowId flowId) {
-        return Math.abs((int) (flowId.id() % NUM_BUCKETS));
+        return Math.abs((int) (flowId.id() % numBuckets));
+    }
+
+    /**
+     * Returns a boolean indicating whether a peer's table for the device has as many buckets as the local table.
+     * <p>
+     * Flows are assigned to buckets by the number of buckets, so buckets from a peer configured with a different
+     * number of buckets cannot be merged with the local ones and are rejected.
+     *
+     * @param bucketCount the number of buckets in the peer's table
+     * @return indicates whether the peer's table has the same number of buckets
+     */
+    private boolean isSameBucketCount(int bucketCount) {
+        if (bucketCount != numBuckets) {
+            log.error("Flow table for device {} has {} buckets but a peer has {}; "
+                + "flowBucketCount must be the same on all nodes", deviceId, numBuckets, bucketCount);
+            return false;
+        }
+        return true;
     }
 
     /**
@@ -364,6 +394,22 @@ public class DeviceFlowTable {
         return runInTerm(rule.id(), (bucket, term) -> bucket.update(rule, function, term, clock));
     }
 
+    /**
+     * Applies the given refresh function to the rule.
+     * <p>
+     * Refreshes are meant for changes which need not be replicated right away; they are backed up along with the
+     * next update of the rule's bucket, or after a bounded delay.
+     *
+     * @param rule     the rule to refresh
+     * @param function the refresh function to apply
+     * @param <T>      the result type
+     * @return a future to be completed with the refresh result or {@code null} if the rule was not refreshed
+     */
+    public <T> CompletableFuture<T> refresh(FlowRule rule, Function<StoredFlowEntry, T> function) {
+        return runInTerm(rule.id(),
+            (bucket, term) -> bucket.refresh(rule, function, term, clock, MAX_REFRESH_BACKUP_DELAY));
+    }
+
     /**
      * Removes an entry from the table.
      *
@@ -487,16 +533,19 @@ public class DeviceFlowTable {
         // If the backup can be run (no concurrent backup to the node in progress) then run it.
         BackupOperation operation = new BackupOperation(nodeId, bucket.bucketId().bucket());
         if (startBackup(operation, timestamp)) {
+            LogicalTimestamp lastBackupTime = lastBackupTimes.get(operation);
             CompletableFuture<Void> future = new CompletableFuture<>();
-            backup(bucket, nodeId).whenCompleteAsync((succeeded, error) -> {
+            backup(bucket, nodeId, lastBackupTime).whenCompleteAsync((succeeded, error) -> {
                 if (error != null) {
                     log.debug("Backup operation {} failed", operation, error);
                     failBackup(operation);
                 } else if (succeeded) {
                     succeedBackup(operation, timestamp);
                 } else {
-                    log.debug("Backup operation {} failed: term mismatch", operation);
+                    log.debug("Backup operation {} failed: term mismatch or missing changes", operation);
                     failBackup(operation);
+                    // Send the whole bucket next time
+                    resetBackup(operation);
                 }
                 future.complete(null);
             }, executor);
@@ -556,16 +605,28 @@ public class DeviceFlowTable {
 
     /**
      * Performs the given backup operation.
+     * <p>
+     * If the bucket's change log covers the last timestamp replicated to the node, only the changes made since then
+     * are sent. Otherwise the whole bucket is sent.
      *
      * @param bucket the bucket to backup
      * @param nodeId the node to which to backup the bucket
+     * @param lastBackupTime the last timestamp successfully replicated to the node, if any
      * @return a future to be completed with a boolean indicating whether the backup operation was successful
      */
-    private CompletableFuture<Boolean> backup(FlowBucket bucket, NodeId nodeId) {
-        if (log.isDebugEnabled()) {
-            log.debug("Backing up {} flow entries in bucket {} to {}", bucket.count(), bucket.bucketId(), nodeId);
-        }
+    private CompletableFuture<Boolean> backup(FlowBucket bucket, NodeId nodeId, LogicalTimestamp lastBackupTime) {
         synchronized (bucket) {
+            FlowBucketDelta delta = lastBackupTime != null ? bucket.getDelta(lastBackupTime) : null;
+            if (delta != null) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Backing up {} changed flow entries in bucket {} to {}",
+                        delta.count(), bucket.bucketId(), nodeId);
+                }
+                return sendWithTimestamp(delta, backupDeltaSubject, nodeId);
+            }
+            if (log.isDebugEnabled()) {
+                log.debug("Backing up {} flow entries in bucket {} to {}", bucket.count(), bucket.bucketId(), nodeId);
+            }
             return sendWithTimestamp(bucket, backupSubject, nodeId);
         }
     }
@@ -591,6 +652,10 @@ public class DeviceFlowTable {
                 return false;
             }
 
+            if (!isSameBucketCount(flowBucket.bucketId().bucketCount())) {
+                return false;
+            }
+
             flowBuckets.compute(flowBucket.bucketId().bucket(),
                 (id, bucket) -> flowBucket.getDigest().isNewerThan(bucket.getDigest()) ? flowBucket : bucket);
             return true;
@@ -600,6 +665,41 @@ public class DeviceFlowTable {
         }
     }
 
+    /**
+     * Handles a flow bucket delta backup from a remote peer.
+     *
+     * @param delta the changes to back up
+     * @return indicates whether the changes were applied; if not, the whole bucket must be backed up
+     */
+    private boolean onBackupDelta(FlowBucketDelta delta) {
+        if (log.isDebugEnabled()) {
+            log.debug("{} - Received {} changed flow entries in bucket {} to backup",
+                deviceId, delta.count(), delta.bucketId());
+        }
+
+        try {
+            DeviceReplicaInfo replicaInfo = lifecycleManager.getReplicaInfo();
+
+            // If the backup is for a different term, reject the request until we learn about the new term.
+            if (delta.term() != replicaInfo.term()) {
+                log.debug("Term mismatch for device {}: {} != {}", deviceId, delta, replicaInfo);
+                return false;
+            }
+
+            if (!isSameBucketCount(delta.bucketId().bucketCount())) {
+                return false;
+            }
+
+            FlowBucket bucket = getBucket(delta.bucketId().bucket());
+            synchronized (bucket) {
+                return bucket.applyDelta(delta);
+            }
+        } catch (Exception e) {
+            log.warn("Failure processing backup delta request", e);
+            return false;
+        }
+    }
+
     /**
      * Runs the anti-entropy protocol.
      */
@@ -622,13 +722,27 @@ public class DeviceFlowTable {
     private void runAntiEntropy(NodeId nodeId) {
         backupAll().whenCompleteAsync((result, error) -> {
             requestDigests(nodeId).thenAcceptAsync((digests) -> {
+                if (!digests.stream().allMatch(digest -> isSameBucketCount(digest.bucketCount()))) {
+                    return;
+                }
+
                 // Compute a set of missing BucketIds based on digest times and send them back to the master.
                 for (FlowBucketDigest remoteDigest : digests) {
                     FlowBucket localBucket = getBucket(remoteDigest.bucket());
                     if (localBucket.getDigest().isNewerThan(remoteDigest)) {
                         log.debug("Detected missing flow entries on node {} in bucket {}/{}",
                                 nodeId, deviceId, remoteDigest.bucket());
-                        resetBackup(new BackupOperation(nodeId, remoteDigest.bucket()));
+                        BackupOperation operation = new BackupOperation(nodeId, remoteDigest.bucket());
+                        synchronized (localBucket) {
+                            // Resume from the backup's actual state if the changes since then are still known,
+                            // otherwise send the whole bucket.
+                            if (remoteDigest.term() == localBucket.term()
+                                    && localBucket.hasChangesSince(remoteDigest.timestamp())) {
+                                lastBackupTimes.put(operation, remoteDigest.timestamp());
+                            } else {
+                                resetBackup(operation);
+                            }
+                        }
                     }
                 }
             }, executor);
@@ -725,10 +839,16 @@ public class DeviceFlowTable {
     private CompletableFuture<Void> syncFlowsOn(NodeId nodeId) {
         log.info("syncFlowsOn {}", nodeId);
         return requestDigests(nodeId)
-            .thenCompose(digests -> Tools.allOf(digests.stream()
-                .filter(digest -> digest.isNewerThan(getDigest(digest.bucket())))
-                .map(digest -> syncBucketOn(nodeId, digest.bucket()))
-                .collect(Collectors.toList())))
+            .thenCompose(digests -> {
+                if (!digests.stream().allMatch(digest -> isSameBucketCount(digest.bucketCount()))) {
+                    return Tools.exceptionalFuture(
+                        new IllegalStateException("Flow bucket count mismatch with node " + nodeId));
+                }
+                return Tools.allOf(digests.stream()
+                    .filter(digest -> digest.isNewerThan(getDigest(digest.bucket())))
+                    .map(digest -> syncBucketOn(nodeId, digest.bucket()))
+                    .collect(Collectors.toList()));
+            })
             .thenApply(v -> null);
     }
 
@@ -778,7 +898,7 @@ public class DeviceFlowTable {
     private void activateMaster(DeviceReplicaInfo replicaInfo) {
         if (replicaInfo.isMaster(localNodeId)) {
             log.info("Activating term {} for device {}", replicaInfo.term(), deviceId);
-            for (int i = 0; i < NUM_BUCKETS; i++) {
+            for (int i = 0; i < numBuckets; i++) {
                 activateBucket(i);
             }
             lifecycleManager.activate(replicaInfo.term());
@@ -917,6 +1037,7 @@ public class DeviceFlowTable {
         receiveWithTimestamp(getDigestsSubject, v -> getDigests());
         receiveWithTimestamp(getBucketSubject, this::onGetBucket);
         receiveWithTimestamp(backupSubject, this::onBackup);
+        receiveWithTimestamp(backupDeltaSubject, this::onBackupDelta);
         clusterCommunicator.<BucketId, Set<FlowEntry>>addSubscriber(
             getFlowsSubject, SERIALIZER::decode, this::getFlowEntries, SERIALIZER::encode);
     }
@@ -928,6 +1049,7 @@ public class DeviceFlowTable {
         clusterCommunicator.removeSubscriber(getDigestsSubject);
         clusterCommunicator.removeSubscriber(getBucketSubject);
         clusterCommunicator.removeSubscriber(backupSubject);
+        clusterCommunicator.removeSubscriber(backupDeltaSubject);
         clusterCommunicator.removeSubscriber(getFlowsSubject);
     }
 
@@ -129,7 +129,8 @@ import static org.onosproject.store.OsgiPropertyConstants.*;
                 BACKUP_PERIOD_MILLIS + ":Integer=" + BACKUP_PERIOD_MILLIS_DEFAULT,
                 ANTI_ENTROPY_PERIOD_MILLIS + ":Integer=" + ANTI_ENTROPY_PERIOD_MILLIS_DEFAULT,
                 EC_FLOW_RULE_STORE_PERSISTENCE_ENABLED + ":Boolean=" + EC_FLOW_RULE_STORE_PERSISTENCE_ENABLED_DEFAULT,
-                MAX_BACKUP_COUNT + ":Integer=" + MAX_BACKUP_COUNT_DEFAULT
+                MAX_BACKUP_COUNT + ":Integer=" + MAX_BACKUP_COUNT_DEFAULT,
+                FLOW_BUCKET_COUNT + ":Integer=" + FLOW_BUCKET_COUNT_DEFAULT
         }
 )
 public class ECFlowRuleStore
@@ -157,6 +158,9 @@ public class ECFlowRuleStore
     /** Max number of backup copies for each device. */
     protected static volatile int backupCount = MAX_BACKUP_COUNT_DEFAULT;
 
+    /** Number of buckets per device flow table; must be the same on all nodes. */
+    private volatile int flowBucketCount = FLOW_BUCKET_COUNT_DEFAULT;
+
     private InternalFlowTable flowTable = new InternalFlowTable();
 
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
@@ -284,6 +288,7 @@ public class ECFlowRuleStore
         int newBackupPeriod;
         int newBackupCount;
         int newAntiEntropyPeriod;
+        int newFlowBucketCount;
         try {
             String s = get(properties, "msgHandlerPoolSize");
             newPoolSize = isNullOrEmpty(s) ? msgHandlerPoolSize : Integer.parseInt(s.trim());
@@ -296,11 +301,15 @@ public class ECFlowRuleStore
 
             s = get(properties, ANTI_ENTROPY_PERIOD_MILLIS);
             newAntiEntropyPeriod = isNullOrEmpty(s) ? antiEntropyPeriod : Integer.parseInt(s.trim());
+
+            s = get(properties, FLOW_BUCKET_COUNT);
+            newFlowBucketCount = isNullOrEmpty(s) ? flowBucketCount : Integer.parseInt(s.trim());
         } catch (NumberFormatException | ClassCastException e) {
             newPoolSize = MESSAGE_HANDLER_THREAD_POOL_SIZE_DEFAULT;
             newBackupPeriod = BACKUP_PERIOD_MILLIS_DEFAULT;
             newBackupCount = MAX_BACKUP_COUNT_DEFAULT;
             newAntiEntropyPeriod = ANTI_ENTROPY_PERIOD_MILLIS_DEFAULT;
+            newFlowBucketCount = FLOW_BUCKET_COUNT_DEFAULT;
         }
 
         if (newBackupPeriod != backupPeriod) {
@@ -327,6 +336,10 @@ public class ECFlowRuleStore
         if (backupCount != newBackupCount) {
             backupCount = newBackupCount;
         }
+
+        if (newFlowBucketCount > 0 && newFlowBucketCount != flowBucketCount) {
+            flowBucketCount = newFlowBucketCount;
+        }
         logConfig("Reconfigured");
     }
 
@@ -360,8 +373,8 @@ public class ECFlowRuleStore
     }
 
     private void logConfig(String prefix) {
-        log.info("{} with msgHandlerPoolSize = {}; backupPeriod = {}, backupCount = {}",
-            prefix, msgHandlerPoolSize, backupPeriod, backupCount);
+        log.info("{} with msgHandlerPoolSize = {}; backupPeriod = {}, backupCount = {}, flowBucketCount = {}",
+            prefix, msgHandlerPoolSize, backupPeriod, backupCount, flowBucketCount);
     }
 
     @Override
@@ -576,6 +589,22 @@ public class ECFlowRuleStore
     }
 
     private FlowRuleEvent addOrUpdateFlowRuleInternal(FlowEntry rule) {
+        // Entries whose counters did not move since the last poll are
+        // refreshed without being replicated on their own.
+        FlowRuleEvent refreshed = flowTable.refresh(rule, stored -> {
+            if (stored.state() == FlowEntryState.ADDED &&
+                    stored.packets() == rule.packets() && stored.bytes() == rule.bytes()) {
+                stored.setLife(rule.life(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+                stored.setLiveType(rule.liveType());
+                stored.setLastSeen();
+                return new FlowRuleEvent(Type.RULE_UPDATED, rule);
+            }
+            return null;
+        });
+        if (refreshed != null) {
+            return refreshed;
+        }
+
         FlowRuleEvent event = flowTable.update(rule, stored -> {
             stored.setBytes(rule.bytes());
             stored.setLife(rule.life(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
@@ -741,7 +770,8 @@ public class ECFlowRuleStore
                 backupScheduler,
                 new OrderedExecutor(backupExecutor),
                 backupPeriod,
-                antiEntropyPeriod));
+                antiEntropyPeriod,
+                flowBucketCount));
         }
 
         /**
@@ -779,7 +809,8 @@ public class ECFlowRuleStore
                 backupScheduler,
                 new OrderedExecutor(backupExecutor),
                 backupPeriod,
-                antiEntropyPeriod));
+                antiEntropyPeriod,
+                flowBucketCount));
         }
 
         /**
@@ -876,6 +907,20 @@ public class ECFlowRuleStore
                 null);
         }
 
+        /**
+         * Applies the given refresh function to the rule.
+         *
+         * @param function the refresh function to apply
+         * @return the refresh result or {@code null} if the rule was not refreshed
+         */
+        public <T> T refresh(FlowRule rule, Function<StoredFlowEntry, T> function) {
+            return Tools.futureGetOrElse(
+                getFlowTable(rule.deviceId()).refresh(rule, function),
+                FLOW_RULE_STORE_TIMEOUT_MILLIS,
+                TimeUnit.MILLISECONDS,
+                null);
+        }
+
         /**
          * Removes the given flow rule.
          *
@@ -15,11 +15,15 @@
  */
 package org.onosproject.store.flow.impl;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.onosproject.core.ApplicationId;
 import org.onosproject.net.flow.DefaultFlowEntry;
@@ -35,15 +39,24 @@ import org.slf4j.LoggerFactory;
  * Container for a bucket of flows assigned to a specific device.
  * <p>
  * The bucket is mutable. When changes are made to the bucket, the term and timestamp in which the change
- * occurred is recorded for ordering changes.
+ * occurred is recorded for ordering changes. The most recent changes are also kept in a bounded, node-local
+ * change log so that replicas can be brought up to date by sending only the entries changed since the last
+ * replicated timestamp. Mutations and change log reads are expected to be synchronized on the bucket.
  */
 public class FlowBucket {
     private static final Logger LOGGER = LoggerFactory.getLogger(FlowBucket.class);
+    private static final int MAX_CHANGES = 1024;
     private final BucketId bucketId;
     private volatile long term;
     private volatile LogicalTimestamp timestamp;
     private final Map<FlowId, Map<StoredFlowEntry, StoredFlowEntry>> flowBucket;
 
+    // Entries changed after the horizon, ordered by the time of their last change; not replicated.
+    private transient LinkedHashMap<StoredFlowEntry, LogicalTimestamp> changeLog;
+    private transient LogicalTimestamp changeLogHorizon;
+    // Wall clock time of the last recorded update; not replicated.
+    private transient long lastUpdateMillis;
+
     FlowBucket(BucketId bucketId) {
         this(bucketId, 0, new LogicalTimestamp(0), Maps.newConcurrentMap());
     }
@@ -92,7 +105,7 @@ public class FlowBucket {
      * @return the digest for the bucket
      */
     public FlowBucketDigest getDigest() {
-        return new FlowBucketDigest(bucketId().bucket(), term(), timestamp());
+        return new FlowBucketDigest(bucketId().bucket(), bucketId().bucketCount(), term(), timestamp());
     }
 
     /**
@@ -146,9 +159,112 @@ public class FlowBucket {
     /**
      * Records an update to the bucket.
      */
-    private void recordUpdate(long term, LogicalTimestamp timestamp) {
+    private LogicalTimestamp recordUpdate(long term, LogicalTimestamp timestamp) {
+        // Make sure the change log starts before the update
+        changeLog();
         this.term = term;
         this.timestamp = timestamp;
+        this.lastUpdateMillis = System.currentTimeMillis();
+        return timestamp;
+    }
+
+    /**
+     * Records a change of the given entry in the change log.
+     *
+     * @param entry     the added, updated or removed entry
+     * @param timestamp the timestamp of the change
+     */
+    private void recordChange(StoredFlowEntry entry, LogicalTimestamp timestamp) {
+        Map<StoredFlowEntry, LogicalTimestamp> changes = changeLog();
+        changes.remove(entry);
+        changes.put(entry, timestamp);
+        if (changes.size() > MAX_CHANGES) {
+            Iterator<Map.Entry<StoredFlowEntry, LogicalTimestamp>> iterator = changes.entrySet().iterator();
+            changeLogHorizon = iterator.next().getValue();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the change log, starting a new one at the current timestamp if needed.
+     *
+     * @return the change log
+     */
+    private Map<StoredFlowEntry, LogicalTimestamp> changeLog() {
+        if (changeLog == null) {
+            changeLog = new LinkedHashMap<>();
+            changeLogHorizon = timestamp;
+        }
+        return changeLog;
+    }
+
+    /**
+     * Discards the change log; changes made before the next update can no longer be sent as a delta.
+     */
+    private void resetChangeLog() {
+        changeLog = null;
+        changeLogHorizon = null;
+    }
+
+    /**
+     * Returns a boolean indicating whether the change log holds all the changes made after the given timestamp.
+     *
+     * @param base the timestamp from which the changes are needed
+     * @return indicates whether a delta can be computed from the given timestamp
+     */
+    boolean hasChangesSince(LogicalTimestamp base) {
+        changeLog();
+        return base != null && !changeLogHorizon.isNewerThan(base);
+    }
+
+    /**
+     * Returns the changes made to the bucket after the given timestamp.
+     *
+     * @param base the timestamp after which to collect the changes
+     * @return the delta or {@code null} if the change log does not cover the given timestamp
+     */
+    FlowBucketDelta getDelta(LogicalTimestamp base) {
+        if (!hasChangesSince(base)) {
+            return null;
+        }
+        List<StoredFlowEntry> updated = Lists.newArrayList();
+        List<StoredFlowEntry> removed = Lists.newArrayList();
+        changeLog.forEach((entry, changed) -> {
+            if (changed.isNewerThan(base)) {
+                Map<StoredFlowEntry, StoredFlowEntry> flowEntries = flowBucket.get(entry.id());
+                StoredFlowEntry stored = flowEntries != null ? flowEntries.get(entry) : null;
+                if (stored != null) {
+                    updated.add(stored);
+                } else {
+                    removed.add(entry);
+                }
+            }
+        });
+        return new FlowBucketDelta(bucketId, term, base, timestamp, updated, removed);
+    }
+
+    /**
+     * Applies changes replicated from the master to this backup copy of the bucket.
+     *
+     * @param delta the changes to apply
+     * @return indicates whether the bucket is up to date with the delta; {@code false} if the bucket is in
+     * a different term or misses changes older than the delta
+     */
+    boolean applyDelta(FlowBucketDelta delta) {
+        if (delta.term() != term || delta.base().isNewerThan(timestamp)) {
+            return false;
+        }
+        if (!delta.timestamp().isNewerThan(timestamp)) {
+            return true;
+        }
+        delta.updated().forEach(entry -> getFlowEntries(entry.id()).put(entry, entry));
+        delta.removed().forEach(entry -> flowBucket.computeIfPresent(entry.id(), (flowId, flowEntries) -> {
+            flowEntries.remove(entry);
+            return flowEntries.isEmpty() ? null : flowEntries;
+        }));
+        recordUpdate(delta.term(), delta.timestamp());
+        resetChangeLog();
+        return true;
     }
 
     /**
@@ -164,7 +280,7 @@ public class FlowBucket {
             flowEntries = flowBucket.computeIfAbsent(rule.id(), id -> Maps.newConcurrentMap());
         }
         flowEntries.put((StoredFlowEntry) rule, (StoredFlowEntry) rule);
-        recordUpdate(term, clock.getTimestamp());
+        recordChange((StoredFlowEntry) rule, recordUpdate(term, clock.getTimestamp()));
     }
 
     /**
@@ -185,7 +301,7 @@ public class FlowBucket {
                 if (stored instanceof DefaultFlowEntry) {
                     DefaultFlowEntry storedEntry = (DefaultFlowEntry) stored;
                     if (updated.created() >= storedEntry.created()) {
-                        recordUpdate(term, clock.getTimestamp());
+                        recordChange(updated, recordUpdate(term, clock.getTimestamp()));
                         return updated;
                     } else {
                         LOGGER.debug("Trying to update more recent flow entry {} (stored: {})", updated, stored);
@@ -218,7 +334,7 @@ public class FlowBucket {
             if (stored != null) {
                 T result = function.apply(stored);
                 if (result != null) {
-                    recordUpdate(term, clock.getTimestamp());
+                    recordChange(stored, recordUpdate(term, clock.getTimestamp()));
                     resultRef.set(result);
                 }
             }
@@ -227,6 +343,40 @@ public class FlowBucket {
         return resultRef.get();
     }
 
+    /**
+     * Applies the given refresh function to the rule.
+     * <p>
+     * Unlike an update, a refresh does not advance the bucket timestamp, so it does not trigger a backup by itself:
+     * the refreshed entry is recorded in the change log and replicated along with the next update of the bucket.
+     * The bucket timestamp is advanced nonetheless if the bucket has not been updated in the given term for the
+     * given delay, which bounds how long backups may miss refreshes.
+     *
+     * @param rule     the rule to refresh
+     * @param function the refresh function to apply
+     * @param term     the term in which the change occurred
+     * @param clock    the logical clock
+     * @param maxDelay the longest delay, in milliseconds, before a refresh advances the bucket timestamp
+     * @param <T>      the result type
+     * @return the refresh result or {@code null} if the rule was not refreshed
+     */
+    public <T> T refresh(FlowRule rule, Function<StoredFlowEntry, T> function, long term, LogicalClock clock,
+                         long maxDelay) {
+        Map<StoredFlowEntry, StoredFlowEntry> flowEntries = flowBucket.get(rule.id());
+        StoredFlowEntry stored = flowEntries != null ? flowEntries.get(new DefaultFlowEntry(rule)) : null;
+        if (stored == null) {
+            return null;
+        }
+        T result = function.apply(stored);
+        if (result != null) {
+            LogicalTimestamp refreshed = clock.getTimestamp();
+            if (term != this.term || System.currentTimeMillis() - lastUpdateMillis >= maxDelay) {
+                recordUpdate(term, refreshed);
+            }
+            recordChange(stored, refreshed);
+        }
+        return result;
+    }
+
     /**
      * Removes the given flow rule from the bucket.
      *
@@ -257,7 +407,7 @@ public class FlowBucket {
         });
 
         if (removedRule.get() != null) {
-            recordUpdate(term, clock.getTimestamp());
+            recordChange((StoredFlowEntry) removedRule.get(), recordUpdate(term, clock.getTimestamp()));
             return removedRule.get();
         } else {
             return null;
@@ -269,6 +419,7 @@ public class FlowBucket {
      */
     public void purge() {
         flowBucket.clear();
+        resetChangeLog();
     }
 
     /**
@@ -279,12 +430,20 @@ public class FlowBucket {
      * @param clock the logical clock
      */
     public void purge(ApplicationId appId, long term, LogicalClock clock) {
-        boolean anythingRemoved = flowBucket.values().removeIf(flowEntryMap -> {
-            flowEntryMap.values().removeIf(storedFlowEntry -> storedFlowEntry.appId() == appId.id());
+        List<StoredFlowEntry> purged = Lists.newArrayList();
+        flowBucket.values().removeIf(flowEntryMap -> {
+            flowEntryMap.values().removeIf(storedFlowEntry -> {
+                if (storedFlowEntry.appId() == appId.id()) {
+                    purged.add(storedFlowEntry);
+                    return true;
+                }
+                return false;
+            });
             return flowEntryMap.isEmpty();
         });
-        if (anythingRemoved) {
-            recordUpdate(term, clock.getTimestamp());
+        if (!purged.isEmpty()) {
+            LogicalTimestamp purgeTime = recordUpdate(term, clock.getTimestamp());
+            purged.forEach(entry -> recordChange(entry, purgeTime));
         }
     }
 
@@ -296,5 +455,6 @@ public class FlowBucket {
         term = 0;
         timestamp = new LogicalTimestamp(0);
         flowBucket.clear();
+        resetChangeLog();
     }
 }
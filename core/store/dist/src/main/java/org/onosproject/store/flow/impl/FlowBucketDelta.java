@@ -0,0 +1,128 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import java.util.List;
+
+import org.onosproject.net.flow.StoredFlowEntry;
+import org.onosproject.store.LogicalTimestamp;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+
+/**
+ * Changes made to a flow bucket between two logical timestamps.
+ * <p>
+ * A delta can only be applied to a replica of the bucket that is in the same term and has already seen all the
+ * changes up to the delta's base timestamp.
+ */
+public class FlowBucketDelta {
+    private final BucketId bucketId;
+    private final long term;
+    private final LogicalTimestamp base;
+    private final LogicalTimestamp timestamp;
+    private final List<StoredFlowEntry> updated;
+    private final List<StoredFlowEntry> removed;
+
+    FlowBucketDelta(
+        BucketId bucketId,
+        long term,
+        LogicalTimestamp base,
+        LogicalTimestamp timestamp,
+        List<StoredFlowEntry> updated,
+        List<StoredFlowEntry> removed) {
+        this.bucketId = bucketId;
+        this.term = term;
+        this.base = base;
+        this.timestamp = timestamp;
+        this.updated = updated;
+        this.removed = removed;
+    }
+
+    /**
+     * Returns the identifier of the changed bucket.
+     *
+     * @return the bucket identifier
+     */
+    public BucketId bucketId() {
+        return bucketId;
+    }
+
+    /**
+     * Returns the term in which the changes occurred.
+     *
+     * @return the bucket term
+     */
+    public long term() {
+        return term;
+    }
+
+    /**
+     * Returns the timestamp after which the changes occurred.
+     *
+     * @return the base timestamp
+     */
+    public LogicalTimestamp base() {
+        return base;
+    }
+
+    /**
+     * Returns the bucket timestamp after the changes.
+     *
+     * @return the bucket timestamp
+     */
+    public LogicalTimestamp timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Returns the entries added or updated since the base timestamp.
+     *
+     * @return the updated entries
+     */
+    public List<StoredFlowEntry> updated() {
+        return updated;
+    }
+
+    /**
+     * Returns the entries removed since the base timestamp.
+     *
+     * @return the removed entries
+     */
+    public List<StoredFlowEntry> removed() {
+        return removed;
+    }
+
+    /**
+     * Returns the number of changed entries.
+     *
+     * @return the number of changed entries
+     */
+    public int count() {
+        return updated.size() + removed.size();
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+            .add("bucketId", bucketId)
+            .add("term", term)
+            .add("base", base)
+            .add("timestamp", timestamp)
+            .add("updated", updated.size())
+            .add("removed", removed.size())
+            .toString();
+    }
+}
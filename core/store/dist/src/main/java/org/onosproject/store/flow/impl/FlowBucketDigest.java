@@ -24,11 +24,13 @@ import org.onosproject.store.LogicalTimestamp;
  */
 public class FlowBucketDigest {
     private final int bucket;
+    private final int bucketCount;
     private final long term;
     private final LogicalTimestamp timestamp;
 
-    FlowBucketDigest(int bucket, long term, LogicalTimestamp timestamp) {
+    FlowBucketDigest(int bucket, int bucketCount, long term, LogicalTimestamp timestamp) {
         this.bucket = bucket;
+        this.bucketCount = bucketCount;
         this.term = term;
         this.timestamp = timestamp;
     }
@@ -42,6 +44,15 @@ public class FlowBucketDigest {
         return bucket;
     }
 
+    /**
+     * Returns the number of buckets in the device flow table the bucket belongs to.
+     *
+     * @return the number of buckets in the device flow table
+     */
+    public int bucketCount() {
+        return bucketCount;
+    }
+
     /**
      * Returns the bucket term.
      *
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Registration;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.FieldSerializer;
+import org.onosproject.core.GroupId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultTrafficSelector;
+import org.onosproject.net.flow.DefaultTrafficTreatment;
+import org.onosproject.net.flow.TableId;
+import org.onosproject.net.flow.TrafficSelector;
+import org.onosproject.net.flow.TrafficTreatment;
+import org.onosproject.net.flow.criteria.Criterion;
+
+/**
+ * Compact serializer for flow entries replicated in bulk between the nodes
+ * holding a device flow table.
+ * <p>
+ * Flow entries are written field by field like the default serializer does,
+ * except for the fields which tend to repeat across the entries of a device:
+ * the device, table, group and application identifiers, the selectors and
+ * the criteria they are made of, and the treatments. These are dictionary
+ * encoded: the first occurrence of a value in a message is written in full,
+ * and later occurrences only as its index in the dictionary. Dictionaries
+ * are scoped to the message being serialized. Numeric fields are written as
+ * variable length integers by the underlying field serializer.
+ * </p>
+ */
+final class FlowEntrySerializer extends Serializer<DefaultFlowEntry> {
+
+    // Key of the field serializer in the persistent context of each Kryo instance.
+    private static final Object CONTEXT_KEY = FlowEntrySerializer.class;
+
+    @Override
+    public void write(Kryo kryo, Output output, DefaultFlowEntry entry) {
+        fieldSerializer(kryo).write(kryo, output, entry);
+    }
+
+    @Override
+    public DefaultFlowEntry read(Kryo kryo, Input input, Class<DefaultFlowEntry> type) {
+        return fieldSerializer(kryo).read(kryo, input, type);
+    }
+
+    // Field serializers keep a reference to the Kryo instance they are built
+    // for, hence one per instance.
+    @SuppressWarnings("unchecked")
+    private static FieldSerializer<DefaultFlowEntry> fieldSerializer(Kryo kryo) {
+        FieldSerializer<DefaultFlowEntry> serializer =
+            (FieldSerializer<DefaultFlowEntry>) kryo.getContext().get(CONTEXT_KEY);
+        if (serializer == null) {
+            serializer = new FieldSerializer<>(kryo, DefaultFlowEntry.class);
+            serializer.getField("deviceId").setClass(DeviceId.class, new Interning(Function.identity()));
+            serializer.getField("tableId").setClass(TableId.class, new Interning(Function.identity()));
+            serializer.getField("groupId").setClass(GroupId.class, new Interning(Function.identity()));
+            serializer.getField("appId").setClass(Short.class, new Interning(Function.identity()));
+            serializer.getField("selector").setClass(TrafficSelector.class, new SelectorSerializer());
+            serializer.getField("treatment").setClass(TrafficTreatment.class,
+                new Interning(FlowEntrySerializer::treatmentKey));
+            kryo.getContext().put(CONTEXT_KEY, serializer);
+        }
+        return serializer;
+    }
+
+    /**
+     * Returns the dictionary key of the given treatment.
+     * <p>
+     * Treatment equality does not account for all the instructions of a
+     * treatment, so those left out are made part of the key.
+     *
+     * @param treatment the treatment
+     * @return the dictionary key
+     */
+    private static Object treatmentKey(Object treatment) {
+        if (!(treatment instanceof DefaultTrafficTreatment)) {
+            return treatment;
+        }
+        TrafficTreatment t = (TrafficTreatment) treatment;
+        return Arrays.asList(t, t.clearedDeferred(), t.meters(), t.statTrigger());
+    }
+
+    // Field values are written with their class but without going through
+    // the reference resolver: the field serializer already has, and a second
+    // reference would resolve to the value still being read.
+    @SuppressWarnings("unchecked")
+    private static void writeWithClass(Kryo kryo, Output output, Object value) {
+        Registration registration = kryo.writeClass(output, value.getClass());
+        registration.getSerializer().write(kryo, output, value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object readWithClass(Kryo kryo, Input input) {
+        Registration registration = kryo.readClass(input);
+        return registration.getSerializer().read(kryo, input, registration.getType());
+    }
+
+    /**
+     * Serializer writing repeated values as indexes in a dictionary scoped to the message.
+     */
+    private static final class Interning extends Serializer<Object> {
+        private final Function<Object, Object> keyFunction;
+        private final Serializer<Object> serializer;
+
+        /**
+         * Creates a serializer interning field values written with their class.
+         *
+         * @param keyFunction function returning the dictionary key of a value
+         */
+        Interning(Function<Object, Object> keyFunction) {
+            this(keyFunction, null);
+        }
+
+        /**
+         * Creates a serializer interning values written with the given serializer.
+         *
+         * @param keyFunction function returning the dictionary key of a value
+         * @param serializer  the serializer of the values
+         */
+        Interning(Function<Object, Object> keyFunction, Serializer<Object> serializer) {
+            this.keyFunction = keyFunction;
+            this.serializer = serializer;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void write(Kryo kryo, Output output, Object value) {
+            Map<Object, Integer> dictionary = (Map<Object, Integer>) kryo.getGraphContext().get(this);
+            if (dictionary == null) {
+                dictionary = new HashMap<>();
+                kryo.getGraphContext().put(this, dictionary);
+            }
+            Object key = keyFunction.apply(value);
+            Integer index = dictionary.get(key);
+            if (index != null) {
+                output.writeVarInt(index + 1, true);
+                return;
+            }
+            dictionary.put(key, dictionary.size());
+            output.writeVarInt(0, true);
+            if (serializer != null) {
+                serializer.write(kryo, output, value);
+            } else {
+                writeWithClass(kryo, output, value);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object read(Kryo kryo, Input input, Class<Object> type) {
+            List<Object> dictionary = (List<Object>) kryo.getGraphContext().get(this);
+            if (dictionary == null) {
+                dictionary = new ArrayList<>();
+                kryo.getGraphContext().put(this, dictionary);
+            }
+            int index = input.readVarInt(true);
+            if (index > 0) {
+                return dictionary.get(index - 1);
+            }
+            Object value = serializer != null ? serializer.read(kryo, input, type) : readWithClass(kryo, input);
+            dictionary.add(value);
+            return value;
+        }
+    }
+
+    /**
+     * Serializer writing selectors as lists of interned criteria.
+     */
+    private static final class SelectorSerializer extends Serializer<Object> {
+        private final Interning selectors = new Interning(Function.identity(), new Serializer<Object>() {
+            @Override
+            public void write(Kryo kryo, Output output, Object selector) {
+                writeSelector(kryo, output, (TrafficSelector) selector);
+            }
+
+            @Override
+            public Object read(Kryo kryo, Input input, Class<Object> type) {
+                return readSelector(kryo, input);
+            }
+        });
+        private final Interning criteria = new Interning(Function.identity(), new Serializer<Object>() {
+            @Override
+            public void write(Kryo kryo, Output output, Object criterion) {
+                kryo.writeClassAndObject(output, criterion);
+            }
+
+            @Override
+            public Object read(Kryo kryo, Input input, Class<Object> type) {
+                return kryo.readClassAndObject(input);
+            }
+        });
+
+        @Override
+        public void write(Kryo kryo, Output output, Object selector) {
+            selectors.write(kryo, output, selector);
+        }
+
+        @Override
+        public Object read(Kryo kryo, Input input, Class<Object> type) {
+            return selectors.read(kryo, input, type);
+        }
+
+        private void writeSelector(Kryo kryo, Output output, TrafficSelector selector) {
+            if (!(selector instanceof DefaultTrafficSelector)) {
+                output.writeVarInt(0, true);
+                writeWithClass(kryo, output, selector);
+                return;
+            }
+            output.writeVarInt(selector.criteria().size() + 1, true);
+            for (Criterion criterion : selector.criteria()) {
+                criteria.write(kryo, output, criterion);
+            }
+        }
+
+        private TrafficSelector readSelector(Kryo kryo, Input input) {
+            int size = input.readVarInt(true);
+            if (size == 0) {
+                return (TrafficSelector) readWithClass(kryo, input);
+            }
+            TrafficSelector.Builder builder = DefaultTrafficSelector.builder();
+            for (int i = 1; i < size; i++) {
+                builder.add((Criterion) criteria.read(kryo, input, Object.class));
+            }
+            return builder.build();
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.host.impl;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import org.onlab.packet.IpAddress;
@@ -50,16 +51,17 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
-import java.util.function.Predicate;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkState;
@@ -84,7 +86,20 @@ public class DistributedHostStore
 
     private ConsistentMap<HostId, DefaultHost> hostsConsistentMap;
     private Map<HostId, DefaultHost> hosts;
-    private Map<IpAddress, Set<Host>> hostsByIp;
+
+    // Node-local indexes of the hosts, maintained from the events of the map
+    private volatile HostIndex<IpAddress> hostsByIp = new HostIndex<>(Host::ipAddresses);
+    private volatile HostIndex<MacAddress> hostsByMac = new HostIndex<>(host -> ImmutableSet.of(host.mac()));
+    private volatile HostIndex<VlanId> hostsByVlan = new HostIndex<>(host -> ImmutableSet.of(host.vlan()));
+    private volatile HostIndex<ConnectPoint> hostsByLocation = new HostIndex<>(Host::locations);
+    private volatile HostIndex<ConnectPoint> hostsByAuxLocation = new HostIndex<>(
+            host -> host.auxLocations() != null ? host.auxLocations() : ImmutableSet.of());
+    private volatile HostIndex<DeviceId> hostsByDevice = new HostIndex<>(
+            host -> host.locations().stream().map(HostLocation::deviceId).collect(Collectors.toSet()));
+    // Serializes the maintenance of the indexes with their rebuild
+    private final Object indexLock = new Object();
+    // Events received while the indexes are rebuilt; null otherwise
+    private List<MapEvent<HostId, DefaultHost>> eventsDuringLoad;
     MapEventListener<HostId, DefaultHost> hostLocationTracker =
             new HostLocationTracker();
 
@@ -107,11 +122,11 @@ public class DistributedHostStore
         executor = newSingleThreadScheduledExecutor(groupedThreads("onos/hosts", "status-listener", log));
         statusChangeListener = status -> {
             if (status == Status.ACTIVE) {
-                executor.execute(this::loadHostsByIp);
+                executor.execute(() -> loadIndexes(hosts.values()));
             }
         };
         hostsConsistentMap.addStatusChangeListener(statusChangeListener);
-        loadHostsByIp();
+        loadIndexes(hosts.values());
         log.info("Started");
     }
 
@@ -123,18 +138,28 @@ public class DistributedHostStore
         log.info("Stopped");
     }
 
-    private void loadHostsByIp() {
-        hostsByIp = new ConcurrentHashMap<IpAddress, Set<Host>>();
-        hostsConsistentMap.asJavaMap().values().forEach(host -> {
-            host.ipAddresses().forEach(ip -> {
-                Set<Host> existingHosts = hostsByIp.get(ip);
-                if (existingHosts == null) {
-                    hostsByIp.put(ip, addHosts(host));
-                } else {
-                    existingHosts.add(host);
-                }
-            });
-        });
+    /**
+     * Rebuilds the indexes from the given hosts. The events received while
+     * the hosts are read are replayed on the new indexes before they replace
+     * the current ones, so that no update is lost.
+     *
+     * @param values hosts of the map
+     */
+    void loadIndexes(Collection<DefaultHost> values) {
+        synchronized (indexLock) {
+            eventsDuringLoad = new ArrayList<>();
+        }
+        List<DefaultHost> loaded = ImmutableList.copyOf(values);
+        synchronized (indexLock) {
+            List<MapEvent<HostId, DefaultHost>> events = eventsDuringLoad;
+            eventsDuringLoad = null;
+            hostsByIp = hostsByIp.rebuild(loaded, events);
+            hostsByMac = hostsByMac.rebuild(loaded, events);
+            hostsByVlan = hostsByVlan.rebuild(loaded, events);
+            hostsByLocation = hostsByLocation.rebuild(loaded, events);
+            hostsByAuxLocation = hostsByAuxLocation.rebuild(loaded, events);
+            hostsByDevice = hostsByDevice.rebuild(loaded, events);
+        }
     }
 
     private boolean shouldUpdate(DefaultHost existingHost,
@@ -244,7 +269,7 @@ public class DistributedHostStore
                 if (addresses != null && addresses.contains(ipAddress)) {
                     addresses = new HashSet<>(existingHost.ipAddresses());
                     addresses.remove(ipAddress);
-                    removeIpFromHostsByIp(existingHost, ipAddress);
+                    hostsByIp.remove(ipAddress, existingHost);
                     return new DefaultHost(existingHost.providerId(),
                             hostId,
                             existingHost.mac(),
@@ -334,18 +359,17 @@ public class DistributedHostStore
 
     @Override
     public Set<Host> getHosts(VlanId vlanId) {
-        return filter(hosts.values(), host -> Objects.equals(host.vlan(), vlanId));
+        return hostsByVlan.get(vlanId);
     }
 
     @Override
     public Set<Host> getHosts(MacAddress mac) {
-        return filter(hosts.values(), host -> Objects.equals(host.mac(), mac));
+        return hostsByMac.get(mac);
     }
 
     @Override
     public Set<Host> getHosts(IpAddress ip) {
-        Set<Host> hosts = hostsByIp.get(ip);
-        return hosts != null ? ImmutableSet.copyOf(hosts) : ImmutableSet.of();
+        return hostsByIp.get(ip);
     }
 
     @Override
@@ -355,31 +379,12 @@ public class DistributedHostStore
 
     @Override
     public Set<Host> getConnectedHosts(ConnectPoint connectPoint, boolean matchAuxLocations) {
-        Predicate<Map.Entry<HostId, DefaultHost>> predicate;
-        if (matchAuxLocations) {
-            predicate = entry -> {
-                Set<HostLocation> auxLocations = entry.getValue().auxLocations();
-                return auxLocations != null && entry.getValue().auxLocations().contains(connectPoint);
-            };
-        } else {
-            predicate = entry -> entry.getValue().locations().contains(connectPoint);
-        }
-
-        Set<Host> filtered = hosts.entrySet().stream()
-                .filter(predicate)
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
-        return ImmutableSet.copyOf(filtered);
+        return matchAuxLocations ? hostsByAuxLocation.get(connectPoint) : hostsByLocation.get(connectPoint);
     }
 
     @Override
     public Set<Host> getConnectedHosts(DeviceId deviceId) {
-        Set<Host> filtered = hosts.entrySet().stream()
-                .filter(entry -> entry.getValue().locations().stream()
-                        .map(HostLocation::deviceId).anyMatch(dpid -> dpid.equals(deviceId)))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toSet());
-        return ImmutableSet.copyOf(filtered);
+        return hostsByDevice.get(deviceId);
     }
 
     @Override
@@ -430,51 +435,121 @@ public class DistributedHostStore
         });
     }
 
-    private Set<Host> filter(Collection<DefaultHost> collection, Predicate<DefaultHost> predicate) {
-        return collection.stream().filter(predicate).collect(Collectors.toSet());
-    }
-
-    private Set<Host> addHosts(Host host) {
-        Set<Host> hosts = Sets.newConcurrentHashSet();
-        hosts.add(host);
-        return hosts;
-    }
-
-    private Set<Host> updateHosts(Set<Host> existingHosts, Host host) {
-        existingHosts.removeIf(existingHost -> existingHost.id().equals(host.id()));
-        existingHosts.add(host);
-        return existingHosts;
+    private void updateIndexes(MapEvent<HostId, DefaultHost> event) {
+        synchronized (indexLock) {
+            if (eventsDuringLoad != null) {
+                eventsDuringLoad.add(event);
+            }
+            hostsByIp.update(event);
+            hostsByMac.update(event);
+            hostsByVlan.update(event);
+            hostsByLocation.update(event);
+            hostsByAuxLocation.update(event);
+            hostsByDevice.update(event);
+        }
     }
 
-    private Set<Host> removeHosts(Set<Host> existingHosts, Host host) {
+    /**
+     * Index of the hosts by the values of one of their attributes.
+     *
+     * @param <K> type of the attribute values
+     */
+    private static final class HostIndex<K> {
+        private final Function<Host, Set<? extends K>> keyFunction;
+        private final Map<K, Map<HostId, Host>> hosts = new ConcurrentHashMap<>();
+
+        /**
+         * Creates an empty index.
+         *
+         * @param keyFunction function returning the keys a host is indexed by
+         */
+        HostIndex(Function<Host, Set<? extends K>> keyFunction) {
+            this.keyFunction = keyFunction;
+        }
 
-        if (existingHosts != null) {
-            existingHosts.removeIf(existingHost -> existingHost.id().equals(host.id()));
+        /**
+         * Returns a new index of the same attribute holding the given hosts,
+         * updated with the given events.
+         *
+         * @param values hosts to index
+         * @param events map events to replay on the hosts
+         * @return new index
+         */
+        HostIndex<K> rebuild(Collection<? extends Host> values, List<MapEvent<HostId, DefaultHost>> events) {
+            HostIndex<K> index = new HostIndex<>(keyFunction);
+            values.forEach(host -> index.update(host, null));
+            events.forEach(index::update);
+            return index;
         }
 
-        if (existingHosts == null || existingHosts.isEmpty()) {
-            return null;
+        /**
+         * Returns the hosts indexed by the given key.
+         *
+         * @param key index key
+         * @return immutable set of hosts
+         */
+        Set<Host> get(K key) {
+            Map<HostId, Host> indexed = hosts.get(key);
+            return indexed != null ? ImmutableSet.copyOf(indexed.values()) : ImmutableSet.of();
         }
-        return existingHosts;
-    }
 
-    private void updateHostsByIp(DefaultHost host, DefaultHost prevHost) {
-        // Let's update first the current ips
-        host.ipAddresses().forEach(
-                ip -> hostsByIp.compute(ip, (k, v) -> v == null ? addHosts(host) : updateHosts(v, host)));
+        /**
+         * Indexes the given host, dropping the keys its previous version no
+         * longer has.
+         *
+         * @param host     host to index
+         * @param prevHost previous version of the host; may be null
+         */
+        void update(Host host, Host prevHost) {
+            Set<? extends K> keys = keyFunction.apply(host);
+            keys.forEach(key -> hosts.compute(key, (k, indexed) -> {
+                Map<HostId, Host> updated = indexed != null ? indexed : new ConcurrentHashMap<>();
+                updated.put(host.id(), host);
+                return updated;
+            }));
+            if (prevHost != null) {
+                keyFunction.apply(prevHost).stream()
+                        .filter(key -> !keys.contains(key))
+                        .forEach(key -> remove(key, prevHost));
+            }
+        }
 
-        // Let's remove then each old ip
-        Set<IpAddress> oldIps = prevHost != null ? prevHost.ipAddresses() : Collections.emptySet();
-        Sets.difference(oldIps, host.ipAddresses()).forEach(
-                ip -> hostsByIp.computeIfPresent(ip, (k, v) -> removeHosts(v, host)));
-    }
+        /**
+         * Updates the index with the given map event.
+         *
+         * @param event map event
+         */
+        void update(MapEvent<HostId, DefaultHost> event) {
+            DefaultHost host = Versioned.valueOrNull(event.newValue());
+            DefaultHost prevHost = Versioned.valueOrNull(event.oldValue());
+            if (host != null) {
+                update(host, prevHost);
+            } else if (prevHost != null) {
+                remove(prevHost);
+            }
+        }
 
-    private void removeHostsByIp(DefaultHost host) {
-        host.ipAddresses().forEach(ip -> hostsByIp.computeIfPresent(ip, (k, v) -> removeHosts(v, host)));
-    }
+        /**
+         * Removes the given host from the index.
+         *
+         * @param host host to remove
+         */
+        void remove(Host host) {
+            keyFunction.apply(host).forEach(key -> remove(key, host));
+        }
 
-    private void removeIpFromHostsByIp(DefaultHost host, IpAddress ip) {
-        hostsByIp.computeIfPresent(ip, (k, v) -> removeHosts(v, host));
+        /**
+         * Removes the given host from the hosts indexed by the given key.
+         *
+         * @param key  index key
+         * @param host host to remove
+         */
+        void remove(K key, Host host) {
+            hosts.computeIfPresent(key, (k, indexed) -> {
+                indexed.remove(host.id());
+                return indexed.isEmpty() ? null : indexed;
+            });
+        }
     }
 
     private class HostLocationTracker implements MapEventListener<HostId, DefaultHost> {
@@ -482,13 +557,12 @@ public class DistributedHostStore
         public void event(MapEvent<HostId, DefaultHost> event) {
             DefaultHost host = Versioned.valueOrNull(event.newValue());
             DefaultHost prevHost = Versioned.valueOrNull(event.oldValue());
+            updateIndexes(event);
             switch (event.type()) {
                 case INSERT:
-                    updateHostsByIp(host, prevHost);
                     notifyDelegate(new HostEvent(HOST_ADDED, host));
                     break;
                 case UPDATE:
-                    updateHostsByIp(host, prevHost);
                     if (host.suspended() && !prevHost.suspended()) {
                         notifyDelegate(new HostEvent(HOST_SUSPENDED, host, prevHost));
                     } else if (!host.suspended() && prevHost.suspended()) {
@@ -502,7 +576,6 @@ public class DistributedHostStore
                     }
                     break;
                 case REMOVE:
-                    removeHostsByIp(prevHost);
                     notifyDelegate(new HostEvent(HOST_REMOVED, prevHost));
                     break;
                 default:
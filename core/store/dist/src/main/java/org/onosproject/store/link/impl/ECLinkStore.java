@@ -64,12 +64,10 @@ import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
 import org.slf4j.Logger;
 
-import java.util.Collection;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static org.onosproject.net.DefaultAnnotations.union;
@@ -113,6 +111,11 @@ public class ECLinkStore
     private final Logger log = getLogger(getClass());
 
     private final Map<LinkKey, Link> links = Maps.newConcurrentMap();
+    // Indexes of the link keys by source and destination, updated along with links
+    private final Map<DeviceId, Set<LinkKey>> egressLinks = Maps.newConcurrentMap();
+    private final Map<DeviceId, Set<LinkKey>> ingressLinks = Maps.newConcurrentMap();
+    private final Map<ConnectPoint, Set<LinkKey>> srcLinks = Maps.newConcurrentMap();
+    private final Map<ConnectPoint, Set<LinkKey>> dstLinks = Maps.newConcurrentMap();
     private final Map<LinkKey, Set<ProviderId>> linkProviders = Maps.newConcurrentMap();
     private EventuallyConsistentMap<Provided<LinkKey>, LinkDescription> linkDescriptions;
 
@@ -197,7 +200,7 @@ public class ECLinkStore
         linkDescriptions.removeListener(linkTracker);
         linkDescriptions.destroy();
         linkProviders.clear();
-        links.clear();
+        clearLinks();
         clusterCommunicator.removeSubscriber(LINK_INJECT_MESSAGE);
         netCfgService.removeListener(cfgListener);
         netCfgService.unregisterConfigFactory(factory);
@@ -217,12 +220,12 @@ public class ECLinkStore
 
     @Override
     public Set<Link> getDeviceEgressLinks(DeviceId deviceId) {
-        return filter(links.values(), link -> deviceId.equals(link.src().deviceId()));
+        return lookup(egressLinks, deviceId);
     }
 
     @Override
     public Set<Link> getDeviceIngressLinks(DeviceId deviceId) {
-        return filter(links.values(), link -> deviceId.equals(link.dst().deviceId()));
+        return lookup(ingressLinks, deviceId);
     }
 
     @Override
@@ -232,12 +235,12 @@ public class ECLinkStore
 
     @Override
     public Set<Link> getEgressLinks(ConnectPoint src) {
-        return filter(links.values(), link -> src.equals(link.src()));
+        return lookup(srcLinks, src);
     }
 
     @Override
     public Set<Link> getIngressLinks(ConnectPoint dst) {
-        return filter(links.values(), link -> dst.equals(link.dst()));
+        return lookup(dstLinks, dst);
     }
 
     @Override
@@ -319,9 +322,13 @@ public class ECLinkStore
         Link link = links.compute(linkKey, (key, existingLink) -> {
             Link newLink = composeLink(linkKey);
             if (newLink == null) {
+                if (existingLink != null) {
+                    removeFromIndexes(key);
+                }
                 return null;
             }
             if (existingLink == null) {
+                addToIndexes(key);
                 eventType.set(LINK_ADDED);
                 return newLink;
             } else if (existingLink.state() != newLink.state() ||
@@ -414,7 +421,12 @@ public class ECLinkStore
                 (oldLink.type() == INDIRECT && newLink.type() == DIRECT) ||
                 !AnnotationsUtil.isEqual(oldLink.annotations(), newLink.annotations())) {
 
-            links.put(key, newLink);
+            links.compute(key, (k, existingLink) -> {
+                if (existingLink == null) {
+                    addToIndexes(k);
+                }
+                return newLink;
+            });
             return new LinkEvent(LINK_UPDATED, newLink);
         }
         return null;
@@ -461,7 +473,13 @@ public class ECLinkStore
     }
 
     private LinkEvent purgeLinkCache(LinkKey linkKey) {
-        Link removedLink = links.remove(linkKey);
+        AtomicReference<Link> removed = new AtomicReference<>();
+        links.computeIfPresent(linkKey, (key, existingLink) -> {
+            removeFromIndexes(key);
+            removed.set(existingLink);
+            return null;
+        });
+        Link removedLink = removed.get();
         if (removedLink != null) {
             getAllProviders(linkKey).forEach(p -> linkDescriptions.remove(new Provided<>(linkKey, p)));
             linkProviders.remove(linkKey);
@@ -470,8 +488,55 @@ public class ECLinkStore
         return null;
     }
 
-    private Set<Link> filter(Collection<Link> links, Predicate<Link> predicate) {
-        return links.stream().filter(predicate).collect(Collectors.toSet());
+    // Returns the links indexed under the given key of the given index.
+    private <K> Set<Link> lookup(Map<K, Set<LinkKey>> index, K key) {
+        Set<LinkKey> linkKeys = index.get(key);
+        if (linkKeys == null) {
+            return Sets.newHashSet();
+        }
+        return linkKeys.stream()
+                .map(links::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    // Invoked from within the computation of the links map entry of the key.
+    private void addToIndexes(LinkKey linkKey) {
+        addToIndex(egressLinks, linkKey.src().deviceId(), linkKey);
+        addToIndex(ingressLinks, linkKey.dst().deviceId(), linkKey);
+        addToIndex(srcLinks, linkKey.src(), linkKey);
+        addToIndex(dstLinks, linkKey.dst(), linkKey);
+    }
+
+    // Invoked from within the computation of the links map entry of the key.
+    private void removeFromIndexes(LinkKey linkKey) {
+        removeFromIndex(egressLinks, linkKey.src().deviceId(), linkKey);
+        removeFromIndex(ingressLinks, linkKey.dst().deviceId(), linkKey);
+        removeFromIndex(srcLinks, linkKey.src(), linkKey);
+        removeFromIndex(dstLinks, linkKey.dst(), linkKey);
+    }
+
+    private <K> void addToIndex(Map<K, Set<LinkKey>> index, K key, LinkKey linkKey) {
+        index.compute(key, (k, linkKeys) -> {
+            Set<LinkKey> updated = linkKeys != null ? linkKeys : Sets.newConcurrentHashSet();
+            updated.add(linkKey);
+            return updated;
+        });
+    }
+
+    private <K> void removeFromIndex(Map<K, Set<LinkKey>> index, K key, LinkKey linkKey) {
+        index.computeIfPresent(key, (k, linkKeys) -> {
+            linkKeys.remove(linkKey);
+            return linkKeys.isEmpty() ? null : linkKeys;
+        });
+    }
+
+    private void clearLinks() {
+        links.clear();
+        egressLinks.clear();
+        ingressLinks.clear();
+        srcLinks.clear();
+        dstLinks.clear();
     }
 
     private LinkEvent injectLink(Provided<LinkDescription> linkInjectRequest) {
@@ -518,7 +583,7 @@ public class ECLinkStore
                     linkDescriptions.clear();
                 }
                 if (links != null) {
-                    links.clear();
+                    clearLinks();
                 }
             }
             log.debug("config set link discovery mode to {}",
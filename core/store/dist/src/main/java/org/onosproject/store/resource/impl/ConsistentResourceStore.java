@@ -47,6 +47,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -234,16 +235,8 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
 
             TransactionalDiscreteResourceSubStore discreteTxStore = discreteStore.transactional(tx);
             TransactionalContinuousResourceSubStore continuousTxStore = continuousStore.transactional(tx);
-            for (Resource resource : resources) {
-                if (resource instanceof DiscreteResource) {
-                    if (!discreteTxStore.allocate(consumer.consumerId(), (DiscreteResource) resource)) {
-                        return abortTransaction(tx);
-                    }
-                } else if (resource instanceof ContinuousResource) {
-                    if (!continuousTxStore.allocate(consumer.consumerId(), (ContinuousResource) resource)) {
-                        return abortTransaction(tx);
-                    }
-                }
+            if (!allocate(discreteTxStore, continuousTxStore, consumer.consumerId(), resources)) {
+                return abortTransaction(tx);
             }
 
             try {
@@ -257,6 +250,62 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
         }
     }
 
+    // All the requests are allocated within a single transaction, whose commit
+    // involves only the partitions holding the requested resources. A consumer
+    // whose resources are not all available is left out of the transaction,
+    // which is started over without it when some of them were already written.
+    @Override
+    public Set<ResourceConsumer> allocate(Map<ResourceConsumer, ? extends List<? extends Resource>> requests) {
+        checkNotNull(requests);
+
+        Set<ResourceConsumer> rejected = new HashSet<>();
+        while (true) {
+            TransactionContext tx = service.transactionContextBuilder().build();
+            tx.begin();
+
+            TransactionalDiscreteResourceSubStore discreteTxStore = discreteStore.transactional(tx);
+            TransactionalContinuousResourceSubStore continuousTxStore = continuousStore.transactional(tx);
+            Set<ResourceConsumer> allocated = new LinkedHashSet<>();
+            ResourceConsumer failed = null;
+            for (Map.Entry<ResourceConsumer, ? extends List<? extends Resource>> request : requests.entrySet()) {
+                ResourceConsumer consumer = request.getKey();
+                if (rejected.contains(consumer)) {
+                    continue;
+                }
+                // Discrete resources are checked upfront so that unavailable
+                // ones are turned down without touching the transaction
+                if (!isAvailable(discreteTxStore, request.getValue())) {
+                    rejected.add(consumer);
+                    continue;
+                }
+                if (!allocate(discreteTxStore, continuousTxStore, consumer.consumerId(), request.getValue())) {
+                    failed = consumer;
+                    break;
+                }
+                allocated.add(consumer);
+            }
+
+            if (failed != null) {
+                tx.abort();
+                rejected.add(failed);
+                continue;
+            }
+            if (allocated.isEmpty()) {
+                tx.abort();
+                return ImmutableSet.of();
+            }
+
+            try {
+                if (commitTransaction(tx) == CommitStatus.SUCCESS) {
+                    return allocated;
+                }
+            } catch (InterruptedException | ExecutionException | TimeoutException e) {
+                log.warn("Failed to allocate resources for {} consumers: {}", allocated.size(), e);
+                return ImmutableSet.of();
+            }
+        }
+    }
+
     @Override
     public boolean release(List<ResourceAllocation> allocations) {
         checkNotNull(allocations);
@@ -357,6 +406,48 @@ public class ConsistentResourceStore extends AbstractStore<ResourceEvent, Resour
         return Stream.concat(discrete, continuous).collect(Collectors.toList());
     }
 
+    /**
+     * Checks whether the discrete resources among the given ones are
+     * registered and not allocated yet.
+     *
+     * @param discreteTxStore transactional discrete resource store
+     * @param resources       resources to check
+     * @return true if the discrete resources are available
+     */
+    private boolean isAvailable(TransactionalDiscreteResourceSubStore discreteTxStore,
+                                List<? extends Resource> resources) {
+        return resources.stream()
+                .filter(x -> x instanceof DiscreteResource)
+                .map(x -> (DiscreteResource) x)
+                .allMatch(x -> discreteTxStore.lookup(x.id()).isPresent() && !discreteTxStore.isAllocated(x.id()));
+    }
+
+    /**
+     * Allocates the given resources to the given consumer within a transaction.
+     *
+     * @param discreteTxStore   transactional discrete resource store
+     * @param continuousTxStore transactional continuous resource store
+     * @param consumerId        ID of the consumer
+     * @param resources         resources to allocate
+     * @return true if all the resources were allocated, false otherwise
+     */
+    private boolean allocate(TransactionalDiscreteResourceSubStore discreteTxStore,
+                             TransactionalContinuousResourceSubStore continuousTxStore,
+                             ResourceConsumerId consumerId, List<? extends Resource> resources) {
+        for (Resource resource : resources) {
+            if (resource instanceof DiscreteResource) {
+                if (!discreteTxStore.allocate(consumerId, (DiscreteResource) resource)) {
+                    return false;
+                }
+            } else if (resource instanceof ContinuousResource) {
+                if (!continuousTxStore.allocate(consumerId, (ContinuousResource) resource)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     /**
      * Commits a transaction.
      *
@@ -308,9 +308,10 @@ public class DistributedTopologyStore
     public TopologyEvent updateTopology(ProviderId providerId,
                                         GraphDescription graphDescription,
                                         List<Event> reasons) {
-        // Have the default topology construct self from the description data.
+        // Have the default topology construct self from the description data,
+        // carrying over what it can from the current topology.
         DefaultTopology newTopology =
-                new DefaultTopology(providerId, graphDescription, this::isBroadcastPoint);
+                new DefaultTopology(providerId, graphDescription, this::isBroadcastPoint, current);
         updateBroadcastPoints(newTopology);
 
         // Promote the new topology to current and return a ready-to-send event.
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.device.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.device.DefaultPortStatistics;
+import org.onosproject.net.device.PortStatistics;
+import org.onosproject.net.device.PortStatisticsSeries;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.net.DeviceId.deviceId;
+import static org.onosproject.net.PortNumber.portNumber;
+
+/**
+ * Unit tests for PortStatisticsHistory.
+ */
+public class PortStatisticsHistoryTest {
+
+    private static final DeviceId DID1 = deviceId("of:foo");
+    private static final DeviceId DID2 = deviceId("of:bar");
+    private static final PortNumber P1 = portNumber(1);
+    private static final PortNumber P2 = portNumber(2);
+
+    private PortStatisticsHistory history;
+
+    @Before
+    public void setUp() {
+        // 100 slots of 10ms
+        history = new PortStatisticsHistory(1000, 10);
+    }
+
+    private static PortStatistics stats(DeviceId deviceId, PortNumber port, long count) {
+        return DefaultPortStatistics.builder()
+                .setDeviceId(deviceId)
+                .setPort(port)
+                .setPacketsReceived(count)
+                .setPacketsSent(2 * count)
+                .setBytesReceived(3 * count)
+                .setBytesSent(4 * count)
+                .setPacketsRxDropped(5 * count)
+                .setPacketsTxDropped(6 * count)
+                .setPacketsRxErrors(7 * count)
+                .setPacketsTxErrors(8 * count)
+                .build();
+    }
+
+    private void record(long time, long count) {
+        history.record(DID1, time, asList(stats(DID1, P1, count)));
+    }
+
+    @Test
+    public void testRecord() {
+        history.record(DID1, 5, asList(stats(DID1, P1, 1), stats(DID1, P2, 2)));
+        history.record(DID2, 5, asList(stats(DID2, P1, 3)));
+
+        PortStatisticsSeries series = history.series(DID1, P1, 0, 0);
+        assertEquals(1, series.size());
+        assertEquals(5, series.time(0));
+        assertEquals(1, series.packetsReceived(0));
+        assertEquals(2, series.packetsSent(0));
+        assertEquals(3, series.bytesReceived(0));
+        assertEquals(4, series.bytesSent(0));
+        assertEquals(5, series.packetsRxDropped(0));
+        assertEquals(6, series.packetsTxDropped(0));
+        assertEquals(7, series.packetsRxErrors(0));
+        assertEquals(8, series.packetsTxErrors(0));
+
+        assertEquals(2, history.series(DID1, P2, 0, 0).packetsReceived(0));
+        assertEquals(3, history.series(DID2, P1, 0, 0).packetsReceived(0));
+        assertTrue(history.series(DID2, P2, 0, 0).isEmpty());
+    }
+
+    @Test
+    public void testSameSlot() {
+        record(10, 1);
+        record(15, 2);
+        record(19, 3);
+        record(20, 4);
+
+        PortStatisticsSeries series = history.series(DID1, P1, 0, 0);
+        assertEquals(2, series.size());
+        assertEquals(19, series.time(0));
+        assertEquals(3, series.packetsReceived(0));
+        assertEquals(20, series.time(1));
+        assertEquals(4, series.packetsReceived(1));
+    }
+
+    @Test
+    public void testRetention() {
+        // Grows past the initial capacity, then overwrites the oldest samples
+        for (int i = 0; i < 250; i++) {
+            record(i * 10, i);
+        }
+
+        PortStatisticsSeries series = history.series(DID1, P1, 0, 0);
+        assertEquals(100, series.size());
+        for (int i = 0; i < series.size(); i++) {
+            assertEquals((150 + i) * 10, series.time(i));
+            assertEquals(150 + i, series.packetsReceived(i));
+        }
+    }
+
+    @Test
+    public void testSeries() {
+        for (int i = 0; i < 50; i++) {
+            record(i * 10, i);
+        }
+
+        PortStatisticsSeries series = history.series(DID1, P1, 400, 0);
+        assertEquals(10, series.size());
+        assertEquals(400, series.time(0));
+        assertEquals(490, series.time(9));
+
+        // Downsampled backwards from the latest sample
+        series = history.series(DID1, P1, 375, 30);
+        assertEquals(4, series.size());
+        assertEquals(400, series.time(0));
+        assertEquals(430, series.time(1));
+        assertEquals(460, series.time(2));
+        assertEquals(490, series.time(3));
+
+        series = history.series(DID1, P1, 0, 1000);
+        assertEquals(1, series.size());
+        assertEquals(490, series.time(0));
+
+        assertTrue(history.series(DID1, P1, 500, 0).isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        record(10, 1);
+        history.record(DID2, 10, asList(stats(DID2, P1, 2)));
+
+        history.remove(DID1);
+        assertTrue(history.series(DID1, P1, 0, 0).isEmpty());
+        assertEquals(1, history.series(DID2, P1, 0, 0).size());
+    }
+}
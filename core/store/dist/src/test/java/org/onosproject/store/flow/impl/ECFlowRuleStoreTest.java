@@ -38,6 +38,8 @@ import org.onosproject.net.flow.FlowRule;
 import org.onosproject.net.flow.oldbatch.FlowRuleBatchEntry;
 import org.onosproject.net.flow.DefaultFlowEntry;
 import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowEntry.FlowEntryState;
+import org.onosproject.net.flow.FlowRuleEvent;
 import org.onosproject.net.flow.DefaultFlowRule;
 import org.onosproject.net.flow.oldbatch.FlowRuleBatchOperation;
 import org.onosproject.net.intent.IntentTestsMocks;
@@ -51,6 +53,7 @@ import org.onosproject.store.service.TestStorageService;
 
 import org.onlab.packet.Ip4Address;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import org.osgi.service.component.ComponentContext;
 
@@ -274,6 +277,35 @@ public class ECFlowRuleStoreTest {
         assertThat(flowStoreImpl.getTableStatistics(deviceId), notNullValue());
     }
 
+    /**
+     * Tests that idle flow entries are refreshed in place while entries
+     * whose counters moved are updated.
+     */
+    @Test
+    public void testRefreshIdleFlow() {
+        flowStoreImpl.addOrUpdateFlowRule(new DefaultFlowEntry(flowRule));
+        FlowRuleEvent event = flowStoreImpl.addOrUpdateFlowRule(
+                new DefaultFlowEntry(flowRule, FlowEntryState.ADDED, 5, 10, 100));
+        assertThat(event.type(), is(FlowRuleEvent.Type.RULE_ADDED));
+
+        // Counters did not move: only the life of the entry is refreshed
+        event = flowStoreImpl.addOrUpdateFlowRule(
+                new DefaultFlowEntry(flowRule, FlowEntryState.ADDED, 10, 10, 100));
+        assertThat(event.type(), is(FlowRuleEvent.Type.RULE_UPDATED));
+        FlowEntry stored = flowStoreImpl.getFlowEntry(flowRule);
+        assertThat(stored.state(), is(FlowEntryState.ADDED));
+        assertThat(stored.life(TimeUnit.SECONDS), is(10L));
+        assertThat(stored.packets(), is(10L));
+
+        event = flowStoreImpl.addOrUpdateFlowRule(
+                new DefaultFlowEntry(flowRule, FlowEntryState.ADDED, 15, 20, 200));
+        assertThat(event.type(), is(FlowRuleEvent.Type.RULE_UPDATED));
+        stored = flowStoreImpl.getFlowEntry(flowRule);
+        assertThat(stored.life(TimeUnit.SECONDS), is(15L));
+        assertThat(stored.packets(), is(20L));
+        assertThat(stored.bytes(), is(200L));
+    }
+
     /**
      * Tests flow removal.
      */
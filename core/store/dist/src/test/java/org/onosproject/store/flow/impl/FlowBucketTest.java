@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.flow.impl;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.flow.DefaultFlowEntry;
+import org.onosproject.net.flow.DefaultFlowRule;
+import org.onosproject.net.flow.FlowEntry;
+import org.onosproject.net.flow.FlowRule;
+import org.onosproject.net.flow.StoredFlowEntry;
+import org.onosproject.net.intent.IntentTestsMocks;
+import org.onosproject.store.LogicalTimestamp;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.onosproject.net.NetTestTools.APP_ID;
+import static org.onosproject.net.NetTestTools.did;
+
+/**
+ * Unit tests for the flow bucket change log and deltas.
+ */
+public class FlowBucketTest {
+
+    private static final long TERM = 1;
+    private static final DeviceId DEVICE_ID = did("device1");
+    private static final BucketId BUCKET_ID = new BucketId(DEVICE_ID, 0, 1);
+    // Shared so that entries of the same priority are equal
+    private static final IntentTestsMocks.MockSelector SELECTOR = new IntentTestsMocks.MockSelector();
+    private static final IntentTestsMocks.MockTreatment TREATMENT = new IntentTestsMocks.MockTreatment();
+
+    private FlowBucket master;
+    private FlowBucket backup;
+    private LogicalClock clock;
+
+    @Before
+    public void setUp() {
+        master = new FlowBucket(BUCKET_ID);
+        backup = new FlowBucket(BUCKET_ID);
+        clock = new LogicalClock();
+    }
+
+    private static FlowEntry entry(int priority) {
+        FlowRule rule = DefaultFlowRule.builder()
+                .forDevice(DEVICE_ID)
+                .withSelector(SELECTOR)
+                .withTreatment(TREATMENT)
+                .withPriority(priority)
+                .makePermanent()
+                .fromApp(APP_ID)
+                .build();
+        return new DefaultFlowEntry(rule);
+    }
+
+    /**
+     * Tests that a delta carries only the entries changed after its base.
+     */
+    @Test
+    public void testDeltaSinceBase() {
+        master.add(entry(1), TERM, clock);
+        master.add(entry(2), TERM, clock);
+        LogicalTimestamp base = master.timestamp();
+        master.add(entry(3), TERM, clock);
+        master.remove(entry(1), TERM, clock);
+
+        FlowBucketDelta delta = master.getDelta(base);
+        assertNotNull(delta);
+        assertEquals(1, delta.updated().size());
+        assertEquals(1, delta.removed().size());
+        assertEquals(base, delta.base());
+        assertEquals(master.timestamp(), delta.timestamp());
+    }
+
+    /**
+     * Tests that digests and deltas carry the number of buckets of the table they belong to.
+     */
+    @Test
+    public void testBucketCountReplicated() {
+        LogicalTimestamp base = master.timestamp();
+        master.add(entry(1), TERM, clock);
+
+        assertEquals(BUCKET_ID.bucketCount(), master.getDigest().bucketCount());
+        assertEquals(BUCKET_ID.bucketCount(), master.getDelta(base).bucketId().bucketCount());
+    }
+
+    /**
+     * Tests that applying successive deltas yields the same bucket content as the master.
+     */
+    @Test
+    public void testApplyDelta() {
+        master.add(entry(1), TERM, clock);
+        master.add(entry(2), TERM, clock);
+        // A new backup is in an older term, so a full copy is needed first
+        assertFalse(backup.applyDelta(master.getDelta(new LogicalTimestamp(0))));
+
+        FlowBucket replica = master.copy();
+        LogicalTimestamp base = master.timestamp();
+        master.add(entry(3), TERM, clock);
+        master.remove(entry(2), TERM, clock);
+
+        assertTrue(replica.applyDelta(master.getDelta(base)));
+        assertEquals(master.count(), replica.count());
+        assertEquals(master.getDigest(), replica.getDigest());
+        assertNull(replica.getFlowEntries(entry(2).id()).get(entry(2)));
+
+        // Applying the same delta again is a no-op
+        assertTrue(replica.applyDelta(master.getDelta(base)));
+        assertEquals(master.count(), replica.count());
+    }
+
+    /**
+     * Tests that a delta is rejected by a replica that missed earlier changes.
+     */
+    @Test
+    public void testApplyDeltaWithGap() {
+        master.add(entry(1), TERM, clock);
+        FlowBucket replica = master.copy();
+        master.add(entry(2), TERM, clock);
+        LogicalTimestamp base = master.timestamp();
+        master.add(entry(3), TERM, clock);
+
+        assertFalse(replica.applyDelta(master.getDelta(base)));
+    }
+
+    /**
+     * Tests that no delta is available once the change log no longer covers the base.
+     */
+    @Test
+    public void testChangeLogHorizon() {
+        master.add(entry(0), TERM, clock);
+        LogicalTimestamp base = master.timestamp();
+        for (int i = 1; i <= 2048; i++) {
+            master.add(entry(i), TERM, clock);
+        }
+        assertFalse(master.hasChangesSince(base));
+        assertNull(master.getDelta(base));
+        assertTrue(master.hasChangesSince(master.timestamp()));
+    }
+
+    /**
+     * Tests that a refresh does not advance the bucket timestamp and is
+     * replicated along with the next update.
+     */
+    @Test
+    public void testRefresh() {
+        FlowEntry entry = entry(1);
+        master.add(entry, TERM, clock);
+        master.add(entry(2), TERM, clock);
+        FlowBucket replica = master.copy();
+        LogicalTimestamp base = master.timestamp();
+
+        assertNull(master.refresh(entry(3), stored -> true, TERM, clock, Long.MAX_VALUE));
+        assertNull(master.refresh(entry, stored -> null, TERM, clock, Long.MAX_VALUE));
+        assertTrue(master.refresh(entry, stored -> {
+            stored.setLife(10, TimeUnit.SECONDS);
+            return true;
+        }, TERM, clock, Long.MAX_VALUE));
+        assertSame(base, master.timestamp());
+
+        master.add(entry(3), TERM, clock);
+        FlowBucketDelta delta = master.getDelta(base);
+        assertEquals(2, delta.updated().size());
+        assertTrue(replica.applyDelta(delta));
+        StoredFlowEntry refreshed = replica.getFlowEntries(entry.id()).get(entry);
+        assertEquals(10, refreshed.life(TimeUnit.SECONDS));
+    }
+
+    /**
+     * Tests that a refresh advances the bucket timestamp once the bucket
+     * has not been updated for the given delay, or in a new term.
+     */
+    @Test
+    public void testRefreshDelay() {
+        FlowEntry entry = entry(1);
+        master.add(entry, TERM, clock);
+        LogicalTimestamp base = master.timestamp();
+
+        assertTrue(master.refresh(entry, stored -> true, TERM, clock, 0));
+        assertTrue(master.timestamp().isNewerThan(base));
+        assertEquals(1, master.getDelta(base).updated().size());
+
+        base = master.timestamp();
+        assertTrue(master.refresh(entry, stored -> true, TERM + 1, clock, Long.MAX_VALUE));
+        assertTrue(master.timestamp().isNewerThan(base));
+        assertEquals(TERM + 1, master.term());
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.onosproject.store.host.impl;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import org.junit.After;
 import org.junit.Before;
@@ -41,8 +42,12 @@ import org.onosproject.store.service.TestStorageService;
 import com.google.common.collect.Sets;
 import org.onosproject.store.service.Versioned;
 
+import java.util.AbstractCollection;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 import static junit.framework.TestCase.assertTrue;
@@ -420,6 +425,91 @@ public class DistributedHostStoreTest {
                 ecXHostStore.getConnectedHosts(HOST_LOC12, true));
     }
 
+    @Test
+    public void testIndexedLookups() {
+        ecXHostStore.createOrUpdateHost(PID, HOSTID, HOST_DESC_WITHOUT_AUX, false);
+        ecXHostStore.createOrUpdateHost(PID, HOSTID1, HOST_DESC_WITH_AUX, false);
+
+        assertEquals(ImmutableSet.of(HOST_WITHOUT_AUX), ecXHostStore.getHosts(HOSTID.mac()));
+        assertEquals(ImmutableSet.of(HOST_WITH_AUX), ecXHostStore.getHosts(HOSTID1.mac()));
+        assertEquals(ImmutableSet.of(HOST_WITHOUT_AUX, HOST_WITH_AUX), ecXHostStore.getHosts(VlanId.NONE));
+        assertEquals(ImmutableSet.of(), ecXHostStore.getHosts(VlanId.vlanId((short) 10)));
+        assertEquals(ImmutableSet.of(HOST_WITHOUT_AUX, HOST_WITH_AUX), ecXHostStore.getConnectedHosts(CP11));
+        assertEquals(ImmutableSet.of(), ecXHostStore.getConnectedHosts(CP12));
+        assertEquals(ImmutableSet.of(HOST_WITHOUT_AUX, HOST_WITH_AUX), ecXHostStore.getConnectedHosts(DEV1));
+
+        ecXHostStore.removeHost(HOSTID);
+
+        assertEquals(ImmutableSet.of(), ecXHostStore.getHosts(HOSTID.mac()));
+        assertEquals(ImmutableSet.of(HOST_WITH_AUX), ecXHostStore.getHosts(VlanId.NONE));
+        assertEquals(ImmutableSet.of(HOST_WITH_AUX), ecXHostStore.getConnectedHosts(CP11));
+        assertEquals(ImmutableSet.of(HOST_WITH_AUX), ecXHostStore.getConnectedHosts(DEV1));
+    }
+
+    @Test
+    public void testRemoteUpdateIndexes() {
+        ecXHostStore.hostLocationTracker.event(new MapEvent<>("event", HOSTID,
+                new Versioned<>(HOST1, 0), null));
+        assertEquals(ImmutableSet.of(HOST1), ecXHostStore.getConnectedHosts(CP11));
+        assertEquals(ImmutableSet.of(), ecXHostStore.getConnectedHosts(CP12));
+
+        // Host is updated with a second location
+        ecXHostStore.hostLocationTracker.event(new MapEvent<>("event", HOSTID,
+                new Versioned<>(HOST3, 1), new Versioned<>(HOST1, 0)));
+        assertEquals(ImmutableSet.of(HOST3), ecXHostStore.getConnectedHosts(CP11));
+        assertEquals(ImmutableSet.of(HOST3), ecXHostStore.getConnectedHosts(CP12));
+        assertEquals(ImmutableSet.of(HOST3), ecXHostStore.getHosts(HOSTID.mac()));
+
+        // Second location becomes an aux location
+        ecXHostStore.hostLocationTracker.event(new MapEvent<>("event", HOSTID,
+                new Versioned<>(HOST4, 2), new Versioned<>(HOST3, 1)));
+        assertEquals(ImmutableSet.of(HOST4), ecXHostStore.getConnectedHosts(CP11));
+        assertEquals(ImmutableSet.of(), ecXHostStore.getConnectedHosts(CP12));
+        assertEquals(ImmutableSet.of(HOST4), ecXHostStore.getConnectedHosts(CP12, true));
+        assertEquals(ImmutableSet.of(HOST4), ecXHostStore.getConnectedHosts(DEV1));
+
+        ecXHostStore.hostLocationTracker.event(new MapEvent<>("event", HOSTID,
+                null, new Versioned<>(HOST4, 2)));
+        assertEquals(ImmutableSet.of(), ecXHostStore.getConnectedHosts(CP11));
+        assertEquals(ImmutableSet.of(), ecXHostStore.getConnectedHosts(CP12, true));
+        assertEquals(ImmutableSet.of(), ecXHostStore.getConnectedHosts(DEV1));
+        assertEquals(ImmutableSet.of(), ecXHostStore.getHosts(HOSTID.mac()));
+        assertEquals(ImmutableSet.of(), ecXHostStore.getHosts(IP1));
+    }
+
+    @Test
+    public void testEventsDuringLoad() {
+        ecXHostStore.hostLocationTracker.event(new MapEvent<>("event", HOSTID,
+                new Versioned<>(HOST1, 0), null));
+
+        // Hosts read before an update of the host, received while they are indexed
+        List<DefaultHost> loaded = ImmutableList.of(HOST1);
+        Collection<DefaultHost> values = new AbstractCollection<DefaultHost>() {
+            @Override
+            public Iterator<DefaultHost> iterator() {
+                ecXHostStore.hostLocationTracker.event(new MapEvent<>("event", HOSTID,
+                        new Versioned<>(HOST3, 1), new Versioned<>(HOST1, 0)));
+                return loaded.iterator();
+            }
+
+            @Override
+            public int size() {
+                return loaded.size();
+            }
+        };
+        ecXHostStore.loadIndexes(values);
+
+        assertEquals(ImmutableSet.of(HOST3), ecXHostStore.getConnectedHosts(CP11));
+        assertEquals(ImmutableSet.of(HOST3), ecXHostStore.getConnectedHosts(CP12));
+        assertEquals(ImmutableSet.of(HOST3), ecXHostStore.getHosts(IP1));
+
+        // Events received after the load are applied to the new indexes
+        ecXHostStore.hostLocationTracker.event(new MapEvent<>("event", HOSTID,
+                null, new Versioned<>(HOST3, 1)));
+        assertEquals(ImmutableSet.of(), ecXHostStore.getConnectedHosts(CP11));
+        assertEquals(ImmutableSet.of(), ecXHostStore.getHosts(IP1));
+    }
+
     private class TestStoreDelegate implements HostStoreDelegate {
         public HostEvent lastEvent;
 
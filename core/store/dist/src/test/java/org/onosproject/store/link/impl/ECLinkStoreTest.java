@@ -15,7 +15,10 @@
  */
 package org.onosproject.store.link.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Iterables;
+import com.google.common.collect.Sets;
 
 import org.junit.After;
 import org.junit.AfterClass;
@@ -27,7 +30,11 @@ import org.onlab.packet.IpAddress;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.DefaultControllerNode;
 import org.onosproject.cluster.NodeId;
+import org.onosproject.core.ApplicationId;
+import org.onosproject.core.CoreServiceAdapter;
+import org.onosproject.core.DefaultApplicationId;
 import org.onosproject.mastership.MastershipServiceAdapter;
+import org.onosproject.net.AnnotationKeys;
 import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DefaultAnnotations;
 import org.onosproject.net.DeviceId;
@@ -36,6 +43,10 @@ import org.onosproject.net.Link.Type;
 import org.onosproject.net.LinkKey;
 import org.onosproject.net.PortNumber;
 import org.onosproject.net.SparseAnnotations;
+import org.onosproject.net.config.Config;
+import org.onosproject.net.config.NetworkConfigEvent;
+import org.onosproject.net.config.NetworkConfigListener;
+import org.onosproject.net.config.NetworkConfigRegistryAdapter;
 import org.onosproject.net.device.DeviceClockService;
 import org.onosproject.net.device.DeviceClockServiceAdapter;
 import org.onosproject.net.link.DefaultLinkDescription;
@@ -50,6 +61,7 @@ import org.onosproject.store.cluster.messaging.ClusterCommunicationService;
 import org.onosproject.store.cluster.messaging.ClusterMessageHandler;
 import org.onosproject.store.cluster.messaging.MessageSubject;
 import org.onosproject.store.impl.MastershipBasedTimestamp;
+import org.onosproject.store.service.TestStorageService;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -58,6 +70,8 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import static org.easymock.EasyMock.*;
 import static org.junit.Assert.*;
 import static org.onosproject.cluster.ControllerNode.State.ACTIVE;
@@ -73,17 +87,19 @@ import static org.onosproject.net.link.LinkEvent.Type.LINK_UPDATED;
 /**
  * Test of the GossipLinkStoreTest implementation.
  */
-@Ignore
 public class ECLinkStoreTest {
 
     private static final ProviderId PID = new ProviderId("of", "foo");
     private static final ProviderId PIDA = new ProviderId("of", "bar", true);
+    private static final ApplicationId APP_ID = new DefaultApplicationId(1, "org.onosproject.core");
     private static final DeviceId DID1 = deviceId("of:foo");
     private static final DeviceId DID2 = deviceId("of:bar");
 
     private static final PortNumber P1 = PortNumber.portNumber(1);
     private static final PortNumber P2 = PortNumber.portNumber(2);
     private static final PortNumber P3 = PortNumber.portNumber(3);
+    private static final Set<DeviceId> DEVICES = ImmutableSet.of(DID1, DID2);
+    private static final Set<PortNumber> PORTS = ImmutableSet.of(P1, P2, P3);
 
     private static final SparseAnnotations A1 = DefaultAnnotations.builder()
             .set("A1", "a1")
@@ -117,6 +133,7 @@ public class ECLinkStoreTest {
 
     private DeviceClockService deviceClockService;
     private ClusterCommunicationService clusterCommunicator;
+    private TestNetworkConfigRegistry netCfgService;
 
     @BeforeClass
     public static void setUpBeforeClass() throws Exception {
@@ -136,7 +153,12 @@ public class ECLinkStoreTest {
         expectLastCall().anyTimes();
         replay(clusterCommunicator);
 
+        netCfgService = new TestNetworkConfigRegistry();
+
         linkStoreImpl = new ECLinkStore();
+        linkStoreImpl.storageService = new TestStorageService();
+        linkStoreImpl.netCfgService = netCfgService;
+        linkStoreImpl.coreService = new CoreServiceAdapter();
         linkStoreImpl.deviceClockService = deviceClockService;
         linkStoreImpl.clusterCommunicator = clusterCommunicator;
         linkStoreImpl.clusterService = new TestClusterService();
@@ -147,7 +169,7 @@ public class ECLinkStoreTest {
 
         verify(clusterCommunicator);
         reset(clusterCommunicator);
-
+        replay(clusterCommunicator);
     }
 
     @After
@@ -186,6 +208,26 @@ public class ECLinkStoreTest {
                    type, link);
     }
 
+    // Checks that the lookups by device and connect point agree with the links
+    private void assertLookupsConsistent() {
+        Set<Link> links = ImmutableSet.copyOf(linkStore.getLinks());
+        for (DeviceId deviceId : DEVICES) {
+            assertEquals(filter(links, l -> l.src().deviceId().equals(deviceId)),
+                         linkStore.getDeviceEgressLinks(deviceId));
+            assertEquals(filter(links, l -> l.dst().deviceId().equals(deviceId)),
+                         linkStore.getDeviceIngressLinks(deviceId));
+            for (PortNumber port : PORTS) {
+                ConnectPoint cp = new ConnectPoint(deviceId, port);
+                assertEquals(filter(links, l -> l.src().equals(cp)), linkStore.getEgressLinks(cp));
+                assertEquals(filter(links, l -> l.dst().equals(cp)), linkStore.getIngressLinks(cp));
+            }
+        }
+    }
+
+    private static Set<Link> filter(Set<Link> links, Predicate<Link> predicate) {
+        return links.stream().filter(predicate).collect(Collectors.toSet());
+    }
+
     @Test
     public final void testGetLinkCount() {
         assertEquals("initialy empty", 0, linkStore.getLinkCount());
@@ -332,6 +374,7 @@ public class ECLinkStoreTest {
         assertLink(linkId2, DIRECT, links2.iterator().next());
     }
 
+    @Ignore("Events are delivered to the delegate by the link description listener")
     @Test
     public final void testCreateOrUpdateLink() {
         ConnectPoint src = new ConnectPoint(DID1, P1);
@@ -367,6 +410,7 @@ public class ECLinkStoreTest {
         // TODO check annotations
     }
 
+    @Ignore("Events are delivered to the delegate by the link description listener")
     @Test
     public final void testCreateOrUpdateLinkAncillary() {
         ConnectPoint src = new ConnectPoint(DID1, P1);
@@ -424,6 +468,7 @@ public class ECLinkStoreTest {
     }
 
 
+    @Ignore("Events are delivered to the delegate by the link description listener")
     @Test
     public final void testRemoveLink() {
         final ConnectPoint d1P1 = new ConnectPoint(DID1, P1);
@@ -467,6 +512,100 @@ public class ECLinkStoreTest {
         assertNotNull(linkStore.getLink(src, dst));
     }
 
+    @Test
+    public final void testLookupsOnAdd() {
+        LinkKey linkId1 = LinkKey.linkKey(new ConnectPoint(DID1, P1), new ConnectPoint(DID2, P2));
+        LinkKey linkId2 = LinkKey.linkKey(new ConnectPoint(DID2, P2), new ConnectPoint(DID1, P1));
+        LinkKey linkId3 = LinkKey.linkKey(new ConnectPoint(DID1, P2), new ConnectPoint(DID2, P3));
+
+        putLink(linkId1, INDIRECT);
+        assertLookupsConsistent();
+        putLink(linkId2, DIRECT);
+        putLink(linkId3, DIRECT);
+        assertLookupsConsistent();
+
+        // updated links are found with their new state
+        putLink(linkId1, DIRECT, A1);
+        assertLookupsConsistent();
+        Link link = linkStore.getEgressLinks(linkId1.src()).iterator().next();
+        assertLink(linkId1, DIRECT, link);
+        assertAnnotationsEquals(link.annotations(), A1);
+    }
+
+    @Test
+    public final void testLookupsOnRemove() {
+        final ConnectPoint d1P1 = new ConnectPoint(DID1, P1);
+        final ConnectPoint d2P2 = new ConnectPoint(DID2, P2);
+        LinkKey linkId1 = LinkKey.linkKey(d1P1, d2P2);
+        LinkKey linkId2 = LinkKey.linkKey(d2P2, d1P1);
+        LinkKey linkId3 = LinkKey.linkKey(new ConnectPoint(DID1, P2), new ConnectPoint(DID2, P3));
+
+        putLink(linkId1, DIRECT);
+        putLink(linkId2, DIRECT);
+        putLink(linkId3, DIRECT);
+
+        linkStore.removeLink(d1P1, d2P2);
+        assertNull(linkStore.getLink(d1P1, d2P2));
+        assertLookupsConsistent();
+        assertTrue(linkStore.getEgressLinks(d1P1).isEmpty());
+        assertEquals(1, linkStore.getDeviceEgressLinks(DID1).size());
+
+        linkStore.removeLink(linkId3.src(), linkId3.dst());
+        linkStore.removeLink(d2P2, d1P1);
+        assertLookupsConsistent();
+        assertTrue(linkStore.getDeviceEgressLinks(DID1).isEmpty());
+        assertTrue(linkStore.getDeviceIngressLinks(DID1).isEmpty());
+
+        // links added again are indexed again
+        putLink(linkId1, DIRECT);
+        assertLookupsConsistent();
+        assertEquals(1, linkStore.getDeviceEgressLinks(DID1).size());
+    }
+
+    @Test
+    public final void testLookupsOnPurge() {
+        final ConnectPoint d1P1 = new ConnectPoint(DID1, P1);
+        final ConnectPoint d2P2 = new ConnectPoint(DID2, P2);
+        LinkKey linkId1 = LinkKey.linkKey(d1P1, d2P2);
+        LinkKey linkId2 = LinkKey.linkKey(d2P2, d1P1);
+        SparseAnnotations durable = DefaultAnnotations.builder()
+                .set(AnnotationKeys.DURABLE, "true")
+                .build();
+
+        // the ancillary description goes along with the purged link
+        linkStore.createOrUpdateLink(PIDA, new DefaultLinkDescription(d1P1, d2P2, DIRECT, A1));
+        putLink(linkId1, DIRECT);
+        putLink(linkId2, DIRECT, durable);
+
+        linkStore.removeOrDownLink(d1P1, d2P2);
+        assertNull(linkStore.getLink(d1P1, d2P2));
+        assertLookupsConsistent();
+
+        // durable links are only brought down
+        LinkEvent event = linkStore.removeOrDownLink(d2P2, d1P1);
+        assertEquals(LINK_UPDATED, event.type());
+        assertLookupsConsistent();
+        assertEquals(Link.State.INACTIVE, linkStore.getEgressLinks(d2P2).iterator().next().state());
+    }
+
+    @Test
+    public final void testLookupsOnConfigClear() {
+        LinkKey linkId1 = LinkKey.linkKey(new ConnectPoint(DID1, P1), new ConnectPoint(DID2, P2));
+        LinkKey linkId2 = LinkKey.linkKey(new ConnectPoint(DID2, P2), new ConnectPoint(DID1, P1));
+
+        putLink(linkId1, DIRECT);
+        putLink(linkId2, DIRECT);
+
+        // switching to strict discovery clears the links
+        netCfgService.setLinkDiscoveryMode(ECLinkStore.LinkDiscoveryMode.STRICT);
+        assertEquals(0, linkStore.getLinkCount());
+        assertLookupsConsistent();
+        for (DeviceId deviceId : DEVICES) {
+            assertTrue(linkStore.getDeviceEgressLinks(deviceId).isEmpty());
+            assertTrue(linkStore.getDeviceIngressLinks(deviceId).isEmpty());
+        }
+    }
+
     // If Delegates should be called only on remote events,
     // then Simple* should never call them, thus not test required.
     @Ignore("Ignore until Delegate spec. is clear.")
@@ -544,6 +683,39 @@ public class ECLinkStoreTest {
         }
     }
 
+    private static final class TestNetworkConfigRegistry extends NetworkConfigRegistryAdapter {
+
+        private final Set<NetworkConfigListener> listeners = Sets.newHashSet();
+        private CoreConfig coreConfig;
+
+        void setLinkDiscoveryMode(ECLinkStore.LinkDiscoveryMode mode) {
+            ObjectMapper mapper = new ObjectMapper();
+            coreConfig = new CoreConfig();
+            coreConfig.init(APP_ID, "core",
+                            mapper.createObjectNode().put("linkDiscoveryMode", mode.name()),
+                            mapper, null);
+            NetworkConfigEvent event = new NetworkConfigEvent(NetworkConfigEvent.Type.CONFIG_ADDED,
+                                                              APP_ID, CoreConfig.class);
+            listeners.forEach(listener -> listener.event(event));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <S, C extends Config<S>> C getConfig(S subject, Class<C> configClass) {
+            return CoreConfig.class.equals(configClass) ? (C) coreConfig : null;
+        }
+
+        @Override
+        public void addListener(NetworkConfigListener listener) {
+            listeners.add(listener);
+        }
+
+        @Override
+        public void removeListener(NetworkConfigListener listener) {
+            listeners.remove(listener);
+        }
+    }
+
     private final class TestMastershipService extends MastershipServiceAdapter {
         @Override
         public NodeId getMasterFor(DeviceId deviceId) {
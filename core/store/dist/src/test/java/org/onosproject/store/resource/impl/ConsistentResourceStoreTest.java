@@ -0,0 +1,306 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.store.resource.impl;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.VlanId;
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.PortNumber;
+import org.onosproject.net.intent.IntentId;
+import org.onosproject.net.resource.DiscreteResource;
+import org.onosproject.net.resource.Resource;
+import org.onosproject.net.resource.ResourceConsumer;
+import org.onosproject.net.resource.Resources;
+import org.onosproject.store.primitives.TransactionId;
+import org.onosproject.store.service.AsyncConsistentMap;
+import org.onosproject.store.service.CommitStatus;
+import org.onosproject.store.service.ConsistentMap;
+import org.onosproject.store.service.ConsistentMapBuilder;
+import org.onosproject.store.service.Serializer;
+import org.onosproject.store.service.TestConsistentMap;
+import org.onosproject.store.service.TestStorageService;
+import org.onosproject.store.service.TransactionContext;
+import org.onosproject.store.service.TransactionContextBuilder;
+import org.onosproject.store.service.TransactionalMap;
+import org.onosproject.store.service.Versioned;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the bulk allocation of ConsistentResourceStore.
+ */
+public class ConsistentResourceStoreTest {
+
+    private static final DeviceId DID = DeviceId.deviceId("of:1");
+    private static final PortNumber PN = PortNumber.portNumber(1);
+    private static final DiscreteResource PORT = Resources.discrete(DID, PN).resource();
+    private static final DiscreteResource VLAN1 = vlan(1);
+    private static final DiscreteResource VLAN2 = vlan(2);
+    private static final DiscreteResource VLAN3 = vlan(3);
+    private static final DiscreteResource VLAN4 = vlan(4);
+    private static final DiscreteResource VLAN5 = vlan(5);
+
+    private static final ResourceConsumer C1 = IntentId.valueOf(1);
+    private static final ResourceConsumer C2 = IntentId.valueOf(2);
+    private static final ResourceConsumer C3 = IntentId.valueOf(3);
+    private static final ResourceConsumer C4 = IntentId.valueOf(4);
+    private static final ResourceConsumer C5 = IntentId.valueOf(5);
+    private static final ResourceConsumer C6 = IntentId.valueOf(6);
+
+    private TransactionalStorageService storageService;
+    private ConsistentResourceStore store;
+
+    private static DiscreteResource vlan(int id) {
+        return Resources.discrete(DID, PN, VlanId.vlanId((short) id)).resource();
+    }
+
+    @Before
+    public void setUp() {
+        storageService = new TransactionalStorageService();
+        store = new ConsistentResourceStore();
+        store.service = storageService;
+        store.activate();
+
+        assertTrue(store.register(ImmutableList.of(Resources.discrete(DID).resource(), PORT,
+                                                   VLAN1, VLAN2, VLAN3, VLAN4)));
+        assertTrue(store.allocate(ImmutableList.of(VLAN1), C1));
+        storageService.commits = 0;
+        storageService.aborts = 0;
+    }
+
+    @Test
+    public void testBulkAllocate() {
+        Map<ResourceConsumer, List<Resource>> requests = ImmutableMap.of(
+                C2, ImmutableList.of(VLAN2),
+                C3, ImmutableList.of(VLAN3));
+
+        assertEquals(ImmutableSet.of(C2, C3), store.allocate(requests));
+        assertEquals(1, storageService.commits);
+        assertEquals(ImmutableList.of(VLAN2), ImmutableList.copyOf(store.getResources(C2)));
+        assertEquals(ImmutableList.of(VLAN3), ImmutableList.copyOf(store.getResources(C3)));
+    }
+
+    @Test
+    public void testBulkAllocatePartialConflict() {
+        Map<ResourceConsumer, List<Resource>> requests = new LinkedHashMap<>();
+        // Allocated to another consumer
+        requests.put(C2, ImmutableList.of(VLAN2, VLAN1));
+        // Allocated
+        requests.put(C3, ImmutableList.of(VLAN2));
+        // Allocated to a previous consumer of the same request
+        requests.put(C4, ImmutableList.of(VLAN3, VLAN2));
+        // Not registered
+        requests.put(C5, ImmutableList.of(VLAN5));
+        // Fails halfway, after its first resource is written
+        requests.put(C6, ImmutableList.of(VLAN4, VLAN4));
+
+        assertEquals(ImmutableSet.of(C3), store.allocate(requests));
+        assertEquals(1, storageService.commits);
+        assertEquals(1, storageService.aborts);
+
+        assertEquals(ImmutableList.of(VLAN2), ImmutableList.copyOf(store.getResources(C3)));
+        assertTrue(store.getResources(C2).isEmpty());
+        assertTrue(store.getResources(C4).isEmpty());
+        assertTrue(store.getResources(C6).isEmpty());
+        assertEquals(ImmutableList.of(VLAN1), ImmutableList.copyOf(store.getResources(C1)));
+        assertTrue(store.isAvailable(VLAN3));
+        assertTrue(store.isAvailable(VLAN4));
+    }
+
+    @Test
+    public void testBulkAllocateNothing() {
+        Map<ResourceConsumer, List<Resource>> requests = ImmutableMap.of(
+                C2, ImmutableList.of(VLAN1));
+
+        assertTrue(store.allocate(requests).isEmpty());
+        assertEquals(0, storageService.commits);
+        assertFalse(store.isAvailable(VLAN1));
+    }
+
+    /**
+     * Storage service whose transactions are applied to its consistent maps,
+     * shared by name.
+     */
+    private static final class TransactionalStorageService extends TestStorageService {
+        private final Map<String, ConsistentMap<?, ?>> maps = new HashMap<>();
+        private int commits;
+        private int aborts;
+
+        @Override
+        public <K, V> ConsistentMapBuilder<K, V> consistentMapBuilder() {
+            return new ConsistentMapBuilder<K, V>() {
+                @SuppressWarnings("unchecked")
+                @Override
+                public ConsistentMap<K, V> build() {
+                    return (ConsistentMap<K, V>) maps.computeIfAbsent(
+                            name(), name -> new TestConsistentMap.Builder<K, V>()
+                                    .withName(name).withSerializer(serializer()).build());
+                }
+
+                @Override
+                public AsyncConsistentMap<K, V> buildAsyncMap() {
+                    return null;
+                }
+            };
+        }
+
+        @Override
+        public TransactionContextBuilder transactionContextBuilder() {
+            return new TransactionContextBuilder() {
+                @Override
+                public TransactionContext build() {
+                    return new TestTransactionContext();
+                }
+            };
+        }
+
+        private final class TestTransactionContext implements TransactionContext {
+            private final Map<String, TestTransactionalMap<?, ?>> txMaps = new HashMap<>();
+            private boolean open;
+
+            @Override
+            public String name() {
+                return "test-transaction";
+            }
+
+            @Override
+            public TransactionId transactionId() {
+                return TransactionId.from("test-transaction");
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open;
+            }
+
+            @Override
+            public void begin() {
+                open = true;
+            }
+
+            @Override
+            public CompletableFuture<CommitStatus> commit() {
+                txMaps.values().forEach(TestTransactionalMap::commit);
+                open = false;
+                commits++;
+                return CompletableFuture.completedFuture(CommitStatus.SUCCESS);
+            }
+
+            @Override
+            public void abort() {
+                open = false;
+                aborts++;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public <K, V> TransactionalMap<K, V> getTransactionalMap(String mapName, Serializer serializer) {
+                return (TransactionalMap<K, V>) txMaps.computeIfAbsent(mapName, name -> new TestTransactionalMap<>(
+                        (ConsistentMap<K, V>) maps.get(name)));
+            }
+        }
+    }
+
+    /**
+     * Transactional map buffering its writes until the commit.
+     */
+    private static final class TestTransactionalMap<K, V> implements TransactionalMap<K, V> {
+        private final ConsistentMap<K, V> map;
+        // Written values; an empty value stands for a removal
+        private final Map<K, Optional<V>> writes = new HashMap<>();
+
+        private TestTransactionalMap(ConsistentMap<K, V> map) {
+            this.map = map;
+        }
+
+        private void commit() {
+            writes.forEach((key, value) -> {
+                if (value.isPresent()) {
+                    map.put(key, value.get());
+                } else {
+                    map.remove(key);
+                }
+            });
+        }
+
+        @Override
+        public V get(K key) {
+            Optional<V> written = writes.get(key);
+            return written != null ? written.orElse(null) : Versioned.valueOrNull(map.get(key));
+        }
+
+        @Override
+        public boolean containsKey(K key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public V put(K key, V value) {
+            V previous = get(key);
+            writes.put(key, Optional.of(value));
+            return previous;
+        }
+
+        @Override
+        public V remove(K key) {
+            V previous = get(key);
+            writes.put(key, Optional.empty());
+            return previous;
+        }
+
+        @Override
+        public V putIfAbsent(K key, V value) {
+            V previous = get(key);
+            if (previous == null) {
+                writes.put(key, Optional.of(value));
+            }
+            return previous;
+        }
+
+        @Override
+        public boolean remove(K key, V value) {
+            if (!Objects.equals(get(key), value)) {
+                return false;
+            }
+            writes.put(key, Optional.empty());
+            return true;
+        }
+
+        @Override
+        public boolean replace(K key, V oldValue, V newValue) {
+            if (!Objects.equals(get(key), oldValue)) {
+                return false;
+            }
+            writes.put(key, Optional.of(newValue));
+            return true;
+        }
+    }
+}
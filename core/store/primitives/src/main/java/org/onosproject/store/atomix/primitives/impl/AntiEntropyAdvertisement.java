@@ -16,9 +16,11 @@
 package org.onosproject.store.atomix.primitives.impl;
 
 import java.util.Map;
+import java.util.Set;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.onosproject.cluster.NodeId;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -30,17 +32,38 @@ public class AntiEntropyAdvertisement<K> {
 
     private final NodeId sender;
     private final Map<K, MapValue.Digest> digest;
+    private final int bucketCount;
+    private final Set<Integer> buckets;
 
     /**
-     * Creates a new anti entropy advertisement message.
+     * Creates a new anti entropy advertisement message for all map entries.
      *
      * @param sender the sender's node ID
      * @param digest for map entries
      */
     public AntiEntropyAdvertisement(NodeId sender,
                                     Map<K, MapValue.Digest> digest) {
+        this(sender, digest, 0, ImmutableSet.of());
+    }
+
+    /**
+     * Creates a new anti entropy advertisement message for the map entries
+     * of the given buckets.
+     *
+     * @param sender      the sender's node ID
+     * @param digest      for map entries of the buckets
+     * @param bucketCount number of buckets the map entries are hashed into;
+     *                    0 if the advertisement covers all map entries
+     * @param buckets     advertised buckets
+     */
+    public AntiEntropyAdvertisement(NodeId sender,
+                                    Map<K, MapValue.Digest> digest,
+                                    int bucketCount,
+                                    Set<Integer> buckets) {
         this.sender = checkNotNull(sender);
         this.digest = ImmutableMap.copyOf(checkNotNull(digest));
+        this.bucketCount = bucketCount;
+        this.buckets = ImmutableSet.copyOf(checkNotNull(buckets));
     }
 
     /**
@@ -61,11 +84,30 @@ public class AntiEntropyAdvertisement<K> {
         return digest;
     }
 
+    /**
+     * Returns the number of buckets the map entries are hashed into.
+     *
+     * @return number of buckets; 0 if the advertisement covers all map entries
+     */
+    public int bucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Returns the buckets covered by the advertisement.
+     *
+     * @return advertised buckets; empty if the advertisement covers all map entries
+     */
+    public Set<Integer> buckets() {
+        return buckets;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(getClass())
                 .add("sender", sender)
                 .add("totalEntries", digest.size())
+                .add("buckets", buckets.size())
                 .toString();
     }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.atomix.primitives.impl;
+
+import com.google.common.base.MoreObjects;
+import org.onosproject.cluster.NodeId;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Anti-entropy summary message, carrying one hash per bucket of map entries.
+ * <p>
+ * Peers answer a summary with the buckets whose hash differs from theirs,
+ * which the sender then advertises the entry digests of.
+ * </p>
+ */
+public class AntiEntropySummary {
+
+    private final NodeId sender;
+    private final long[] bucketHashes;
+
+    /**
+     * Creates a new anti entropy summary message.
+     *
+     * @param sender       the sender's node ID
+     * @param bucketHashes hash of the entries of each bucket
+     */
+    public AntiEntropySummary(NodeId sender, long[] bucketHashes) {
+        this.sender = checkNotNull(sender);
+        this.bucketHashes = checkNotNull(bucketHashes);
+    }
+
+    /**
+     * Returns the sender's node ID.
+     *
+     * @return the sender's node ID
+     */
+    public NodeId sender() {
+        return sender;
+    }
+
+    /**
+     * Returns the number of buckets the map entries are hashed into.
+     *
+     * @return number of buckets
+     */
+    public int bucketCount() {
+        return bucketHashes.length;
+    }
+
+    /**
+     * Returns the hash of the entries of the given bucket.
+     *
+     * @param bucket bucket index
+     * @return bucket hash
+     */
+    public long bucketHash(int bucket) {
+        return bucketHashes[bucket];
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(getClass())
+                .add("sender", sender)
+                .add("buckets", bucketHashes.length)
+                .toString();
+    }
+}
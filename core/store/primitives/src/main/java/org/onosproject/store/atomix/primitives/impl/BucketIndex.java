@@ -0,0 +1,202 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.atomix.primitives.impl;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Output;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import org.onlab.util.KryoNamespace;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Anti-entropy bucket index of the entries of an eventually consistent map.
+ * <p>
+ * Entries are assigned to buckets and hashed based on their serialized key
+ * and digest, which unlike their hash codes are the same on all nodes. The
+ * hash of a bucket is the sum of the hashes of its entries, and so does not
+ * depend on the order of updates. The index caches the bucket and hash of
+ * each key and keeps the bucket hashes up to date as entries change, so that
+ * neither has to be computed from the whole map on each anti-entropy round.
+ * </p>
+ *
+ * @param <K> key type
+ */
+final class BucketIndex<K> {
+
+    private static final HashFunction ENTRY_HASH = Hashing.murmur3_128();
+    private static final int HASH_BUFFER_SIZE = 256;
+
+    private final KryoNamespace namespace;
+    private final int bucketCount;
+    private final AtomicLongArray hashes;
+    private final Set<K>[] keys;
+    private final Map<K, EntryHash> entries = Maps.newConcurrentMap();
+
+    /**
+     * Creates a new bucket index.
+     *
+     * @param namespace   namespace to serialize the keys and digests with
+     * @param bucketCount number of buckets
+     */
+    @SuppressWarnings("unchecked")
+    BucketIndex(KryoNamespace namespace, int bucketCount) {
+        checkArgument(bucketCount > 0, "bucket count must be positive");
+        this.namespace = checkNotNull(namespace);
+        this.bucketCount = bucketCount;
+        this.hashes = new AtomicLongArray(bucketCount);
+        this.keys = new Set[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            keys[i] = Sets.newConcurrentHashSet();
+        }
+    }
+
+    /**
+     * Returns the number of buckets.
+     *
+     * @return number of buckets
+     */
+    int bucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * Records the new digest of an entry.
+     * <p>
+     * Updates of the same key must not run concurrently, which holds when
+     * they are made from within the compute function of the map.
+     * </p>
+     *
+     * @param key    entry key
+     * @param digest new digest of the entry; null if the entry was removed
+     */
+    void update(K key, MapValue.Digest digest) {
+        EntryHash previous = digest == null ? entries.remove(key) : entries.get(key);
+        long previousHash = previous != null ? previous.hash : 0;
+        if (digest == null) {
+            if (previous != null) {
+                keys[previous.bucket].remove(key);
+                hashes.addAndGet(previous.bucket, -previousHash);
+            }
+            return;
+        }
+        EntryHash current = namespace.run(kryo -> {
+            Output output = newOutput();
+            HashCode keyHash = previous != null ? previous.keyHash : hash(kryo, output, key);
+            return new EntryHash(keyHash, bucket(keyHash, bucketCount), hash(kryo, output, digest));
+        });
+        entries.put(key, current);
+        if (previous == null) {
+            keys[current.bucket].add(key);
+        }
+        hashes.addAndGet(current.bucket, current.hash - previousHash);
+    }
+
+    /**
+     * Returns the hash of the entries of each bucket.
+     *
+     * @return hash of each bucket
+     */
+    long[] hashes() {
+        long[] snapshot = new long[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            snapshot[i] = hashes.get(i);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Returns the keys of the entries of the given buckets.
+     *
+     * @param buckets buckets to return the keys of
+     * @return keys of the entries of the buckets
+     */
+    Set<K> keys(Set<Integer> buckets) {
+        ImmutableSet.Builder<K> builder = ImmutableSet.builder();
+        buckets.stream()
+                .filter(bucket -> bucket >= 0 && bucket < bucketCount)
+                .forEach(bucket -> builder.addAll(keys[bucket]));
+        return builder.build();
+    }
+
+    /**
+     * Returns the hash of the serialized form of an object.
+     *
+     * @param kryo   kryo instance to serialize the object with
+     * @param output output buffer to serialize the object into
+     * @param object object to hash
+     * @return hash of the object
+     */
+    static HashCode hash(Kryo kryo, Output output, Object object) {
+        output.clear();
+        kryo.writeClassAndObject(output, object);
+        return ENTRY_HASH.hashBytes(output.getBuffer(), 0, output.position());
+    }
+
+    /**
+     * Returns the bucket of the key with the given hash.
+     *
+     * @param keyHash     hash of the key
+     * @param bucketCount number of buckets
+     * @return bucket of the key
+     */
+    static int bucket(HashCode keyHash, int bucketCount) {
+        return Math.floorMod(keyHash.asInt(), bucketCount);
+    }
+
+    /**
+     * Returns the hash of an entry, given the hashes of its key and digest.
+     *
+     * @param keyHash    hash of the key
+     * @param digestHash hash of the digest
+     * @return hash of the entry
+     */
+    static long entryHash(HashCode keyHash, HashCode digestHash) {
+        return Hashing.combineOrdered(ImmutableList.of(keyHash, digestHash)).asLong();
+    }
+
+    /**
+     * Returns a new output buffer to serialize keys and digests into.
+     *
+     * @return output buffer
+     */
+    static Output newOutput() {
+        return new Output(HASH_BUFFER_SIZE, -1);
+    }
+
+    private static final class EntryHash {
+        private final HashCode keyHash;
+        private final int bucket;
+        private final long hash;
+
+        private EntryHash(HashCode keyHash, int bucket, HashCode digestHash) {
+            this.keyHash = keyHash;
+            this.bucket = bucket;
+            this.hash = entryHash(keyHash, digestHash);
+        }
+    }
+}
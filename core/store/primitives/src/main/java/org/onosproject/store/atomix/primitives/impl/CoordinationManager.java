@@ -17,6 +17,7 @@ package org.onosproject.store.atomix.primitives.impl;
 
 import io.atomix.core.Atomix;
 import io.atomix.primitive.partition.PartitionGroup;
+import org.onlab.metrics.MetricsService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.NodeId;
@@ -76,6 +77,9 @@ public class CoordinationManager implements CoordinationService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected PersistenceService persistenceService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected AtomixManager atomixManager;
 
@@ -116,6 +120,7 @@ public class CoordinationManager implements CoordinationService {
             localNodeId,
             clusterCommunicator,
             persistenceService,
+            metricsService,
             peersSupplier,
             bootstrapPeersSupplier
         );
@@ -23,6 +23,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.KryoNamespace;
 import org.onosproject.cluster.NodeId;
 import org.onosproject.persistence.PersistenceService;
@@ -39,6 +40,8 @@ import static com.google.common.base.Preconditions.checkNotNull;
  */
 public class EventuallyConsistentMapBuilderImpl<K, V>
         implements EventuallyConsistentMapBuilder<K, V> {
+    private static final int DEFAULT_ANTI_ENTROPY_BUCKETS = 256;
+
     private final ClusterCommunicationService clusterCommunicator;
 
     private NodeId localNodeId;
@@ -54,9 +57,13 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
     private long antiEntropyPeriod = 5;
     private TimeUnit antiEntropyTimeUnit = TimeUnit.SECONDS;
     private boolean convergeFaster = false;
+    private int antiEntropyBuckets = DEFAULT_ANTI_ENTROPY_BUCKETS;
+    private boolean offHeap = false;
+    private int offHeapCacheSize;
     private boolean persistent = false;
     private boolean persistentMap = false;
     private final PersistenceService persistenceService;
+    private final MetricsService metricsService;
     private Supplier<List<NodeId>> peersSupplier;
     private Supplier<List<NodeId>> bootstrapPeersSupplier;
 
@@ -74,9 +81,31 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
             PersistenceService persistenceService,
             Supplier<List<NodeId>> peersSupplier,
             Supplier<List<NodeId>> bootstrapPeersSupplier
+    ) {
+        this(localNodeId, clusterCommunicator, persistenceService, null,
+             peersSupplier, bootstrapPeersSupplier);
+    }
+
+    /**
+     * Creates a new eventually consistent map builder.
+     * @param localNodeId               local node id
+     * @param clusterCommunicator       cluster communication service
+     * @param persistenceService        persistence service
+     * @param metricsService            metrics service; null to not collect metrics
+     * @param peersSupplier             supplier for peers
+     * @param bootstrapPeersSupplier    supplier for peers for bootstrap
+     */
+    public EventuallyConsistentMapBuilderImpl(
+            NodeId localNodeId,
+            ClusterCommunicationService clusterCommunicator,
+            PersistenceService persistenceService,
+            MetricsService metricsService,
+            Supplier<List<NodeId>> peersSupplier,
+            Supplier<List<NodeId>> bootstrapPeersSupplier
     ) {
         this.localNodeId = localNodeId;
         this.persistenceService = persistenceService;
+        this.metricsService = metricsService;
         this.clusterCommunicator = checkNotNull(clusterCommunicator);
         this.peersSupplier = peersSupplier;
         this.bootstrapPeersSupplier = bootstrapPeersSupplier;
@@ -154,6 +183,21 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
         return this;
     }
 
+    @Override
+    public EventuallyConsistentMapBuilder<K, V> withAntiEntropyBuckets(int buckets) {
+        checkArgument(buckets >= 0, "anti-entropy buckets must not be negative");
+        antiEntropyBuckets = buckets;
+        return this;
+    }
+
+    @Override
+    public EventuallyConsistentMapBuilder<K, V> withOffHeapValues(int cacheSize) {
+        checkArgument(cacheSize >= 0, "cache size must not be negative");
+        offHeap = true;
+        offHeapCacheSize = cacheSize;
+        return this;
+    }
+
     @Override
     public EventuallyConsistentMapBuilder<K, V> withPersistence() {
         checkNotNull(this.persistenceService);
@@ -170,6 +214,7 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
         }
         checkNotNull(serializer, "serializer is a mandatory parameter");
         checkNotNull(localNodeId, "local node id cannot be null");
+        checkArgument(!(offHeap && persistent), "off-heap maps cannot be persistent");
 
         return new EventuallyConsistentMapImpl<>(
                 localNodeId,
@@ -185,8 +230,12 @@ public class EventuallyConsistentMapBuilderImpl<K, V>
                 antiEntropyPeriod,
                 antiEntropyTimeUnit,
                 convergeFaster,
+                antiEntropyBuckets,
+                offHeap,
+                offHeapCacheSize,
                 persistent,
                 persistenceService,
+                metricsService,
                 peersSupplier,
                 bootstrapPeersSupplier
         );
@@ -34,20 +34,30 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.esotericsoftware.kryo.io.Output;
 import com.google.common.collect.Collections2;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.hash.HashCode;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.commons.lang3.tuple.Pair;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.AbstractAccumulator;
 import org.onlab.util.KryoNamespace;
 import org.onlab.util.SlidingWindowCounter;
@@ -89,9 +99,15 @@ public class EventuallyConsistentMapImpl<K, V>
     private static final int WINDOW_SIZE = 5;
     private static final int HIGH_LOAD_THRESHOLD = 2;
     private static final int LOAD_WINDOW = 2;
+    private static final String METRICS_COMPONENT = "EventuallyConsistentMap";
+    private static final String ANTI_ENTROPY_BYTES = "antiEntropyBytes";
+    private static final String ANTI_ENTROPY_DIFFERING_BUCKETS = "antiEntropyDifferingBuckets";
+    private static final String OFF_HEAP_BYTES = "offHeapBytes";
 
     private final Map<K, MapValue<V>> items;
+    private final BucketIndex<K> bucketIndex;
     private final ClusterCommunicationService clusterCommunicator;
+    private final KryoNamespace namespace;
     private final Serializer serializer;
     private final PersistenceService persistenceService;
     private final BiFunction<K, V, Timestamp> timestampProvider;
@@ -99,6 +115,7 @@ public class EventuallyConsistentMapImpl<K, V>
     private final MessageSubject initializeMessageSubject;
     private final MessageSubject updateMessageSubject;
     private final MessageSubject antiEntropyAdvertisementSubject;
+    private final MessageSubject antiEntropySummarySubject;
     private final MessageSubject updateRequestSubject;
     private final Set<EventuallyConsistentMapListener<K, V>> listeners
             = Sets.newCopyOnWriteArraySet();
@@ -112,6 +129,7 @@ public class EventuallyConsistentMapImpl<K, V>
     private final String destroyedMessage;
     private final long initialDelaySec = 5;
     private final boolean lightweightAntiEntropy;
+    private final int antiEntropyBuckets;
     private final boolean tombstonesDisabled;
     private final boolean persistent;
     private final Supplier<List<NodeId>> peersSupplier;
@@ -120,6 +138,11 @@ public class EventuallyConsistentMapImpl<K, V>
     private long previousTombstonePurgeTime;
     private volatile boolean destroyed = false;
     private SlidingWindowCounter counter = new SlidingWindowCounter(WINDOW_SIZE);
+    private final MetricsService metricsService;
+    private MetricsComponent metricsComponent;
+    private MetricsFeature metricsFeature;
+    private Histogram antiEntropyBytes;
+    private Histogram antiEntropyDifferingBuckets;
 
     /**
      * Creates a new eventually consistent map shared amongst multiple instances.
@@ -142,8 +165,13 @@ public class EventuallyConsistentMapImpl<K, V>
      * @param antiEntropyPeriod      period that the anti-entropy task should run
      * @param antiEntropyTimeUnit    time unit for anti-entropy period
      * @param convergeFaster         make anti-entropy try to converge faster
+     * @param antiEntropyBuckets     number of buckets entries are hashed into for
+     *                               anti-entropy; 0 to advertise all entries
+     * @param offHeap                keep values serialized off the Java heap
+     * @param offHeapCacheSize       number of off-heap values to cache decoded
      * @param persistent             persist data to disk
      * @param persistenceService     persistence service
+     * @param metricsService         metrics service; null to not collect metrics
      * @param peersSupplier          supplier for peers
      * @param bootstrapPeersSupplier supplier for bootstrap peers
      */
@@ -162,15 +190,20 @@ public class EventuallyConsistentMapImpl<K, V>
             long antiEntropyPeriod,
             TimeUnit antiEntropyTimeUnit,
             boolean convergeFaster,
+            int antiEntropyBuckets,
+            boolean offHeap,
+            int offHeapCacheSize,
             boolean persistent,
             PersistenceService persistenceService,
+            MetricsService metricsService,
             Supplier<List<NodeId>> peersSupplier,
             Supplier<List<NodeId>> bootstrapPeersSupplier
     ) {
         //CHECKSTYLE:ON
         this.localNodeId = localNodeId;
         this.mapName = mapName;
-        this.serializer = createSerializer(ns);
+        this.namespace = createNamespace(ns);
+        this.serializer = Serializer.using(namespace);
         this.persistenceService = persistenceService;
         this.persistent =
                 persistent;
@@ -179,9 +212,18 @@ public class EventuallyConsistentMapImpl<K, V>
                     .withName(mapName)
                     .withSerializer(this.serializer)
                     .build();
+        } else if (offHeap) {
+            items = new OffHeapMap<>(this.serializer, offHeapCacheSize);
         } else {
             items = Maps.newConcurrentMap();
         }
+        if (antiEntropyBuckets > 0) {
+            bucketIndex = new BucketIndex<>(namespace, antiEntropyBuckets);
+            // Persistent maps may already hold entries
+            items.forEach(this::updateBucketIndex);
+        } else {
+            bucketIndex = null;
+        }
         senderPending = Maps.newConcurrentMap();
         destroyedMessage = mapName + ERROR_DESTROYED;
 
@@ -273,6 +315,15 @@ public class EventuallyConsistentMapImpl<K, V>
                 this.backgroundExecutor
         );
 
+        antiEntropySummarySubject = new MessageSubject("ecm-" + mapName + "-anti-entropy-summary");
+        clusterCommunicator.addSubscriber(
+                antiEntropySummarySubject,
+                serializer::decode,
+                this::handleAntiEntropySummary,
+                serializer::encode,
+                this.backgroundExecutor
+        );
+
         updateRequestSubject = new MessageSubject("ecm-" + mapName + "-update-request");
         clusterCommunicator.addSubscriber(
                 updateRequestSubject,
@@ -293,13 +344,33 @@ public class EventuallyConsistentMapImpl<K, V>
 
         this.tombstonesDisabled = tombstonesDisabled;
         this.lightweightAntiEntropy = !convergeFaster;
+        this.antiEntropyBuckets = antiEntropyBuckets;
+
+        this.metricsService = metricsService;
+        if (metricsService != null) {
+            metricsComponent = metricsService.registerComponent(METRICS_COMPONENT);
+            metricsFeature = metricsComponent.registerFeature(mapName);
+            antiEntropyBytes = metricsService.createHistogram(
+                    metricsComponent, metricsFeature, ANTI_ENTROPY_BYTES);
+            antiEntropyDifferingBuckets = metricsService.createHistogram(
+                    metricsComponent, metricsFeature, ANTI_ENTROPY_DIFFERING_BUCKETS);
+            if (items instanceof OffHeapMap) {
+                OffHeapMap<K, MapValue<V>> offHeapItems = (OffHeapMap<K, MapValue<V>>) items;
+                try {
+                    metricsService.registerMetric(metricsComponent, metricsFeature, OFF_HEAP_BYTES,
+                            (Gauge<Long>) offHeapItems::allocatedBytes);
+                } catch (IllegalArgumentException e) {
+                    log.debug("Metric {} of {} is already registered", OFF_HEAP_BYTES, mapName);
+                }
+            }
+        }
 
         // Initiate first round of Gossip
         this.bootstrap();
     }
 
-    private Serializer createSerializer(KryoNamespace ns) {
-        return Serializer.using(KryoNamespace.newBuilder()
+    private KryoNamespace createNamespace(KryoNamespace ns) {
+        return KryoNamespace.newBuilder()
                 .register(ns)
                 // not so robust way to avoid collision with other
                 // user supplied registrations
@@ -313,7 +384,8 @@ public class EventuallyConsistentMapImpl<K, V>
                 .register(MapValue.class)
                 .register(MapValue.Digest.class)
                 .register(UpdateRequest.class)
-                .build(name() + "-ecmap"));
+                .register(AntiEntropySummary.class)
+                .build(name() + "-ecmap");
     }
 
     @Override
@@ -429,6 +501,7 @@ public class EventuallyConsistentMapImpl<K, V>
             }
             if (updated.get()) {
                 previousValue.set(existing);
+                updateBucketIndex(k, tombstone.orElse(null));
                 return tombstone.orElse(null);
             } else {
                 return existing;
@@ -457,7 +530,9 @@ public class EventuallyConsistentMapImpl<K, V>
                 updated.set(true);
                 // We return a copy to ensure updates to peers can be serialized.
                 // This prevents replica divergence due to serialization failures.
-                return serializer.copy(newValue);
+                MapValue<V> copy = serializer.copy(newValue);
+                updateBucketIndex(k, copy);
+                return copy;
             } else {
                 return mv;
             }
@@ -528,6 +603,7 @@ public class EventuallyConsistentMapImpl<K, V>
         items.compute(key, (k, existing) -> {
             if (existing == null || newValue.isNewerThan(existing)) {
                 updated.set(true);
+                updateBucketIndex(k, newValue);
                 return newValue;
             }
             return existing;
@@ -569,6 +645,13 @@ public class EventuallyConsistentMapImpl<K, V>
         clusterCommunicator.removeSubscriber(updateMessageSubject);
         clusterCommunicator.removeSubscriber(updateRequestSubject);
         clusterCommunicator.removeSubscriber(antiEntropyAdvertisementSubject);
+        clusterCommunicator.removeSubscriber(antiEntropySummarySubject);
+
+        if (metricsService != null) {
+            metricsService.removeMetric(metricsComponent, metricsFeature, ANTI_ENTROPY_BYTES);
+            metricsService.removeMetric(metricsComponent, metricsFeature, ANTI_ENTROPY_DIFFERING_BUCKETS);
+            metricsService.removeMetric(metricsComponent, metricsFeature, OFF_HEAP_BYTES);
+        }
         return CompletableFuture.completedFuture(null);
     }
 
@@ -612,24 +695,92 @@ public class EventuallyConsistentMapImpl<K, V>
         return activePeers.stream().findFirst();
     }
 
+    /**
+     * Runs an anti-entropy round with the given peer.
+     * <p>
+     * Small maps are advertised in full. Larger maps first send the peer a
+     * summary of the hash of each bucket of entries, then advertise only the
+     * entries in the buckets which the peer reports as differing.
+     * </p>
+     *
+     * @param peer the peer
+     */
     private void sendAdvertisementToPeer(NodeId peer) {
         long adCreationTime = System.currentTimeMillis();
-        AntiEntropyAdvertisement<K> ad = createAdvertisement();
-        clusterCommunicator.sendAndReceive(ad,
+        AtomicLong bytes = new AtomicLong();
+        if (antiEntropyBuckets == 0 || items.size() <= antiEntropyBuckets) {
+            sendAdvertisementToPeer(peer, createAdvertisement(), adCreationTime, bytes);
+            return;
+        }
+        AntiEntropySummary summary = new AntiEntropySummary(localNodeId, bucketHashes(antiEntropyBuckets));
+        clusterCommunicator.<AntiEntropySummary, int[]>sendAndReceive(summary,
+                antiEntropySummarySubject,
+                countingEncoder(bytes),
+                countingDecoder(bytes),
+                peer)
+                .whenCompleteAsync((buckets, error) -> {
+                    if (error != null) {
+                        log.debug("Failed to send anti-entropy summary to {}: {}",
+                                peer, error.getMessage());
+                    } else if (buckets != null) {
+                        recordMetric(antiEntropyDifferingBuckets, buckets.length);
+                        if (buckets.length == 0) {
+                            antiEntropyTimes.put(peer, adCreationTime);
+                            recordMetric(antiEntropyBytes, bytes.get());
+                        } else {
+                            sendAdvertisementToPeer(peer,
+                                    createAdvertisement(summary.bucketCount(), bucketSet(buckets)),
+                                    adCreationTime, bytes);
+                        }
+                    }
+                }, backgroundExecutor);
+    }
+
+    private void sendAdvertisementToPeer(NodeId peer, AntiEntropyAdvertisement<K> ad,
+                                         long adCreationTime, AtomicLong bytes) {
+        clusterCommunicator.<AntiEntropyAdvertisement<K>, AntiEntropyResponse>sendAndReceive(ad,
                 antiEntropyAdvertisementSubject,
-                serializer::encode,
-                serializer::decode,
+                countingEncoder(bytes),
+                countingDecoder(bytes),
                 peer)
                 .whenComplete((result, error) -> {
                     if (error != null) {
                         log.debug("Failed to send anti-entropy advertisement to {}: {}",
                                 peer, error.getMessage());
-                    } else if (result == AntiEntropyResponse.PROCESSED) {
-                        antiEntropyTimes.put(peer, adCreationTime);
+                    } else {
+                        if (result == AntiEntropyResponse.PROCESSED) {
+                            antiEntropyTimes.put(peer, adCreationTime);
+                        }
+                        recordMetric(antiEntropyBytes, bytes.get());
                     }
                 });
     }
 
+    private <T> Function<T, byte[]> countingEncoder(AtomicLong bytes) {
+        return message -> {
+            byte[] payload = serializer.encode(message);
+            bytes.addAndGet(payload.length);
+            return payload;
+        };
+    }
+
+    private <T> Function<byte[], T> countingDecoder(AtomicLong bytes) {
+        return payload -> {
+            bytes.addAndGet(payload.length);
+            return serializer.decode(payload);
+        };
+    }
+
+    private static void recordMetric(Histogram histogram, long value) {
+        if (histogram != null) {
+            histogram.update(value);
+        }
+    }
+
+    private static Set<Integer> bucketSet(int[] buckets) {
+        return IntStream.of(buckets).boxed().collect(ImmutableSet.toImmutableSet());
+    }
+
     private void sendUpdateRequestToPeer(NodeId peer, Set<K> keys) {
         UpdateRequest<K> request = new UpdateRequest<>(localNodeId, keys);
         clusterCommunicator.unicast(request,
@@ -649,6 +800,110 @@ public class EventuallyConsistentMapImpl<K, V>
                 ImmutableMap.copyOf(Maps.transformValues(items, MapValue::digest)));
     }
 
+    private AntiEntropyAdvertisement<K> createAdvertisement(int bucketCount, Set<Integer> buckets) {
+        return new AntiEntropyAdvertisement<>(localNodeId,
+                Maps.transformValues(itemsInBuckets(bucketCount, buckets), MapValue::digest),
+                bucketCount, buckets);
+    }
+
+    /**
+     * Records the new value of an entry in the bucket index.
+     * <p>
+     * Must be called from within the compute function updating the entry, so
+     * that updates of the same key are applied to the index in order.
+     * </p>
+     *
+     * @param key   entry key
+     * @param value new value of the entry; null if the entry was removed
+     */
+    private void updateBucketIndex(K key, MapValue<V> value) {
+        if (bucketIndex != null) {
+            bucketIndex.update(key, value == null ? null : value.digest());
+        }
+    }
+
+    private boolean isIndexed(int bucketCount) {
+        return bucketIndex != null && bucketIndex.bucketCount() == bucketCount;
+    }
+
+    /**
+     * Returns the hash of the entries of each bucket.
+     * <p>
+     * The hashes are maintained by the bucket index. They are only computed
+     * from all entries for peers configured with another number of buckets.
+     * </p>
+     *
+     * @param bucketCount number of buckets
+     * @return hash of each bucket
+     */
+    private long[] bucketHashes(int bucketCount) {
+        if (isIndexed(bucketCount)) {
+            return bucketIndex.hashes();
+        }
+        long[] hashes = new long[bucketCount];
+        namespace.run(kryo -> {
+            Output output = BucketIndex.newOutput();
+            items.forEach((key, value) -> {
+                HashCode keyHash = BucketIndex.hash(kryo, output, key);
+                HashCode digestHash = BucketIndex.hash(kryo, output, value.digest());
+                hashes[BucketIndex.bucket(keyHash, bucketCount)] += BucketIndex.entryHash(keyHash, digestHash);
+            });
+            return null;
+        });
+        return hashes;
+    }
+
+    /**
+     * Returns the entries of the given buckets.
+     *
+     * @param bucketCount number of buckets; 0 for all entries
+     * @param buckets     buckets to return the entries of
+     * @return entries of the buckets
+     */
+    private Map<K, MapValue<V>> itemsInBuckets(int bucketCount, Set<Integer> buckets) {
+        if (bucketCount == 0) {
+            return items;
+        }
+        Map<K, MapValue<V>> selected = Maps.newHashMap();
+        if (isIndexed(bucketCount)) {
+            // Only decode the values of the selected entries
+            bucketIndex.keys(buckets).forEach(key -> {
+                MapValue<V> value = items.get(key);
+                if (value != null) {
+                    selected.put(key, value);
+                }
+            });
+            return selected;
+        }
+        namespace.run(kryo -> {
+            Output output = BucketIndex.newOutput();
+            items.forEach((key, value) -> {
+                HashCode keyHash = BucketIndex.hash(kryo, output, key);
+                if (buckets.contains(BucketIndex.bucket(keyHash, bucketCount))) {
+                    selected.put(key, value);
+                }
+            });
+            return null;
+        });
+        return selected;
+    }
+
+    /**
+     * Handles an anti-entropy summary from a peer.
+     *
+     * @param summary the summary
+     * @return buckets differing from the local ones, or null if the summary is ignored
+     */
+    private int[] handleAntiEntropySummary(AntiEntropySummary summary) {
+        if (destroyed || underHighLoad()) {
+            return null;
+        }
+        long[] hashes = bucketHashes(summary.bucketCount());
+        return IntStream.range(0, hashes.length)
+                .filter(bucket -> hashes[bucket] != summary.bucketHash(bucket))
+                .toArray();
+    }
+
     private AntiEntropyResponse handleAntiEntropyAdvertisement(AntiEntropyAdvertisement<K> ad) {
         if (destroyed || underHighLoad()) {
             return AntiEntropyResponse.IGNORED;
@@ -680,7 +935,7 @@ public class EventuallyConsistentMapImpl<K, V>
         Set<K> staleOrMissing = new HashSet<>();
         Set<K> locallyUnknown = new HashSet<>(ad.digest().keySet());
 
-        items.forEach((key, localValue) -> {
+        itemsInBuckets(ad.bucketCount(), ad.buckets()).forEach((key, localValue) -> {
             locallyUnknown.remove(key);
             MapValue.Digest remoteValueDigest = ad.digest().get(key);
             if (remoteValueDigest == null || localValue.isNewerThan(remoteValueDigest.timestamp())) {
@@ -738,7 +993,13 @@ public class EventuallyConsistentMapImpl<K, V>
                 .filter(e -> e.getValue().creationTime() <= currentSafeTombstonePurgeTime)
                 .collect(Collectors.toList());
         previousTombstonePurgeTime = currentSafeTombstonePurgeTime;
-        tombStonesToDelete.forEach(entry -> items.remove(entry.getKey(), entry.getValue()));
+        tombStonesToDelete.forEach(entry -> items.compute(entry.getKey(), (k, existing) -> {
+            if (Objects.equals(existing, entry.getValue())) {
+                updateBucketIndex(k, null);
+                return null;
+            }
+            return existing;
+        }));
     }
 
     private void processUpdates(Collection<UpdateEntry<K, V>> updates) {
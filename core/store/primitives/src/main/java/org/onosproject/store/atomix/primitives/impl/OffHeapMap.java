@@ -0,0 +1,429 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.atomix.primitives.impl;
+
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.Striped;
+import org.onosproject.store.service.Serializer;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * Map keeping its values serialized in direct memory, outside of the Java heap.
+ * <p>
+ * Keys are kept on the heap, in an index mapping each key to the address of
+ * its serialized value. A bounded cache holds the most recently read values
+ * in decoded form. Values are stored in blocks of power of two sizes carved
+ * out of fixed size direct memory segments; freed blocks are reused for
+ * values of the same size class.
+ * </p>
+ * <p>
+ * Operations on a key are atomic with respect to each other. Iteration is
+ * weakly consistent and does not populate the value cache. Values are
+ * decoded on every read which misses the cache, so callers must not rely on
+ * the identity of returned values.
+ * </p>
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+final class OffHeapMap<K, V> extends AbstractMap<K, V> {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Serializer serializer;
+    private final Map<K, Long> index = Maps.newConcurrentMap();
+    private final Striped<ReadWriteLock> locks = Striped.readWriteLock(LOCK_STRIPES);
+    private final Cache<K, V> cache;
+    private final Arena arena = new Arena();
+
+    /**
+     * Creates a new off-heap map.
+     *
+     * @param serializer serializer for the values
+     * @param cacheSize  maximum number of decoded values to cache
+     */
+    OffHeapMap(Serializer serializer, int cacheSize) {
+        checkArgument(cacheSize >= 0, "cache size must not be negative");
+        this.serializer = checkNotNull(serializer);
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return index.containsKey(key);
+    }
+
+    @Override
+    public V get(Object key) {
+        checkNotNull(key);
+        Lock lock = locks.get(key).readLock();
+        lock.lock();
+        try {
+            Long address = index.get(key);
+            return address == null ? null : read(key, address, true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V put(K key, V value) {
+        checkNotNull(value);
+        V[] previous = newValueHolder();
+        compute(key, (k, v) -> {
+            previous[0] = v;
+            return value;
+        });
+        return previous[0];
+    }
+
+    @Override
+    public V remove(Object key) {
+        checkNotNull(key);
+        Lock lock = locks.get(key).writeLock();
+        lock.lock();
+        try {
+            Long address = index.get(key);
+            if (address == null) {
+                return null;
+            }
+            V value = read(key, address, false);
+            delete(key, address);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        checkNotNull(key);
+        Lock lock = locks.get(key).writeLock();
+        lock.lock();
+        try {
+            Long address = index.get(key);
+            if (address == null || !Objects.equals(read(key, address, false), value)) {
+                return false;
+            }
+            delete(key, address);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        checkNotNull(key);
+        Lock lock = locks.get(key).writeLock();
+        lock.lock();
+        try {
+            Long address = index.get(key);
+            V oldValue = address == null ? null : read(key, address, false);
+            V newValue = remappingFunction.apply(key, oldValue);
+            if (newValue == null) {
+                if (address != null) {
+                    delete(key, address);
+                }
+            } else if (newValue != oldValue) {
+                index.put(key, arena.write(serializer.encode(newValue)));
+                if (address != null) {
+                    arena.free(address);
+                }
+                cache.put(key, newValue);
+            }
+            return newValue;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        index.keySet().forEach(this::remove);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (K key : index.keySet()) {
+            V value = peek(key);
+            if (value != null) {
+                action.accept(key, value);
+            }
+        }
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return new EntrySet();
+    }
+
+    /**
+     * Returns the number of bytes of direct memory held by the map.
+     *
+     * @return allocated direct memory in bytes
+     */
+    long allocatedBytes() {
+        return arena.allocatedBytes();
+    }
+
+    @SuppressWarnings("unchecked")
+    private V[] newValueHolder() {
+        return (V[]) new Object[1];
+    }
+
+    // Reads the value of the given key, which the caller holds the lock of.
+    private V read(Object key, long address, boolean populateCache) {
+        V value = cache.getIfPresent(key);
+        if (value == null) {
+            value = serializer.decode(arena.read(address));
+            if (populateCache) {
+                // Writers are excluded, so the cached value cannot be stale.
+                @SuppressWarnings("unchecked")
+                K k = (K) key;
+                cache.put(k, value);
+            }
+        }
+        return value;
+    }
+
+    // Reads the value of the given key without caching it.
+    private V peek(Object key) {
+        Lock lock = locks.get(key).readLock();
+        lock.lock();
+        try {
+            Long address = index.get(key);
+            return address == null ? null : read(key, address, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void delete(Object key, long address) {
+        index.remove(key);
+        cache.invalidate(key);
+        arena.free(address);
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public int size() {
+            return index.size();
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            Iterator<K> keys = index.keySet().iterator();
+            return new Iterator<Entry<K, V>>() {
+                private Entry<K, V> next;
+                private K last;
+
+                @Override
+                public boolean hasNext() {
+                    while (next == null && keys.hasNext()) {
+                        K key = keys.next();
+                        V value = peek(key);
+                        if (value != null) {
+                            next = new SimpleImmutableEntry<>(key, value);
+                        }
+                    }
+                    return next != null;
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Entry<K, V> entry = next;
+                    next = null;
+                    last = entry.getKey();
+                    return entry;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    OffHeapMap.this.remove(last);
+                    last = null;
+                }
+            };
+        }
+    }
+
+    /**
+     * Allocator of blocks of direct memory.
+     * <p>
+     * Addresses hold the index of a segment in their upper half and the
+     * offset of the block in the segment in their lower half. Blocks start
+     * with the length of the data they hold. Blocks too large for a segment
+     * get a segment of their own, released when the block is freed.
+     * </p>
+     */
+    private static final class Arena {
+        private static final int SEGMENT_SIZE = 1 << 20;
+        private static final int MIN_BLOCK_SIZE = 16;
+        private static final int HEADER_SIZE = Integer.BYTES;
+
+        // Replaced on growth so that readers need no lock.
+        private volatile ByteBuffer[] segments = new ByteBuffer[0];
+        private final Deque<Integer> freeSegments = new ArrayDeque<>();
+        private final Deque<Long>[] freeBlocks = newFreeLists();
+        private int currentSegment = -1;
+        private int currentOffset = SEGMENT_SIZE;
+        private long allocatedBytes;
+
+        @SuppressWarnings("unchecked")
+        private static Deque<Long>[] newFreeLists() {
+            Deque<Long>[] lists = new Deque[Integer.numberOfTrailingZeros(SEGMENT_SIZE) + 1];
+            for (int i = 0; i < lists.length; i++) {
+                lists[i] = new ArrayDeque<>();
+            }
+            return lists;
+        }
+
+        private static int blockSize(int length) {
+            int size = Math.max(MIN_BLOCK_SIZE, length + HEADER_SIZE);
+            return size > SEGMENT_SIZE ? size : Integer.highestOneBit(size - 1) << 1;
+        }
+
+        private static long address(int segment, int offset) {
+            return ((long) segment << Integer.SIZE) | offset;
+        }
+
+        private static int segment(long address) {
+            return (int) (address >>> Integer.SIZE);
+        }
+
+        private static int offset(long address) {
+            return (int) address;
+        }
+
+        /**
+         * Writes the given data to a newly allocated block.
+         *
+         * @param data data to write
+         * @return address of the block
+         */
+        long write(byte[] data) {
+            long address = allocate(blockSize(data.length));
+            ByteBuffer block = segments[segment(address)].duplicate();
+            block.position(offset(address));
+            block.putInt(data.length);
+            block.put(data);
+            return address;
+        }
+
+        /**
+         * Reads the data of the given block.
+         *
+         * @param address address of the block
+         * @return data of the block
+         */
+        byte[] read(long address) {
+            ByteBuffer block = segments[segment(address)].duplicate();
+            block.position(offset(address));
+            byte[] data = new byte[block.getInt()];
+            block.get(data);
+            return data;
+        }
+
+        /**
+         * Frees the given block.
+         *
+         * @param address address of the block
+         */
+        synchronized void free(long address) {
+            ByteBuffer segment = segments[segment(address)];
+            int size = blockSize(segment.getInt(offset(address)));
+            allocatedBytes -= size;
+            if (size > SEGMENT_SIZE) {
+                ByteBuffer[] grown = Arrays.copyOf(segments, segments.length);
+                grown[segment(address)] = null;
+                segments = grown;
+                freeSegments.push(segment(address));
+            } else {
+                freeBlocks[Integer.numberOfTrailingZeros(size)].push(address);
+            }
+        }
+
+        synchronized long allocatedBytes() {
+            return allocatedBytes;
+        }
+
+        private synchronized long allocate(int size) {
+            allocatedBytes += size;
+            if (size > SEGMENT_SIZE) {
+                return address(addSegment(size), 0);
+            }
+            Long address = freeBlocks[Integer.numberOfTrailingZeros(size)].poll();
+            if (address != null) {
+                return address;
+            }
+            if (currentOffset + size > SEGMENT_SIZE) {
+                currentSegment = addSegment(SEGMENT_SIZE);
+                currentOffset = 0;
+            }
+            long block = address(currentSegment, currentOffset);
+            currentOffset += size;
+            return block;
+        }
+
+        private int addSegment(int size) {
+            Integer index = freeSegments.poll();
+            ByteBuffer[] grown = Arrays.copyOf(segments, index == null ? segments.length + 1 : segments.length);
+            int segment = index == null ? segments.length : index;
+            grown[segment] = ByteBuffer.allocateDirect(size);
+            segments = grown;
+            return segment;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import io.atomix.core.map.AtomicMapType;
 import io.atomix.core.workqueue.WorkQueueType;
 import io.atomix.primitive.partition.PartitionGroup;
 import io.atomix.protocols.raft.MultiRaftProtocol;
+import org.onlab.metrics.MetricsService;
 import org.onosproject.cluster.ClusterService;
 import org.onosproject.cluster.ControllerNode;
 import org.onosproject.cluster.Member;
@@ -93,6 +94,9 @@ public class StorageManager implements StorageService, StorageAdminService {
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected PersistenceService persistenceService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected PartitionAdminService partitionAdminService;
 
@@ -159,6 +163,7 @@ public class StorageManager implements StorageService, StorageAdminService {
             localNodeId,
             clusterCommunicator,
             persistenceService,
+            metricsService,
             peersSupplier,
             bootstrapPeersSupplier
         );
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.atomix.primitives.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.onlab.util.KryoNamespace;
+import org.onosproject.store.LogicalTimestamp;
+import org.onosproject.store.serializers.KryoNamespaces;
+
+/**
+ * Unit tests for BucketIndex.
+ */
+public class BucketIndexTest {
+
+    private static final int BUCKETS = 4;
+    private static final KryoNamespace NAMESPACE = KryoNamespace.newBuilder()
+            .register(KryoNamespaces.BASIC)
+            .register(LogicalTimestamp.class)
+            .register(MapValue.Digest.class)
+            .build("bucket-index-test");
+    private static final Set<Integer> ALL_BUCKETS =
+            IntStream.range(0, BUCKETS).boxed().collect(Collectors.toSet());
+
+    private static MapValue.Digest digest(long time, boolean tombstone) {
+        return new MapValue.Digest(new LogicalTimestamp(time), tombstone);
+    }
+
+    /**
+     * Tests that hashes maintained across updates match those of an index
+     * built from the final entries only.
+     */
+    @Test
+    public void testIncrementalHashes() {
+        BucketIndex<String> index = new BucketIndex<>(NAMESPACE, BUCKETS);
+        index.update("a", digest(1, false));
+        index.update("b", digest(2, false));
+        index.update("a", digest(3, false));
+        index.update("c", digest(4, false));
+        index.update("b", digest(5, true));
+        index.update("c", null);
+        index.update("d", null);
+
+        BucketIndex<String> expected = new BucketIndex<>(NAMESPACE, BUCKETS);
+        expected.update("b", digest(5, true));
+        expected.update("a", digest(3, false));
+
+        assertArrayEquals(expected.hashes(), index.hashes());
+        assertEquals(ImmutableSet.of("a", "b"), index.keys(ALL_BUCKETS));
+    }
+
+    /**
+     * Tests that each key is in exactly one bucket.
+     */
+    @Test
+    public void testKeysInBuckets() {
+        BucketIndex<String> index = new BucketIndex<>(NAMESPACE, BUCKETS);
+        for (int i = 0; i < 20; i++) {
+            index.update("key" + i, digest(i, false));
+        }
+        int total = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            total += index.keys(ImmutableSet.of(bucket)).size();
+        }
+        assertEquals(20, total);
+        assertEquals(20, index.keys(ALL_BUCKETS).size());
+        assertEquals(0, index.keys(ImmutableSet.of(BUCKETS)).size());
+    }
+
+    /**
+     * Tests that removing every entry empties the buckets.
+     */
+    @Test
+    public void testRemoveAll() {
+        BucketIndex<String> index = new BucketIndex<>(NAMESPACE, BUCKETS);
+        index.update("a", digest(1, false));
+        index.update("b", digest(2, true));
+        index.update("a", null);
+        index.update("b", null);
+
+        assertArrayEquals(new long[BUCKETS], index.hashes());
+        assertEquals(ImmutableSet.of(), index.keys(ALL_BUCKETS));
+    }
+}
@@ -49,6 +49,8 @@ import java.util.function.Supplier;
 
 import com.google.common.collect.ComparisonChain;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -92,6 +94,8 @@ public class EventuallyConsistentMapImplTest {
             = new MessageSubject("ecm-" + MAP_NAME + "-anti-entropy");
     private static final MessageSubject UPDATE_REQUEST_SUBJECT
             = new MessageSubject("ecm-" + MAP_NAME + "-update-request");
+    private static final MessageSubject ANTI_ENTROPY_SUMMARY_SUBJECT
+            = new MessageSubject("ecm-" + MAP_NAME + "-anti-entropy-summary");
 
     private static final String KEY1 = "one";
     private static final String KEY2 = "two";
@@ -104,6 +108,7 @@ public class EventuallyConsistentMapImplTest {
     private Consumer<Collection<UpdateEntry<String, String>>> updateHandler;
     private Consumer<Collection<UpdateRequest<String>>> requestHandler;
     private Function<AntiEntropyAdvertisement<String>, AntiEntropyResponse> antiEntropyHandler;
+    private Function<AntiEntropySummary, int[]> antiEntropySummaryHandler;
     private Supplier<List<NodeId>> peersHandler = ArrayList::new;
 
     @Before
@@ -134,7 +139,7 @@ public class EventuallyConsistentMapImplTest {
                                                           anyObject(Function.class),
                                                           anyObject(Function.class),
                                                           anyObject(Executor.class));
-        expectLastCall().andDelegateTo(new TestClusterCommunicationService()).times(1);
+        expectLastCall().andDelegateTo(new TestClusterCommunicationService()).times(2);
         clusterCommunicator.<Object>addSubscriber(anyObject(MessageSubject.class),
                 anyObject(Function.class), anyObject(Consumer.class), anyObject(Executor.class));
         expectLastCall().andDelegateTo(new TestClusterCommunicationService()).times(1);
@@ -648,6 +653,35 @@ public class EventuallyConsistentMapImplTest {
         return true;
     }
 
+    @Test
+    public void testAntiEntropySummary() throws Exception {
+        final int buckets = 16;
+        AntiEntropySummary empty = new AntiEntropySummary(NodeId.nodeId("1"), new long[buckets]);
+
+        // Empty buckets hash to zero
+        assertEquals(0, antiEntropySummaryHandler.apply(empty).length);
+
+        expectPeerMessage(clusterCommunicator);
+        ecMap.put(KEY1, VALUE1);
+
+        // Only the bucket of the new entry differs
+        int[] differing = antiEntropySummaryHandler.apply(empty);
+        assertEquals(1, differing.length);
+        assertTrue(differing[0] >= 0 && differing[0] < buckets);
+
+        // Advertisements only apply to the entries of the advertised buckets
+        int other = (differing[0] + 1) % buckets;
+        Map<String, MapValue.Digest> digest = ImmutableMap.of(
+                KEY1, new MapValue.Digest(clockService.peekAtNextTimestamp(), true));
+        antiEntropyHandler.apply(new AntiEntropyAdvertisement<>(
+                NodeId.nodeId("1"), digest, buckets, ImmutableSet.of(other)));
+        assertEquals(VALUE1, ecMap.get(KEY1));
+
+        antiEntropyHandler.apply(new AntiEntropyAdvertisement<>(
+                NodeId.nodeId("1"), digest, buckets, ImmutableSet.of(differing[0])));
+        assertNull(ecMap.get(KEY1));
+    }
+
     @Test
     public void testDestroy() throws Exception {
         clusterCommunicator.removeSubscriber(BOOTSTRAP_MESSAGE_SUBJECT);
@@ -655,6 +689,7 @@ public class EventuallyConsistentMapImplTest {
         clusterCommunicator.removeSubscriber(UPDATE_MESSAGE_SUBJECT);
         clusterCommunicator.removeSubscriber(UPDATE_REQUEST_SUBJECT);
         clusterCommunicator.removeSubscriber(ANTI_ENTROPY_MESSAGE_SUBJECT);
+        clusterCommunicator.removeSubscriber(ANTI_ENTROPY_SUMMARY_SUBJECT);
 
         replay(clusterCommunicator);
 
@@ -813,6 +848,8 @@ public class EventuallyConsistentMapImplTest {
                 Function<byte[], M> decoder, Function<M, R> handler, Function<R, byte[]> encoder, Executor executor) {
             if (subject.equals(ANTI_ENTROPY_MESSAGE_SUBJECT)) {
                 antiEntropyHandler = (Function<AntiEntropyAdvertisement<String>, AntiEntropyResponse>) handler;
+            } else if (subject.equals(ANTI_ENTROPY_SUMMARY_SUBJECT)) {
+                antiEntropySummaryHandler = (Function<AntiEntropySummary, int[]>) handler;
             } else if (!subject.equals(INITIALIZE_MESSAGE_SUBJECT)) {
                 throw new IllegalStateException("Unexpected message subject " + subject.toString());
             }
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.store.atomix.primitives.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.google.common.base.Strings;
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.util.KryoNamespace;
+import org.onosproject.store.LogicalTimestamp;
+import org.onosproject.store.serializers.KryoNamespaces;
+import org.onosproject.store.service.Serializer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for OffHeapMap.
+ */
+public class OffHeapMapTest {
+
+    private static final Serializer SERIALIZER = Serializer.using(KryoNamespace.newBuilder()
+            .register(KryoNamespaces.BASIC)
+            .register(LogicalTimestamp.class)
+            .register(MapValue.class)
+            .build());
+
+    private OffHeapMap<String, MapValue<String>> map;
+
+    @Before
+    public void setUp() {
+        map = new OffHeapMap<>(SERIALIZER, 2);
+    }
+
+    private static MapValue<String> value(String value, long timestamp) {
+        return new MapValue<>(value, new LogicalTimestamp(timestamp), 0);
+    }
+
+    @Test
+    public void testBasics() {
+        assertNull(map.put("a", value("1", 1)));
+        assertEquals(value("1", 1), map.put("a", value("2", 2)));
+        map.put("b", MapValue.tombstone(new LogicalTimestamp(3)));
+
+        assertEquals(2, map.size());
+        assertTrue(map.containsKey("a"));
+        assertEquals(value("2", 2), map.get("a"));
+        assertTrue(map.get("b").isTombstone());
+        assertNull(map.get("c"));
+
+        assertFalse(map.remove("a", value("1", 1)));
+        assertTrue(map.remove("a", value("2", 2)));
+        assertNull(map.remove("a"));
+        assertTrue(map.remove("b").isTombstone());
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.allocatedBytes());
+    }
+
+    @Test
+    public void testCompute() {
+        MapValue<String> first = value("1", 1);
+        assertSame(first, map.compute("a", (k, v) -> v == null ? first : v));
+
+        // Returning the current value leaves the map as is
+        MapValue<String> current = map.compute("a", (k, v) -> v);
+        assertEquals(first, current);
+
+        assertEquals(value("2", 2), map.compute("a", (k, v) -> value("2", 2)));
+        assertNull(map.compute("a", (k, v) -> null));
+        assertFalse(map.containsKey("a"));
+    }
+
+    @Test
+    public void testCache() {
+        map.put("a", value("1", 1));
+        MapValue<String> cached = map.get("a");
+        assertSame(cached, map.get("a"));
+
+        // Evict the value from the cache
+        map.put("b", value("2", 2));
+        map.put("c", value("3", 3));
+        map.get("b");
+        map.get("c");
+        MapValue<String> decoded = map.get("a");
+        assertEquals(cached, decoded);
+        assertNotSame(cached, decoded);
+    }
+
+    @Test
+    public void testManyValues() {
+        Map<String, MapValue<String>> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            // Values of many size classes, some larger than a segment
+            int length = i % 1000 == 0 ? 2 << 20 : i % 300;
+            MapValue<String> value = value(Strings.repeat("x", length), i);
+            map.put("key" + (i % 5000), value);
+            expected.put("key" + (i % 5000), value);
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.keySet(), map.keySet());
+
+        Map<String, MapValue<String>> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(expected, iterated);
+
+        long allocated = map.allocatedBytes();
+        for (int i = 0; i < 5000; i++) {
+            map.put("key" + i, value("y", i));
+        }
+        assertTrue(map.allocatedBytes() < allocated);
+
+        map.entrySet().removeIf(e -> e.getValue().timestamp().equals(new LogicalTimestamp(0)));
+        assertEquals(4999, map.size());
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.allocatedBytes());
+    }
+}
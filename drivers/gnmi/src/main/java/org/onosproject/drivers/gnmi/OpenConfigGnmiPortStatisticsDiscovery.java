@@ -16,11 +16,13 @@
 
 package org.onosproject.drivers.gnmi;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
 import gnmi.Gnmi;
 import gnmi.Gnmi.GetRequest;
-import gnmi.Gnmi.GetResponse;
+import gnmi.Gnmi.Notification;
 import gnmi.Gnmi.Path;
 import org.onosproject.gnmi.api.GnmiClient;
 import org.onosproject.gnmi.api.GnmiController;
@@ -37,10 +39,16 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
  * Behaviour to get port statistics from device via gNMI.
+ * <p>
+ * Statistics are read from the counters streamed by the device on the
+ * telemetry subscription of the gNMI client, when they cover all ports, and
+ * otherwise retrieved with a Get request.
+ * </p>
  */
 public class OpenConfigGnmiPortStatisticsDiscovery
         extends AbstractGrpcHandlerBehaviour<GnmiClient, GnmiController>
@@ -60,19 +68,12 @@ public class OpenConfigGnmiPortStatisticsDiscovery
 
         Map<String, PortNumber> ifacePortNumberMapping = Maps.newHashMap();
         List<Port> ports = deviceService.getPorts(deviceId);
-        GetRequest.Builder getRequest = GetRequest.newBuilder();
-        getRequest.setEncoding(Gnmi.Encoding.PROTO);
+        ports.forEach(port -> ifacePortNumberMapping.put(port.number().name(), port.number()));
 
-        // Use this path to get all counters from specific interface(port)
-        // /interfaces/interface[port-name]/state/counters/[counter name]
-        ports.forEach(port -> {
-            String portName = port.number().name();
-            Path path = interfaceCounterPath(portName);
-            getRequest.addPath(path);
-            ifacePortNumberMapping.put(portName, port.number());
-        });
-
-        GetResponse getResponse = Futures.getUnchecked(client.get(getRequest.build()));
+        Collection<Notification> notifications = streamedCounters(ifacePortNumberMapping.keySet());
+        if (notifications == null) {
+            notifications = getCounters(ifacePortNumberMapping.keySet());
+        }
 
         Map<String, Long> inPkts = Maps.newHashMap();
         Map<String, Long> outPkts = Maps.newHashMap();
@@ -85,7 +86,7 @@ public class OpenConfigGnmiPortStatisticsDiscovery
         Map<String, Duration> timestamps = Maps.newHashMap();
 
         // Collect responses and sum {in,out,dropped} packets
-        getResponse.getNotificationList().forEach(notification -> {
+        notifications.forEach(notification -> {
             notification.getUpdateList().forEach(update -> {
                 Path path = update.getPath();
                 String ifName = interfaceNameFromPath(path);
@@ -159,6 +160,35 @@ public class OpenConfigGnmiPortStatisticsDiscovery
 
     }
 
+    /**
+     * Returns the counters of the given interfaces streamed by the device,
+     * or null if some interfaces have no counters streamed, e.g. because the
+     * subscription is not yet or no longer active.
+     */
+    private Collection<Notification> streamedCounters(Set<String> ifNames) {
+        Set<String> streamed = Sets.newHashSet();
+        List<Notification> counters = Lists.newArrayList();
+        client.telemetry().forEach((path, notification) -> {
+            String ifName = path.getElemCount() > 1 ? interfaceNameFromPath(path) : null;
+            if (ifName != null && ifNames.contains(ifName)) {
+                streamed.add(ifName);
+                counters.add(notification);
+            }
+        });
+        return streamed.containsAll(ifNames) ? counters : null;
+    }
+
+    private Collection<Notification> getCounters(Set<String> ifNames) {
+        GetRequest.Builder getRequest = GetRequest.newBuilder();
+        getRequest.setEncoding(Gnmi.Encoding.PROTO);
+
+        // Use this path to get all counters from specific interface(port)
+        // /interfaces/interface[port-name]/state/counters/[counter name]
+        ifNames.forEach(ifName -> getRequest.addPath(interfaceCounterPath(ifName)));
+
+        return Futures.getUnchecked(client.get(getRequest.build())).getNotificationList();
+    }
+
     private String interfaceNameFromPath(Path path) {
         // /interfaces/interface[name=iface-name]
         return path.getElem(1).getKeyOrDefault("name", null);
@@ -53,7 +53,8 @@ public final class P4RuntimeDriverProperties {
     public static final boolean DEFAULT_SUPPORT_DEFAULT_TABLE_ENTRY = true;
 
     // If true we read table entries from all tables with a single wildcard read.
-    // Otherwise, we submit a read request with wildcard read on a table basis.
+    // Otherwise, we submit a read request with wildcard read on a table basis,
+    // processing the entries of one table at a time.
     public static final String TABLE_WILCARD_READS = "tableWildcardReads";
     public static final boolean DEFAULT_TABLE_WILCARD_READS = false;
 }
\ No newline at end of file
@@ -17,8 +17,10 @@
 package org.onosproject.drivers.p4runtime;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.Striped;
 import org.onosproject.drivers.p4runtime.mirror.P4RuntimeDefaultEntryMirror;
@@ -31,6 +33,7 @@ import org.onosproject.net.flow.FlowRuleProgrammable;
 import org.onosproject.net.pi.model.PiCounterType;
 import org.onosproject.net.pi.model.PiPipelineModel;
 import org.onosproject.net.pi.model.PiTableId;
+import org.onosproject.net.pi.model.PiTableModel;
 import org.onosproject.net.pi.runtime.PiCounterCell;
 import org.onosproject.net.pi.runtime.PiCounterCellData;
 import org.onosproject.net.pi.runtime.PiCounterCellHandle;
@@ -58,7 +61,6 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import static org.onosproject.drivers.p4runtime.P4RuntimeDriverProperties.DEFAULT_DELETE_BEFORE_UPDATE;
 import static org.onosproject.drivers.p4runtime.P4RuntimeDriverProperties.DEFAULT_READ_COUNTERS_WITH_TABLE_ENTRIES;
@@ -90,6 +92,9 @@ public class P4RuntimeFlowRuleProgrammable
     // that each request gets consistent access to mirror state.
     private static final Striped<Lock> WRITE_LOCKS = Striped.lock(30);
 
+    // Maximum number of direct counter cells read with one request.
+    private static final int COUNTER_CELLS_READ_BATCH_SIZE = 1000;
+
     private PiPipelineModel pipelineModel;
     private P4RuntimeTableMirror tableMirror;
     private PiFlowRuleTranslator translator;
@@ -124,38 +129,32 @@ public class P4RuntimeFlowRuleProgrammable
         final ImmutableList.Builder<FlowEntry> result = ImmutableList.builder();
         final List<PiTableEntry> inconsistentEntries = Lists.newArrayList();
 
-        // Read table entries from device.
-        final Collection<PiTableEntry> deviceEntries = getAllTableEntriesFromDevice();
-        if (deviceEntries == null) {
-            // Potential error at the client level.
-            return Collections.emptyList();
-        }
-
-        // Synchronize mirror with the device state.
-        tableMirror.sync(deviceId, deviceEntries);
-
-        if (deviceEntries.isEmpty()) {
-            // Nothing to do.
-            return Collections.emptyList();
-        }
-
-        final Map<PiTableEntryHandle, PiCounterCellData> counterCellMap =
-                readEntryCounters(deviceEntries);
-        // Forge flow entries with counter values.
-        for (PiTableEntry entry : deviceEntries) {
-            final PiTableEntryHandle handle = entry.handle(deviceId);
-            final FlowEntry flowEntry = forgeFlowEntry(
-                    entry, handle, counterCellMap.get(handle));
-            if (flowEntry == null) {
-                // Entry is on device but unknown to translation service or
-                // device mirror. Inconsistent. Mark for removal if this is not
-                // an original default entry (i.e, the same defined in the P4
-                // program via default_action, which cannot be removed.)
-                if (!isOriginalDefaultEntry(entry)) {
-                    inconsistentEntries.add(entry);
+        if (driverBoolProperty(TABLE_WILCARD_READS,
+                               DEFAULT_TABLE_WILCARD_READS)) {
+            // Read table entries from device.
+            final Collection<PiTableEntry> deviceEntries = getAllTableEntriesFromDevice();
+            if (deviceEntries == null) {
+                // Potential error at the client level.
+                return Collections.emptyList();
+            }
+            // Synchronize mirror with the device state.
+            tableMirror.sync(deviceId, deviceEntries);
+            forgeFlowEntries(deviceEntries, result, inconsistentEntries);
+        } else {
+            // Read, synchronize and process one table at a time, so that only
+            // the entries of one table are held in memory at once.
+            for (PiTableModel table : pipelineModel.tables()) {
+                if (table.isConstantTable()) {
+                    continue;
                 }
-            } else {
-                result.add(flowEntry);
+                final Collection<PiTableEntry> tableEntries =
+                        getTableEntriesFromDevice(table);
+                if (tableEntries == null) {
+                    // Potential error at the client level.
+                    return Collections.emptyList();
+                }
+                tableMirror.sync(deviceId, table.id(), tableEntries);
+                forgeFlowEntries(tableEntries, result, inconsistentEntries);
             }
         }
 
@@ -210,54 +209,83 @@ public class P4RuntimeFlowRuleProgrammable
         return result.build();
     }
 
-    private Collection<PiTableEntry> getAllTableEntriesFromDevice() {
+    private void forgeFlowEntries(Collection<PiTableEntry> deviceEntries,
+                                  ImmutableList.Builder<FlowEntry> result,
+                                  List<PiTableEntry> inconsistentEntries) {
+        if (deviceEntries.isEmpty()) {
+            // Nothing to do.
+            return;
+        }
+
+        final Map<PiTableEntryHandle, PiCounterCellData> counterCellMap =
+                readEntryCounters(deviceEntries);
+        // Forge flow entries with counter values.
+        for (PiTableEntry entry : deviceEntries) {
+            final PiTableEntryHandle handle = entry.handle(deviceId);
+            final FlowEntry flowEntry = forgeFlowEntry(
+                    entry, handle, counterCellMap.get(handle));
+            if (flowEntry == null) {
+                // Entry is on device but unknown to translation service or
+                // device mirror. Inconsistent. Mark for removal if this is not
+                // an original default entry (i.e, the same defined in the P4
+                // program via default_action, which cannot be removed.)
+                if (!isOriginalDefaultEntry(entry)) {
+                    inconsistentEntries.add(entry);
+                }
+            } else {
+                result.add(flowEntry);
+            }
+        }
+    }
+
+    private Collection<PiTableEntry> getTableEntriesFromDevice(PiTableModel table) {
         final P4RuntimeReadClient.ReadRequest request = client.read(
-                p4DeviceId, pipeconf);
+                p4DeviceId, pipeconf).tableEntries(table.id());
         final boolean supportDefaultTableEntry = driverBoolProperty(
                 SUPPORT_DEFAULT_TABLE_ENTRY, DEFAULT_SUPPORT_DEFAULT_TABLE_ENTRY);
-        final boolean tableWildcardReads = driverBoolProperty(
-                TABLE_WILCARD_READS, DEFAULT_TABLE_WILCARD_READS);
-        if (!tableWildcardReads) {
-            // Read entries from all non-constant tables, including default ones.
-            pipelineModel.tables().stream()
-                    .filter(t -> !t.isConstantTable())
-                    .forEach(t -> {
-                        request.tableEntries(t.id());
-                        if (supportDefaultTableEntry && t.constDefaultAction().isEmpty()) {
-                            request.defaultTableEntry(t.id());
-                        }
-                    });
-        } else {
-            request.allTableEntries();
-            if (supportDefaultTableEntry) {
-                request.allDefaultTableEntries();
-            }
+        if (supportDefaultTableEntry && table.constDefaultAction().isEmpty()) {
+            request.defaultTableEntry(table.id());
         }
-        final P4RuntimeReadClient.ReadResponse response = request.submitSync();
-        if (!response.isSuccess()) {
-            return null;
+        // Device implementation might return duplicate entries. For example if
+        // reading only default ones is not supported and non-default entries
+        // are returned, by using a set we are robust against that possibility.
+        final Set<PiTableEntry> tableEntries = Sets.newLinkedHashSet();
+        final P4RuntimeReadClient.ReadResponse response = request.submitSync(entity -> {
+            if (entity instanceof PiTableEntry) {
+                tableEntries.add((PiTableEntry) entity);
+            }
+        });
+        return response.isSuccess() ? tableEntries : null;
+    }
+
+    private Collection<PiTableEntry> getAllTableEntriesFromDevice() {
+        final P4RuntimeReadClient.ReadRequest request = client.read(
+                p4DeviceId, pipeconf).allTableEntries();
+        final boolean supportDefaultTableEntry = driverBoolProperty(
+                SUPPORT_DEFAULT_TABLE_ENTRY, DEFAULT_SUPPORT_DEFAULT_TABLE_ENTRY);
+        if (supportDefaultTableEntry) {
+            request.allDefaultTableEntries();
         }
-        Stream<PiTableEntry> piTableEntries = response.all(PiTableEntry.class).stream()
-                // Device implementation might return duplicate entries. For
-                // example if reading only default ones is not supported and
-                // non-default entries are returned, by using distinct() we
-                // are robust against that possibility.
-                .distinct();
-        if (tableWildcardReads) {
+        // Entries are filtered as they are received, see above for the use of
+        // a set.
+        final Set<PiTableEntry> deviceEntries = Sets.newLinkedHashSet();
+        final P4RuntimeReadClient.ReadResponse response = request.submitSync(entity -> {
+            if (!(entity instanceof PiTableEntry)) {
+                return;
+            }
+            final PiTableEntry te = (PiTableEntry) entity;
             // When doing a wildcard read on all tables, the device might
             // return table entries of tables not present in the pipeline
             // model or constant (default) entries that are filtered out.
-            piTableEntries = piTableEntries.filter(te -> {
-                var piTableModel = pipelineModel.table(te.table());
-                    if (piTableModel.isEmpty() ||
-                            piTableModel.get().isConstantTable() ||
-                            (supportDefaultTableEntry && piTableModel.get().constDefaultAction().isPresent())) {
-                        return false;
-                    }
-                return true;
-            });
-        }
-        return piTableEntries.collect(Collectors.toList());
+            final var piTableModel = pipelineModel.table(te.table());
+            if (piTableModel.isEmpty() ||
+                    piTableModel.get().isConstantTable() ||
+                    (supportDefaultTableEntry && piTableModel.get().constDefaultAction().isPresent())) {
+                return;
+            }
+            deviceEntries.add(te);
+        });
+        return response.isSuccess() ? deviceEntries : null;
     }
 
     @Override
@@ -539,15 +567,23 @@ public class P4RuntimeFlowRuleProgrammable
                     .map(PiCounterCellId::ofDirect)
                     .map(id -> PiCounterCellHandle.of(deviceId, id))
                     .collect(Collectors.toSet());
-            // FIXME: We might be sending a very large read request...
-            return client.read(p4DeviceId, pipeconf)
-                    .handles(cellHandles)
-                    .submitSync()
-                    .all(PiCounterCell.class).stream()
-                    .filter(c -> c.cellId().counterType().equals(PiCounterType.DIRECT))
-                    .collect(Collectors.toMap(
-                            c -> c.cellId().tableEntry().handle(deviceId),
-                            PiCounterCell::data));
+            // Split cells in multiple read requests to bound their size.
+            final Map<PiTableEntryHandle, PiCounterCellData> cellDataMap = Maps.newHashMap();
+            for (List<PiHandle> batch : Iterables.partition(
+                    cellHandles, COUNTER_CELLS_READ_BATCH_SIZE)) {
+                client.read(p4DeviceId, pipeconf)
+                        .handles(batch)
+                        .submitSync(entity -> {
+                            if (entity instanceof PiCounterCell) {
+                                final PiCounterCell cell = (PiCounterCell) entity;
+                                if (cell.cellId().counterType().equals(PiCounterType.DIRECT)) {
+                                    cellDataMap.put(cell.cellId().tableEntry().handle(deviceId),
+                                                    cell.data());
+                                }
+                            }
+                        });
+            }
+            return cellDataMap;
         }
     }
 
@@ -45,6 +45,7 @@ import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkNotNull;
@@ -191,12 +192,25 @@ public abstract class AbstractDistributedP4RuntimeMirror
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public void sync(DeviceId deviceId, Collection<E> entities) {
+        sync(deviceId, entities, handle -> true);
+    }
+
+    /**
+     * Synchronizes the state of the given device ID with the given collection
+     * of PI entities, limited to the entries whose handle matches the given
+     * predicate. Entries outside of the scope are left untouched.
+     *
+     * @param deviceId device ID
+     * @param entities collection of PI entities
+     * @param scope    predicate on the handles of the entries to synchronize
+     */
+    @SuppressWarnings("unchecked")
+    protected void sync(DeviceId deviceId, Collection<E> entities, Predicate<H> scope) {
         checkNotNull(deviceId);
         final Map<PiHandle, E> deviceState = entities.stream()
                 .collect(Collectors.toMap(e -> e.handle(deviceId), e -> e));
-        final Map<PiHandle, E> localState = deviceHandleMap(deviceId);
+        final Map<PiHandle, E> localState = deviceHandleMap(deviceId, scope);
 
         final AtomicInteger removeCount = new AtomicInteger(0);
         final AtomicInteger updateCount = new AtomicInteger(0);
@@ -238,10 +252,12 @@ public abstract class AbstractDistributedP4RuntimeMirror
                 .collect(Collectors.toSet());
     }
 
-    private Map<PiHandle, E> deviceHandleMap(DeviceId deviceId) {
+    @SuppressWarnings("unchecked")
+    private Map<PiHandle, E> deviceHandleMap(DeviceId deviceId, Predicate<H> scope) {
         final Map<PiHandle, E> deviceMap = Maps.newHashMap();
         mirrorMap.entrySet().stream()
                 .filter(e -> e.getKey().deviceId().equals(deviceId))
+                .filter(e -> scope.test((H) e.getKey()))
                 .forEach(e -> deviceMap.put(e.getKey(), e.getValue().entry()));
         return deviceMap;
     }
@@ -16,11 +16,17 @@
 
 package org.onosproject.drivers.p4runtime.mirror;
 
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.pi.model.PiTableId;
 import org.onosproject.net.pi.runtime.PiEntityType;
 import org.onosproject.net.pi.runtime.PiTableEntry;
 import org.onosproject.net.pi.runtime.PiTableEntryHandle;
 import org.osgi.service.component.annotations.Component;
 
+import java.util.Collection;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
 /**
  * Distributed implementation of a P4Runtime table mirror.
  */
@@ -38,4 +44,11 @@ public final class DistributedP4RuntimeTableMirror
     protected String mapSimpleName() {
         return PiEntityType.TABLE_ENTRY.name().toLowerCase();
     }
+
+    @Override
+    public void sync(DeviceId deviceId, PiTableId tableId,
+                     Collection<PiTableEntry> entries) {
+        checkNotNull(tableId);
+        sync(deviceId, entries, handle -> handle.tableId().equals(tableId));
+    }
 }
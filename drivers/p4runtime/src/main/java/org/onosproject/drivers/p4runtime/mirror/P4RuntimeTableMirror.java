@@ -16,12 +16,27 @@
 
 package org.onosproject.drivers.p4runtime.mirror;
 
+import org.onosproject.net.DeviceId;
+import org.onosproject.net.pi.model.PiTableId;
 import org.onosproject.net.pi.runtime.PiTableEntry;
 import org.onosproject.net.pi.runtime.PiTableEntryHandle;
 
+import java.util.Collection;
+
 /**
  * Mirror of table entries installed on a P4Runtime device.
  */
 public interface P4RuntimeTableMirror
         extends P4RuntimeMirror<PiTableEntryHandle, PiTableEntry> {
+
+    /**
+     * Synchronizes the state of the given table of the given device ID with
+     * the given collection of table entries. Entries of other tables are left
+     * untouched.
+     *
+     * @param deviceId device ID
+     * @param tableId  table ID
+     * @param entries  collection of table entries
+     */
+    void sync(DeviceId deviceId, PiTableId tableId, Collection<PiTableEntry> entries);
 }
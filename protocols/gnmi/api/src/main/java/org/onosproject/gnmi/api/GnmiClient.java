@@ -20,11 +20,14 @@ import com.google.common.annotations.Beta;
 import gnmi.Gnmi.CapabilityResponse;
 import gnmi.Gnmi.GetRequest;
 import gnmi.Gnmi.GetResponse;
+import gnmi.Gnmi.Notification;
+import gnmi.Gnmi.Path;
 import gnmi.Gnmi.SetRequest;
 import gnmi.Gnmi.SetResponse;
 import gnmi.Gnmi.SubscribeRequest;
 import org.onosproject.grpc.api.GrpcClient;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -60,7 +63,8 @@ public interface GnmiClient extends GrpcClient {
      * Starts a subscription for the given request. Updates will be notified by
      * the controller via {@link GnmiEvent.Type#UPDATE} events. The client
      * guarantees that a Subscription RPC is active at all times despite channel
-     * or server failures, unless {@link #unsubscribe()} is called.
+     * or server failures, unless {@link #unsubscribe()} is called or the device
+     * rejects the request.
      *
      * @param request the subscribe request
      */
@@ -70,4 +74,34 @@ public interface GnmiClient extends GrpcClient {
      * Terminates any Subscribe RPC active.
      */
     void unsubscribe();
+
+    /**
+     * Starts a telemetry subscription for the given request, on a Subscribe
+     * RPC distinct from the one of {@link #subscribe(SubscribeRequest)}.
+     * Updates are not notified as events; instead, the client keeps the latest
+     * value received for each path, which can be read with
+     * {@link #telemetry()}. The client guarantees that the Subscribe RPC is
+     * active at all times despite channel or server failures, unless
+     * {@link #unsubscribeTelemetry()} is called or the device rejects the
+     * request.
+     *
+     * @param request the subscribe request
+     */
+    void subscribeTelemetry(SubscribeRequest request);
+
+    /**
+     * Terminates the telemetry subscription, if any.
+     */
+    void unsubscribeTelemetry();
+
+    /**
+     * Returns the latest value received on the telemetry subscription for each
+     * path, as a notification holding the update of that path only. Values
+     * are discarded whenever the Subscribe RPC terminates, so that only values
+     * streamed by the device since the RPC was last (re)started are returned,
+     * and once older than a few sample intervals of the subscription.
+     *
+     * @return the latest notification for each path
+     */
+    Map<Path, Notification> telemetry();
 }
@@ -16,23 +16,32 @@
 
 package org.onosproject.gnmi.ctl;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
 import gnmi.Gnmi.CapabilityRequest;
 import gnmi.Gnmi.CapabilityResponse;
 import gnmi.Gnmi.GetRequest;
 import gnmi.Gnmi.GetResponse;
+import gnmi.Gnmi.Notification;
 import gnmi.Gnmi.Path;
 import gnmi.Gnmi.PathElem;
 import gnmi.Gnmi.SetRequest;
 import gnmi.Gnmi.SetResponse;
 import gnmi.Gnmi.SubscribeRequest;
+import gnmi.Gnmi.SubscribeResponse;
+import gnmi.Gnmi.Subscription;
+import gnmi.Gnmi.Update;
 import gnmi.gNMIGrpc;
 import io.grpc.ManagedChannel;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
 import org.onosproject.gnmi.api.GnmiClient;
+import org.onosproject.gnmi.api.GnmiEvent;
+import org.onosproject.gnmi.api.GnmiUpdate;
 import org.onosproject.grpc.ctl.AbstractGrpcClient;
 import org.onosproject.net.DeviceId;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
@@ -44,18 +53,34 @@ public class GnmiClientImpl extends AbstractGrpcClient implements GnmiClient {
 
     private static final int RPC_TIMEOUT_SECONDS = 10;
 
+    // Telemetry values older than this number of sample intervals are stale
+    private static final int STALE_SAMPLES = 3;
+    // Sample interval assumed when the subscription lets the device choose
+    private static final long DEFAULT_SAMPLE_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
     private static final GetRequest PING_REQUEST = GetRequest.newBuilder().addPath(
             Path.newBuilder().addElem(
                     PathElem.newBuilder().setName("onos-gnmi-ping").build()
             ).build()).build();
 
     private GnmiSubscriptionManager subscribeManager;
+    private GnmiSubscriptionManager telemetryManager;
+
+    // Latest value of each path received on the telemetry subscription
+    private final Map<Path, TelemetrySample> telemetry = Maps.newConcurrentMap();
+    // Nanoseconds after which a telemetry value is discarded
+    private volatile long telemetryMaxAge = STALE_SAMPLES * DEFAULT_SAMPLE_INTERVAL;
 
     GnmiClientImpl(DeviceId deviceId, ManagedChannel managedChannel,
                    GnmiControllerImpl controller) {
         super(deviceId, managedChannel, false, controller);
-        this.subscribeManager =
-                new GnmiSubscriptionManager(this, deviceId, controller);
+        this.subscribeManager = new GnmiSubscriptionManager(
+                this, deviceId,
+                response -> controller.postEvent(new GnmiEvent(GnmiEvent.Type.UPDATE, new GnmiUpdate(
+                        deviceId, response.getUpdate(), response.getSyncResponse()))),
+                () -> { });
+        this.telemetryManager = new GnmiSubscriptionManager(
+                this, deviceId, this::updateTelemetry, telemetry::clear);
     }
 
     @Override
@@ -120,6 +145,56 @@ public class GnmiClientImpl extends AbstractGrpcClient implements GnmiClient {
         subscribeManager.unsubscribe();
     }
 
+    @Override
+    public void subscribeTelemetry(SubscribeRequest request) {
+        long sampleInterval = request.getSubscribe().getSubscriptionList().stream()
+                .mapToLong(Subscription::getSampleInterval)
+                .max().orElse(0);
+        telemetryMaxAge = STALE_SAMPLES * (sampleInterval > 0 ? sampleInterval : DEFAULT_SAMPLE_INTERVAL);
+        telemetryManager.subscribe(request);
+    }
+
+    @Override
+    public void unsubscribeTelemetry() {
+        telemetryManager.unsubscribe();
+    }
+
+    @Override
+    public Map<Path, Notification> telemetry() {
+        // Drop the values no longer streamed, e.g. of removed interfaces or
+        // of a device that stopped sampling without terminating the RPC.
+        final long now = System.nanoTime();
+        telemetry.values().removeIf(sample -> now - sample.received > telemetryMaxAge);
+        return ImmutableMap.copyOf(Maps.transformValues(telemetry, sample -> sample.notification));
+    }
+
+    private void updateTelemetry(SubscribeResponse response) {
+        if (!response.hasUpdate()) {
+            return;
+        }
+        // Values are overwritten in place, so that a device streaming faster
+        // than they are read costs no memory, and are not queued as events,
+        // so that a slow reader holds up the stream through gRPC flow control.
+        Notification notification = response.getUpdate();
+        Path prefix = notification.getPrefix();
+        long received = System.nanoTime();
+        notification.getDeleteList().forEach(path -> telemetry.remove(fullPath(prefix, path)));
+        for (Update update : notification.getUpdateList()) {
+            Path path = fullPath(prefix, update.getPath());
+            telemetry.put(path, new TelemetrySample(Notification.newBuilder()
+                    .setTimestamp(notification.getTimestamp())
+                    .addUpdate(update.toBuilder().setPath(path))
+                    .build(), received));
+        }
+    }
+
+    private Path fullPath(Path prefix, Path path) {
+        if (prefix.getElemCount() == 0) {
+            return path;
+        }
+        return prefix.toBuilder().addAllElem(path.getElemList()).build();
+    }
+
     @Override
     public CompletableFuture<Boolean> probeService() {
         final CompletableFuture<Boolean> future = new CompletableFuture<>();
@@ -151,6 +226,7 @@ public class GnmiClientImpl extends AbstractGrpcClient implements GnmiClient {
     @Override
     public void shutdown() {
         subscribeManager.shutdown();
+        telemetryManager.shutdown();
         super.shutdown();
     }
 
@@ -182,4 +258,17 @@ public class GnmiClientImpl extends AbstractGrpcClient implements GnmiClient {
         runInCancellableContext(() -> stubConsumer.accept(
                 gNMIGrpc.newStub(channel)));
     }
+
+    /**
+     * Telemetry value with the time it was received, from System.nanoTime().
+     */
+    private static final class TelemetrySample {
+        private final Notification notification;
+        private final long received;
+
+        private TelemetrySample(Notification notification, long received) {
+            this.notification = notification;
+            this.received = received;
+        }
+    }
 }
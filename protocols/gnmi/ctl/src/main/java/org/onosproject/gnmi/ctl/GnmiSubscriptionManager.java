@@ -17,21 +17,23 @@
 package org.onosproject.gnmi.ctl;
 
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.util.concurrent.Futures;
 import gnmi.Gnmi;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
 import io.grpc.stub.ClientCallStreamObserver;
 import io.grpc.stub.StreamObserver;
-import org.onosproject.gnmi.api.GnmiEvent;
-import org.onosproject.gnmi.api.GnmiUpdate;
 import org.onosproject.net.DeviceId;
 import org.slf4j.Logger;
 
 import java.net.ConnectException;
+import java.util.Set;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import static java.lang.String.format;
 import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
@@ -40,19 +42,27 @@ import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * A manager for the gNMI Subscribe RPC that opportunistically starts new RPC
- * (e.g. when one fails because of errors) and posts subscribe events via the
- * gNMI controller.
+ * (e.g. when one fails because of errors) and hands the responses to the given
+ * handler, e.g. to post subscribe events via the gNMI controller.
  */
 final class GnmiSubscriptionManager {
 
     // FIXME: make this configurable
     private static final long DEFAULT_RECONNECT_DELAY = 5; // Seconds
 
+    // Errors of a device rejecting the request itself, which it would reject
+    // again if the RPC was restarted
+    private static final Set<Status.Code> REJECTION_CODES = ImmutableSet.of(
+            Status.Code.INVALID_ARGUMENT, Status.Code.NOT_FOUND,
+            Status.Code.PERMISSION_DENIED, Status.Code.FAILED_PRECONDITION,
+            Status.Code.OUT_OF_RANGE, Status.Code.UNIMPLEMENTED);
+
     private static final Logger log = getLogger(GnmiSubscriptionManager.class);
 
     private final GnmiClientImpl client;
     private final DeviceId deviceId;
-    private final GnmiControllerImpl controller;
+    private final Consumer<Gnmi.SubscribeResponse> responseHandler;
+    private final Runnable terminationHandler;
     private final StreamObserver<Gnmi.SubscribeResponse> responseObserver;
 
     private final ScheduledExecutorService streamCheckerExecutor =
@@ -61,18 +71,36 @@ final class GnmiSubscriptionManager {
 
     private ClientCallStreamObserver<Gnmi.SubscribeRequest> requestObserver;
     private Gnmi.SubscribeRequest existingSubscription;
+    private Gnmi.SubscribeRequest rejectedSubscription;
     private AtomicBoolean active = new AtomicBoolean(false);
 
+    /**
+     * Creates a new subscription manager.
+     *
+     * @param client             gNMI client
+     * @param deviceId           device identifier
+     * @param responseHandler    handler of the responses received on the RPC,
+     *                           invoked by the gRPC thread receiving them
+     * @param terminationHandler handler invoked whenever the RPC terminates
+     */
     GnmiSubscriptionManager(GnmiClientImpl client, DeviceId deviceId,
-                            GnmiControllerImpl controller) {
+                            Consumer<Gnmi.SubscribeResponse> responseHandler,
+                            Runnable terminationHandler) {
         this.client = client;
         this.deviceId = deviceId;
-        this.controller = controller;
+        this.responseHandler = responseHandler;
+        this.terminationHandler = terminationHandler;
         this.responseObserver = new InternalStreamResponseObserver();
     }
 
     void subscribe(Gnmi.SubscribeRequest request) {
         synchronized (this) {
+            if (request.equals(rejectedSubscription)) {
+                // Nothing to do. The device rejected the same request.
+                log.debug("Ignoring subscription to request rejected by {}",
+                          deviceId);
+                return;
+            }
             if (existingSubscription != null) {
                 if (existingSubscription.equals(request)) {
                     // Nothing to do. We are already subscribed for the same
@@ -86,8 +114,9 @@ final class GnmiSubscriptionManager {
                 complete();
             }
             existingSubscription = request;
+            rejectedSubscription = null;
             sendSubscribeRequest();
-            if (checkTask != null) {
+            if (checkTask == null) {
                 checkTask = streamCheckerExecutor.scheduleAtFixedRate(
                         this::checkSubscription, 0,
                         DEFAULT_RECONNECT_DELAY,
@@ -103,10 +132,25 @@ final class GnmiSubscriptionManager {
                 checkTask = null;
             }
             existingSubscription = null;
+            rejectedSubscription = null;
             complete();
         }
     }
 
+    private boolean isRejection(Throwable throwable) {
+        return throwable instanceof StatusRuntimeException
+                && REJECTION_CODES.contains(((StatusRuntimeException) throwable).getStatus().getCode());
+    }
+
+    private void reject() {
+        synchronized (this) {
+            if (existingSubscription != null) {
+                rejectedSubscription = existingSubscription;
+                existingSubscription = null;
+            }
+        }
+    }
+
     public void shutdown() {
         log.debug("Shutting down gNMI subscription manager for {}", deviceId);
         unsubscribe();
@@ -148,6 +192,7 @@ final class GnmiSubscriptionManager {
                 requestObserver.cancel("Terminated", null);
                 requestObserver = null;
             }
+            terminationHandler.run();
         }
     }
 
@@ -164,8 +209,7 @@ final class GnmiSubscriptionManager {
                     log.trace("Received SubscribeResponse from {}: {}",
                               deviceId, message.toString());
                 }
-                controller.postEvent(new GnmiEvent(GnmiEvent.Type.UPDATE, new GnmiUpdate(
-                        deviceId, message.getUpdate(), message.getSyncResponse())));
+                responseHandler.accept(message);
             } catch (Throwable ex) {
                 log.error("Exception processing SubscribeResponse from " + deviceId,
                           ex);
@@ -174,12 +218,20 @@ final class GnmiSubscriptionManager {
 
         @Override
         public void onError(Throwable throwable) {
+            if (isRejection(throwable)) {
+                // Do not restart the RPC until a different request is made or
+                // the subscription is cancelled.
+                reject();
+            }
             complete();
             if (throwable instanceof StatusRuntimeException) {
                 StatusRuntimeException sre = (StatusRuntimeException) throwable;
                 if (sre.getStatus().getCause() instanceof ConnectException) {
                     log.warn("{} is unreachable ({})",
                              deviceId, sre.getCause().getMessage());
+                } else if (isRejection(throwable)) {
+                    log.warn("Subscribe request rejected by {}, not restarting RPC: {}",
+                             deviceId, throwable.getMessage());
                 } else {
                     log.warn("Error on Subscribe RPC for {}: {}",
                              deviceId, throwable.getMessage());
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf.ctl.impl;
+
+import org.onosproject.netconf.NetconfException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits the bytes received from a NETCONF device into messages, delimited
+ * either by the end-of-message marker of NETCONF 1.0 or by the chunked framing
+ * of NETCONF 1.1 (RFC 6242).
+ * <p>
+ * The input is read in blocks and scanned by a byte-level state machine; the
+ * data of chunks is copied in bulk. A message is accumulated as bytes and
+ * decoded once, when complete. The framing is detected for each message: a
+ * message starting with a chunk header is chunked.
+ * </p>
+ */
+final class NetconfMessageFramer {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Largest message buffer kept between messages
+    private static final int MAX_RETAINED_SIZE = 1024 * 1024;
+    private static final int MAX_MESSAGE_SIZE = Integer.MAX_VALUE - 8;
+    private static final long MAX_CHUNK_SIZE = 4294967295L;
+
+    private static final byte LF = '\n';
+    private static final byte HASH = '#';
+    private static final byte[] END_OF_MESSAGE = "]]>]]>".getBytes(StandardCharsets.UTF_8);
+    // Length of the longest proper prefix of END_OF_MESSAGE[0..i] that is
+    // also a suffix of it, as in Knuth-Morris-Pratt
+    private static final int[] END_OF_MESSAGE_FALLBACK = {0, 1, 0, 1, 2, 3};
+
+    private enum State {
+        // Beginning of a message
+        START,
+        // Line feeds at the beginning of a message
+        START_LF,
+        // Message with end-of-message framing
+        END_OF_MESSAGE,
+        // Size of the first chunk, after its "\n#"
+        FIRST_CHUNK,
+        // Size of a chunk
+        CHUNK_SIZE,
+        // Data of a chunk
+        CHUNK_DATA,
+        // "\n" following the data of a chunk
+        CHUNK_LF,
+        // "#" following the data of a chunk
+        CHUNK_HASH,
+        // Size of the next chunk, or "#" of the end of chunks
+        NEXT_CHUNK,
+        // "\n" of the end of chunks
+        CHUNK_END
+    }
+
+    private final InputStream in;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+    private int limit;
+
+    private byte[] message = new byte[BUFFER_SIZE];
+    private int length;
+
+    private State state = State.START;
+    private int leadingLfs;
+    private int matched;
+    private long chunkSize;
+
+    /**
+     * Creates a framer reading messages from the given stream.
+     *
+     * @param in stream of the bytes received from the device
+     */
+    NetconfMessageFramer(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Reads the next message from the stream, blocking until it is complete.
+     *
+     * @return the message without its framing, empty if the device sent a
+     * bare end-of-message marker, or null if the stream ended
+     * @throws NetconfException if the message is badly framed, after which
+     * the stream cannot be read any longer
+     * @throws IOException if the stream cannot be read
+     */
+    String next() throws IOException {
+        while (true) {
+            if (position == limit) {
+                int read = in.read(buffer, 0, buffer.length);
+                if (read < 0) {
+                    return null;
+                }
+                position = 0;
+                limit = read;
+            }
+            String complete = process();
+            if (complete != null) {
+                return complete;
+            }
+        }
+    }
+
+    // Processes the buffered bytes, up to the end of a message.
+    private String process() throws NetconfException {
+        while (position < limit) {
+            switch (state) {
+                case START:
+                    if (buffer[position] == LF) {
+                        position++;
+                        leadingLfs = 1;
+                        state = State.START_LF;
+                    } else {
+                        state = State.END_OF_MESSAGE;
+                    }
+                    break;
+
+                case START_LF:
+                    if (buffer[position] == HASH) {
+                        position++;
+                        state = State.FIRST_CHUNK;
+                    } else if (buffer[position] == LF) {
+                        position++;
+                        leadingLfs++;
+                    } else {
+                        for (int i = 0; i < leadingLfs; i++) {
+                            append(LF);
+                        }
+                        state = State.END_OF_MESSAGE;
+                    }
+                    break;
+
+                case END_OF_MESSAGE:
+                    if (scanEndOfMessage()) {
+                        // The marker has been appended with the data
+                        length -= END_OF_MESSAGE.length;
+                        return complete();
+                    }
+                    break;
+
+                case FIRST_CHUNK:
+                    startChunk(buffer[position++]);
+                    break;
+
+                case NEXT_CHUNK:
+                    byte next = buffer[position++];
+                    if (next == HASH) {
+                        state = State.CHUNK_END;
+                    } else {
+                        startChunk(next);
+                    }
+                    break;
+
+                case CHUNK_SIZE:
+                    byte digit = buffer[position++];
+                    if (digit == LF) {
+                        state = State.CHUNK_DATA;
+                    } else if (digit >= '0' && digit <= '9') {
+                        chunkSize = chunkSize * 10 + (digit - '0');
+                        if (chunkSize > MAX_CHUNK_SIZE) {
+                            throw framingError("chunk size too large");
+                        }
+                    } else {
+                        throw framingError("bad chunk size");
+                    }
+                    break;
+
+                case CHUNK_DATA:
+                    int count = (int) Math.min(chunkSize, limit - position);
+                    append(buffer, position, count);
+                    position += count;
+                    chunkSize -= count;
+                    if (chunkSize == 0) {
+                        state = State.CHUNK_LF;
+                    }
+                    break;
+
+                case CHUNK_LF:
+                    expect(LF, State.CHUNK_HASH);
+                    break;
+
+                case CHUNK_HASH:
+                    expect(HASH, State.NEXT_CHUNK);
+                    break;
+
+                case CHUNK_END:
+                    expect(LF, State.START);
+                    return complete();
+
+                default:
+                    throw new IllegalStateException("Unknown state " + state);
+            }
+        }
+        return null;
+    }
+
+    // Appends bytes up to the end-of-message marker, if buffered.
+    private boolean scanEndOfMessage() throws NetconfException {
+        int start = position;
+        while (position < limit) {
+            byte b = buffer[position++];
+            while (matched > 0 && b != END_OF_MESSAGE[matched]) {
+                matched = END_OF_MESSAGE_FALLBACK[matched - 1];
+            }
+            if (b == END_OF_MESSAGE[matched]) {
+                matched++;
+                if (matched == END_OF_MESSAGE.length) {
+                    append(buffer, start, position - start);
+                    return true;
+                }
+            }
+        }
+        append(buffer, start, position - start);
+        return false;
+    }
+
+    private void startChunk(byte b) throws NetconfException {
+        if (b < '1' || b > '9') {
+            throw framingError("bad chunk size");
+        }
+        chunkSize = b - '0';
+        state = State.CHUNK_SIZE;
+    }
+
+    private void expect(byte expected, State next) throws NetconfException {
+        if (buffer[position++] != expected) {
+            throw framingError("bad chunk delimiter");
+        }
+        state = next;
+    }
+
+    private NetconfException framingError(String error) {
+        return new NetconfException("Badly framed message: " + error + " after " +
+                                            new String(message, 0, Math.min(length, 256),
+                                                       StandardCharsets.UTF_8));
+    }
+
+    private void append(byte b) throws NetconfException {
+        ensureCapacity(1);
+        message[length++] = b;
+    }
+
+    private void append(byte[] bytes, int offset, int count) throws NetconfException {
+        ensureCapacity(count);
+        System.arraycopy(bytes, offset, message, length, count);
+        length += count;
+    }
+
+    private void ensureCapacity(int count) throws NetconfException {
+        if (count > MAX_MESSAGE_SIZE - length) {
+            throw framingError("message too large");
+        }
+        if (length + count > message.length) {
+            int capacity = (int) Math.min(MAX_MESSAGE_SIZE, Math.max(length + count, 2L * message.length));
+            byte[] grown = new byte[capacity];
+            System.arraycopy(message, 0, grown, 0, length);
+            message = grown;
+        }
+    }
+
+    private String complete() {
+        String complete = new String(message, 0, length, StandardCharsets.UTF_8);
+        length = 0;
+        matched = 0;
+        state = State.START;
+        if (message.length > MAX_RETAINED_SIZE) {
+            message = new byte[BUFFER_SIZE];
+        }
+        return complete;
+    }
+}
@@ -25,21 +25,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
-import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.nio.charset.StandardCharsets;
 import java.nio.channels.ClosedByInterruptException;
-import java.io.InputStreamReader;
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
 import java.util.List;
 import java.util.Map;
-import java.util.ArrayList;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
-import java.util.regex.MatchResult;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -59,15 +54,8 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
     private static final String NOTIFICATION_LABEL = "<notification";
     private static final String MESSAGE_ID = "message-id=";
     private static final Pattern MSGID_PATTERN = Pattern.compile(MESSAGE_ID + "\"(\\d+)\"");
-    private static final String MSGLEN_REGEX_PATTERN = "\n#\\d+\n";
-    // pattern to verify whole Chunked-Message format
-    private static final Pattern CHUNKED_FRAMING_PATTERN =
-            Pattern.compile("(\\n#([1-9][0-9]*)\\n(.+))+\\n##\\n", Pattern.DOTALL);
-    private static final String CHUNKED_END_REGEX_PATTERN = "\n##\n";
-    // pattern to parse each chunk-size in ChunkedMessage chunk
-    private static final Pattern CHUNKED_SIZE_PATTERN = Pattern.compile("\\n#([1-9][0-9]*)\\n");
-    private static final char HASH_CHAR = '#';
-    private static final char LF_CHAR = '\n';
+    private static final String COMMENT_START = "<!--";
+    private static final String COMMENT_END = "-->";
     protected static final String ON_REQUEST = "on request";
 
     private OutputStreamWriter outputStream;
@@ -75,7 +63,6 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
     private final InputStream in;
     private NetconfDeviceInfo netconfDeviceInfo;
     private NetconfSessionDelegate sessionDelegate;
-    private NetconfMessageState state;
     private List<NetconfDeviceOutputEventListener> netconfDeviceEventListeners
             = Lists.newCopyOnWriteArrayList();
     private boolean enableNotifications = true;
@@ -89,7 +76,6 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
         this.err = err;
         outputStream = new OutputStreamWriter(out, StandardCharsets.UTF_8);
         netconfDeviceInfo = deviceInfo;
-        state = NetconfMessageState.NO_MATCHING_PATTERN;
         sessionDelegate = delegate;
         this.replies = replies;
         log.debug("Stream thread for device {} session started", deviceInfo);
@@ -121,137 +107,23 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
         return cf;
     }
 
-    public enum NetconfMessageState {
-
-        NO_MATCHING_PATTERN {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == ']') {
-                    return FIRST_BRACKET;
-                } else if (c == '\n') {
-                    return FIRST_LF;
-                } else {
-                    return this;
-                }
-            }
-        },
-        FIRST_BRACKET {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == ']') {
-                    return SECOND_BRACKET;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        SECOND_BRACKET {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == '>') {
-                    return FIRST_BIGGER;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        FIRST_BIGGER {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == ']') {
-                    return THIRD_BRACKET;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        THIRD_BRACKET {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == ']') {
-                    return ENDING_BIGGER;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        ENDING_BIGGER {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == '>') {
-                    return END_PATTERN;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        FIRST_LF {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == '#') {
-                    return FIRST_HASH;
-                } else if (c == ']') {
-                    return FIRST_BRACKET;
-                } else if (c == '\n') {
-                    return this;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        FIRST_HASH {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == '#') {
-                    return SECOND_HASH;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        SECOND_HASH {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                if (c == '\n') {
-                    return END_CHUNKED_PATTERN;
-                } else {
-                    return NO_MATCHING_PATTERN;
-                }
-            }
-        },
-        END_CHUNKED_PATTERN {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                return NO_MATCHING_PATTERN;
-            }
-        },
-        END_PATTERN {
-            @Override
-            NetconfMessageState evaluateChar(char c) {
-                return NO_MATCHING_PATTERN;
-            }
-        };
-
-        abstract NetconfMessageState evaluateChar(char c);
-    }
-
     @Override
     public void run() {
-        BufferedReader bufferReader = null;
-        while (bufferReader == null) {
-            try {
-                bufferReader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
-            } catch (UnsupportedEncodingException e) {
-                throw new IllegalStateException(e);
-            }
-        }
-
+        NetconfMessageFramer framer = new NetconfMessageFramer(in);
         try {
             boolean socketClosed = false;
-            StringBuilder deviceReplyBuilder = new StringBuilder();
             while (!socketClosed && !this.isInterrupted()) {
-                int cInt = bufferReader.read();
-                if (cInt == -1) {
+                String deviceReply;
+                try {
+                    deviceReply = framer.next();
+                } catch (NetconfException e) {
+                    log.debug("Netconf device {} send badly framed message: {}",
+                            netconfDeviceInfo, e.getMessage());
+                    socketClosed = true;
+                    close(e.getMessage());
+                    continue;
+                }
+                if (deviceReply == null) {
                     log.debug("Netconf device {}  sent error char in session," +
                             " will need to be reopened", netconfDeviceInfo);
                     NetconfDeviceOutputEvent event = new NetconfDeviceOutputEvent(
@@ -261,33 +133,11 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
                             listener -> listener.event(event));
                     socketClosed = true;
                     log.debug("Netconf device {} ERROR cInt == -1 socketClosed = true", netconfDeviceInfo);
-                }
-                char c = (char) cInt;
-                state = state.evaluateChar(c);
-                deviceReplyBuilder.append(c);
-                if (state == NetconfMessageState.END_PATTERN) {
-                    String deviceReply = deviceReplyBuilder.toString();
-                    if (deviceReply.equals(END_PATTERN)) {
-                        socketClosed = true;
-                        close(deviceReply);
-                    } else {
-                        deviceReply = deviceReply.replace(END_PATTERN, "");
-                        dealWithReply(deviceReply);
-                        deviceReplyBuilder.setLength(0);
-                    }
-                } else if (state == NetconfMessageState.END_CHUNKED_PATTERN) {
-                    String deviceReply = deviceReplyBuilder.toString();
-                    if (!validateChunkedFraming(deviceReply)) {
-                        log.debug("Netconf device {} send badly framed message {}",
-                                netconfDeviceInfo, deviceReply);
-                        socketClosed = true;
-                        close(deviceReply);
-                    } else {
-                        deviceReply = deviceReply.replaceAll(MSGLEN_REGEX_PATTERN, "");
-                        deviceReply = deviceReply.replaceAll(CHUNKED_END_REGEX_PATTERN, "");
-                        dealWithReply(deviceReply);
-                        deviceReplyBuilder.setLength(0);
-                    }
+                } else if (deviceReply.isEmpty()) {
+                    socketClosed = true;
+                    close(END_PATTERN);
+                } else {
+                    dealWithReply(deviceReply);
                 }
             }
         } catch (ClosedByInterruptException i) {
@@ -318,28 +168,30 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
     }
 
     private void dealWithReply(String deviceReply) {
-        if (deviceReply.contains(RPC_REPLY) ||
-                deviceReply.contains(RPC_ERROR) ||
-                deviceReply.contains(HELLO)) {
+        // Replies are classified by the start tag of their root element, so
+        // as not to scan large replies, unless it is not a known one
+        String rootTag = rootStartTag(deviceReply);
+        String classified = isReply(rootTag) || rootTag.contains(NOTIFICATION_LABEL) ? rootTag : deviceReply;
+        Optional<Integer> messageId = getMsgId(classified);
+        if (isReply(classified)) {
             log.debug("Netconf device {} sessionDelegate.notify() DEVICE_REPLY {} {}",
-                    netconfDeviceInfo, getMsgId(deviceReply), deviceReply);
+                    netconfDeviceInfo, messageId, deviceReply);
             NetconfDeviceOutputEvent event = new NetconfDeviceOutputEvent(
                     NetconfDeviceOutputEvent.Type.DEVICE_REPLY,
-                    null, deviceReply, getMsgId(deviceReply), netconfDeviceInfo);
+                    null, deviceReply, messageId, netconfDeviceInfo);
             sessionDelegate.notify(event);
             netconfDeviceEventListeners.forEach(
                     listener -> listener.event(event));
-        } else if (deviceReply.contains(NOTIFICATION_LABEL)) {
+        } else if (classified.contains(NOTIFICATION_LABEL)) {
             log.debug("Netconf device {} DEVICE_NOTIFICATION {} {} {}",
                     netconfDeviceInfo, enableNotifications,
-                    getMsgId(deviceReply), deviceReply);
+                    messageId, deviceReply);
             if (enableNotifications) {
                 log.debug("dispatching to {} listeners", netconfDeviceEventListeners.size());
-                final String finalDeviceReply = deviceReply;
                 netconfDeviceEventListeners.forEach(
                         listener -> listener.event(new NetconfDeviceOutputEvent(
                                 NetconfDeviceOutputEvent.Type.DEVICE_NOTIFICATION,
-                                null, finalDeviceReply, getMsgId(finalDeviceReply),
+                                null, deviceReply, messageId,
                                 netconfDeviceInfo)));
             }
         } else {
@@ -347,39 +199,35 @@ public class NetconfStreamThread extends Thread implements NetconfStreamHandler
         }
     }
 
-    static boolean validateChunkedFraming(String reply) {
-        Matcher matcher = CHUNKED_FRAMING_PATTERN.matcher(reply);
-        if (!matcher.matches()) {
-            log.debug("Error on reply {}", reply);
-            return false;
-        }
-        Matcher chunkM = CHUNKED_SIZE_PATTERN.matcher(reply);
-        List<MatchResult> chunks = new ArrayList<>();
-        String chunkdataStr = "";
-        while (chunkM.find()) {
-            chunks.add(chunkM.toMatchResult());
-            // extract chunk-data (and later) in bytes
-            int bytes = Integer.parseInt(chunkM.group(1));
-            byte[] chunkdata = reply.substring(chunkM.end()).getBytes(StandardCharsets.UTF_8);
-            if (bytes > chunkdata.length) {
-                log.debug("Error on reply - wrong chunk size {}", reply);
-                return false;
+    private static boolean isReply(String reply) {
+        return reply.contains(RPC_REPLY) || reply.contains(RPC_ERROR) || reply.contains(HELLO);
+    }
+
+    /**
+     * Returns the start tag of the root element of the given message,
+     * skipping the XML declaration, processing instructions and comments.
+     *
+     * @param message XML message
+     * @return start tag of the root element, or the whole message if not found
+     */
+    static String rootStartTag(String message) {
+        int from = 0;
+        while (true) {
+            int start = message.indexOf('<', from);
+            if (start < 0 || start + 1 == message.length()) {
+                return message;
             }
-            //check if after chunk-size bytes there is next chunk or message ending
-            if (chunkdata[bytes] != LF_CHAR || chunkdata[bytes + 1] != HASH_CHAR) {
-                log.debug("Error on reply - wrong chunk size {}", reply);
-                return false;
+            String end = message.startsWith(COMMENT_START, start) ? COMMENT_END : ">";
+            int stop = message.indexOf(end, start);
+            if (stop < 0) {
+                return message;
             }
-            // convert (only) chunk-data part into String
-            chunkdataStr = new String(chunkdata, 0, bytes, StandardCharsets.UTF_8);
-            // skip chunk-data part from next match
-            chunkM.region(chunkM.end() + chunkdataStr.length(), reply.length());
-        }
-        if (!"\n##\n".equals(reply.substring(chunks.get(chunks.size() - 1).end() + chunkdataStr.length()))) {
-            log.debug("Error on reply {}", reply);
-            return false;
+            char c = message.charAt(start + 1);
+            if (c != '?' && c != '!') {
+                return message.substring(start, stop + 1);
+            }
+            from = stop + end.length();
         }
-        return true;
     }
 
     protected static Optional<Integer> getMsgId(String reply) {
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf.ctl.impl;
+
+import com.google.common.base.Strings;
+import org.junit.Test;
+import org.onosproject.netconf.NetconfException;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+/**
+ * Unit tests for NetconfMessageFramer.
+ */
+public class NetconfMessageFramerTest {
+
+    private static final String REPLY = "<rpc-reply message-id=\"1\"><ok/></rpc-reply>";
+
+    private static NetconfMessageFramer framer(String input) {
+        return new NetconfMessageFramer(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // Framer reading the input a byte at a time, so that delimiters span reads
+    private static NetconfMessageFramer slowFramer(String input) {
+        InputStream in = new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+        return new NetconfMessageFramer(in);
+    }
+
+    private static String chunk(String data) {
+        return "\n#" + data.getBytes(StandardCharsets.UTF_8).length + "\n" + data;
+    }
+
+    private static void assertBadlyFramed(String input) throws IOException {
+        try {
+            framer(input).next();
+            fail("Badly framed message accepted: " + input);
+        } catch (NetconfException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEndOfMessage() throws IOException {
+        String input = REPLY + "]]>]]>" + "\n\n" + REPLY + "]]>]]>" + "x]]]]>]]>" + "]]>]]>";
+        for (NetconfMessageFramer framer : new NetconfMessageFramer[]{framer(input), slowFramer(input)}) {
+            assertEquals(REPLY, framer.next());
+            // Line feeds not followed by a chunk header belong to the message
+            assertEquals("\n\n" + REPLY, framer.next());
+            assertEquals("x]]", framer.next());
+            assertEquals("", framer.next());
+            assertNull(framer.next());
+        }
+    }
+
+    @Test
+    public void testChunked() throws IOException {
+        // A multi-byte character split across chunks
+        byte[] data = "é".getBytes(StandardCharsets.UTF_8);
+        String split = "\n#1\n" + new String(data, 0, 1, StandardCharsets.ISO_8859_1);
+        String rest = "\n#1\n" + new String(data, 1, 1, StandardCharsets.ISO_8859_1) + "\n##\n";
+        byte[] input = (REPLY + "]]>]]>" + chunk("<rpc-reply>") + chunk("\n#2\n") + chunk("</rpc-reply>") +
+                "\n##\n" + split + rest).getBytes(StandardCharsets.ISO_8859_1);
+
+        NetconfMessageFramer framer = new NetconfMessageFramer(new ByteArrayInputStream(input));
+        assertEquals(REPLY, framer.next());
+        assertEquals("<rpc-reply>\n#2\n</rpc-reply>", framer.next());
+        assertEquals("é", framer.next());
+        assertNull(framer.next());
+    }
+
+    @Test
+    public void testLargeChunks() throws IOException {
+        String large = Strings.repeat("<data>0123456789</data>", 100_000);
+        String input = chunk(large.substring(0, 1_000_000)) + chunk(large.substring(1_000_000)) + "\n##\n" +
+                chunk(REPLY) + "\n##\n";
+        NetconfMessageFramer framer = slowFramer(input);
+        assertEquals(large, framer.next());
+        assertEquals(REPLY, framer.next());
+        assertNull(framer.next());
+    }
+
+    @Test
+    public void testBadlyFramed() throws IOException {
+        assertBadlyFramed("\n##\n");
+        assertBadlyFramed("\n#0\n\n##\n");
+        assertBadlyFramed("\n#x\nabc\n##\n");
+        assertBadlyFramed("\n#2\nabc\n##\n");
+        assertBadlyFramed("\n#3\nabc#");
+        assertBadlyFramed("\n#3\nabc\nx");
+        assertBadlyFramed("\n#3\nabc\n##x");
+        assertBadlyFramed("\n#99999999999\n");
+    }
+
+    @Test
+    public void testEndOfStream() throws IOException {
+        assertNull(framer("").next());
+        assertNull(framer(REPLY).next());
+        assertNull(framer(chunk(REPLY)).next());
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.netconf.ctl.impl;
+
+import org.junit.Test;
+
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.onosproject.netconf.ctl.impl.NetconfStreamThread.getMsgId;
+import static org.onosproject.netconf.ctl.impl.NetconfStreamThread.rootStartTag;
+
+/**
+ * Unit tests for the parsing of replies by NetconfStreamThread.
+ */
+public class NetconfStreamThreadTest {
+
+    private static final String ROOT = "<rpc-reply message-id=\"7\" " +
+            "xmlns=\"urn:ietf:params:xml:ns:netconf:base:1.0\">";
+
+    @Test
+    public void testRootStartTag() {
+        String reply = ROOT + "<data><message-id=\"8\"/></data></rpc-reply>";
+        assertEquals(ROOT, rootStartTag(reply));
+        assertEquals(ROOT, rootStartTag("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n" +
+                                                "<!-- <notification> -->\n" + reply));
+        assertEquals(Optional.of(7), getMsgId(rootStartTag(reply)));
+
+        assertEquals("<hello>", rootStartTag("\n<hello><capabilities/></hello>"));
+        assertEquals(Optional.of(-1), getMsgId(rootStartTag("<hello><capabilities/></hello>")));
+
+        assertEquals("no markup", rootStartTag("no markup"));
+        assertEquals("<!-- unterminated", rootStartTag("<!-- unterminated"));
+    }
+}
@@ -30,6 +30,7 @@ import io.netty.channel.group.DefaultChannelGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.util.concurrent.GlobalEventExecutor;
+import org.onlab.metrics.MetricsService;
 import org.onlab.util.ItemNotFoundException;
 import org.onosproject.net.DeviceId;
 import org.onosproject.net.config.NetworkConfigRegistry;
@@ -82,6 +83,10 @@ import java.util.stream.Stream;
 
 import static org.onlab.util.Tools.get;
 import static org.onlab.util.Tools.groupedThreads;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.WRITE_BATCH_BYTES;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.WRITE_BATCH_BYTES_DEFAULT;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.WRITE_BATCH_DELAY_MICROS;
+import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.WRITE_BATCH_DELAY_MICROS_DEFAULT;
 import static org.onosproject.net.DeviceId.deviceId;
 import static org.onosproject.openflow.controller.Dpid.uri;
 
@@ -110,6 +115,8 @@ public class Controller {
     protected int workerThreads = 0;
     protected int[] cfgQueueSizes = {FIRST_QUEUE_SIZE, 0, 0, 0, 0, 0, 0, DEFAULT_QUEUE_SIZE};
     protected int[] cfgBulkSizes = new int[8];
+    protected int writeBatchBytes = WRITE_BATCH_BYTES_DEFAULT;
+    protected int writeBatchDelayMicros = WRITE_BATCH_DELAY_MICROS_DEFAULT;
 
     // Start time of the controller
     protected long systemStartTime;
@@ -135,6 +142,7 @@ public class Controller {
 
     private DriverService driverService;
     private NetworkConfigRegistry netCfgService;
+    private MetricsService metricsService;
 
     public Controller() {
         Arrays.fill(cfgBulkSizes, DEFAULT_BULK_SIZE);
@@ -148,6 +156,35 @@ public class Controller {
         return cfgBulkSizes[queueId];
     }
 
+    /**
+     * Returns the size in bytes beyond which a batch of messages to a
+     * switch is written at once.
+     *
+     * @return write batch size in bytes
+     */
+    public int getWriteBatchBytes() {
+        return writeBatchBytes;
+    }
+
+    /**
+     * Returns the maximum time in microseconds a batch of messages to a
+     * switch is held while messages are sent in bulk.
+     *
+     * @return write batch delay in microseconds
+     */
+    public int getWriteBatchDelayMicros() {
+        return writeBatchDelayMicros;
+    }
+
+    /**
+     * Returns the metrics service used to track the switch connections.
+     *
+     * @return metrics service; null if metrics are not tracked
+     */
+    public MetricsService getMetricsService() {
+        return metricsService;
+    }
+
     // **************
     // Initialization
     // **************
@@ -265,11 +302,42 @@ public class Controller {
         boolean restartRequired = setOpenFlowPorts(properties);
         restartRequired |= setWorkerThreads(properties);
         restartRequired |= setTlsParameters(properties);
+        setWriteBatchParams(properties);
         if (restartRequired) {
             restart();
         }
     }
 
+    /**
+     * Sets the write batching parameters from property dict; they apply to
+     * the switches connecting afterwards.
+     *
+     * @param properties dictionary
+     */
+    private void setWriteBatchParams(Dictionary<?, ?> properties) {
+        String batchBytes = get(properties, WRITE_BATCH_BYTES);
+        if (!Strings.isNullOrEmpty(batchBytes)) {
+            int bytes = Integer.parseInt(batchBytes);
+            if (bytes > 0) {
+                this.writeBatchBytes = bytes;
+            } else {
+                throw new IllegalArgumentException(
+                    String.format("%s value must be a positive integer value", WRITE_BATCH_BYTES));
+            }
+        }
+        String batchDelay = get(properties, WRITE_BATCH_DELAY_MICROS);
+        if (!Strings.isNullOrEmpty(batchDelay)) {
+            int delay = Integer.parseInt(batchDelay);
+            if (delay >= 0) {
+                this.writeBatchDelayMicros = delay;
+            } else {
+                throw new IllegalArgumentException(
+                    String.format("%s value must be a non-negative integer value", WRITE_BATCH_DELAY_MICROS));
+            }
+        }
+        log.debug("Write batches set to {} bytes, {} us", writeBatchBytes, writeBatchDelayMicros);
+    }
+
     /**
      * Gets the list of listening ports from property dict.
      *
@@ -636,10 +704,25 @@ public class Controller {
 
     public void start(OpenFlowAgent ag, DriverService driverService,
                       NetworkConfigRegistry netCfgService) {
+        start(ag, driverService, netCfgService, null);
+    }
+
+    /**
+     * Starts the OpenFlow IO, tracking the switch connections with the
+     * given metrics service.
+     *
+     * @param ag             OpenFlow agent
+     * @param driverService  driver service
+     * @param netCfgService  network configuration registry
+     * @param metricsService metrics service; null if metrics are not tracked
+     */
+    public void start(OpenFlowAgent ag, DriverService driverService,
+                      NetworkConfigRegistry netCfgService, MetricsService metricsService) {
         log.info("Starting OpenFlow IO");
         this.agent = ag;
         this.driverService = driverService;
         this.netCfgService = netCfgService;
+        this.metricsService = metricsService;
         this.init();
         this.addListeningPorts(this.openFlowPorts);
     }
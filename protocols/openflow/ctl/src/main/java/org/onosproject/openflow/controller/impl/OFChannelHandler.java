@@ -27,7 +27,6 @@ import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
-import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
 import java.security.cert.Certificate;
 import java.util.ArrayList;
@@ -51,21 +50,21 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import org.onlab.util.GroupedThreadFactory;
 import org.osgi.service.component.annotations.Reference;
 import org.osgi.service.component.annotations.ReferenceCardinality;
+import org.onlab.metrics.MetricsComponent;
+import org.onlab.metrics.MetricsFeature;
+import org.onlab.metrics.MetricsService;
 import org.onlab.osgi.DefaultServiceDirectory;
-import org.onlab.packet.Ethernet;
+import org.onlab.packet.EthernetView;
 import org.onlab.packet.IpAddress;
-import org.onosproject.net.ConnectPoint;
 import org.onosproject.net.DeviceId;
-import org.onosproject.net.PortNumber;
-import org.onosproject.net.packet.DefaultInboundPacket;
-import org.onosproject.openflow.controller.DefaultOpenFlowPacketContext;
 import org.onosproject.openflow.controller.Dpid;
 import org.onosproject.openflow.controller.OpenFlowClassifier;
-import org.onosproject.openflow.controller.OpenFlowPacketContext;
 import org.onosproject.openflow.controller.OpenFlowService;
 import org.onosproject.openflow.controller.OpenFlowSession;
 import org.onosproject.openflow.controller.driver.OpenFlowSwitchDriver;
@@ -135,6 +134,10 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
     private static final String BROKEN_PIPE = "Broken pipe";
     static final int NUM_OF_QUEUES = 8;
 
+    private static final String METRICS_COMPONENT = "OpenFlowChannel";
+    private static final String WRITE_BATCH_SIZE = "writeBatchSize";
+    private static final String WRITE_BATCH_LATENCY = "writeBatchLatency";
+
     private final Controller controller;
     private OpenFlowSwitchDriver sw;
     private long thisdpid; // channelHandler cached value of connected switch id
@@ -142,6 +145,9 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
     private Channel channel;
     private String channelId;
 
+    // Gathers the messages sent to the switch; set once the dpid is known
+    private volatile OFMessageWriteBatcher writeBatcher;
+
 
     // State needs to be volatile because the HandshakeTimeoutHandler
     // needs to check if the handshake is complete
@@ -410,6 +416,7 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
                 h.deviceId = DeviceId.deviceId(uri(h.thisdpid));
                 log.debug("Received features reply for switch at {} with dpid {}",
                         h.getSwitchInfoString(), h.thisdpid);
+                h.writeBatcher = h.createWriteBatcher();
 
                 h.featuresReply = m; //temp store
                 if (h.ofVersion == OFVersion.OF_10) {
@@ -1416,8 +1423,14 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
             dispatcher = null;
         }
 
+        OFMessageWriteBatcher batcher = writeBatcher;
+        if (batcher != null) {
+            batcher.discard();
+        }
+
         if (thisdpid != 0) {
             if (!duplicateDpidFound) {
+                removeWriteBatchMetrics();
                 // if the disconnected switch (on this ChannelHandler)
                 // was not one with a duplicate-dpid, it is safe to remove all
                 // state for it at the controller. Notice that if the disconnected
@@ -1630,33 +1643,16 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
 
     }
 
-    /**
-     * Parse OpenFlow message context for get Ethernet packet.
-     *
-     * @param message OpenFlow message
-     * @return parsed Ethernet packet
-     */
-    private Ethernet parsePacketInMessage(OFMessage message) {
-        OpenFlowPacketContext pktCtx = DefaultOpenFlowPacketContext
-                .packetContextFromPacketIn(sw, (OFPacketIn) message);
-        DeviceId id = DeviceId.deviceId(Dpid.uri(pktCtx.dpid().value()));
-        DefaultInboundPacket inPkt = new DefaultInboundPacket(
-                new ConnectPoint(id, PortNumber.portNumber(pktCtx.inPort())),
-                pktCtx.parsed(), ByteBuffer.wrap(pktCtx.unparsed()),
-                pktCtx.cookie());
-        return inPkt.parsed();
-    }
-
     /**
      * Classify the Ethernet packet for membership on one of the queues.
      *
-     * @param packet ethernet packet
+     * @param etherType ethernet type of the packet
      * @return Id of destination Queue
      */
-    private int classifyEthernetPacket(Ethernet packet) {
+    private int classifyEthernetPacket(short etherType) {
         for (Set<OpenFlowClassifier> classifiers : this.messageClassifiersMapProducer) {
             for (OpenFlowClassifier classifier : classifiers) {
-                if (classifier.ethernetType() == packet.getEtherType()) {
+                if (classifier.ethernetType() == etherType) {
                     return classifier.idQueue();
                 }
             }
@@ -1692,8 +1688,9 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
         log.debug("Begin dispatch OpenFlow Message");
         boolean backlogEmpty = processDispatchBacklogQueue();
         if (m.getType() == OFType.PACKET_IN) {
-            Ethernet pkt = parsePacketInMessage(m);
-            pushMessageToQueue(m, classifyEthernetPacket(pkt));
+            // Only the ethernet type is needed, read it without parsing the frame
+            short etherType = EthernetView.of(((OFPacketIn) m).getData()).etherType();
+            pushMessageToQueue(m, classifyEthernetPacket(etherType));
         } else {
             if (!backlogEmpty || !pushMessageToQueue(m, NUM_OF_QUEUES - 1)) {
                 dispatchBacklog.offer(m);
@@ -1908,6 +1905,37 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
     }
 
 
+    /**
+     * Creates the write batcher for the switch, tracking the size and the
+     * latency of its batches if metrics are available.
+     *
+     * @return write batcher
+     */
+    private OFMessageWriteBatcher createWriteBatcher() {
+        Histogram batchSizes = null;
+        Timer batchLatencies = null;
+        MetricsService metricsService = controller.getMetricsService();
+        if (metricsService != null) {
+            MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+            MetricsFeature feature = component.registerFeature(deviceId.toString());
+            batchSizes = metricsService.createHistogram(component, feature, WRITE_BATCH_SIZE);
+            batchLatencies = metricsService.createTimer(component, feature, WRITE_BATCH_LATENCY);
+        }
+        return new OFMessageWriteBatcher(channel, controller.getWriteBatchBytes(),
+                                         controller.getWriteBatchDelayMicros(),
+                                         batchSizes, batchLatencies);
+    }
+
+    private void removeWriteBatchMetrics() {
+        MetricsService metricsService = controller.getMetricsService();
+        if (metricsService != null && deviceId != null) {
+            MetricsComponent component = metricsService.registerComponent(METRICS_COMPONENT);
+            MetricsFeature feature = component.registerFeature(deviceId.toString());
+            metricsService.removeMetric(component, feature, WRITE_BATCH_SIZE);
+            metricsService.removeMetric(component, feature, WRITE_BATCH_LATENCY);
+        }
+    }
+
     @Override
     public boolean isActive() {
         if (channel != null) {
@@ -1929,7 +1957,12 @@ class OFChannelHandler extends ChannelInboundHandlerAdapter
             if (log.isTraceEnabled()) {
                 log.trace("Sending messages for switch {} via openflow channel: {}", getSwitchInfoString(), msgs);
             }
-            channel.writeAndFlush(msgs, channel.voidPromise());
+            OFMessageWriteBatcher batcher = writeBatcher;
+            if (batcher != null) {
+                batcher.write(msgs);
+            } else {
+                channel.writeAndFlush(msgs, channel.voidPromise());
+            }
             return true;
         } else {
             log.warn("Dropping messages for switch {} because channel is not connected: {}",
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onosproject.openflow.controller.impl;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.Channel;
+import org.projectfloodlight.openflow.protocol.OFMessage;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces the OpenFlow messages sent to a switch into write batches.
+ * <p>
+ * Messages are encoded by the sending thread into a pending buffer, which
+ * is written and flushed to the channel by the event loop once per tick,
+ * or as soon as it grows beyond the maximum batch size. When the previous
+ * batch carried more than one message, i.e. the switch is being sent
+ * messages in bulk, the flush is delayed by up to the maximum batch delay
+ * to gather more messages in the same write.
+ * </p>
+ */
+final class OFMessageWriteBatcher {
+
+    private final Channel channel;
+    private final int maxBatchBytes;
+    private final long maxBatchDelayMicros;
+    private final Histogram batchSizes;
+    private final Timer batchLatencies;
+
+    private final Object lock = new Object();
+    private final Runnable flushTask = this::flush;
+
+    // Guarded by lock
+    private ByteBuf pending;
+    private int pendingMessages;
+    private long pendingSince;
+    private boolean flushScheduled;
+    private int lastBatchMessages;
+
+    /**
+     * Creates a new write batcher.
+     *
+     * @param channel             channel to the switch
+     * @param maxBatchBytes       size in bytes beyond which a batch is
+     *                            flushed at once
+     * @param maxBatchDelayMicros maximum time in microseconds a batch is
+     *                            held while messages are sent in bulk
+     * @param batchSizes          histogram of the messages per batch; null
+     *                            if not tracked
+     * @param batchLatencies      timer of the time spent by batches waiting
+     *                            to be flushed; null if not tracked
+     */
+    OFMessageWriteBatcher(Channel channel, int maxBatchBytes, long maxBatchDelayMicros,
+                          Histogram batchSizes, Timer batchLatencies) {
+        this.channel = channel;
+        this.maxBatchBytes = maxBatchBytes;
+        this.maxBatchDelayMicros = maxBatchDelayMicros;
+        this.batchSizes = batchSizes;
+        this.batchLatencies = batchLatencies;
+    }
+
+    /**
+     * Adds the given messages to the current write batch.
+     *
+     * @param msgs messages to be sent
+     */
+    void write(Iterable<OFMessage> msgs) {
+        synchronized (lock) {
+            if (pending == null) {
+                pending = channel.alloc().ioBuffer();
+                pendingSince = System.nanoTime();
+            }
+            for (OFMessage msg : msgs) {
+                msg.writeTo(pending);
+                pendingMessages++;
+            }
+
+            // Batches are handed to the channel while holding the lock, so
+            // that they are written in the order they were filled
+            if (pending.readableBytes() >= maxBatchBytes) {
+                writeAndFlushPending();
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                if (maxBatchDelayMicros <= 0 || lastBatchMessages <= 1) {
+                    channel.eventLoop().execute(flushTask);
+                } else {
+                    channel.eventLoop().schedule(flushTask, maxBatchDelayMicros,
+                                                 TimeUnit.MICROSECONDS);
+                }
+            }
+        }
+    }
+
+    /**
+     * Releases the messages which have not been flushed yet.
+     */
+    void discard() {
+        synchronized (lock) {
+            if (pending != null) {
+                pending.release();
+                pending = null;
+                pendingMessages = 0;
+            }
+        }
+    }
+
+    private void flush() {
+        synchronized (lock) {
+            flushScheduled = false;
+            if (pending != null) {
+                writeAndFlushPending();
+            }
+        }
+    }
+
+    private void writeAndFlushPending() {
+        if (batchSizes != null) {
+            batchSizes.update(pendingMessages);
+        }
+        if (batchLatencies != null) {
+            batchLatencies.update(System.nanoTime() - pendingSince, TimeUnit.NANOSECONDS);
+        }
+        lastBatchMessages = pendingMessages;
+        channel.writeAndFlush(pending, channel.voidPromise());
+        pending = null;
+        pendingMessages = 0;
+    }
+}
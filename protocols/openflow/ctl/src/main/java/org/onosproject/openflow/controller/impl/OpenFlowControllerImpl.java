@@ -18,6 +18,7 @@ package org.onosproject.openflow.controller.impl;
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Multimap;
+import org.onlab.metrics.MetricsService;
 import org.onosproject.cfg.ComponentConfigService;
 import org.onosproject.core.CoreService;
 import org.onosproject.net.DeviceId;
@@ -124,6 +125,8 @@ import static org.onosproject.openflow.controller.impl.OsgiPropertyConstants.*;
                 BULK_SIZE_N5 + ":Integer=" + BULK_SIZE_DEFAULT,
                 QUEUE_SIZE_N6 + ":Integer=" + QUEUE_SIZE_DEFAULT,
                 BULK_SIZE_N6 + ":Integer=" + BULK_SIZE_DEFAULT,
+                WRITE_BATCH_BYTES + ":Integer=" + WRITE_BATCH_BYTES_DEFAULT,
+                WRITE_BATCH_DELAY_MICROS + ":Integer=" + WRITE_BATCH_DELAY_MICROS_DEFAULT,
         }
 )
 
@@ -146,6 +149,9 @@ public class OpenFlowControllerImpl implements OpenFlowController {
     @Reference(cardinality = ReferenceCardinality.MANDATORY)
     protected NetworkConfigRegistry netCfgService;
 
+    @Reference(cardinality = ReferenceCardinality.MANDATORY)
+    protected MetricsService metricsService;
+
     /** Port numbers (comma separated) used by OpenFlow protocol; default is 6633,6653. */
     private String openflowPorts = OFPORTS_DEFAULT;
 
@@ -220,6 +226,12 @@ public class OpenFlowControllerImpl implements OpenFlowController {
     /** Size of bulk N6. */
     private int bulkSizeN6 = BULK_SIZE_DEFAULT;
 
+    /** Size in bytes beyond which a batch of messages to a switch is written at once. */
+    private int writeBatchBytes = WRITE_BATCH_BYTES_DEFAULT;
+
+    /** Maximum delay in microseconds of a batch of messages to a switch under load. */
+    private int writeBatchDelayMicros = WRITE_BATCH_DELAY_MICROS_DEFAULT;
+
     protected ExecutorService executorMsgs =
         Executors.newFixedThreadPool(32, groupedThreads("onos/of", "event-stats-%d", log));
 
@@ -341,7 +353,7 @@ public class OpenFlowControllerImpl implements OpenFlowController {
         netCfgService.registerConfigFactory(factory);
         netCfgService.addListener(netCfgListener);
         ctrl.setConfigParams(context.getProperties());
-        ctrl.start(agent, driverService, netCfgService);
+        ctrl.start(agent, driverService, netCfgService, metricsService);
         openFlowManager.addListener(openFlowListener);
     }
 
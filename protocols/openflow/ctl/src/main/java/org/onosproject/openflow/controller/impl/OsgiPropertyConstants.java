@@ -68,4 +68,10 @@ public final class OsgiPropertyConstants {
     public static final int BULK_SIZE_DEFAULT = 100;
     public static final int QUEUE_SIZE_DEFAULT = 1;
 
+    public static final String WRITE_BATCH_BYTES = "writeBatchBytes";
+    public static final int WRITE_BATCH_BYTES_DEFAULT = 65536;
+
+    public static final String WRITE_BATCH_DELAY_MICROS = "writeBatchDelayMicros";
+    public static final int WRITE_BATCH_DELAY_MICROS_DEFAULT = 50;
+
 }
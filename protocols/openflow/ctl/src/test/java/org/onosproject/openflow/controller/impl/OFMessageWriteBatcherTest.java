@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.onosproject.openflow.controller.impl;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.google.common.collect.ImmutableList;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.onosproject.openflow.controller.impl.OFMessageEncoderTest.MockOfMessage;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Tests for the OpenFlow message write batcher.
+ */
+public class OFMessageWriteBatcherTest {
+
+    private EmbeddedChannel channel;
+    private Histogram batchSizes;
+
+    @Before
+    public void setUp() {
+        channel = new EmbeddedChannel();
+        batchSizes = new MetricRegistry().histogram("batchSizes");
+    }
+
+    @After
+    public void tearDown() {
+        channel.finishAndReleaseAll();
+    }
+
+    /**
+     * Tests that the messages sent within the same event loop tick are
+     * written to the channel as one batch.
+     */
+    @Test
+    public void testCoalesce() {
+        OFMessageWriteBatcher batcher = new OFMessageWriteBatcher(channel, 1024, 0, batchSizes, null);
+        MockOfMessage message1 = new MockOfMessage();
+        MockOfMessage message2 = new MockOfMessage();
+        MockOfMessage message3 = new MockOfMessage();
+        batcher.write(Collections.singletonList(message1));
+        batcher.write(ImmutableList.of(message2, message3));
+        assertThat(channel.outboundMessages().isEmpty(), is(true));
+
+        channel.runPendingTasks();
+        String expected = "message" + message1.id + " message" + message2.id + " message" + message3.id + " ";
+        assertThat(readOutbound(), is(expected));
+        assertThat(channel.readOutbound(), nullValue());
+        assertThat(batchSizes.getCount(), is(1L));
+        assertThat(batchSizes.getSnapshot().getMax(), is(3L));
+    }
+
+    /**
+     * Tests that a batch is written at once when it exceeds the size limit.
+     */
+    @Test
+    public void testBatchSizeLimit() {
+        OFMessageWriteBatcher batcher = new OFMessageWriteBatcher(channel, 1, 0, batchSizes, null);
+        MockOfMessage message1 = new MockOfMessage();
+        batcher.write(Collections.singletonList(message1));
+        assertThat(readOutbound(), is("message" + message1.id + " "));
+
+        // Nothing is left to flush
+        channel.runPendingTasks();
+        assertThat(channel.readOutbound(), nullValue());
+    }
+
+    /**
+     * Tests that pending messages are released when discarded.
+     */
+    @Test
+    public void testDiscard() {
+        OFMessageWriteBatcher batcher = new OFMessageWriteBatcher(channel, 1024, 0, null, null);
+        batcher.write(Collections.singletonList(new MockOfMessage()));
+        batcher.discard();
+        channel.runPendingTasks();
+        assertThat(channel.readOutbound(), nullValue());
+    }
+
+    private String readOutbound() {
+        ByteBuf buf = channel.readOutbound();
+        try {
+            return buf.toString(StandardCharsets.UTF_8);
+        } finally {
+            buf.release();
+        }
+    }
+}
@@ -26,6 +26,7 @@ import org.onosproject.net.pi.runtime.PiHandle;
 
 import java.util.Collection;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * P4Runtime client interface for the Read RPC that allows reading multiple
@@ -230,10 +231,29 @@ public interface P4RuntimeReadClient {
          */
         ReadResponse submitSync();
 
-        //TODO: implement per-entity asynchronous reads. This would allow a user
-        // of this client to process read entities as they arrive, instead of
-        // waiting for the client to receive them all. Java 9 Reactive Streams
-        // seems a good way of doing it.
+        /**
+         * Submits the read request and passes the entities to the given
+         * consumer as they are received by the P4Runtime client, one server
+         * response message at a time, instead of collecting them in the read
+         * response. This allows processing large sets of entities without
+         * holding them all in memory. The consumer is invoked sequentially,
+         * from a gRPC thread. The future is completed once all entities have
+         * been received; the read response tells if the request was
+         * successful, but contains no entities.
+         *
+         * @param consumer consumer of the PI entities returned by the server
+         * @return completable future of a read response
+         */
+        CompletableFuture<ReadResponse> submit(Consumer<PiEntity> consumer);
+
+        /**
+         * Similar to {@link #submit(Consumer)}, but blocks until the operation
+         * is completed, after which, it returns a read response.
+         *
+         * @param consumer consumer of the PI entities returned by the server
+         * @return read response
+         */
+        ReadResponse submitSync(Consumer<PiEntity> consumer);
     }
 
     /**
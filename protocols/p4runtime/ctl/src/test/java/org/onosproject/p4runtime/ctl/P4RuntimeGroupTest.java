@@ -45,6 +45,8 @@ import org.onosproject.net.pi.runtime.PiActionProfileGroup;
 import org.onosproject.net.pi.runtime.PiActionProfileGroupId;
 import org.onosproject.net.pi.runtime.PiActionProfileMember;
 import org.onosproject.net.pi.runtime.PiActionProfileMemberId;
+import org.onosproject.net.pi.runtime.PiEntity;
+import org.onosproject.p4runtime.api.P4RuntimeReadClient;
 import org.onosproject.p4runtime.api.P4RuntimeWriteClient;
 import org.onosproject.p4runtime.ctl.client.P4RuntimeClientImpl;
 import org.onosproject.p4runtime.ctl.controller.P4RuntimeControllerImpl;
@@ -329,4 +331,42 @@ public class P4RuntimeGroupTest {
         assertTrue(GROUP_MEMBER_INSTANCES.containsAll(piMembers));
         assertTrue(piMembers.containsAll(GROUP_MEMBER_INSTANCES));
     }
+
+    @Test
+    public void testStreamMembers() throws Exception {
+        ReadResponse.Builder readResponse = ReadResponse.newBuilder();
+        MEMBER_IDS.forEach(id -> {
+            byte outPort = (byte) (id - BASE_MEM_ID);
+            ByteString bs = ByteString.copyFrom(new byte[]{0, outPort});
+            Action action = Action.newBuilder()
+                    .setActionId(SET_EGRESS_PORT_ID)
+                    .addParams(Action.Param.newBuilder()
+                                       .setParamId(1)
+                                       .setValue(bs)
+                                       .build())
+                    .build();
+            ActionProfileMember actProfMember =
+                    ActionProfileMember.newBuilder()
+                            .setActionProfileId(P4_INFO_ACT_PROF_ID)
+                            .setMemberId(id)
+                            .setAction(action)
+                            .build();
+            readResponse.addEntities(Entity.newBuilder()
+                                             .setActionProfileMember(actProfMember));
+        });
+
+        List<ReadResponse> responses = Lists.newArrayList(readResponse.build());
+        p4RuntimeServerImpl.willReturnReadResult(responses);
+        CompletableFuture<Void> complete = p4RuntimeServerImpl.expectRequests(1);
+        List<PiEntity> piMembers = Lists.newArrayList();
+        P4RuntimeReadClient.ReadResponse response = client.read(P4_DEVICE_ID, PIPECONF)
+                .actionProfileMembers(ACT_PROF_ID)
+                .submitSync(piMembers::add);
+        complete.get(DEFAULT_TIMEOUT_TIME, TimeUnit.SECONDS);
+        assertTrue(response.isSuccess());
+        assertTrue(response.all().isEmpty());
+        assertEquals(3, piMembers.size());
+        assertTrue(GROUP_MEMBER_INSTANCES.containsAll(piMembers));
+        assertTrue(piMembers.containsAll(GROUP_MEMBER_INSTANCES));
+    }
 }
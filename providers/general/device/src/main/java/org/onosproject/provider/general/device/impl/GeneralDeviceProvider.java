@@ -98,6 +98,8 @@ import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.onlab.util.Tools.groupedThreads;
 import static org.onosproject.provider.general.device.impl.OsgiPropertyConstants.CHECKUP_INTERVAL;
 import static org.onosproject.provider.general.device.impl.OsgiPropertyConstants.CHECKUP_INTERVAL_DEFAULT;
+import static org.onosproject.provider.general.device.impl.OsgiPropertyConstants.GNMI_TELEMETRY;
+import static org.onosproject.provider.general.device.impl.OsgiPropertyConstants.GNMI_TELEMETRY_DEFAULT;
 import static org.onosproject.provider.general.device.impl.OsgiPropertyConstants.STATS_POLL_INTERVAL;
 import static org.onosproject.provider.general.device.impl.OsgiPropertyConstants.STATS_POLL_INTERVAL_DEFAULT;
 import static org.slf4j.LoggerFactory.getLogger;
@@ -111,7 +113,8 @@ import static org.slf4j.LoggerFactory.getLogger;
 @Component(immediate = true,
         property = {
                 CHECKUP_INTERVAL + ":Integer=" + CHECKUP_INTERVAL_DEFAULT,
-                STATS_POLL_INTERVAL + ":Integer=" + STATS_POLL_INTERVAL_DEFAULT
+                STATS_POLL_INTERVAL + ":Integer=" + STATS_POLL_INTERVAL_DEFAULT,
+                GNMI_TELEMETRY + ":Boolean=" + GNMI_TELEMETRY_DEFAULT
         })
 public class GeneralDeviceProvider extends AbstractProvider
         implements DeviceProvider {
@@ -180,6 +183,12 @@ public class GeneralDeviceProvider extends AbstractProvider
      */
     private int statsPollInterval = STATS_POLL_INTERVAL_DEFAULT;
 
+    /**
+     * Enable the streaming of port counters by gNMI devices, sampled at the
+     * stats poll interval; default is false.
+     */
+    private boolean gnmiTelemetry = GNMI_TELEMETRY_DEFAULT;
+
     private final Map<DeviceId, DeviceHandshaker> handshakersWithListeners = Maps.newConcurrentMap();
     private final Map<DeviceId, Long> lastCheckups = Maps.newConcurrentMap();
     private final InternalPipeconfWatchdogListener pipeconfWatchdogListener = new InternalPipeconfWatchdogListener();
@@ -216,7 +225,8 @@ public class GeneralDeviceProvider extends AbstractProvider
         deviceService.addListener(deviceListener);
         pipeconfWatchdogService.addListener(pipeconfWatchdogListener);
         gnmiDeviceStateSubscriber = new GnmiDeviceStateSubscriber(
-                gnmiController, deviceService, mastershipService, providerService);
+                gnmiController, deviceService, mastershipService, providerService,
+                gnmiTelemetry, statsPollInterval);
         gnmiDeviceStateSubscriber.activate();
         startOrReschedulePeriodicCheckupTasks();
         statsPoller = new StatsPoller(deviceService, mastershipService, providerService);
@@ -242,6 +252,11 @@ public class GeneralDeviceProvider extends AbstractProvider
                 properties, STATS_POLL_INTERVAL, STATS_POLL_INTERVAL_DEFAULT);
         log.info("Configured. {} is configured to {} seconds",
                  STATS_POLL_INTERVAL, statsPollInterval);
+        final boolean oldGnmiTelemetry = gnmiTelemetry;
+        gnmiTelemetry = Tools.isPropertyEnabled(
+                properties, GNMI_TELEMETRY, GNMI_TELEMETRY_DEFAULT);
+        log.info("Configured. {} is {}",
+                 GNMI_TELEMETRY, gnmiTelemetry ? "enabled" : "disabled");
 
         if (oldCheckupInterval != checkupInterval) {
             startOrReschedulePeriodicCheckupTasks();
@@ -250,6 +265,10 @@ public class GeneralDeviceProvider extends AbstractProvider
         if (oldStatsPollFrequency != statsPollInterval) {
             statsPoller.reschedule(statsPollInterval);
         }
+
+        if (oldStatsPollFrequency != statsPollInterval || oldGnmiTelemetry != gnmiTelemetry) {
+            gnmiDeviceStateSubscriber.setTelemetry(gnmiTelemetry, statsPollInterval);
+        }
     }
 
     @Deactivate
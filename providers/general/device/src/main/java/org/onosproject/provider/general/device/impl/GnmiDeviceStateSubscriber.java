@@ -17,6 +17,7 @@
 package org.onosproject.provider.general.device.impl;
 
 import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.Striped;
 import gnmi.Gnmi.Notification;
@@ -53,6 +54,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
@@ -84,13 +86,20 @@ class GnmiDeviceStateSubscriber {
 
     private ExecutorService eventExecutor;
 
+    // Whether devices stream port counters, and the seconds between two samples
+    private boolean telemetry;
+    private int sampleInterval;
+
     GnmiDeviceStateSubscriber(GnmiController gnmiController, DeviceService deviceService,
                               MastershipService mastershipService,
-                              DeviceProviderService providerService) {
+                              DeviceProviderService providerService,
+                              boolean telemetry, int sampleInterval) {
         this.gnmiController = gnmiController;
         this.deviceService = deviceService;
         this.mastershipService = mastershipService;
         this.providerService = providerService;
+        this.telemetry = telemetry;
+        this.sampleInterval = sampleInterval;
     }
 
     public void activate() {
@@ -112,6 +121,25 @@ class GnmiDeviceStateSubscriber {
         eventExecutor = null;
     }
 
+    /**
+     * Enables or disables the streaming of port counters by devices, and
+     * changes the interval at which they are sampled, renewing the existing
+     * telemetry subscriptions.
+     *
+     * @param telemetry      whether devices stream port counters
+     * @param sampleInterval interval in seconds
+     */
+    public void setTelemetry(boolean telemetry, int sampleInterval) {
+        eventExecutor.execute(() -> {
+            if (this.telemetry == telemetry && this.sampleInterval == sampleInterval) {
+                return;
+            }
+            this.telemetry = telemetry;
+            this.sampleInterval = sampleInterval;
+            ImmutableSet.copyOf(deviceSubscribed.keySet()).forEach(this::checkSubscription);
+        });
+    }
+
     private void checkSubscription(DeviceId deviceId) {
         if (gnmiController.get(deviceId) == null) {
             // Ignore devices for which a gNMI client does not exist.
@@ -145,19 +173,52 @@ class GnmiDeviceStateSubscriber {
                 .build();
     }
 
+    private Path interfaceCountersPath(String interfaceName) {
+        return interfaceStatePath(interfaceName).toBuilder()
+                .addElem(PathElem.newBuilder().setName("counters").build())
+                .build();
+    }
+
     private void unsubscribeIfNeeded(DeviceId deviceId) {
         gnmiController.get(deviceId).unsubscribe();
+        gnmiController.get(deviceId).unsubscribeTelemetry();
         if (deviceSubscribed.remove(deviceId) != null) {
             log.info("Cancelled gNMI subscription for {}", deviceId);
         }
     }
 
+    private void subscribeTelemetryIfNeeded(DeviceId deviceId, Set<PortNumber> ports) {
+        if (!telemetry) {
+            gnmiController.get(deviceId).unsubscribeTelemetry();
+            return;
+        }
+
+        // Counters are sampled by the device and cached by the client, from
+        // which drivers can read port statistics instead of polling them.
+        // Re-subscribing with the same request is a no-op for the client.
+        final SubscriptionList telemetryList = SubscriptionList.newBuilder()
+                .setMode(SubscriptionList.Mode.STREAM)
+                .addAllSubscription(ports.stream().map(
+                        port -> Subscription.newBuilder()
+                                .setPath(interfaceCountersPath(port.name()))
+                                .setMode(SubscriptionMode.SAMPLE)
+                                .setSampleInterval(TimeUnit.SECONDS.toNanos(sampleInterval))
+                                .build()).collect(Collectors.toList()))
+                .build();
+        gnmiController.get(deviceId).subscribeTelemetry(
+                SubscribeRequest.newBuilder()
+                        .setSubscribe(telemetryList)
+                        .build());
+    }
+
     private void subscribeIfNeeded(DeviceId deviceId) {
 
         Set<PortNumber> ports = deviceService.getPorts(deviceId).stream()
                 .map(Port::number)
                 .collect(Collectors.toSet());
 
+        subscribeTelemetryIfNeeded(deviceId, ports);
+
         if (Objects.equals(ports, deviceSubscribed.get(deviceId))) {
             // Already subscribed for the same ports.
             return;
@@ -29,4 +29,7 @@ public final class OsgiPropertyConstants {
     public static final String CHECKUP_INTERVAL = "checkupInterval";
     public static final int CHECKUP_INTERVAL_DEFAULT = 10;
 
+    public static final String GNMI_TELEMETRY = "gnmiTelemetry";
+    public static final boolean GNMI_TELEMETRY_DEFAULT = false;
+
 }
@@ -51,6 +51,7 @@ import org.onosproject.net.link.LinkProviderService;
 import org.onosproject.net.link.LinkService;
 import org.onosproject.net.link.ProbedLinkProvider;
 import org.onosproject.net.packet.PacketContext;
+import org.onosproject.net.packet.PacketInterest;
 import org.onosproject.net.packet.PacketPriority;
 import org.onosproject.net.packet.PacketProcessor;
 import org.onosproject.net.packet.PacketService;
@@ -374,7 +375,11 @@ public class LldpLinkProvider extends AbstractProvider implements ProbedLinkProv
         providerService = providerRegistry.register(this);
         masterService.addListener(roleListener);
         deviceService.addListener(deviceListener);
-        packetService.addProcessor(packetProcessor, PacketProcessor.advisor(0));
+        packetService.addProcessor(packetProcessor, PacketProcessor.advisor(0),
+                                   PacketInterest.builder()
+                                           .matchEthType(TYPE_LLDP)
+                                           .matchEthType(TYPE_BSN)
+                                           .build());
 
         loadDevices();
 
@@ -174,15 +174,17 @@ public class OpenFlowPacketProvider extends AbstractProvider implements PacketPr
         public void handlePacket(OpenFlowPacketContext pktCtx) {
             DeviceId id = DeviceId.deviceId(Dpid.uri(pktCtx.dpid().value()));
 
+            // Copy the packet data once and let the inbound packet decode
+            // the frame lazily, only if a processor asks for it.
+            byte[] data = pktCtx.unparsed();
             DefaultInboundPacket inPkt = new DefaultInboundPacket(
                     new ConnectPoint(id, PortNumber.portNumber(pktCtx.inPort())),
-                    pktCtx.parsed(), ByteBuffer.wrap(pktCtx.unparsed()),
-                    pktCtx.cookie());
+                    ByteBuffer.wrap(data), pktCtx.cookie());
 
             DefaultOutboundPacket outPkt = null;
             if (!pktCtx.isBuffered()) {
                 outPkt = new DefaultOutboundPacket(id, null,
-                        ByteBuffer.wrap(pktCtx.unparsed()));
+                        ByteBuffer.wrap(data));
             }
 
             OpenFlowCorePacketContext corePktCtx =
@@ -122,6 +122,12 @@ ATOMIX = [
     "@typesafe_config//jar",
     "@classgraph//jar",
 ]
+JMH = [
+    "@jmh_core//jar",
+    "@jmh_generator_annprocess//jar",
+    "@jopt_simple//jar",
+    "@commons_math3//jar",
+]
 
 def generated_maven_jars():
     if "aopalliance_repackaged" not in native.existing_rules():
@@ -688,6 +694,24 @@ def generated_maven_jars():
             jar_sha256 = "36a747ca1e0b86f6ea88055b8723bb87030d627766da6288bf077afdeeb0f75a",
             licenses = ["notice"],
             jar_urls = ["https://repo1.maven.org/maven2/junit/junit/4.10/junit-4.10.jar"],        )
+    if "jmh_core" not in native.existing_rules():
+        java_import_external(
+            name = "jmh_core",
+            jar_sha256 = "5b202159b21555045affccdde23c57005b9efceaea32ca6e4406d4fe5811e743",
+            licenses = ["notice"],
+            jar_urls = ["https://repo1.maven.org/maven2/org/openjdk/jmh/jmh-core/1.23/jmh-core-1.23.jar"],        )
+    if "jmh_generator_annprocess" not in native.existing_rules():
+        java_import_external(
+            name = "jmh_generator_annprocess",
+            jar_sha256 = "218c80cd06b61097ccd59011480361d4dcbeabf0b280209e781365733d9e7121",
+            licenses = ["notice"],
+            jar_urls = ["https://repo1.maven.org/maven2/org/openjdk/jmh/jmh-generator-annprocess/1.23/jmh-generator-annprocess-1.23.jar"],        )
+    if "jopt_simple" not in native.existing_rules():
+        java_import_external(
+            name = "jopt_simple",
+            jar_sha256 = "3fcfbe3203c2ea521bf7640484fd35d6303186ea2e08e72f032d640ca067ffda",
+            licenses = ["notice"],
+            jar_urls = ["https://repo1.maven.org/maven2/net/sf/jopt-simple/jopt-simple/4.6/jopt-simple-4.6.jar"],        )
     if "kryo" not in native.existing_rules():
         java_import_external(
             name = "kryo",
@@ -1569,6 +1593,9 @@ artifact_map["@jsch//:jsch"] = "mvn:com.jcraft:jsch:jar:NON-OSGI:0.1.53"
 artifact_map["@com_google_code_findbugs_jsr305//:com_google_code_findbugs_jsr305"] = "mvn:com.google.code.findbugs:jsr305:jar:3.0.2"
 artifact_map["@junit//:junit"] = "mvn:junit:junit:jar:NON-OSGI:4.12"
 artifact_map["@junit_dep//:junit_dep"] = "mvn:junit:junit:jar:NON-OSGI:4.10"
+artifact_map["@jmh_core//:jmh_core"] = "mvn:org.openjdk.jmh:jmh-core:jar:NON-OSGI:1.23"
+artifact_map["@jmh_generator_annprocess//:jmh_generator_annprocess"] = "mvn:org.openjdk.jmh:jmh-generator-annprocess:jar:NON-OSGI:1.23"
+artifact_map["@jopt_simple//:jopt_simple"] = "mvn:net.sf.jopt-simple:jopt-simple:jar:NON-OSGI:4.6"
 artifact_map["@kryo//:kryo"] = "mvn:com.esotericsoftware:kryo:jar:4.0.1"
 artifact_map["@mapdb//:mapdb"] = "mvn:org.mapdb:mapdb:jar:1.0.9"
 artifact_map["@metrics_core//:metrics_core"] = "mvn:io.dropwizard.metrics:metrics-core:jar:3.2.2"
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onlab.packet;
+
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.MoreObjects.toStringHelper;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static org.onlab.packet.Ethernet.DATALAYER_ADDRESS_LENGTH;
+import static org.onlab.packet.Ethernet.ETHERNET_HEADER_LENGTH;
+import static org.onlab.packet.Ethernet.TYPE_IPV4;
+import static org.onlab.packet.Ethernet.TYPE_IPV6;
+import static org.onlab.packet.Ethernet.TYPE_QINQ;
+import static org.onlab.packet.Ethernet.TYPE_VLAN;
+import static org.onlab.packet.Ethernet.VLAN_HEADER_LENGTH;
+import static org.onlab.packet.Ethernet.VLAN_UNTAGGED;
+
+/**
+ * Read-only view of the headers of an Ethernet frame held in a buffer.
+ * <p>
+ * Unlike {@link Ethernet#deserializer()}, the view does not copy the frame
+ * nor build a tree of packet objects: header fields are read on demand at
+ * their offsets in the original buffer. Only the fields needed to classify
+ * a frame are exposed, i.e. the Ethernet addresses and type, the VLAN tags,
+ * the IP protocol and addresses and the transport ports or ICMP type. The
+ * frame can still be fully parsed with {@link #materialize()}.
+ * </p>
+ * <p>
+ * Accessors return a neutral value, e.g. {@code 0} or {@code -1}, when the
+ * frame is too short or does not carry the requested header. The view reads
+ * the buffer with absolute gets, so its position and limit are left as is,
+ * but the content must not be modified while the view is in use.
+ * </p>
+ */
+public final class EthernetView {
+
+    private static final int UNKNOWN = -1;
+    private static final int NONE = -2;
+
+    private static final int IPV4_MIN_HEADER_LENGTH = 20;
+    private static final int IPV6_ADDRESS_OFFSET = 8;
+    private static final int IPV6_EXTENSION_LENGTH_UNIT = 8;
+    private static final int IPV6_MAX_EXTENSIONS = 8;
+    private static final byte IP_PROTOCOL_SCTP = (byte) 0x84;
+
+    private final ByteBuffer buffer;
+    private final int offset;
+    private final int length;
+
+    // Layer 2; l3Offset is written last and publishes the other fields
+    private short etherType;
+    private short vlanId = VLAN_UNTAGGED;
+    private short qinqVlanId = VLAN_UNTAGGED;
+    private volatile int l3Offset = UNKNOWN;
+
+    // Layer 3; l4Offset is written last and publishes the protocol
+    private byte ipProtocol;
+    private volatile int l4Offset = UNKNOWN;
+
+    private EthernetView(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Returns a view of the frame in the given byte array.
+     *
+     * @param data frame bytes
+     * @return frame view
+     */
+    public static EthernetView of(byte[] data) {
+        checkNotNull(data);
+        return new EthernetView(ByteBuffer.wrap(data), 0, data.length);
+    }
+
+    /**
+     * Returns a view of the frame held between the current position and the
+     * limit of the given buffer.
+     *
+     * @param buffer frame buffer
+     * @return frame view
+     */
+    public static EthernetView of(ByteBuffer buffer) {
+        checkNotNull(buffer);
+        return new EthernetView(buffer, buffer.position(), buffer.remaining());
+    }
+
+    /**
+     * Returns the length of the frame.
+     *
+     * @return frame length in bytes
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns whether the frame is long enough to hold an Ethernet header.
+     *
+     * @return true if the frame holds an Ethernet header
+     */
+    public boolean isValid() {
+        return length >= ETHERNET_HEADER_LENGTH;
+    }
+
+    /**
+     * Returns the destination MAC address.
+     *
+     * @return destination MAC address; null if the frame is too short
+     */
+    public MacAddress destinationMac() {
+        return mac(0);
+    }
+
+    /**
+     * Returns the source MAC address.
+     *
+     * @return source MAC address; null if the frame is too short
+     */
+    public MacAddress sourceMac() {
+        return mac(DATALAYER_ADDRESS_LENGTH);
+    }
+
+    /**
+     * Returns whether the destination MAC address is the broadcast address.
+     *
+     * @return true if the frame is broadcast
+     */
+    public boolean isBroadcast() {
+        if (!isValid()) {
+            return false;
+        }
+        for (int i = 0; i < DATALAYER_ADDRESS_LENGTH; i++) {
+            if (buffer.get(offset + i) != (byte) 0xff) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether the destination MAC address is a multicast address,
+     * including the broadcast address.
+     *
+     * @return true if the frame is multicast
+     */
+    public boolean isMulticast() {
+        return isValid() && (buffer.get(offset) & 0x01) != 0;
+    }
+
+    /**
+     * Returns the Ethernet type of the payload, after any VLAN tags.
+     *
+     * @return Ethernet type; 0 if the frame is too short
+     */
+    public short etherType() {
+        decodeL2();
+        return etherType;
+    }
+
+    /**
+     * Returns the VLAN identifier of the inner VLAN tag.
+     *
+     * @return VLAN identifier; {@link Ethernet#VLAN_UNTAGGED} if none
+     */
+    public short vlanId() {
+        decodeL2();
+        return vlanId;
+    }
+
+    /**
+     * Returns the VLAN identifier of the outer VLAN tag of a double tagged
+     * frame.
+     *
+     * @return outer VLAN identifier; {@link Ethernet#VLAN_UNTAGGED} if none
+     */
+    public short qinqVlanId() {
+        decodeL2();
+        return qinqVlanId;
+    }
+
+    /**
+     * Returns the IP protocol number of the transport header, after any IPv6
+     * extension headers.
+     *
+     * @return IP protocol; 0 if the frame is not a well formed IP packet
+     */
+    public byte ipProtocol() {
+        decodeL3();
+        return ipProtocol;
+    }
+
+    /**
+     * Returns the source IP address.
+     *
+     * @return source IPv4 or IPv6 address; null if the frame is not IP
+     */
+    public IpAddress sourceIp() {
+        return ip(true);
+    }
+
+    /**
+     * Returns the destination IP address.
+     *
+     * @return destination IPv4 or IPv6 address; null if the frame is not IP
+     */
+    public IpAddress destinationIp() {
+        return ip(false);
+    }
+
+    /**
+     * Returns the source TCP, UDP or SCTP port.
+     *
+     * @return source port; -1 if the frame carries no such header
+     */
+    public int sourcePort() {
+        return port(0);
+    }
+
+    /**
+     * Returns the destination TCP, UDP or SCTP port.
+     *
+     * @return destination port; -1 if the frame carries no such header
+     */
+    public int destinationPort() {
+        return port(2);
+    }
+
+    /**
+     * Returns the ICMP or ICMPv6 message type.
+     *
+     * @return message type; -1 if the frame is neither ICMP nor ICMPv6
+     */
+    public int icmpType() {
+        int l4 = l4Offset();
+        byte protocol = ipProtocol;
+        short type = etherType;
+        boolean icmp = (type == TYPE_IPV4 && protocol == IPv4.PROTOCOL_ICMP) ||
+                (type == TYPE_IPV6 && protocol == IPv6.PROTOCOL_ICMP6);
+        if (!icmp || l4 >= offset + length) {
+            return -1;
+        }
+        return buffer.get(l4) & 0xff;
+    }
+
+    /**
+     * Fully parses the frame.
+     *
+     * @return parsed Ethernet frame
+     * @throws DeserializationException if the frame cannot be parsed
+     */
+    public Ethernet materialize() throws DeserializationException {
+        if (buffer.hasArray()) {
+            return Ethernet.deserializer().deserialize(
+                    buffer.array(), buffer.arrayOffset() + offset, length);
+        }
+        byte[] data = new byte[length];
+        for (int i = 0; i < length; i++) {
+            data[i] = buffer.get(offset + i);
+        }
+        return Ethernet.deserializer().deserialize(data, 0, length);
+    }
+
+    private MacAddress mac(int at) {
+        if (!isValid()) {
+            return null;
+        }
+        byte[] address = new byte[DATALAYER_ADDRESS_LENGTH];
+        for (int i = 0; i < DATALAYER_ADDRESS_LENGTH; i++) {
+            address[i] = buffer.get(offset + at + i);
+        }
+        return MacAddress.valueOf(address);
+    }
+
+    private IpAddress ip(boolean source) {
+        int l3 = l3Offset();
+        int end = offset + length;
+        if (etherType == TYPE_IPV4 && l3 + IPV4_MIN_HEADER_LENGTH <= end) {
+            return IpAddress.valueOf(IpAddress.Version.INET,
+                                     bytes(l3 + (source ? 12 : 16), IpAddress.INET_BYTE_LENGTH));
+        }
+        if (etherType == TYPE_IPV6 && l3 + IPv6.FIXED_HEADER_LENGTH <= end) {
+            int at = l3 + IPV6_ADDRESS_OFFSET + (source ? 0 : IpAddress.INET6_BYTE_LENGTH);
+            return IpAddress.valueOf(IpAddress.Version.INET6,
+                                     bytes(at, IpAddress.INET6_BYTE_LENGTH));
+        }
+        return null;
+    }
+
+    private int port(int at) {
+        int l4 = l4Offset();
+        byte protocol = ipProtocol;
+        boolean ports = protocol == IPv4.PROTOCOL_TCP || protocol == IPv4.PROTOCOL_UDP ||
+                protocol == IP_PROTOCOL_SCTP;
+        if (l4 < 0 || !ports || l4 + at + 2 > offset + length) {
+            return -1;
+        }
+        return buffer.getShort(l4 + at) & 0xffff;
+    }
+
+    private byte[] bytes(int at, int count) {
+        byte[] bytes = new byte[count];
+        for (int i = 0; i < count; i++) {
+            bytes[i] = buffer.get(at + i);
+        }
+        return bytes;
+    }
+
+    private int l3Offset() {
+        decodeL2();
+        return l3Offset;
+    }
+
+    private int l4Offset() {
+        decodeL3();
+        return l4Offset;
+    }
+
+    // Decodes the Ethernet type and VLAN tags the same way the Ethernet deserializer does
+    private void decodeL2() {
+        if (l3Offset != UNKNOWN) {
+            return;
+        }
+        if (!isValid()) {
+            l3Offset = NONE;
+            return;
+        }
+        int end = offset + length;
+        int at = offset + 2 * DATALAYER_ADDRESS_LENGTH;
+        short type = buffer.getShort(at);
+        at += 2;
+        short outer = VLAN_UNTAGGED;
+        short inner = VLAN_UNTAGGED;
+        if (type == TYPE_QINQ && at + VLAN_HEADER_LENGTH <= end) {
+            outer = (short) (buffer.getShort(at) & 0x0fff);
+            type = buffer.getShort(at + 2);
+            at += VLAN_HEADER_LENGTH;
+        }
+        if (type == TYPE_VLAN && at + VLAN_HEADER_LENGTH <= end) {
+            inner = (short) (buffer.getShort(at) & 0x0fff);
+            type = buffer.getShort(at + 2);
+            at += VLAN_HEADER_LENGTH;
+            if (type == TYPE_VLAN && at + VLAN_HEADER_LENGTH <= end) {
+                // Double tagged with 802.1Q only; the first tag is the outer one
+                outer = inner;
+                inner = (short) (buffer.getShort(at) & 0x0fff);
+                type = buffer.getShort(at + 2);
+                at += VLAN_HEADER_LENGTH;
+            }
+        }
+        etherType = type;
+        vlanId = inner;
+        qinqVlanId = outer;
+        l3Offset = at;
+    }
+
+    // Locates the transport header of IPv4 and IPv6 packets
+    private void decodeL3() {
+        if (l4Offset != UNKNOWN) {
+            return;
+        }
+        int l3 = l3Offset();
+        int end = offset + length;
+        int at = NONE;
+        byte protocol = 0;
+        if (etherType == TYPE_IPV4 && l3 + IPV4_MIN_HEADER_LENGTH <= end) {
+            int headerLength = (buffer.get(l3) & 0x0f) * 4;
+            boolean firstFragment = (buffer.getShort(l3 + 6) & 0x1fff) == 0;
+            if (headerLength >= IPV4_MIN_HEADER_LENGTH && firstFragment) {
+                protocol = buffer.get(l3 + 9);
+                at = l3 + headerLength;
+            }
+        } else if (etherType == TYPE_IPV6 && l3 + IPv6.FIXED_HEADER_LENGTH <= end) {
+            protocol = buffer.get(l3 + 6);
+            at = l3 + IPv6.FIXED_HEADER_LENGTH;
+            for (int i = 0; i < IPV6_MAX_EXTENSIONS && isExtension(protocol); i++) {
+                if (at + 2 > end) {
+                    at = NONE;
+                    break;
+                }
+                byte next = buffer.get(at);
+                if (protocol == IPv6.PROTOCOL_FRAG) {
+                    if (at + 4 > end || (buffer.getShort(at + 2) & 0xfff8) != 0) {
+                        // Only the first fragment carries the transport header
+                        at = NONE;
+                        break;
+                    }
+                    at += IPV6_EXTENSION_LENGTH_UNIT;
+                } else {
+                    at += ((buffer.get(at + 1) & 0xff) + 1) * IPV6_EXTENSION_LENGTH_UNIT;
+                }
+                protocol = next;
+            }
+            if (at != NONE && isExtension(protocol)) {
+                at = NONE;
+            }
+        }
+        ipProtocol = at != NONE ? protocol : 0;
+        l4Offset = at;
+    }
+
+    private static boolean isExtension(byte protocol) {
+        return protocol == IPv6.PROTOCOL_HOPOPT || protocol == IPv6.PROTOCOL_ROUTING ||
+                protocol == IPv6.PROTOCOL_FRAG || protocol == IPv6.PROTOCOL_DSTOPT;
+    }
+
+    @Override
+    public String toString() {
+        return toStringHelper(this)
+                .add("length", length)
+                .add("etherType", String.format("0x%04x", etherType() & 0xffff))
+                .add("vlanId", vlanId())
+                .add("ipProtocol", ipProtocol())
+                .toString();
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026-present Open Networking Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.onlab.packet;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.onlab.packet.ipv6.HopByHopOptions;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Unit tests for the EthernetView class.
+ */
+public class EthernetViewTest {
+
+    private static final MacAddress SRC_MAC = MacAddress.valueOf("00:00:00:00:00:01");
+    private static final MacAddress DST_MAC = MacAddress.valueOf("00:00:00:00:00:02");
+    private static final Ip4Address SRC_IP4 = Ip4Address.valueOf("10.0.0.1");
+    private static final Ip4Address DST_IP4 = Ip4Address.valueOf("10.0.0.2");
+    private static final Ip6Address SRC_IP6 = Ip6Address.valueOf("2001::1");
+    private static final Ip6Address DST_IP6 = Ip6Address.valueOf("2001::2");
+
+    private Ethernet udp4;
+
+    @Before
+    public void setUp() {
+        UDP udp = new UDP();
+        udp.setSourcePort(5000);
+        udp.setDestinationPort(6000);
+        udp.setPayload(new Data(new byte[8]));
+
+        IPv4 ipv4 = new IPv4();
+        ipv4.setSourceAddress(SRC_IP4.toInt());
+        ipv4.setDestinationAddress(DST_IP4.toInt());
+        ipv4.setProtocol(IPv4.PROTOCOL_UDP);
+        ipv4.setPayload(udp);
+
+        udp4 = ethernet(Ethernet.TYPE_IPV4, ipv4);
+    }
+
+    private static Ethernet ethernet(short etherType, IPacket payload) {
+        Ethernet eth = new Ethernet();
+        eth.setSourceMACAddress(SRC_MAC);
+        eth.setDestinationMACAddress(DST_MAC);
+        eth.setEtherType(etherType);
+        eth.setPayload(payload);
+        return eth;
+    }
+
+    /**
+     * Tests reading the headers of an untagged IPv4 UDP packet.
+     */
+    @Test
+    public void testIpv4Udp() throws Exception {
+        EthernetView view = EthernetView.of(udp4.serialize());
+
+        assertEquals(SRC_MAC, view.sourceMac());
+        assertEquals(DST_MAC, view.destinationMac());
+        assertEquals(Ethernet.TYPE_IPV4, view.etherType());
+        assertEquals(Ethernet.VLAN_UNTAGGED, view.vlanId());
+        assertEquals(IPv4.PROTOCOL_UDP, view.ipProtocol());
+        assertEquals(SRC_IP4, view.sourceIp());
+        assertEquals(DST_IP4, view.destinationIp());
+        assertEquals(5000, view.sourcePort());
+        assertEquals(6000, view.destinationPort());
+        assertEquals(-1, view.icmpType());
+        assertFalse(view.isMulticast());
+        assertEquals(udp4, view.materialize());
+    }
+
+    /**
+     * Tests reading the headers of single and double tagged frames.
+     */
+    @Test
+    public void testVlanTags() {
+        udp4.setVlanID((short) 10);
+        EthernetView view = EthernetView.of(udp4.serialize());
+        assertEquals(10, view.vlanId());
+        assertEquals(Ethernet.VLAN_UNTAGGED, view.qinqVlanId());
+        assertEquals(Ethernet.TYPE_IPV4, view.etherType());
+        assertEquals(6000, view.destinationPort());
+
+        udp4.setQinQVID((short) 20);
+        udp4.setQinQTPID(Ethernet.TYPE_QINQ);
+        view = EthernetView.of(udp4.serialize());
+        assertEquals(10, view.vlanId());
+        assertEquals(20, view.qinqVlanId());
+        assertEquals(Ethernet.TYPE_IPV4, view.etherType());
+        assertEquals(SRC_IP4, view.sourceIp());
+    }
+
+    /**
+     * Tests reading the headers of an IPv6 packet with an extension header.
+     */
+    @Test
+    public void testIpv6Extension() {
+        ICMP6 icmp6 = new ICMP6();
+        icmp6.setIcmpType(ICMP6.NEIGHBOR_SOLICITATION);
+        icmp6.setPayload(new Data(new byte[20]));
+
+        HopByHopOptions options = new HopByHopOptions();
+        options.setNextHeader(IPv6.PROTOCOL_ICMP6);
+        options.setOptions(new byte[6]);
+        options.setPayload(icmp6);
+
+        IPv6 ipv6 = new IPv6();
+        ipv6.setSourceAddress(SRC_IP6.toOctets());
+        ipv6.setDestinationAddress(DST_IP6.toOctets());
+        ipv6.setNextHeader(IPv6.PROTOCOL_HOPOPT);
+        ipv6.setHopLimit((byte) 255);
+        ipv6.setPayload(options);
+
+        EthernetView view = EthernetView.of(ethernet(Ethernet.TYPE_IPV6, ipv6).serialize());
+        assertEquals(Ethernet.TYPE_IPV6, view.etherType());
+        assertEquals(IPv6.PROTOCOL_ICMP6, view.ipProtocol());
+        assertEquals(SRC_IP6, view.sourceIp());
+        assertEquals(DST_IP6, view.destinationIp());
+        assertEquals(ICMP6.NEIGHBOR_SOLICITATION & 0xff, view.icmpType());
+        assertEquals(-1, view.sourcePort());
+    }
+
+    /**
+     * Tests a view over a slice of a larger buffer.
+     */
+    @Test
+    public void testBufferSlice() {
+        byte[] frame = udp4.serialize();
+        ByteBuffer buffer = ByteBuffer.allocate(frame.length + 8);
+        buffer.position(4);
+        buffer.put(frame);
+        buffer.position(4).limit(4 + frame.length);
+
+        EthernetView view = EthernetView.of(buffer);
+        assertEquals(frame.length, view.length());
+        assertEquals(DST_IP4, view.destinationIp());
+        assertEquals(4, buffer.position());
+    }
+
+    /**
+     * Tests that truncated frames yield neutral values.
+     */
+    @Test
+    public void testTruncated() {
+        byte[] frame = udp4.serialize();
+        byte[] truncated = new byte[Ethernet.ETHERNET_HEADER_LENGTH + 10];
+        System.arraycopy(frame, 0, truncated, 0, truncated.length);
+
+        EthernetView view = EthernetView.of(truncated);
+        assertEquals(Ethernet.TYPE_IPV4, view.etherType());
+        assertNull(view.sourceIp());
+        assertEquals(0, view.ipProtocol());
+        assertEquals(-1, view.sourcePort());
+
+        view = EthernetView.of(new byte[6]);
+        assertFalse(view.isValid());
+        assertEquals(0, view.etherType());
+        assertNull(view.sourceMac());
+    }
+
+    /**
+     * Tests broadcast detection.
+     */
+    @Test
+    public void testBroadcast() {
+        udp4.setDestinationMACAddress(MacAddress.BROADCAST);
+        EthernetView view = EthernetView.of(udp4.serialize());
+        assertTrue(view.isBroadcast());
+        assertTrue(view.isMulticast());
+    }
+}